@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.kalenchukov.shortlinks.caches.LinkCache;
+import dev.kalenchukov.shortlinks.caches.LinkFilter;
+import dev.kalenchukov.shortlinks.caches.UrlCache;
+import dev.kalenchukov.shortlinks.codecs.UrlHash;
+import dev.kalenchukov.shortlinks.entities.ClickBucket;
+import dev.kalenchukov.shortlinks.entities.Granularity;
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.repositories.ClickCounter;
+import dev.kalenchukov.shortlinks.repositories.ClickRepositories;
+import dev.kalenchukov.shortlinks.repositories.ClickStatisticsRepositories;
+import dev.kalenchukov.shortlinks.repositories.LinkRepositories;
+import dev.kalenchukov.shortlinks.repositories.LinkWriter;
+import dev.kalenchukov.shortlinks.repositories.UnitOfWork;
+import dev.kalenchukov.shortlinks.services.LinkService;
+import dev.kalenchukov.shortlinks.services.LinkServices;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Класс подготовки объектов приложения для измерений без базы данных.
+ *
+ * @author Алексей Каленчуков
+ */
+final class BenchmarkFixtures {
+    /**
+     * URL-адрес добавляемых ссылок.
+     */
+    static final String URL = "https://kalenchukov.dev/shortlinks";
+
+    /**
+     * Контроллер для {@code BenchmarkFixtures}.
+     */
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Возвращает репозиторий ссылок в памяти с указанным количеством ссылок.
+     *
+     * @param size количество ссылок.
+     * @return репозиторий ссылок.
+     */
+    static InMemoryLinkRepository repository(final int size) {
+        final InMemoryLinkRepository linkRepository = new InMemoryLinkRepository();
+
+        for (int i = 0; i < size; i++) {
+            linkRepository.save(new Link(null, URL + "/" + i, null));
+        }
+
+        return linkRepository;
+    }
+
+    /**
+     * Возвращает сервис ссылок с настройками по умолчанию поверх репозитория ссылок.
+     * <p>
+     * Запись в базу данных выполняется синхронно, фильтр ссылок и исключение
+     * повторяющихся URL-адресов выключены, переходы считаются в памяти и не сохраняются.
+     *
+     * @param linkRepository репозиторий ссылок.
+     * @param cache          {@code true} если кэш ссылок включён.
+     * @return сервис ссылок.
+     */
+    static LinkServices linkService(final LinkRepositories linkRepository, final boolean cache) {
+        return new LinkService(
+                linkRepository,
+                new LinkCache(cache, 10_000L, 0L),
+                new LinkFilter(linkRepository, false, 1_000_000L, 0.01),
+                new LinkWriter(linkRepository, new UnitOfWork(null), false, 256, "PT0.002S", 10_000),
+                new UrlCache(false, 100_000L),
+                new UrlHash(),
+                new ClickCounter(new NoOpClickRepository(), true, 16_384),
+                new NoOpClickStatisticsRepository(),
+                10_000L
+        );
+    }
+
+    /**
+     * Возвращает преобразователь JSON с настройками Spring Boot по умолчанию.
+     *
+     * @return преобразователь JSON.
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /**
+     * Класс репозитория количества переходов, не сохраняющего переходы.
+     */
+    private static final class NoOpClickRepository implements ClickRepositories {
+        /**
+         * {@inheritDoc}
+         *
+         * @param linkId {@inheritDoc}
+         * @return {@inheritDoc}
+         */
+        @Override
+        public long getById(final long linkId) {
+            return 0L;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param clicks {@inheritDoc}
+         * @return {@inheritDoc}
+         */
+        @Override
+        public int addAll(final Map<Long, Long> clicks) {
+            return clicks.size();
+        }
+    }
+
+    /**
+     * Класс репозитория статистики переходов без сохранённой статистики.
+     */
+    private static final class NoOpClickStatisticsRepository implements ClickStatisticsRepositories {
+        /**
+         * {@inheritDoc}
+         *
+         * @param linkId      {@inheritDoc}
+         * @param granularity {@inheritDoc}
+         * @param from        {@inheritDoc}
+         * @param to          {@inheritDoc}
+         * @return {@inheritDoc}
+         */
+        @Override
+        public List<ClickBucket> getBuckets(final long linkId,
+                                            final Granularity granularity,
+                                            final Timestamp from,
+                                            final Timestamp to) {
+            return List.of();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void rollup() {
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+import java.io.IOException;
+
+/**
+ * Класс запуска микробенчмарков.
+ * <p>
+ * Принимает те же параметры, что и {@code org.openjdk.jmh.Main}, но всегда подключает
+ * профилировщик сборщика мусора и по умолчанию сохраняет результаты в формате JSON
+ * в {@code jmh-result.json} для сравнения между ветками.
+ *
+ * @author Алексей Каленчуков
+ */
+public final class BenchmarkRunner {
+    /**
+     * Контроллер для {@code BenchmarkRunner}.
+     */
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Запускает микробенчмарки.
+     *
+     * @param args параметры JMH.
+     * @throws CommandLineOptionException при некорректных параметрах.
+     * @throws RunnerException            при ошибке выполнения микробенчмарков.
+     * @throws IOException                при ошибке вывода списков.
+     */
+    public static void main(final String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        final CommandLineOptions options = new CommandLineOptions(args);
+
+        if (options.shouldHelp() || options.shouldList() || options.shouldListWithParams()
+                || options.shouldListProfilers() || options.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        final ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+
+        if (options.getProfilers().stream().noneMatch(BenchmarkRunner::isGcProfiler)) {
+            builder.addProfiler(GCProfiler.class);
+        }
+
+        if (!options.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+
+        if (!options.getResult().hasValue()) {
+            builder.result("jmh-result.json");
+        }
+
+        new Runner(builder.build()).run();
+    }
+
+    /**
+     * Проверяет, является ли профилировщик профилировщиком сборщика мусора.
+     *
+     * @param profiler профилировщик.
+     * @return {@code true} если профилировщик сборщика мусора, иначе {@code false}.
+     */
+    private static boolean isGcProfiler(final ProfilerConfig profiler) {
+        return profiler.getKlass().equals("gc") || profiler.getKlass().equals(GCProfiler.class.getName());
+    }
+}
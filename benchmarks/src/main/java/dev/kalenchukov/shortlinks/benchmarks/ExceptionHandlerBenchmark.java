@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.benchmarks;
+
+import dev.kalenchukov.shortlinks.entities.Errors;
+import dev.kalenchukov.shortlinks.exceptions.LinkNotFoundException;
+import dev.kalenchukov.shortlinks.exceptions.handlers.ApplicationExceptionHandler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Класс измерения скорости формирования ответа на запрос несуществующей ссылки.
+ *
+ * @author Алексей Каленчуков
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExceptionHandlerBenchmark {
+    /**
+     * Обработчик исключений.
+     */
+    private ApplicationExceptionHandler exceptionHandler;
+
+    /**
+     * Заранее созданное исключение.
+     */
+    private LinkNotFoundException exception;
+
+    /**
+     * Запрос.
+     */
+    private MockHttpServletRequest request;
+
+    /**
+     * Подготавливает обработчик, исключение и запрос.
+     */
+    @Setup
+    public void setUp() {
+        this.exceptionHandler = new ApplicationExceptionHandler();
+        this.exception = new LinkNotFoundException("Ссылка не найдена.");
+        this.request = new MockHttpServletRequest("GET", "/abc");
+    }
+
+    /**
+     * Измеряет создание исключения вместе с формированием ответа, как при запросе.
+     *
+     * @return ответ.
+     */
+    @Benchmark
+    public ResponseEntity<Errors> notFound() {
+        return this.exceptionHandler.handleNotFoundException(new LinkNotFoundException("Ссылка не найдена."), this.request);
+    }
+
+    /**
+     * Измеряет только формирование ответа без создания исключения.
+     *
+     * @return ответ.
+     */
+    @Benchmark
+    public ResponseEntity<Errors> notFoundPreallocated() {
+        return this.exceptionHandler.handleNotFoundException(this.exception, this.request);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.benchmarks;
+
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.repositories.LinkRepositories;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Класс репозитория ссылок в памяти процесса для измерений без базы данных.
+ *
+ * @author Алексей Каленчуков
+ */
+public final class InMemoryLinkRepository implements LinkRepositories {
+    /**
+     * Ссылки по идентификаторам.
+     */
+    private final ConcurrentMap<Long, Link> links;
+
+    /**
+     * Последний выданный идентификатор.
+     */
+    private final AtomicLong sequence;
+
+    /**
+     * Контроллер для {@code InMemoryLinkRepository}.
+     */
+    public InMemoryLinkRepository() {
+        this.links = new ConcurrentHashMap<>();
+        this.sequence = new AtomicLong();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Optional<Link> getById(final long linkId) {
+        return Optional.ofNullable(this.links.get(linkId));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param link {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Link save(final Link link) {
+        final long linkId = this.sequence.incrementAndGet();
+        final Link savedLink = new Link(linkId, link.getUrl(), new Timestamp(System.currentTimeMillis()));
+        this.links.put(linkId, savedLink);
+
+        return savedLink;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param links {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public List<Link> saveAll(final List<Link> links) {
+        final List<Link> savedLinks = new ArrayList<>(links.size());
+
+        for (Link link : links) {
+            savedLinks.add(this.save(link));
+        }
+
+        return savedLinks;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public long size() {
+        return this.links.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public long estimateSize() {
+        return this.links.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code false}.
+     */
+    @Override
+    public boolean isExpirySupported() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean deleteById(final long linkId) {
+        return this.links.remove(linkId) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkIds {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Set<Long> deleteAllById(final Collection<Long> linkIds) {
+        final Set<Long> deletedIds = new HashSet<>();
+
+        for (Long linkId : linkIds) {
+            if (this.links.remove(linkId) != null) {
+                deletedIds.add(linkId);
+            }
+        }
+
+        return deletedIds;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Порядок идентификаторов не гарантируется.
+     *
+     * @param consumer {@inheritDoc}
+     */
+    @Override
+    public void forEachId(final LongConsumer consumer) {
+        this.links.keySet().forEach(consumer::accept);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param from     {@inheritDoc}
+     * @param to       {@inheritDoc}
+     * @param consumer {@inheritDoc}
+     */
+    @Override
+    public void forEach(final Timestamp from, final Timestamp to, final Consumer<Link> consumer) {
+        this.links.values().stream()
+                .filter(link -> from == null || !link.getDateCreate().before(from))
+                .filter(link -> to == null || link.getDateCreate().before(to))
+                .sorted((first, second) -> Long.compare(first.getLinkId(), second.getLinkId()))
+                .forEach(consumer);
+    }
+
+    /**
+     * Удаляет ссылки, добавленные после ссылки с указанным идентификатором.
+     *
+     * @param linkId идентификатор последней сохраняемой ссылки.
+     */
+    public void truncate(final long linkId) {
+        this.links.keySet().removeIf(id -> id > linkId);
+        this.sequence.set(linkId);
+    }
+}
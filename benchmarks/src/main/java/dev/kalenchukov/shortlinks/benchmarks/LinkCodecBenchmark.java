@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.benchmarks;
+
+import dev.kalenchukov.shortlinks.codecs.LinkCodec;
+import dev.kalenchukov.shortlinks.codecs.LinkCodecs;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Класс измерения скорости преобразования идентификаторов ссылок в коды и обратно.
+ *
+ * @author Алексей Каленчуков
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LinkCodecBenchmark {
+    /**
+     * Количество идентификаторов в наборе.
+     */
+    private static final int SIZE = 1024;
+
+    /**
+     * Ключ перестановки или пустая строка.
+     */
+    @Param({"", "secret"})
+    private String key;
+
+    /**
+     * Преобразование идентификаторов ссылок в коды.
+     */
+    private LinkCodecs linkCodec;
+
+    /**
+     * Идентификаторы ссылок.
+     */
+    private long[] linkIds;
+
+    /**
+     * Коды ссылок.
+     */
+    private String[] codes;
+
+    /**
+     * Буфер для кодов.
+     */
+    private char[] buffer;
+
+    /**
+     * Позиция в наборе.
+     */
+    private int position;
+
+    /**
+     * Подготавливает набор идентификаторов и кодов.
+     */
+    @Setup
+    public void setUp() {
+        this.linkCodec = new LinkCodec(this.key);
+        this.linkIds = new long[SIZE];
+        this.codes = new String[SIZE];
+        this.buffer = new char[LinkCodecs.MAX_LENGTH];
+
+        for (int i = 0; i < SIZE; i++) {
+            this.linkIds[i] = 1_000_000L + i * 7919L;
+            this.codes[i] = this.linkCodec.encode(this.linkIds[i]);
+        }
+    }
+
+    /**
+     * Измеряет запись кода в буфер.
+     *
+     * @return длину кода.
+     */
+    @Benchmark
+    public int encodeToBuffer() {
+        return this.linkCodec.encode(this.next(this.linkIds), this.buffer, 0);
+    }
+
+    /**
+     * Измеряет получение кода в виде строки.
+     *
+     * @return код.
+     */
+    @Benchmark
+    public String encode() {
+        return this.linkCodec.encode(this.next(this.linkIds));
+    }
+
+    /**
+     * Измеряет получение идентификатора по коду.
+     *
+     * @return идентификатор.
+     */
+    @Benchmark
+    public long decode() {
+        this.position = (this.position + 1) & (SIZE - 1);
+
+        return this.linkCodec.decode(this.codes[this.position]);
+    }
+
+    /**
+     * Возвращает следующий идентификатор из набора.
+     *
+     * @param values идентификаторы.
+     * @return идентификатор.
+     */
+    private long next(final long[] values) {
+        this.position = (this.position + 1) & (SIZE - 1);
+
+        return values[this.position];
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dev.kalenchukov.shortlinks.entities.Link;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Класс измерения скорости преобразования ссылок в JSON и обратно.
+ *
+ * @author Алексей Каленчуков
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LinkJsonBenchmark {
+    /**
+     * Запись ссылок в JSON.
+     */
+    private ObjectWriter writer;
+
+    /**
+     * Чтение ссылок из JSON.
+     */
+    private ObjectReader reader;
+
+    /**
+     * Ссылка.
+     */
+    private Link link;
+
+    /**
+     * Тело запроса на добавление ссылки.
+     */
+    private byte[] request;
+
+    /**
+     * Подготавливает ссылку и тело запроса.
+     */
+    @Setup
+    public void setUp() {
+        final ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        this.writer = objectMapper.writerFor(Link.class);
+        this.reader = objectMapper.readerFor(Link.class);
+        this.link = new Link(1_000_000L, "4c92", BenchmarkFixtures.URL, new Timestamp(1_686_909_594_075L));
+        this.request = ("{\"url\":\"" + BenchmarkFixtures.URL + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Измеряет преобразование ссылки в JSON.
+     *
+     * @return JSON.
+     * @throws IOException при ошибке преобразования.
+     */
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return this.writer.writeValueAsBytes(this.link);
+    }
+
+    /**
+     * Измеряет получение ссылки из тела запроса на добавление.
+     *
+     * @return ссылку.
+     * @throws IOException при ошибке преобразования.
+     */
+    @Benchmark
+    public Link deserialize() throws IOException {
+        return this.reader.readValue(this.request);
+    }
+}
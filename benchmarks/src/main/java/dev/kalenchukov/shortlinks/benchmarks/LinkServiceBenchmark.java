@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.benchmarks;
+
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.services.LinkServices;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Класс измерения скорости получения и добавления ссылок сервисом ссылок.
+ * <p>
+ * Вместо базы данных используется репозиторий ссылок в памяти процесса,
+ * поэтому измеряется только работа сервиса, кэша и счётчика переходов.
+ *
+ * @author Алексей Каленчуков
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LinkServiceBenchmark {
+    /**
+     * Количество ссылок в репозитории.
+     */
+    private static final int SIZE = 1024;
+
+    /**
+     * Включён ли кэш ссылок.
+     */
+    @Param({"true", "false"})
+    private boolean cache;
+
+    /**
+     * Репозиторий ссылок.
+     */
+    private InMemoryLinkRepository linkRepository;
+
+    /**
+     * Сервис ссылок.
+     */
+    private LinkServices linkService;
+
+    /**
+     * Добавляемая ссылка.
+     */
+    private Link link;
+
+    /**
+     * Позиция в наборе.
+     */
+    private int position;
+
+    /**
+     * Подготавливает репозиторий и сервис ссылок.
+     */
+    @Setup
+    public void setUp() {
+        this.linkRepository = BenchmarkFixtures.repository(SIZE);
+        this.linkService = BenchmarkFixtures.linkService(this.linkRepository, this.cache);
+        this.link = new Link(null, BenchmarkFixtures.URL, null);
+    }
+
+    /**
+     * Удаляет ссылки, добавленные за итерацию.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        this.linkRepository.truncate(SIZE);
+    }
+
+    /**
+     * Измеряет получение ссылки.
+     *
+     * @return ссылку.
+     */
+    @Benchmark
+    public Link get() {
+        return this.linkService.get(this.next());
+    }
+
+    /**
+     * Измеряет получение URL-адреса ссылки с подсчётом перехода.
+     *
+     * @return URL-адрес.
+     */
+    @Benchmark
+    public String getUrl() {
+        return this.linkService.getUrl(this.next());
+    }
+
+    /**
+     * Измеряет добавление ссылки.
+     *
+     * @return ссылку.
+     */
+    @Benchmark
+    public Link add() {
+        return this.linkService.add(this.link);
+    }
+
+    /**
+     * Возвращает следующий идентификатор ссылки из репозитория.
+     *
+     * @return идентификатор.
+     */
+    private long next() {
+        this.position = (this.position + 1) & (SIZE - 1);
+
+        return this.position + 1L;
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Класс генератора нагрузки на сервис коротких ссылок.
+ * <p>
+ * Добавляет ссылки и затем в течение заданного времени запрашивает их переходы,
+ * удерживая заданное количество одновременных запросов.
+ * По окончании выводит пропускную способность и перцентили времени ответа.
+ * <p>
+ * Параметры:
+ * <ul>
+ *     <li>{@code --url} - адрес сервиса, по умолчанию {@code http://localhost:8080};</li>
+ *     <li>{@code --concurrency} - количество одновременных запросов, по умолчанию 200;</li>
+ *     <li>{@code --duration} - длительность измерения в секундах, по умолчанию 30;</li>
+ *     <li>{@code --warmup} - длительность прогрева в секундах, по умолчанию 10;</li>
+ *     <li>{@code --links} - количество добавляемых ссылок, по умолчанию 10000.</li>
+ * </ul>
+ *
+ * @author Алексей Каленчуков
+ */
+public final class LoadGenerator {
+    /**
+     * Ширина интервала гистограммы в микросекундах.
+     */
+    private static final long BUCKET_WIDTH = 10;
+
+    /**
+     * Количество интервалов гистограммы.
+     * Последний интервал учитывает ответы дольше одной секунды.
+     */
+    private static final int BUCKET_COUNT = 100_001;
+
+    /**
+     * Адрес сервиса.
+     */
+    private final URI uri;
+
+    /**
+     * Количество одновременных запросов.
+     */
+    private final int concurrency;
+
+    /**
+     * HTTP-клиент.
+     */
+    private final HttpClient client;
+
+    /**
+     * Гистограмма времени ответа.
+     */
+    private final AtomicLongArray histogram;
+
+    /**
+     * Количество ошибок.
+     */
+    private final AtomicLong errors;
+
+    /**
+     * Максимальное время ответа в микросекундах.
+     */
+    private final AtomicLong max;
+
+    /**
+     * Признак записи результатов.
+     */
+    private volatile boolean recording;
+
+    /**
+     * Конструктор для {@code LoadGenerator}.
+     *
+     * @param uri адрес сервиса.
+     * @param concurrency количество одновременных запросов.
+     */
+    private LoadGenerator(final URI uri, final int concurrency) {
+        this.uri = uri;
+        this.concurrency = concurrency;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.histogram = new AtomicLongArray(BUCKET_COUNT);
+        this.errors = new AtomicLong();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Запускает генератор нагрузки.
+     *
+     * @param args параметры.
+     * @throws Exception если нагрузку не удалось создать.
+     */
+    public static void main(final String[] args) throws Exception {
+        Map<String, String> params = LoadGenerator.parse(args);
+
+        URI uri = URI.create(params.getOrDefault("url", "http://localhost:8080"));
+        int concurrency = Integer.parseInt(params.getOrDefault("concurrency", "200"));
+        int duration = Integer.parseInt(params.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(params.getOrDefault("warmup", "10"));
+        int links = Integer.parseInt(params.getOrDefault("links", "10000"));
+
+        LoadGenerator generator = new LoadGenerator(uri, concurrency);
+        String[] codes = generator.seed(links);
+
+        System.out.println("Прогрев " + warmup + " с.");
+        generator.run(codes, warmup, false);
+
+        System.out.println("Измерение " + duration + " с, одновременных запросов " + concurrency + ".");
+        long requests = generator.run(codes, duration, true);
+
+        generator.report(requests, duration);
+    }
+
+    /**
+     * Добавляет ссылки для переходов.
+     *
+     * @param count количество ссылок.
+     * @return коды добавленных ссылок.
+     * @throws Exception если ссылки не удалось добавить.
+     */
+    private String[] seed(final int count) throws Exception {
+        StringBuilder body = new StringBuilder(count * 48);
+
+        for (int i = 0; i < count; i++) {
+            body.append("\"https://kalenchukov.dev/shortlinks/benchmark/").append(i).append("\"\n");
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(this.uri.resolve("/batch"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+
+        HttpResponse<String> response = this.client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Не удалось добавить ссылки: " + response.statusCode() + ".");
+        }
+
+        return response.body().lines()
+                .map(LoadGenerator::parseCode)
+                .filter(Objects::nonNull)
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Выполняет переходы по ссылкам в течение заданного времени.
+     *
+     * @param codes   коды ссылок.
+     * @param seconds длительность в секундах.
+     * @param record признак записи результатов.
+     * @return количество выполненных запросов.
+     * @throws InterruptedException если поток был прерван.
+     */
+    private long run(final String[] codes, final int seconds, final boolean record) throws InterruptedException {
+        Semaphore permits = new Semaphore(this.concurrency);
+        AtomicLong completed = new AtomicLong();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        this.recording = record;
+
+        while (System.nanoTime() < deadline) {
+            permits.acquire();
+
+            String code = codes[ThreadLocalRandom.current().nextInt(codes.length)];
+            HttpRequest request = HttpRequest.newBuilder(this.uri.resolve("/s/" + code)).GET().build();
+            long start = System.nanoTime();
+
+            this.client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, exception) -> {
+                        if (exception != null || response.statusCode() >= 400) {
+                            this.errors.incrementAndGet();
+                        } else {
+                            this.record((System.nanoTime() - start) / 1000);
+                        }
+
+                        completed.incrementAndGet();
+                        permits.release();
+                    });
+        }
+
+        permits.acquire(this.concurrency);
+        this.recording = false;
+
+        return completed.get();
+    }
+
+    /**
+     * Записывает время ответа.
+     *
+     * @param micros время ответа в микросекундах.
+     */
+    private void record(final long micros) {
+        if (!this.recording) {
+            return;
+        }
+
+        this.histogram.incrementAndGet((int) Math.min(micros / BUCKET_WIDTH, BUCKET_COUNT - 1));
+        this.max.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Выводит результаты измерения.
+     *
+     * @param requests количество выполненных запросов.
+     * @param seconds длительность измерения в секундах.
+     */
+    private void report(final long requests, final int seconds) {
+        System.out.println("Запросов: " + requests + ", ошибок: " + this.errors.get() + ".");
+        System.out.printf("Пропускная способность: %.1f запросов/с.%n", (double) requests / seconds);
+        System.out.println("p50: " + this.percentile(0.50) + " мкс.");
+        System.out.println("p99: " + this.percentile(0.99) + " мкс.");
+        System.out.println("p99.9: " + this.percentile(0.999) + " мкс.");
+        System.out.println("max: " + this.max.get() + " мкс.");
+    }
+
+    /**
+     * Возвращает перцентиль времени ответа.
+     *
+     * @param quantile доля запросов.
+     * @return верхнюю границу интервала гистограммы в микросекундах.
+     */
+    private long percentile(final double quantile) {
+        long total = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += this.histogram.get(i);
+        }
+
+        long threshold = (long) Math.ceil(total * quantile);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += this.histogram.get(i);
+
+            if (seen >= threshold && seen > 0) {
+                return (i + 1) * BUCKET_WIDTH;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Возвращает код ссылки из строки результата пакетного добавления.
+     *
+     * @param line строка результата.
+     * @return код ссылки или {@code null}, если ссылка не добавлена.
+     */
+    private static String parseCode(final String line) {
+        int start = line.indexOf("\"code\":\"");
+
+        if (start < 0) {
+            return null;
+        }
+
+        start += 8;
+
+        return line.substring(start, line.indexOf('"', start));
+    }
+
+    /**
+     * Возвращает параметры вида {@code --name value}.
+     *
+     * @param args параметры.
+     * @return параметры.
+     */
+    private static Map<String, String> parse(final String[] args) {
+        Map<String, String> params = new HashMap<>();
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            params.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+
+        return params;
+    }
+}
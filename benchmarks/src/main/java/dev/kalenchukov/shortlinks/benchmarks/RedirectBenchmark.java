@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.benchmarks;
+
+import dev.kalenchukov.shortlinks.codecs.LinkCodec;
+import dev.kalenchukov.shortlinks.codecs.LinkCodecs;
+import dev.kalenchukov.shortlinks.controllers.LinkController;
+import dev.kalenchukov.shortlinks.controllers.filters.AccessLogFilter;
+import dev.kalenchukov.shortlinks.exceptions.handlers.ApplicationExceptionHandler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Класс измерения скорости обработки запроса на переход по ссылке.
+ * <p>
+ * Запрос проходит через фильтр журнала доступа, {@code DispatcherServlet},
+ * контроллер, сервис ссылок и обработчик исключений без сетевого стека и базы данных.
+ * Обработка запроса в Spring прогревается дольше остальных микробенчмарков.
+ *
+ * @author Алексей Каленчуков
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RedirectBenchmark {
+    /**
+     * Количество ссылок в репозитории.
+     */
+    private static final int SIZE = 1024;
+
+    /**
+     * Выполнение запросов к приложению.
+     */
+    private MockMvc mockMvc;
+
+    /**
+     * Коды существующих ссылок.
+     */
+    private String[] codes;
+
+    /**
+     * Код несуществующей ссылки.
+     */
+    private String absentCode;
+
+    /**
+     * Позиция в наборе.
+     */
+    private int position;
+
+    /**
+     * Подготавливает приложение и коды ссылок.
+     */
+    @Setup
+    public void setUp() {
+        final LinkCodecs linkCodec = new LinkCodec("");
+
+        this.mockMvc = MockMvcBuilders.standaloneSetup(
+                        new LinkController(
+                                BenchmarkFixtures.linkService(BenchmarkFixtures.repository(SIZE), true),
+                                linkCodec
+                        )
+                )
+                .setControllerAdvice(new ApplicationExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(BenchmarkFixtures.objectMapper()))
+                .addFilters(new AccessLogFilter(0.01))
+                .build();
+
+        this.codes = new String[SIZE];
+
+        for (int i = 0; i < SIZE; i++) {
+            this.codes[i] = linkCodec.encode(i + 1L);
+        }
+
+        this.absentCode = linkCodec.encode(SIZE * 2L);
+    }
+
+    /**
+     * Измеряет переход по существующей ссылке.
+     *
+     * @return результат запроса.
+     * @throws Exception при ошибке выполнения запроса.
+     */
+    @Benchmark
+    public MvcResult redirect() throws Exception {
+        this.position = (this.position + 1) & (SIZE - 1);
+
+        return this.mockMvc.perform(get("/s/{code}", this.codes[this.position])).andReturn();
+    }
+
+    /**
+     * Измеряет переход по несуществующей ссылке.
+     *
+     * @return результат запроса.
+     * @throws Exception при ошибке выполнения запроса.
+     */
+    @Benchmark
+    public MvcResult notFound() throws Exception {
+        return this.mockMvc.perform(get("/s/{code}", this.absentCode)).andReturn();
+    }
+}
@@ -26,6 +26,7 @@ package dev.kalenchukov.shortlinks;
 
 import org.springframework.boot.SpringBootConfiguration;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Класс конфигурации.
@@ -34,10 +35,14 @@ import org.springframework.context.annotation.ComponentScan;
  */
 @SpringBootConfiguration
 @ComponentScan(basePackages = {
+        "dev.kalenchukov.shortlinks.caches",
+        "dev.kalenchukov.shortlinks.codecs",
         "dev.kalenchukov.shortlinks.controllers",
+        "dev.kalenchukov.shortlinks.generators",
         "dev.kalenchukov.shortlinks.repositories",
         "dev.kalenchukov.shortlinks.services"
 })
+@EnableScheduling
 public class AppConfig {
 
 }
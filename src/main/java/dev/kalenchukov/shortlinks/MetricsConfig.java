@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks;
+
+import dev.kalenchukov.shortlinks.caches.LinkCaches;
+import dev.kalenchukov.shortlinks.repositories.LinkRepositories;
+import dev.kalenchukov.shortlinks.repositories.LinkRepositoryMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Класс конфигурации метрик.
+ * <p>
+ * Метрики HTTP-запросов, пула соединений и JVM регистрирует Spring Boot Actuator,
+ * здесь добавляются время вызовов репозитория ссылок и статистика кэша ссылок.
+ * Названия и теги метрик описаны в INSTALL.MD.
+ *
+ * @author Алексей Каленчуков
+ */
+@Configuration
+public class MetricsConfig {
+    /**
+     * Название кэша ссылок в метриках.
+     */
+    private static final String LINK_CACHE = "links";
+
+    /**
+     * Возвращает обработчик, измеряющий время вызовов репозиториев ссылок.
+     * <p>
+     * Измерение добавляется в прокси репозитория, а не в обёртку над ним,
+     * чтобы аннотации репозитория, например {@code @Scheduled}, продолжали действовать.
+     * Метод статический, чтобы обработчик создавался раньше остальных компонентов конфигурации.
+     *
+     * @param registry реестр метрик.
+     * @return обработчик компонентов.
+     */
+    @Bean
+    public static BeanPostProcessor linkRepositoryMetrics(final ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (!(bean instanceof LinkRepositories)) {
+                    return bean;
+                }
+
+                final LinkRepositoryMetrics metrics = new LinkRepositoryMetrics(
+                        AopUtils.getTargetClass(bean),
+                        registry.getObject()
+                );
+
+                if (bean instanceof Advised advised && !advised.isFrozen()) {
+                    advised.addAdvice(0, metrics);
+
+                    return bean;
+                }
+
+                final ProxyFactory proxyFactory = new ProxyFactory(bean);
+                proxyFactory.setProxyTargetClass(true);
+                proxyFactory.addAdvice(metrics);
+
+                return proxyFactory.getProxy(ClassUtils.getDefaultClassLoader());
+            }
+        };
+    }
+
+    /**
+     * Возвращает метрики кэша ссылок.
+     *
+     * @param linkCache кэш ссылок.
+     * @return метрики.
+     */
+    @Bean
+    public MeterBinder linkCacheMetrics(final LinkCaches linkCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", linkCache, cache -> cache.getStatistics().getHitCount())
+                    .description("Количество попаданий в кэш")
+                    .tag("cache", LINK_CACHE)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", linkCache, cache -> cache.getStatistics().getMissCount())
+                    .description("Количество промахов кэша")
+                    .tag("cache", LINK_CACHE)
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", linkCache, cache -> cache.getStatistics().getEvictionCount())
+                    .description("Количество вытеснений из кэша")
+                    .tag("cache", LINK_CACHE)
+                    .register(registry);
+            Gauge.builder("cache.size", linkCache, cache -> cache.getStatistics().getSize())
+                    .description("Примерное количество записей в кэше")
+                    .tag("cache", LINK_CACHE)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Класс конфигурации виртуальных потоков.
+ * <p>
+ * Запросы Tomcat и асинхронные ответы Spring MVC выполняются в виртуальных потоках,
+ * поэтому поток, ожидающий базу данных, не занимает поток операционной системы.
+ * Количество одновременных запросов к базе данных по-прежнему ограничивается
+ * размером пула соединений.
+ * Виртуальные потоки доступны начиная с Java 21, а проект собирается и для Java 17,
+ * поэтому исполнитель создаётся через отражение.
+ *
+ * @author Алексей Каленчуков
+ */
+@Configuration
+@ConditionalOnProperty(name = "shortlinks.threads.virtual", havingValue = "true")
+public class VirtualThreadsConfig implements WebMvcConfigurer {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(VirtualThreadsConfig.class);
+
+    /**
+     * Исполнитель, запускающий каждую задачу в новом виртуальном потоке.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Конструктор для {@code VirtualThreadsConfig}.
+     *
+     * @throws IllegalStateException если виртуальные потоки не поддерживаются.
+     */
+    public VirtualThreadsConfig() {
+        this.executor = VirtualThreadsConfig.newVirtualThreadPerTaskExecutor();
+
+        LOG.info("Запросы выполняются в виртуальных потоках.");
+    }
+
+    /**
+     * Возвращает исполнитель виртуальных потоков.
+     *
+     * @return исполнитель.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Возвращает настройку Tomcat, выполняющую запросы в виртуальных потоках.
+     *
+     * @return настройку Tomcat.
+     */
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadTomcatCustomizer() {
+        return factory -> factory.addProtocolHandlerCustomizers(
+                protocolHandler -> protocolHandler.setExecutor(this.executor)
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Потоковые ответы, например выгрузка ссылок, также выполняются в виртуальных потоках.
+     *
+     * @param configurer {@inheritDoc}
+     */
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(this.executor));
+    }
+
+    /**
+     * Возвращает исполнитель, запускающий каждую задачу в новом виртуальном потоке.
+     *
+     * @return исполнитель.
+     * @throws IllegalStateException если виртуальные потоки не поддерживаются.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException exception) {
+            throw new IllegalStateException(
+                    "Виртуальные потоки доступны начиная с Java 21, текущая версия " + Runtime.version() + ".",
+                    exception
+            );
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException("Не удалось создать исполнитель виртуальных потоков.", exception);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.caches;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Класс фильтра Блума для идентификаторов.
+ * <p>
+ * Отвечает «возможно есть» или «точно нет» и не поддерживает удаление.
+ * Безопасен для одновременного использования из нескольких потоков.
+ *
+ * @author Алексей Каленчуков
+ */
+final class BloomFilter {
+    /**
+     * Количество бит в слове.
+     */
+    private static final int WORD_BITS = Long.SIZE;
+
+    /**
+     * Биты фильтра.
+     */
+    private final AtomicLongArray words;
+
+    /**
+     * Количество бит фильтра.
+     */
+    private final long bitCount;
+
+    /**
+     * Количество хэш-функций.
+     */
+    private final int hashCount;
+
+    /**
+     * Конструктор для {@code BloomFilter}.
+     *
+     * @param expectedInsertions       ожидаемое количество элементов.
+     * @param falsePositiveProbability допустимая вероятность ложноположительного ответа.
+     */
+    BloomFilter(final long expectedInsertions, final double falsePositiveProbability) {
+        final long insertions = Math.max(1L, expectedInsertions);
+        final double bits = -insertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+        final int wordCount = (int) Math.min(Integer.MAX_VALUE, Math.max(1L, (long) Math.ceil(bits / WORD_BITS)));
+
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * WORD_BITS;
+        this.hashCount = (int) Math.max(1L, Math.round((double) this.bitCount / insertions * Math.log(2)));
+    }
+
+    /**
+     * Добавляет значение.
+     *
+     * @param value значение.
+     */
+    void put(final long value) {
+        final long hash1 = BloomFilter.mix(value);
+        final long hash2 = BloomFilter.mix(hash1);
+
+        for (int index = 0; index < this.hashCount; index++) {
+            this.setBit(Math.floorMod(hash1 + index * hash2, this.bitCount));
+        }
+    }
+
+    /**
+     * Проверяет, могло ли значение быть добавлено.
+     *
+     * @param value значение.
+     * @return {@code false} если значение точно не добавлялось, иначе {@code true}.
+     */
+    boolean mightContain(final long value) {
+        final long hash1 = BloomFilter.mix(value);
+        final long hash2 = BloomFilter.mix(hash1);
+
+        for (int index = 0; index < this.hashCount; index++) {
+            if (!this.getBit(Math.floorMod(hash1 + index * hash2, this.bitCount))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Возвращает количество бит фильтра.
+     *
+     * @return количество бит.
+     */
+    long getBitCount() {
+        return this.bitCount;
+    }
+
+    /**
+     * Устанавливает бит.
+     *
+     * @param bit номер бита.
+     */
+    private void setBit(final long bit) {
+        final int word = (int) (bit >>> 6);
+        final long mask = 1L << bit;
+
+        long current = this.words.get(word);
+
+        while ((current & mask) == 0L) {
+            if (this.words.compareAndSet(word, current, current | mask)) {
+                return;
+            }
+
+            current = this.words.get(word);
+        }
+    }
+
+    /**
+     * Проверяет, установлен ли бит.
+     *
+     * @param bit номер бита.
+     * @return {@code true} если бит установлен, иначе {@code false}.
+     */
+    private boolean getBit(final long bit) {
+        return (this.words.get((int) (bit >>> 6)) & (1L << bit)) != 0L;
+    }
+
+    /**
+     * Перемешивает биты значения (финализатор SplitMix64).
+     *
+     * @param value значение.
+     * @return перемешанное значение.
+     */
+    private static long mix(final long value) {
+        long hash = value + 0x9E3779B97F4A7C15L;
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.caches;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import dev.kalenchukov.shortlinks.entities.CacheStatistics;
+import dev.kalenchukov.shortlinks.entities.Link;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Класс кэша ссылок.
+ * <p>
+ * Ограничен по количеству записей или по их примерному размеру в байтах
+ * и вытесняет записи по частоте обращений (W-TinyLFU).
+ *
+ * @author Алексей Каленчуков
+ */
+@Component
+public class LinkCache implements LinkCaches {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(LinkCache.class);
+
+    /**
+     * Примерный размер записи кэша в байтах без учёта URL-адреса.
+     */
+    private static final int ENTRY_OVERHEAD = 96;
+
+    /**
+     * Включён ли кэш.
+     */
+    private final boolean enabled;
+
+    /**
+     * Кэш ссылок по идентификатору.
+     */
+    private final Cache<Long, Link> cache;
+
+    /**
+     * Конструктор для {@code LinkCache}.
+     *
+     * @param enabled       включён ли кэш.
+     * @param maximumSize   максимальное количество записей.
+     * @param maximumWeight максимальный размер записей в байтах или {@code 0}, если размер не ограничен.
+     */
+    @Autowired
+    public LinkCache(@Value("${shortlinks.cache.enabled:true}") final boolean enabled,
+                     @Value("${shortlinks.cache.maximum-size:10000}") final long maximumSize,
+                     @Value("${shortlinks.cache.maximum-weight:0}") final long maximumWeight) {
+        this.enabled = enabled;
+
+        final Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+
+        if (maximumWeight > 0L) {
+            this.cache = builder.maximumWeight(maximumWeight)
+                    .weigher(LinkCache::weigh)
+                    .build();
+        } else {
+            this.cache = builder.maximumSize(maximumSize)
+                    .build();
+        }
+
+        LOG.debug("Кэш ссылок {}.", enabled ? "включён" : "выключен");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     * @param loader {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws SQLException {@inheritDoc}
+     */
+    @Override
+    public Optional<Link> get(final long linkId, final Loader loader) throws SQLException {
+        if (!this.enabled) {
+            return loader.load(linkId);
+        }
+
+        try {
+            return Optional.ofNullable(
+                    this.cache.get(linkId, key -> LinkCache.load(loader, key))
+            );
+        } catch (LoadException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param link {@inheritDoc}
+     */
+    @Override
+    public void put(final Link link) {
+        if (this.enabled && link.getLinkId() != null) {
+            this.cache.put(link.getLinkId(), link);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     */
+    @Override
+    public void invalidate(final long linkId) {
+        if (this.enabled) {
+            this.cache.invalidate(linkId);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public CacheStatistics getStatistics() {
+        final CacheStats stats = this.cache.stats();
+
+        return new CacheStatistics(
+                this.enabled,
+                this.cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                stats.hitRate()
+        );
+    }
+
+    /**
+     * Загружает ссылку, оборачивая ошибку базы данных в непроверяемое исключение.
+     *
+     * @param loader загрузчик ссылки.
+     * @param linkId идентификатор ссылки.
+     * @return ссылку или {@code null}, если ссылка не найдена.
+     */
+    private static Link load(final Loader loader, final long linkId) {
+        try {
+            return loader.load(linkId).orElse(null);
+        } catch (SQLException exception) {
+            throw new LoadException(exception);
+        }
+    }
+
+    /**
+     * Возвращает примерный размер записи кэша в байтах.
+     *
+     * @param linkId идентификатор ссылки.
+     * @param link   ссылка.
+     * @return размер записи.
+     */
+    private static int weigh(final Long linkId, final Link link) {
+        final String url = link.getUrl();
+
+        return ENTRY_OVERHEAD + (url == null ? 0 : url.length() * Character.BYTES);
+    }
+
+    /**
+     * Класс исключения загрузки ссылки в кэш.
+     */
+    private static final class LoadException extends RuntimeException {
+        /**
+         * Конструктор для {@code LoadException}.
+         *
+         * @param cause ошибка базы данных.
+         */
+        private LoadException(final SQLException cause) {
+            super(cause);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @return {@inheritDoc}
+         */
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+}
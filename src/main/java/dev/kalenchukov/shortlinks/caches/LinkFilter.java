@@ -0,0 +1,166 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.caches;
+
+import dev.kalenchukov.shortlinks.repositories.LinkRepositories;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * Класс фильтра существующих ссылок.
+ * <p>
+ * Строится по идентификаторам из репозитория при запуске и периодически перестраивается.
+ * Пока фильтр не построен, любая ссылка считается возможно существующей.
+ * Удалённые ссылки остаются в фильтре до следующего перестроения.
+ * Ссылки, добавленные другими экземплярами приложения, попадают в фильтр только
+ * при перестроении, поэтому фильтр включается лишь при единственном экземпляре.
+ *
+ * @author Алексей Каленчуков
+ */
+@Component
+public class LinkFilter implements LinkFilters {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(LinkFilter.class);
+
+    /**
+     * Репозиторий для ссылок.
+     */
+    private final LinkRepositories linkRepository;
+
+    /**
+     * Включён ли фильтр.
+     */
+    private final boolean enabled;
+
+    /**
+     * Ожидаемое количество ссылок.
+     */
+    private final long expectedInsertions;
+
+    /**
+     * Допустимая вероятность ложноположительного ответа.
+     */
+    private final double falsePositiveProbability;
+
+    /**
+     * Действующий фильтр.
+     */
+    private volatile BloomFilter filter;
+
+    /**
+     * Перестраиваемый фильтр.
+     */
+    private volatile BloomFilter building;
+
+    /**
+     * Конструктор для {@code LinkFilter}.
+     *
+     * @param linkRepository           репозиторий ссылок.
+     * @param enabled                  включён ли фильтр.
+     * @param expectedInsertions       ожидаемое количество ссылок.
+     * @param falsePositiveProbability допустимая вероятность ложноположительного ответа.
+     */
+    @Autowired
+    public LinkFilter(final LinkRepositories linkRepository,
+                      @Value("${shortlinks.filter.enabled:false}") final boolean enabled,
+                      @Value("${shortlinks.filter.expected-insertions:1000000}") final long expectedInsertions,
+                      @Value("${shortlinks.filter.false-positive-probability:0.01}") final double falsePositiveProbability) {
+        this.linkRepository = linkRepository;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isAbsent(final long linkId) {
+        final BloomFilter current = this.filter;
+
+        return current != null && !current.mightContain(linkId);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     */
+    @Override
+    public void add(final long linkId) {
+        final BloomFilter next = this.building;
+
+        if (next != null) {
+            next.put(linkId);
+        }
+
+        final BloomFilter current = this.filter;
+
+        if (current != null) {
+            current.put(linkId);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Ссылки, добавленные во время перестроения, попадают и в новый фильтр.
+     *
+     * @throws SQLException {@inheritDoc}
+     */
+    @Override
+    @Scheduled(initialDelay = 0L, fixedDelayString = "${shortlinks.filter.rebuild-interval:PT1H}")
+    public synchronized void rebuild() throws SQLException {
+        if (!this.enabled) {
+            return;
+        }
+
+        LOG.debug("Перестроение фильтра ссылок.");
+
+        final long insertions = Math.max(this.expectedInsertions, this.linkRepository.size() * 2L);
+        final BloomFilter next = new BloomFilter(insertions, this.falsePositiveProbability);
+        this.building = next;
+
+        try {
+            this.linkRepository.forEachId(next::put);
+            this.filter = next;
+        } finally {
+            this.building = null;
+        }
+
+        LOG.debug("Фильтр ссылок перестроен, размер {} бит.", next.getBitCount());
+    }
+}
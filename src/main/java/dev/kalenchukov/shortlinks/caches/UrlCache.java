@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.caches;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Класс кэша идентификаторов ссылок по хэшу URL-адреса.
+ * <p>
+ * Позволяет вернуть недавно сокращённый URL-адрес без обращения к базе данных.
+ * Работает только при включённом исключении повторяющихся URL-адресов.
+ *
+ * @author Алексей Каленчуков
+ */
+@Component
+public class UrlCache implements UrlCaches {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(UrlCache.class);
+
+    /**
+     * Включён ли кэш.
+     */
+    private final boolean enabled;
+
+    /**
+     * Кэш идентификаторов ссылок по хэшу URL-адреса.
+     */
+    private final Cache<UUID, Long> cache;
+
+    /**
+     * Конструктор для {@code UrlCache}.
+     *
+     * @param deduplication исключаются ли повторяющиеся URL-адреса.
+     * @param maximumSize   максимальное количество записей или {@code 0}, если кэш выключен.
+     */
+    @Autowired
+    public UrlCache(@Value("${shortlinks.dedup.enabled:false}") final boolean deduplication,
+                    @Value("${shortlinks.dedup.cache-size:100000}") final long maximumSize) {
+        this.enabled = deduplication && maximumSize > 0L;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+
+        LOG.debug("Кэш идентификаторов ссылок по URL-адресу {}.", this.enabled ? "включён" : "выключен");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param urlHash {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public OptionalLong get(final UUID urlHash) {
+        if (!this.enabled) {
+            return OptionalLong.empty();
+        }
+
+        final Long linkId = this.cache.getIfPresent(urlHash);
+
+        return linkId == null ? OptionalLong.empty() : OptionalLong.of(linkId);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param urlHash {@inheritDoc}
+     * @param linkId  {@inheritDoc}
+     */
+    @Override
+    public void put(final UUID urlHash, final long linkId) {
+        if (this.enabled) {
+            this.cache.put(urlHash, linkId);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param urlHash {@inheritDoc}
+     */
+    @Override
+    public void invalidate(final UUID urlHash) {
+        if (this.enabled) {
+            this.cache.invalidate(urlHash);
+        }
+    }
+}
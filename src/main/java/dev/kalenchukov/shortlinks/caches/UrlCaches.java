@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.caches;
+
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Интерфейс для реализации кэша идентификаторов ссылок по хэшу URL-адреса.
+ *
+ * @author Алексей Каленчуков
+ */
+public interface UrlCaches {
+    /**
+     * Возвращает признак включённого кэша.
+     *
+     * @return {@code true}, если кэш включён.
+     */
+    boolean isEnabled();
+
+    /**
+     * Возвращает идентификатор ссылки с URL-адресом.
+     *
+     * @param urlHash хэш URL-адреса.
+     * @return идентификатор ссылки или пустое значение, если его нет в кэше.
+     */
+    OptionalLong get(UUID urlHash);
+
+    /**
+     * Добавляет идентификатор ссылки с URL-адресом в кэш.
+     *
+     * @param urlHash хэш URL-адреса.
+     * @param linkId  идентификатор ссылки.
+     */
+    void put(UUID urlHash, long linkId);
+
+    /**
+     * Удаляет идентификатор ссылки с URL-адресом из кэша.
+     *
+     * @param urlHash хэш URL-адреса.
+     */
+    void invalidate(UUID urlHash);
+}
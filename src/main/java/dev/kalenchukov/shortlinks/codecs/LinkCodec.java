@@ -0,0 +1,290 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.codecs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Класс преобразования идентификаторов ссылок в короткие коды.
+ * <p>
+ * Код - запись идентификатора в системе счисления с основанием 62.
+ * Если задан ключ, идентификатор перед записью переставляется шифром Фейстеля,
+ * чтобы коды соседних ссылок не были последовательными.
+ * Перестановка действует на неотрицательных значениях {@code long}:
+ * результат шифрования, вышедший за их пределы, шифруется повторно.
+ * У каждого идентификатора ровно один код, поэтому коды с ведущими нулями не принимаются.
+ * Кодирование в буфер и декодирование не создают объектов.
+ *
+ * @author Алексей Каленчуков
+ */
+@Component
+public class LinkCodec implements LinkCodecs {
+    /**
+     * Основание системы счисления.
+     */
+    private static final int BASE = 62;
+
+    /**
+     * Символы кода в порядке возрастания значения.
+     */
+    private static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    /**
+     * Значения символов кода или {@code -1} для недопустимых символов.
+     */
+    private static final byte[] DIGITS = new byte[128];
+
+    /**
+     * Количество раундов шифра Фейстеля.
+     */
+    private static final int ROUNDS = 4;
+
+    static {
+        Arrays.fill(DIGITS, (byte) -1);
+
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DIGITS[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    /**
+     * Ключи раундов или {@code null}, если перестановка не используется.
+     */
+    private final long[] roundKeys;
+
+    /**
+     * Конструктор для {@code LinkCodec}.
+     *
+     * @param key ключ перестановки или пустая строка, если перестановка не используется.
+     */
+    public LinkCodec(@Value("${shortlinks.codes.key:}") final String key) {
+        this.roundKeys = key.isEmpty() ? null : LinkCodec.deriveRoundKeys(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String encode(final long linkId) {
+        final char[] buffer = new char[MAX_LENGTH];
+        final int length = this.encode(linkId, buffer, 0);
+
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     * @param buffer {@inheritDoc}
+     * @param offset {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int encode(final long linkId, final char[] buffer, final int offset) {
+        if (linkId < 0) {
+            throw new IllegalArgumentException("Идентификатор ссылки не может быть отрицательным.");
+        }
+
+        long value = this.permute(linkId);
+        int length = 1;
+
+        for (long rest = value / BASE; rest > 0; rest /= BASE) {
+            length++;
+        }
+
+        for (int position = offset + length - 1; position >= offset; position--) {
+            buffer[position] = ALPHABET[(int) (value % BASE)];
+            value /= BASE;
+        }
+
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param code {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public long decode(final CharSequence code) {
+        final int length = code.length();
+
+        if (length == 0 || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Некорректная длина кода ссылки.");
+        }
+
+        if (length > 1 && code.charAt(0) == ALPHABET[0]) {
+            throw new IllegalArgumentException("Код ссылки не должен начинаться с нуля.");
+        }
+
+        long value = 0;
+
+        for (int i = 0; i < length; i++) {
+            final char symbol = code.charAt(i);
+            final int digit = symbol < DIGITS.length ? DIGITS[symbol] : -1;
+
+            if (digit < 0) {
+                throw new IllegalArgumentException("Некорректный символ в коде ссылки.");
+            }
+
+            if (value > (Long.MAX_VALUE - digit) / BASE) {
+                throw new IllegalArgumentException("Код ссылки вне допустимого диапазона.");
+            }
+
+            value = value * BASE + digit;
+        }
+
+        return this.unpermute(value);
+    }
+
+    /**
+     * Переставляет неотрицательное значение.
+     *
+     * @param value значение.
+     * @return переставленное значение.
+     */
+    private long permute(final long value) {
+        if (this.roundKeys == null) {
+            return value;
+        }
+
+        long result = value;
+
+        do {
+            result = this.encrypt(result);
+        } while (result < 0);
+
+        return result;
+    }
+
+    /**
+     * Восстанавливает значение, переставленное методом {@link #permute(long)}.
+     *
+     * @param value переставленное значение.
+     * @return значение.
+     */
+    private long unpermute(final long value) {
+        if (this.roundKeys == null) {
+            return value;
+        }
+
+        long result = value;
+
+        do {
+            result = this.decrypt(result);
+        } while (result < 0);
+
+        return result;
+    }
+
+    /**
+     * Шифрует 64-битный блок.
+     *
+     * @param block блок.
+     * @return зашифрованный блок.
+     */
+    private long encrypt(final long block) {
+        int left = (int) (block >>> 32);
+        int right = (int) block;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            final int next = left ^ LinkCodec.mix(right, this.roundKeys[round]);
+            left = right;
+            right = next;
+        }
+
+        return ((long) left << 32) | (right & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Расшифровывает 64-битный блок.
+     *
+     * @param block зашифрованный блок.
+     * @return блок.
+     */
+    private long decrypt(final long block) {
+        int left = (int) (block >>> 32);
+        int right = (int) block;
+
+        for (int round = ROUNDS - 1; round >= 0; round--) {
+            final int previous = right ^ LinkCodec.mix(left, this.roundKeys[round]);
+            right = left;
+            left = previous;
+        }
+
+        return ((long) left << 32) | (right & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Возвращает значение функции раунда.
+     *
+     * @param half половина блока.
+     * @param key  ключ раунда.
+     * @return значение функции раунда.
+     */
+    private static int mix(final int half, final long key) {
+        long hash = (half ^ key) * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 29;
+        hash *= 0xBF58476D1CE4E5B9L;
+
+        return (int) (hash >>> 32);
+    }
+
+    /**
+     * Возвращает ключи раундов, полученные из ключа перестановки.
+     *
+     * @param key ключ перестановки.
+     * @return ключи раундов.
+     */
+    private static long[] deriveRoundKeys(final String key) {
+        long seed = 0xCBF29CE484222325L;
+
+        for (byte symbol : key.getBytes(StandardCharsets.UTF_8)) {
+            seed = (seed ^ (symbol & 0xFF)) * 0x100000001B3L;
+        }
+
+        final long[] keys = new long[ROUNDS];
+
+        for (int round = 0; round < ROUNDS; round++) {
+            seed += 0x9E3779B97F4A7C15L;
+
+            long hash = seed;
+            hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+            hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+            keys[round] = hash ^ (hash >>> 31);
+        }
+
+        return keys;
+    }
+}
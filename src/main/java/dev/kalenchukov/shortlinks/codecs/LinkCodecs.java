@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.codecs;
+
+/**
+ * Интерфейс для реализации преобразования идентификаторов ссылок в короткие коды.
+ * <p>
+ * Преобразование взаимно однозначное, поэтому код ссылки не хранится,
+ * а поиск по коду остаётся поиском по первичному ключу.
+ *
+ * @author Алексей Каленчуков
+ */
+public interface LinkCodecs {
+    /**
+     * Максимальная длина кода.
+     */
+    int MAX_LENGTH = 11;
+
+    /**
+     * Возвращает код ссылки.
+     *
+     * @param linkId идентификатор ссылки.
+     * @return код ссылки.
+     * @throws IllegalArgumentException если идентификатор отрицательный.
+     */
+    String encode(long linkId);
+
+    /**
+     * Записывает код ссылки в буфер.
+     *
+     * @param linkId идентификатор ссылки.
+     * @param buffer буфер не короче {@link #MAX_LENGTH} символов от {@code offset}.
+     * @param offset позиция в буфере.
+     * @return длину кода.
+     * @throws IllegalArgumentException если идентификатор отрицательный.
+     */
+    int encode(long linkId, char[] buffer, int offset);
+
+    /**
+     * Возвращает идентификатор ссылки по коду.
+     *
+     * @param code код ссылки.
+     * @return идентификатор ссылки.
+     * @throws IllegalArgumentException если код некорректный.
+     */
+    long decode(CharSequence code);
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.codecs;
+
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Класс хэширования URL-адресов ссылок.
+ * <p>
+ * Хэш - первые 128 бит SHA-256 нормализованного URL-адреса.
+ * Он хранится в столбце типа {@code UUID}, имеющем фиксированную ширину 16 байт.
+ *
+ * @author Алексей Каленчуков
+ */
+@Component
+public class UrlHash implements UrlHashes {
+    /**
+     * Алгоритмы SHA-256 потоков.
+     */
+    private static final ThreadLocal<MessageDigest> DIGESTS = ThreadLocal.withInitial(UrlHash::newDigest);
+
+    /**
+     * Конструктор для {@code UrlHash}.
+     */
+    public UrlHash() {
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Строки, не являющиеся абсолютными URL-адресами с хостом, только очищаются от пробелов по краям.
+     *
+     * @param url {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String normalize(final String url) {
+        final String trimmed = url.trim();
+        final URI uri;
+
+        try {
+            uri = new URI(trimmed);
+        } catch (URISyntaxException exception) {
+            return trimmed;
+        }
+
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            return trimmed;
+        }
+
+        final String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        final StringBuilder normalized = new StringBuilder(trimmed.length());
+        normalized.append(scheme).append("://");
+
+        if (uri.getRawUserInfo() != null) {
+            normalized.append(uri.getRawUserInfo()).append('@');
+        }
+
+        normalized.append(uri.getHost().toLowerCase(Locale.ROOT));
+
+        if (uri.getPort() != -1 && uri.getPort() != UrlHash.defaultPort(scheme)) {
+            normalized.append(':').append(uri.getPort());
+        }
+
+        final String path = uri.getRawPath();
+        normalized.append(path == null || path.isEmpty() ? "/" : path);
+
+        if (uri.getRawQuery() != null) {
+            normalized.append('?').append(uri.getRawQuery());
+        }
+
+        if (uri.getRawFragment() != null) {
+            normalized.append('#').append(uri.getRawFragment());
+        }
+
+        return normalized.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param url {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public UUID hash(final String url) {
+        final byte[] digest = DIGESTS.get().digest(this.normalize(url).getBytes(StandardCharsets.UTF_8));
+        final ByteBuffer buffer = ByteBuffer.wrap(digest);
+
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Возвращает порт схемы по умолчанию.
+     *
+     * @param scheme схема.
+     * @return порт или {@code -1}, если схема неизвестна.
+     */
+    private static int defaultPort(final String scheme) {
+        return switch (scheme) {
+            case "http" -> 80;
+            case "https" -> 443;
+            case "ftp" -> 21;
+            default -> -1;
+        };
+    }
+
+    /**
+     * Возвращает алгоритм SHA-256.
+     *
+     * @return алгоритм.
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("Алгоритм SHA-256 недоступен.", exception);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.kalenchukov.shortlinks.services.BatchServices;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Класс контроллера пакетной обработки ссылок.
+ * <p>
+ * Принимает JSON-массив или NDJSON-поток, элементами которого являются ссылки,
+ * строки с URL-адресами или идентификаторы ссылок, и возвращает результаты
+ * в том же формате, не дожидаясь обработки всего пакета.
+ *
+ * @author Алексей Каленчуков
+ */
+@RestController()
+@RequestMapping(path = "/batch", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+@Tag(name = "Пакетная обработка ссылок")
+public class BatchController {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(BatchController.class);
+
+    /**
+     * Сервис для пакетной обработки ссылок.
+     */
+    private final BatchServices batchService;
+
+    /**
+     * Преобразователь JSON.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Контроллер для {@code BatchController}.
+     *
+     * @param batchService сервис для пакетной обработки ссылок.
+     * @param objectMapper преобразователь JSON.
+     */
+    @Autowired
+    public BatchController(final BatchServices batchService, final ObjectMapper objectMapper) {
+        this.batchService = batchService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Добавляет ссылки.
+     *
+     * @param contentType тип содержимого запроса.
+     * @param request     запрос.
+     * @param response    ответ.
+     * @throws IOException при ошибке чтения запроса или записи ответа.
+     */
+    @Operation(
+            summary = "Пакетное добавление ссылок",
+            description = "Позволяет добавить ссылки из JSON-массива или NDJSON-потока. " +
+                    "Результаты возвращаются в порядке ссылок: идентификатор добавленной ссылки или нарушения"
+    )
+    @ApiResponse(responseCode = "200")
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public void addAll(
+            @Parameter(description = "Тип содержимого запроса", required = true)
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final MediaType contentType,
+            final HttpServletRequest request,
+            final HttpServletResponse response) throws IOException {
+        LOG.debug("Получен запрос на пакетное добавление ссылок.");
+
+        this.process(contentType, request, response, (nodes, consumer) -> {
+            this.batchService.addAll(new LinkIterator(nodes, this.objectMapper), consumer::accept);
+        });
+    }
+
+    /**
+     * Удаляет ссылки.
+     *
+     * @param contentType тип содержимого запроса.
+     * @param request     запрос.
+     * @param response    ответ.
+     * @throws IOException при ошибке чтения запроса или записи ответа.
+     */
+    @Operation(
+            summary = "Пакетное удаление ссылок",
+            description = "Позволяет удалить ссылки по идентификаторам из JSON-массива или NDJSON-потока. " +
+                    "Результаты возвращаются в порядке идентификаторов: удалена ссылка или её не существует"
+    )
+    @ApiResponse(responseCode = "200")
+    @DeleteMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public void deleteAll(
+            @Parameter(description = "Тип содержимого запроса", required = true)
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final MediaType contentType,
+            final HttpServletRequest request,
+            final HttpServletResponse response) throws IOException {
+        LOG.debug("Получен запрос на пакетное удаление ссылок.");
+
+        this.process(contentType, request, response, (nodes, consumer) -> {
+            this.batchService.deleteAll(new LinkIdIterator(nodes), consumer::accept);
+        });
+    }
+
+    /**
+     * Читает элементы пакета из запроса и записывает результаты их обработки в ответ
+     * в формате запроса.
+     *
+     * @param contentType тип содержимого запроса.
+     * @param request     запрос.
+     * @param response    ответ.
+     * @param processor   обработчик пакета.
+     * @throws IOException при ошибке чтения запроса или записи ответа.
+     */
+    private void process(final MediaType contentType,
+                         final HttpServletRequest request,
+                         final HttpServletResponse response,
+                         final Processor processor) throws IOException {
+        final boolean ndjson = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(ndjson ? MediaType.APPLICATION_NDJSON_VALUE : MediaType.APPLICATION_JSON_VALUE);
+
+        try (MappingIterator<JsonNode> nodes = this.objectMapper.readerFor(JsonNode.class)
+                .readValues(request.getInputStream());
+             JsonGenerator generator = this.objectMapper.createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+
+            if (!ndjson) {
+                generator.writeStartArray();
+            }
+
+            try {
+                processor.process(nodes, result -> this.write(generator, result, ndjson));
+            } catch (UncheckedIOException exception) {
+                throw exception.getCause();
+            }
+
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    /**
+     * Записывает результат обработки элемента пакета.
+     *
+     * @param generator генератор JSON.
+     * @param result    результат.
+     * @param ndjson    записывается ли NDJSON-поток.
+     */
+    private void write(final JsonGenerator generator, final Object result, final boolean ndjson) {
+        try {
+            generator.writeObject(result);
+
+            if (ndjson) {
+                generator.writeRaw('\n');
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Интерфейс для реализации обработчика пакета.
+     */
+    @FunctionalInterface
+    private interface Processor {
+        /**
+         * Обрабатывает элементы пакета.
+         *
+         * @param nodes    элементы JSON.
+         * @param consumer получатель результатов.
+         */
+        void process(MappingIterator<JsonNode> nodes, Consumer<Object> consumer);
+    }
+
+    /**
+     * Класс итератора идентификаторов ссылок из элементов JSON.
+     * <p>
+     * Элемент, не являющийся целым числом, заменяется на {@code null}.
+     */
+    private static final class LinkIdIterator implements Iterator<Long> {
+        /**
+         * Элементы JSON.
+         */
+        private final MappingIterator<JsonNode> nodes;
+
+        /**
+         * Конструктор для {@code LinkIdIterator}.
+         *
+         * @param nodes элементы JSON.
+         */
+        private LinkIdIterator(final MappingIterator<JsonNode> nodes) {
+            this.nodes = nodes;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @return {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return this.nodes.hasNext();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @return {@inheritDoc}
+         */
+        @Override
+        public Long next() {
+            final JsonNode node = this.nodes.next();
+
+            if (node.isIntegralNumber() && node.canConvertToLong()) {
+                return node.longValue();
+            }
+
+            LOG.debug("Не удалось прочитать идентификатор ссылки из {}.", node);
+
+            return null;
+        }
+    }
+}
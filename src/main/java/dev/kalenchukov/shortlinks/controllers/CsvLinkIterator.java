@@ -0,0 +1,255 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.controllers;
+
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.exceptions.BadRequestException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Класс итератора ссылок из строк CSV.
+ * <p>
+ * Первая строка содержит названия столбцов: обязательный {@code url} и необязательные
+ * {@code link_id} и {@code date_create} в любом порядке. Значения в двойных кавычках
+ * могут содержать запятые, а кавычка внутри них удваивается.
+ * Строка, которую не удалось прочитать, заменяется на пустую ссылку,
+ * чтобы она не прошла проверку.
+ *
+ * @author Алексей Каленчуков
+ */
+final class CsvLinkIterator implements Iterator<Link> {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(CsvLinkIterator.class);
+
+    /**
+     * Строки CSV.
+     */
+    private final BufferedReader reader;
+
+    /**
+     * Номер столбца идентификатора.
+     */
+    private final int linkIdColumn;
+
+    /**
+     * Номер столбца URL-адреса.
+     */
+    private final int urlColumn;
+
+    /**
+     * Номер столбца даты создания.
+     */
+    private final int dateCreateColumn;
+
+    /**
+     * Следующая непустая строка.
+     */
+    private String line;
+
+    /**
+     * Конструктор для {@code CsvLinkIterator}.
+     *
+     * @param reader строки CSV.
+     * @throws IOException при ошибке чтения.
+     * @throws BadRequestException если в первой строке нет столбца {@code url}.
+     */
+    CsvLinkIterator(final BufferedReader reader) throws IOException {
+        this.reader = reader;
+
+        final String header = this.readLine();
+        final List<String> columns = header == null ? List.of() : CsvLinkIterator.split(header).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+
+        this.linkIdColumn = columns.indexOf("link_id");
+        this.urlColumn = columns.indexOf("url");
+        this.dateCreateColumn = columns.indexOf("date_create");
+
+        if (header != null && this.urlColumn < 0) {
+            throw new BadRequestException("В первой строке CSV должен быть столбец url.");
+        }
+
+        this.line = this.readLine();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        return this.line != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Link next() {
+        if (this.line == null) {
+            throw new NoSuchElementException();
+        }
+
+        final String current = this.line;
+
+        try {
+            this.line = this.readLine();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        try {
+            final List<String> values = CsvLinkIterator.split(current);
+
+            return new Link(
+                    CsvLinkIterator.parseLinkId(CsvLinkIterator.get(values, this.linkIdColumn)),
+                    CsvLinkIterator.get(values, this.urlColumn),
+                    CsvLinkIterator.parseDateCreate(CsvLinkIterator.get(values, this.dateCreateColumn))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            LOG.debug("Не удалось прочитать ссылку из {}.", current);
+
+            return new Link();
+        }
+    }
+
+    /**
+     * Возвращает следующую непустую строку.
+     *
+     * @return строку или {@code null}, если строки закончились.
+     * @throws IOException при ошибке чтения.
+     */
+    private String readLine() throws IOException {
+        String next;
+
+        do {
+            next = this.reader.readLine();
+        } while (next != null && next.isBlank());
+
+        return next;
+    }
+
+    /**
+     * Возвращает значение столбца.
+     *
+     * @param values значения строки.
+     * @param column номер столбца.
+     * @return значение или {@code null}, если столбца нет или значение пустое.
+     */
+    private static String get(final List<String> values, final int column) {
+        if (column < 0 || column >= values.size() || values.get(column).isEmpty()) {
+            return null;
+        }
+
+        return values.get(column);
+    }
+
+    /**
+     * Возвращает идентификатор из значения.
+     *
+     * @param value значение.
+     * @return идентификатор или {@code null}.
+     * @throws NumberFormatException если значение не является числом.
+     */
+    private static Long parseLinkId(final String value) {
+        return value == null ? null : Long.valueOf(value.trim());
+    }
+
+    /**
+     * Возвращает дату из значения в формате ISO-8601 со смещением
+     * или в формате {@code yyyy-mm-dd hh:mm:ss[.f...]}.
+     *
+     * @param value значение.
+     * @return дату или {@code null}.
+     * @throws IllegalArgumentException если значение не является датой.
+     */
+    private static Timestamp parseDateCreate(final String value) {
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return Timestamp.from(OffsetDateTime.parse(value.trim()).toInstant());
+        } catch (DateTimeParseException exception) {
+            return Timestamp.valueOf(value.trim());
+        }
+    }
+
+    /**
+     * Разбивает строку CSV на значения.
+     *
+     * @param line строка.
+     * @return значения.
+     */
+    private static List<String> split(final String line) {
+        final List<String> values = new ArrayList<>();
+        final StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        for (int index = 0; index < line.length(); index++) {
+            final char symbol = line.charAt(index);
+
+            if (quoted) {
+                if (symbol != '"') {
+                    value.append(symbol);
+                } else if (index + 1 < line.length() && line.charAt(index + 1) == '"') {
+                    value.append('"');
+                    index++;
+                } else {
+                    quoted = false;
+                }
+            } else if (symbol == '"') {
+                quoted = true;
+            } else if (symbol == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(symbol);
+            }
+        }
+
+        values.add(value.toString());
+
+        return values;
+    }
+}
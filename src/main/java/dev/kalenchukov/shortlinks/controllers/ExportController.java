@@ -0,0 +1,188 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.services.LinkServices;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Класс контроллера выгрузки ссылок.
+ * <p>
+ * Ссылки читаются из базы данных порциями и сразу записываются в ответ,
+ * поэтому расход памяти не зависит от количества выгружаемых ссылок.
+ *
+ * @author Алексей Каленчуков
+ */
+@RestController()
+@RequestMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@Tag(name = "Выгрузка ссылок")
+public class ExportController {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(ExportController.class);
+
+    /**
+     * Размер буфера сжатия.
+     */
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Сервис для ссылок.
+     */
+    private final LinkServices linkService;
+
+    /**
+     * Преобразователь JSON.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Контроллер для {@code ExportController}.
+     *
+     * @param linkService  сервис для ссылок.
+     * @param objectMapper преобразователь JSON.
+     */
+    @Autowired
+    public ExportController(final LinkServices linkService, final ObjectMapper objectMapper) {
+        this.linkService = linkService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Выгружает ссылки.
+     *
+     * @param from           начало периода создания ссылок.
+     * @param to             конец периода создания ссылок.
+     * @param acceptEncoding допустимые кодировки ответа.
+     * @return NDJSON-поток ссылок.
+     */
+    @Operation(
+            summary = "Выгрузка ссылок",
+            description = "Позволяет выгрузить все ссылки или ссылки, созданные за период, в виде NDJSON-потока " +
+                    "в порядке идентификаторов. Поток сжимается gzip, если клиент его принимает"
+    )
+    @ApiResponse(responseCode = "200")
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Начало периода создания ссылок включительно, например 2023-01-01T00:00:00Z")
+            @RequestParam(name = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant from,
+            @Parameter(description = "Конец периода создания ссылок исключительно, например 2024-01-01T00:00:00Z")
+            @RequestParam(name = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant to,
+            @Parameter(description = "Допустимые кодировки ответа")
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding) {
+        LOG.debug("Получен запрос на выгрузку ссылок, созданных с {} по {}.", from, to);
+
+        final Timestamp fromTimestamp = from == null ? null : Timestamp.from(from);
+        final Timestamp toTimestamp = to == null ? null : Timestamp.from(to);
+        final boolean gzip = ExportController.acceptsGzip(acceptEncoding);
+
+        final StreamingResponseBody body = outputStream -> {
+            final OutputStream target = gzip ? new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE) : outputStream;
+
+            try (JsonGenerator generator = this.objectMapper.createGenerator(target)) {
+                generator.setRootValueSeparator(null);
+                this.linkService.export(fromTimestamp, toTimestamp, link -> this.write(generator, link));
+            } catch (UncheckedIOException exception) {
+                throw exception.getCause();
+            }
+        };
+
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return response.body(body);
+    }
+
+    /**
+     * Записывает ссылку строкой NDJSON-потока.
+     *
+     * @param generator генератор JSON.
+     * @param link      ссылка.
+     */
+    private void write(final JsonGenerator generator, final Link link) {
+        try {
+            generator.writeObject(link);
+            generator.writeRaw('\n');
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Проверяет, принимает ли клиент ответ, сжатый gzip.
+     *
+     * @param acceptEncoding значение заголовка {@code Accept-Encoding}.
+     * @return {@code true} если клиент принимает gzip, иначе {@code false}.
+     */
+    private static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String coding : acceptEncoding.split(",")) {
+            final String[] parts = coding.split(";");
+
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q\\s*=\\s*0(\\.0*)?");
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.kalenchukov.shortlinks.entities.ImportProgress;
+import dev.kalenchukov.shortlinks.services.ImportServices;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Класс контроллера загрузки ссылок.
+ *
+ * @author Алексей Каленчуков
+ */
+@RestController()
+@RequestMapping(path = "/import", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Загрузка ссылок")
+public class ImportController {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(ImportController.class);
+
+    /**
+     * Тип содержимого CSV.
+     */
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    /**
+     * Сервис для загрузки ссылок.
+     */
+    private final ImportServices importService;
+
+    /**
+     * Преобразователь JSON.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Контроллер для {@code ImportController}.
+     *
+     * @param importService сервис для загрузки ссылок.
+     * @param objectMapper  преобразователь JSON.
+     */
+    @Autowired
+    public ImportController(final ImportServices importService, final ObjectMapper objectMapper) {
+        this.importService = importService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Загружает ссылки.
+     *
+     * @param contentType тип содержимого запроса.
+     * @param preserveIds сохранять ли переданные идентификаторы ссылок.
+     * @param request     запрос.
+     * @return итог загрузки.
+     * @throws IOException при ошибке чтения запроса.
+     */
+    @Operation(
+            summary = "Загрузка ссылок",
+            description = "Позволяет загрузить большое количество ссылок из NDJSON-потока или CSV. " +
+                    "Первая строка CSV содержит названия столбцов: url и необязательные link_id и date_create. " +
+                    "Ссылки, не прошедшие проверку, пропускаются"
+    )
+    @ApiResponse(responseCode = "200")
+    @PostMapping(consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public ResponseEntity<ImportProgress> importAll(
+            @Parameter(description = "Тип содержимого запроса", required = true)
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final MediaType contentType,
+            @Parameter(description = "Сохранять ли переданные идентификаторы ссылок")
+            @RequestParam(name = "preserveIds", defaultValue = "false") final boolean preserveIds,
+            final HttpServletRequest request) throws IOException {
+        LOG.debug("Получен запрос на загрузку ссылок.");
+
+        final ImportProgress progress;
+
+        try {
+            if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+                try (MappingIterator<JsonNode> nodes = this.objectMapper.readerFor(JsonNode.class)
+                        .readValues(request.getInputStream())) {
+                    progress = this.importService.importAll(new LinkIterator(nodes, this.objectMapper), preserveIds);
+                }
+            } else {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+                    progress = this.importService.importAll(new CsvLinkIterator(reader), preserveIds);
+                }
+            }
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(progress);
+    }
+
+    /**
+     * Возвращает ход загрузок.
+     *
+     * @return ход выполняющихся и последних завершённых загрузок.
+     */
+    @Operation(
+            summary = "Получение хода загрузок ссылок",
+            description = "Позволяет получить количество прочитанных, отклонённых и добавленных ссылок " +
+                    "и скорость выполняющихся и последних завершённых загрузок"
+    )
+    @ApiResponse(responseCode = "200")
+    @GetMapping
+    public ResponseEntity<List<ImportProgress>> getImports() {
+        LOG.debug("Получен запрос на получение хода загрузок ссылок.");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(this.importService.getImports());
+    }
+}
@@ -24,8 +24,14 @@
 
 package dev.kalenchukov.shortlinks.controllers;
 
+import dev.kalenchukov.shortlinks.codecs.LinkCodecs;
+import dev.kalenchukov.shortlinks.entities.ClickStatistics;
+import dev.kalenchukov.shortlinks.entities.Clicks;
 import dev.kalenchukov.shortlinks.entities.Count;
+import dev.kalenchukov.shortlinks.entities.CountMode;
+import dev.kalenchukov.shortlinks.entities.Granularity;
 import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.exceptions.LinkNotFoundException;
 import dev.kalenchukov.shortlinks.services.LinkServices;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -34,15 +40,21 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.time.Instant;
 
 /**
  * Класс контроллера ссылок.
+ * <p>
+ * Ссылка доступна по коду с префиксом {@code /s/} и по десятичному идентификатору,
+ * по которому опубликованы ссылки, созданные до появления кодов.
+ * Префикс не даёт кодам совпасть с путями {@code /count}, {@code /export}, {@code /import} и {@code /batch}.
  *
  * @author Алексей Каленчуков
  */
@@ -60,39 +72,50 @@ public class LinkController {
      */
     private final LinkServices linkService;
 
+    /**
+     * Преобразование кодов ссылок в идентификаторы.
+     */
+    private final LinkCodecs linkCodec;
+
     /**
      * Контроллер для {@code LinkController}.
      *
      * @param linkService сервис для ссылок.
+     * @param linkCodec   преобразование кодов ссылок в идентификаторы.
      */
     @Autowired
-    public LinkController(final LinkServices linkService) {
+    public LinkController(final LinkServices linkService, final LinkCodecs linkCodec) {
         this.linkService = linkService;
+        this.linkCodec = linkCodec;
     }
 
     /**
      * Возвращает количество ссылок.
      *
+     * @param mode способ подсчёта.
      * @return количество
      */
     @Operation(
             summary = "Получение количества ссылок",
-            description = "Позволяет получить количество ссылок"
+            description = "Позволяет получить точное или приблизительное количество ссылок"
     )
     @ApiResponse(responseCode = "200")
     @GetMapping(path = "/count")
-    public ResponseEntity<Count> count() {
+    public ResponseEntity<Count> count(
+            @Parameter(description = "Способ подсчёта: exact — точный, estimate — по статистике базы данных")
+            @RequestParam(name = "mode", defaultValue = "exact") final CountMode mode) {
         LOG.debug("Получен запрос на получение количества ссылок");
 
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(this.linkService.count());
+                .body(this.linkService.count(mode));
     }
 
     /**
      * Переадресовывает по URL-адресу ссылки.
      *
-     * @param linkId идентификатор ссылки.
+     * @param linkId идентификатор ссылки или {@code null}, если ссылка запрошена по коду.
+     * @param code   код ссылки или {@code null}, если ссылка запрошена по идентификатору.
      * @return пустой ответ.
      */
     @Operation(
@@ -100,21 +123,24 @@ public class LinkController {
             description = "Позволяет перенаправить запрос на URL-адрес ссылки"
     )
     @ApiResponse(responseCode = "302")
-    @GetMapping(path = "/{linkId}")
+    @GetMapping(path = {"/{linkId:\\d+}", "/s/{code}"})
     public ResponseEntity<Void> redirect(
-            @Parameter(description = "Идентификатор ссылки", required = true)
-            @PathVariable("linkId") final long linkId) {
-        LOG.debug("Получен запрос на получение URL-адреса ссылки с ID " + linkId + ".");
+            @Parameter(description = "Идентификатор ссылки")
+            @PathVariable(name = "linkId", required = false) final Long linkId,
+            @Parameter(description = "Код ссылки")
+            @PathVariable(name = "code", required = false) final String code) {
+        LOG.debug("Получен запрос на получение URL-адреса ссылки с ID {} или кодом {}.", linkId, code);
 
         return ResponseEntity.status(HttpStatus.FOUND)
-                .location(URI.create(this.linkService.getUrl(linkId)))
+                .location(URI.create(this.linkService.getUrl(this.resolve(linkId, code))))
                 .build();
     }
 
     /**
      * Возвращает информацию о ссылке.
      *
-     * @param linkId идентификатор ссылки.
+     * @param linkId идентификатор ссылки или {@code null}, если ссылка запрошена по коду.
+     * @param code   код ссылки или {@code null}, если ссылка запрошена по идентификатору.
      * @return ссылку.
      */
     @Operation(
@@ -122,15 +148,82 @@ public class LinkController {
             description = "Позволяет получить информацию о ссылке"
     )
     @ApiResponse(responseCode = "200")
-    @GetMapping(path = "/{linkId}/info")
+    @GetMapping(path = {"/{linkId:\\d+}/info", "/s/{code}/info"})
     public ResponseEntity<Link> info(
-            @Parameter(description = "Идентификатор ссылки", required = true)
-            @PathVariable("linkId") final long linkId) {
-        LOG.debug("Получен запрос на получение информации по ссылке с ID " + linkId + ".");
+            @Parameter(description = "Идентификатор ссылки")
+            @PathVariable(name = "linkId", required = false) final Long linkId,
+            @Parameter(description = "Код ссылки")
+            @PathVariable(name = "code", required = false) final String code) {
+        LOG.debug("Получен запрос на получение информации по ссылке с ID {} или кодом {}.", linkId, code);
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(this.linkService.get(this.resolve(linkId, code)));
+    }
+
+    /**
+     * Возвращает количество переходов по ссылке.
+     * <p>
+     * Переходы сохраняются периодически, поэтому последние переходы
+     * могут появиться в ответе с небольшой задержкой.
+     *
+     * @param linkId идентификатор ссылки или {@code null}, если ссылка запрошена по коду.
+     * @param code   код ссылки или {@code null}, если ссылка запрошена по идентификатору.
+     * @return количество переходов.
+     */
+    @Operation(
+            summary = "Получение количества переходов по ссылке",
+            description = "Позволяет получить количество переходов по ссылке"
+    )
+    @ApiResponse(responseCode = "200")
+    @GetMapping(path = {"/{linkId:\\d+}/clicks", "/s/{code}/clicks"})
+    public ResponseEntity<Clicks> clicks(
+            @Parameter(description = "Идентификатор ссылки")
+            @PathVariable(name = "linkId", required = false) final Long linkId,
+            @Parameter(description = "Код ссылки")
+            @PathVariable(name = "code", required = false) final String code) {
+        LOG.debug("Получен запрос на получение количества переходов по ссылке с ID {} или кодом {}.", linkId, code);
 
         return ResponseEntity.status(HttpStatus.OK)
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(this.linkService.get(linkId));
+                .body(this.linkService.getClicks(this.resolve(linkId, code)));
+    }
+
+    /**
+     * Возвращает статистику переходов по ссылке за период.
+     *
+     * @param linkId      идентификатор ссылки или {@code null}, если ссылка запрошена по коду.
+     * @param code        код ссылки или {@code null}, если ссылка запрошена по идентификатору.
+     * @param from        начало периода.
+     * @param to          конец периода.
+     * @param granularity детализация.
+     * @return статистику переходов.
+     */
+    @Operation(
+            summary = "Получение статистики переходов по ссылке",
+            description = "Позволяет получить количество переходов по ссылке за минуты, часы или дни периода. " +
+                    "Интервалы без переходов не возвращаются"
+    )
+    @ApiResponse(responseCode = "200")
+    @GetMapping(path = {"/{linkId:\\d+}/stats", "/s/{code}/stats"})
+    public ResponseEntity<ClickStatistics> stats(
+            @Parameter(description = "Идентификатор ссылки")
+            @PathVariable(name = "linkId", required = false) final Long linkId,
+            @Parameter(description = "Код ссылки")
+            @PathVariable(name = "code", required = false) final String code,
+            @Parameter(description = "Начало периода включительно, например 2023-01-01T00:00:00Z", required = true)
+            @RequestParam(name = "from")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant from,
+            @Parameter(description = "Конец периода исключительно, например 2023-01-02T00:00:00Z", required = true)
+            @RequestParam(name = "to")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant to,
+            @Parameter(description = "Детализация: minute, hour или day")
+            @RequestParam(name = "granularity", defaultValue = "hour") final Granularity granularity) {
+        LOG.debug("Получен запрос на получение статистики переходов по ссылке с ID {} или кодом {} с {} по {}.", linkId, code, from, to);
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(this.linkService.getStatistics(this.resolve(linkId, code), from, to, granularity));
     }
 
     /**
@@ -148,7 +241,7 @@ public class LinkController {
     public ResponseEntity<Link> add(
             @Parameter(description = "URL-адрес ссылки", required = true)
             @RequestBody final Link link) {
-        LOG.debug("Получен запрос на добавление ссылки " + link + ".");
+        LOG.debug("Получен запрос на добавление ссылки {}.", link);
 
         return ResponseEntity.status(HttpStatus.CREATED)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -158,7 +251,8 @@ public class LinkController {
     /**
      * Удаляет ссылку.
      *
-     * @param linkId идентификатор ссылки.
+     * @param linkId идентификатор ссылки или {@code null}, если ссылка запрошена по коду.
+     * @param code   код ссылки или {@code null}, если ссылка запрошена по идентификатору.
      * @return пустой ответ.
      */
     @Operation(
@@ -166,15 +260,37 @@ public class LinkController {
             description = "Позволяет удалить ссылку"
     )
     @ApiResponse(responseCode = "204")
-    @DeleteMapping(path = "/{linkId}")
+    @DeleteMapping(path = {"/{linkId:\\d+}", "/s/{code}"})
     public ResponseEntity<Void> delete(
-            @Parameter(description = "Идентификатор ссылки", required = true)
-            @PathVariable("linkId") final long linkId) {
-        LOG.debug("Получен запрос на удаление ссылки с ID " + linkId + ".");
+            @Parameter(description = "Идентификатор ссылки")
+            @PathVariable(name = "linkId", required = false) final Long linkId,
+            @Parameter(description = "Код ссылки")
+            @PathVariable(name = "code", required = false) final String code) {
+        LOG.debug("Получен запрос на удаление ссылки с ID {} или кодом {}.", linkId, code);
 
-        this.linkService.delete(linkId);
+        this.linkService.delete(this.resolve(linkId, code));
 
         return ResponseEntity.noContent()
                 .build();
     }
+
+    /**
+     * Возвращает идентификатор ссылки по идентификатору или коду из пути запроса.
+     *
+     * @param linkId идентификатор ссылки или {@code null}.
+     * @param code   код ссылки или {@code null}.
+     * @return идентификатор ссылки.
+     * @throws LinkNotFoundException если код некорректный.
+     */
+    private long resolve(final Long linkId, final String code) {
+        if (linkId != null) {
+            return linkId;
+        }
+
+        try {
+            return this.linkCodec.decode(code);
+        } catch (IllegalArgumentException exception) {
+            throw new LinkNotFoundException("Ссылка не найдена.");
+        }
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.kalenchukov.shortlinks.entities.Link;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Класс итератора ссылок из элементов JSON.
+ * <p>
+ * Строка считается URL-адресом, объект — ссылкой.
+ * Элемент, который не удалось прочитать, заменяется на пустую ссылку,
+ * чтобы он не прошёл проверку.
+ *
+ * @author Алексей Каленчуков
+ */
+final class LinkIterator implements Iterator<Link> {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(LinkIterator.class);
+
+    /**
+     * Элементы JSON.
+     */
+    private final MappingIterator<JsonNode> nodes;
+
+    /**
+     * Преобразователь JSON.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Конструктор для {@code LinkIterator}.
+     *
+     * @param nodes        элементы JSON.
+     * @param objectMapper преобразователь JSON.
+     */
+    LinkIterator(final MappingIterator<JsonNode> nodes, final ObjectMapper objectMapper) {
+        this.nodes = nodes;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        return this.nodes.hasNext();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Link next() {
+        final JsonNode node = this.nodes.next();
+
+        if (node.isTextual()) {
+            return new Link(null, node.textValue(), null);
+        }
+
+        if (node.isObject()) {
+            try {
+                return this.objectMapper.treeToValue(node, Link.class);
+            } catch (IOException exception) {
+                LOG.debug("Не удалось прочитать ссылку из {}.", node);
+            }
+        }
+
+        return new Link();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.controllers;
+
+import dev.kalenchukov.shortlinks.entities.CacheStatistics;
+import dev.kalenchukov.shortlinks.entities.WriterStatistics;
+import dev.kalenchukov.shortlinks.services.StatisticsServices;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Класс контроллера статистики.
+ *
+ * @author Алексей Каленчуков
+ */
+@RestController()
+@RequestMapping(path = "/statistics", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Статистика")
+public class StatisticsController {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(StatisticsController.class);
+
+    /**
+     * Сервис для статистики.
+     */
+    private final StatisticsServices statisticsService;
+
+    /**
+     * Контроллер для {@code StatisticsController}.
+     *
+     * @param statisticsService сервис для статистики.
+     */
+    @Autowired
+    public StatisticsController(final StatisticsServices statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+
+    /**
+     * Возвращает статистику кэша ссылок.
+     *
+     * @return статистику кэша.
+     */
+    @Operation(
+            summary = "Получение статистики кэша ссылок",
+            description = "Позволяет получить количество попаданий, промахов и вытеснений кэша ссылок"
+    )
+    @ApiResponse(responseCode = "200")
+    @GetMapping(path = "/cache")
+    public ResponseEntity<CacheStatistics> cache() {
+        LOG.debug("Получен запрос на получение статистики кэша ссылок.");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(this.statisticsService.getCacheStatistics());
+    }
+
+    /**
+     * Возвращает статистику группового добавления ссылок.
+     *
+     * @return статистику группового добавления.
+     */
+    @Operation(
+            summary = "Получение статистики группового добавления ссылок",
+            description = "Позволяет получить длину очереди, размеры групп и время их добавления"
+    )
+    @ApiResponse(responseCode = "200")
+    @GetMapping(path = "/writer")
+    public ResponseEntity<WriterStatistics> writer() {
+        LOG.debug("Получен запрос на получение статистики группового добавления ссылок.");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(this.statisticsService.getWriterStatistics());
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.controllers.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Класс журнала доступа для переадресаций.
+ * <p>
+ * Записывает в логгер {@code access} выборку переадресаций в формате {@code ключ=значение}.
+ * Запись выполняется асинхронно и при переполненном буфере отбрасывается,
+ * поэтому медленный диск не задерживает ответы.
+ *
+ * @author Алексей Каленчуков
+ */
+@Component
+public class AccessLogFilter extends OncePerRequestFilter {
+    /**
+     * Логгер журнала доступа.
+     */
+    private static final Logger ACCESS = LogManager.getLogger("access");
+
+    /**
+     * Доля записываемых переадресаций.
+     */
+    private final double sampleRate;
+
+    /**
+     * Контроллер для {@code AccessLogFilter}.
+     *
+     * @param sampleRate доля записываемых переадресаций от 0 до 1.
+     */
+    public AccessLogFilter(@Value("${shortlinks.access-log.sample-rate:0.01}") final double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param request     {@inheritDoc}
+     * @param response    {@inheritDoc}
+     * @param filterChain {@inheritDoc}
+     * @throws ServletException {@inheritDoc}
+     * @throws IOException      {@inheritDoc}
+     */
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!this.isSampled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        filterChain.doFilter(request, response);
+
+        if (response.getStatus() == HttpStatus.FOUND.value()) {
+            ACCESS.info(
+                    "method={} path={} status={} duration_us={} remote={}",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    Unbox.box(response.getStatus()),
+                    Unbox.box((System.nanoTime() - start) / 1_000L),
+                    request.getRemoteAddr()
+            );
+        }
+    }
+
+    /**
+     * Проверяет, попадает ли запрос в выборку.
+     *
+     * @return {@code true}, если запрос нужно записать.
+     */
+    private boolean isSampled() {
+        if (this.sampleRate <= 0.0D || !ACCESS.isInfoEnabled()) {
+            return false;
+        }
+
+        return this.sampleRate >= 1.0D || ThreadLocalRandom.current().nextDouble() < this.sampleRate;
+    }
+}
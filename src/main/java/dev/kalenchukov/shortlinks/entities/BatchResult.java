@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.entities;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Класс результата обработки элемента пакета.
+ *
+ * @author Алексей Каленчуков.
+ */
+@Schema(description = "Сущность результата обработки элемента пакета")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class BatchResult {
+    /**
+     * Порядковый номер элемента в пакете.
+     */
+    @Schema(description = "Порядковый номер элемента в пакете, начиная с 0", example = "0")
+    private Long index;
+
+    /**
+     * Ссылка.
+     */
+    @Schema(description = "Ссылка, если элемент обработан")
+    private Link link;
+
+    /**
+     * Нарушения.
+     */
+    @Schema(description = "Нарушения, если элемент не прошёл проверку")
+    private List<Violation> violations;
+
+    /**
+     * Конструктор для {@code BatchResult}.
+     */
+    public BatchResult() {
+    }
+
+    /**
+     * Конструктор для {@code BatchResult}.
+     *
+     * @param index порядковый номер элемента в пакете.
+     * @param link  ссылка.
+     */
+    public BatchResult(final Long index, final Link link) {
+        this.index = index;
+        this.link = link;
+    }
+
+    /**
+     * Конструктор для {@code BatchResult}.
+     *
+     * @param index      порядковый номер элемента в пакете.
+     * @param violations нарушения.
+     */
+    public BatchResult(final Long index, final List<Violation> violations) {
+        this.index = index;
+        this.violations = violations;
+    }
+
+    /**
+     * Возвращает порядковый номер элемента в пакете.
+     *
+     * @return порядковый номер.
+     */
+    public Long getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Возвращает ссылку.
+     *
+     * @return ссылку.
+     */
+    public Link getLink() {
+        return this.link;
+    }
+
+    /**
+     * Возвращает нарушения.
+     *
+     * @return нарушения.
+     */
+    public List<Violation> getViolations() {
+        return this.violations;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "index=" + this.getIndex() + ", " +
+                "link=" + this.getLink() + ", " +
+                "violations=" + this.getViolations() +
+                "}";
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.entities;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Класс статистики кэша.
+ *
+ * @author Алексей Каленчуков.
+ */
+@Schema(description = "Сущность статистики кэша")
+public final class CacheStatistics {
+    /**
+     * Включён ли кэш.
+     */
+    @Schema(description = "Включён ли кэш", example = "true")
+    private Boolean enabled;
+
+    /**
+     * Количество записей.
+     */
+    @Schema(description = "Примерное количество записей", example = "1000")
+    private Long size;
+
+    /**
+     * Количество попаданий.
+     */
+    @Schema(description = "Количество попаданий", example = "900")
+    private Long hitCount;
+
+    /**
+     * Количество промахов.
+     */
+    @Schema(description = "Количество промахов", example = "100")
+    private Long missCount;
+
+    /**
+     * Количество вытеснений.
+     */
+    @Schema(description = "Количество вытеснений", example = "10")
+    private Long evictionCount;
+
+    /**
+     * Доля попаданий.
+     */
+    @Schema(description = "Доля попаданий", example = "0.9")
+    private Double hitRate;
+
+    /**
+     * Конструктор для {@code CacheStatistics}.
+     */
+    public CacheStatistics() {
+    }
+
+    /**
+     * Конструктор для {@code CacheStatistics}.
+     *
+     * @param enabled       включён ли кэш.
+     * @param size          количество записей.
+     * @param hitCount      количество попаданий.
+     * @param missCount     количество промахов.
+     * @param evictionCount количество вытеснений.
+     * @param hitRate       доля попаданий.
+     */
+    public CacheStatistics(final Boolean enabled, final Long size, final Long hitCount, final Long missCount,
+                           final Long evictionCount, final Double hitRate) {
+        this.enabled = enabled;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.hitRate = hitRate;
+    }
+
+    /**
+     * Возвращает включён ли кэш.
+     *
+     * @return {@code true} если кэш включён, иначе {@code false}.
+     */
+    public Boolean getEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Возвращает количество записей.
+     *
+     * @return количество записей.
+     */
+    public Long getSize() {
+        return this.size;
+    }
+
+    /**
+     * Возвращает количество попаданий.
+     *
+     * @return количество попаданий.
+     */
+    public Long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Возвращает количество промахов.
+     *
+     * @return количество промахов.
+     */
+    public Long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * Возвращает количество вытеснений.
+     *
+     * @return количество вытеснений.
+     */
+    public Long getEvictionCount() {
+        return this.evictionCount;
+    }
+
+    /**
+     * Возвращает долю попаданий.
+     *
+     * @return долю попаданий.
+     */
+    public Double getHitRate() {
+        return this.hitRate;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "CacheStatistics{" +
+                "enabled=" + this.getEnabled() + ", " +
+                "size=" + this.getSize() + ", " +
+                "hitCount=" + this.getHitCount() + ", " +
+                "missCount=" + this.getMissCount() + ", " +
+                "evictionCount=" + this.getEvictionCount() + ", " +
+                "hitRate=" + this.getHitRate() +
+                "}";
+    }
+}
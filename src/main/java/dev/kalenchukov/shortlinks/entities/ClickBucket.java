@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.entities;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Класс количества переходов по ссылке за интервал времени.
+ *
+ * @author Алексей Каленчуков
+ */
+@Schema(description = "Сущность количества переходов за интервал времени")
+public final class ClickBucket {
+    /**
+     * Начало интервала.
+     */
+    @Schema(description = "Начало интервала", example = "2023-06-13T10:00:00.000+00:00")
+    private Timestamp bucket;
+
+    /**
+     * Количество переходов.
+     */
+    @Schema(description = "Количество переходов", example = "13")
+    private Long clicks;
+
+    /**
+     * Конструктор для {@code ClickBucket}.
+     */
+    public ClickBucket() {
+    }
+
+    /**
+     * Конструктор для {@code ClickBucket}.
+     *
+     * @param bucket начало интервала.
+     * @param clicks количество переходов.
+     */
+    public ClickBucket(final Timestamp bucket, final Long clicks) {
+        this.bucket = bucket;
+        this.clicks = clicks;
+    }
+
+    /**
+     * Возвращает начало интервала.
+     *
+     * @return начало интервала.
+     */
+    public Timestamp getBucket() {
+        return this.bucket;
+    }
+
+    /**
+     * Возвращает количество переходов.
+     *
+     * @return количество переходов.
+     */
+    public Long getClicks() {
+        return this.clicks;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ClickBucket{" +
+                "bucket=" + this.getBucket() + ", " +
+                "clicks=" + this.getClicks() +
+                "}";
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param obj {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof ClickBucket clickBucket)) {
+            return false;
+        }
+
+        if (!Objects.equals(this.getBucket(), clickBucket.getBucket())) {
+            return false;
+        }
+
+        if (!Objects.equals(this.getClicks(), clickBucket.getClicks())) {
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getBucket(), this.getClicks());
+    }
+}
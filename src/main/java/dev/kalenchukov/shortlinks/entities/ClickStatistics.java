@@ -0,0 +1,231 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.entities;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Класс статистики переходов по ссылке за период.
+ *
+ * @author Алексей Каленчуков
+ */
+@Schema(description = "Сущность статистики переходов по ссылке за период")
+public final class ClickStatistics {
+    /**
+     * Идентификатор ссылки.
+     */
+    @Schema(description = "Идентификатор ссылки", example = "1")
+    private Long linkId;
+
+    /**
+     * Код ссылки.
+     */
+    @Schema(description = "Код ссылки", example = "1")
+    private String code;
+
+    /**
+     * Детализация.
+     */
+    @Schema(description = "Детализация", example = "hour")
+    private Granularity granularity;
+
+    /**
+     * Начало периода включительно.
+     */
+    @Schema(description = "Начало периода включительно", example = "2023-06-13T00:00:00.000+00:00")
+    private Timestamp from;
+
+    /**
+     * Конец периода исключительно.
+     */
+    @Schema(description = "Конец периода исключительно", example = "2023-06-14T00:00:00.000+00:00")
+    private Timestamp to;
+
+    /**
+     * Интервалы с переходами.
+     */
+    @Schema(description = "Интервалы с переходами в порядке времени, интервалы без переходов не возвращаются")
+    private List<ClickBucket> buckets;
+
+    /**
+     * Конструктор для {@code ClickStatistics}.
+     */
+    public ClickStatistics() {
+    }
+
+    /**
+     * Конструктор для {@code ClickStatistics}.
+     *
+     * @param linkId      идентификатор ссылки.
+     * @param code        код ссылки.
+     * @param granularity детализация.
+     * @param from        начало периода включительно.
+     * @param to          конец периода исключительно.
+     * @param buckets     интервалы с переходами.
+     */
+    public ClickStatistics(final Long linkId,
+                           final String code,
+                           final Granularity granularity,
+                           final Timestamp from,
+                           final Timestamp to,
+                           final List<ClickBucket> buckets) {
+        this.linkId = linkId;
+        this.code = code;
+        this.granularity = granularity;
+        this.from = from;
+        this.to = to;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Возвращает идентификатор ссылки.
+     *
+     * @return идентификатор ссылки.
+     */
+    public Long getLinkId() {
+        return this.linkId;
+    }
+
+    /**
+     * Возвращает код ссылки.
+     *
+     * @return код ссылки.
+     */
+    public String getCode() {
+        return this.code;
+    }
+
+    /**
+     * Возвращает детализацию.
+     *
+     * @return детализацию.
+     */
+    public Granularity getGranularity() {
+        return this.granularity;
+    }
+
+    /**
+     * Возвращает начало периода.
+     *
+     * @return начало периода включительно.
+     */
+    public Timestamp getFrom() {
+        return this.from;
+    }
+
+    /**
+     * Возвращает конец периода.
+     *
+     * @return конец периода исключительно.
+     */
+    public Timestamp getTo() {
+        return this.to;
+    }
+
+    /**
+     * Возвращает интервалы с переходами.
+     *
+     * @return интервалы с переходами.
+     */
+    public List<ClickBucket> getBuckets() {
+        return this.buckets;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ClickStatistics{" +
+                "linkId=" + this.getLinkId() + ", " +
+                "code='" + this.getCode() + "', " +
+                "granularity=" + this.getGranularity() + ", " +
+                "from=" + this.getFrom() + ", " +
+                "to=" + this.getTo() + ", " +
+                "buckets=" + this.getBuckets() +
+                "}";
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param obj {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof ClickStatistics statistics)) {
+            return false;
+        }
+
+        if (!Objects.equals(this.getLinkId(), statistics.getLinkId())) {
+            return false;
+        }
+
+        if (!Objects.equals(this.getCode(), statistics.getCode())) {
+            return false;
+        }
+
+        if (!Objects.equals(this.getGranularity(), statistics.getGranularity())) {
+            return false;
+        }
+
+        if (!Objects.equals(this.getFrom(), statistics.getFrom())) {
+            return false;
+        }
+
+        if (!Objects.equals(this.getTo(), statistics.getTo())) {
+            return false;
+        }
+
+        if (!Objects.equals(this.getBuckets(), statistics.getBuckets())) {
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                this.getLinkId(), this.getCode(), this.getGranularity(), this.getFrom(), this.getTo(), this.getBuckets()
+        );
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.entities;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Objects;
+
+/**
+ * Класс количества переходов по ссылке.
+ *
+ * @author Алексей Каленчуков
+ */
+@Schema(description = "Сущность количества переходов по ссылке")
+public final class Clicks {
+    /**
+     * Идентификатор ссылки.
+     */
+    @Schema(description = "Идентификатор ссылки", example = "1")
+    private Long linkId;
+
+    /**
+     * Код ссылки.
+     */
+    @Schema(description = "Код ссылки", example = "1")
+    private String code;
+
+    /**
+     * Количество переходов.
+     */
+    @Schema(description = "Количество переходов", example = "13")
+    private Long clicks;
+
+    /**
+     * Конструктор для {@code Clicks}.
+     */
+    public Clicks() {
+    }
+
+    /**
+     * Конструктор для {@code Clicks}.
+     *
+     * @param linkId идентификатор ссылки.
+     * @param code   код ссылки.
+     * @param clicks количество переходов.
+     */
+    public Clicks(final Long linkId, final String code, final Long clicks) {
+        this.linkId = linkId;
+        this.code = code;
+        this.clicks = clicks;
+    }
+
+    /**
+     * Возвращает идентификатор ссылки.
+     *
+     * @return идентификатор ссылки.
+     */
+    public Long getLinkId() {
+        return this.linkId;
+    }
+
+    /**
+     * Возвращает код ссылки.
+     *
+     * @return код ссылки.
+     */
+    public String getCode() {
+        return this.code;
+    }
+
+    /**
+     * Возвращает количество переходов.
+     *
+     * @return количество переходов.
+     */
+    public Long getClicks() {
+        return this.clicks;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Clicks{" +
+                "linkId=" + this.getLinkId() + ", " +
+                "code='" + this.getCode() + "', " +
+                "clicks=" + this.getClicks() +
+                "}";
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param obj {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof Clicks clicks)) {
+            return false;
+        }
+
+        if (!Objects.equals(this.getLinkId(), clicks.getLinkId())) {
+            return false;
+        }
+
+        if (!Objects.equals(this.getCode(), clicks.getCode())) {
+            return false;
+        }
+
+        if (!Objects.equals(this.getClicks(), clicks.getClicks())) {
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getLinkId(), this.getCode(), this.getClicks());
+    }
+}
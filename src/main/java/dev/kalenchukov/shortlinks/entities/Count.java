@@ -41,6 +41,12 @@ public final class Count {
     @Schema(description = "Количество", example = "13")
     private Long count;
 
+    /**
+     * Способ подсчёта.
+     */
+    @Schema(description = "Способ подсчёта", example = "exact")
+    private CountMode mode;
+
     /**
      * Конструктор для {@code Count}.
      */
@@ -51,9 +57,11 @@ public final class Count {
      * Конструктор для {@code Count}.
      *
      * @param count количество.
+     * @param mode  способ подсчёта.
      */
-    public Count(final Long count) {
+    public Count(final Long count, final CountMode mode) {
         this.count = count;
+        this.mode = mode;
     }
 
     /**
@@ -65,6 +73,15 @@ public final class Count {
         return this.count;
     }
 
+    /**
+     * Возвращает способ подсчёта.
+     *
+     * @return способ подсчёта.
+     */
+    public CountMode getMode() {
+        return this.mode;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -73,7 +90,8 @@ public final class Count {
     @Override
     public String toString() {
         return "Count{" +
-                "count=" + this.getCount() +
+                "count=" + this.getCount() + ", " +
+                "mode=" + this.getMode() +
                 "}";
     }
 
@@ -97,6 +115,10 @@ public final class Count {
             return false;
         }
 
+        if (!Objects.equals(this.getMode(), link.getMode())) {
+            return false;
+        }
+
         return true;
     }
 
@@ -107,6 +129,6 @@ public final class Count {
      */
     @Override
     public int hashCode() {
-        return Long.hashCode(this.getCount());
+        return Objects.hash(this.getCount(), this.getMode());
     }
 }
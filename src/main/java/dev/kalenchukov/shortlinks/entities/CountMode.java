@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.entities;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Locale;
+
+/**
+ * Перечисление способов подсчёта количества.
+ *
+ * @author Алексей Каленчуков.
+ */
+@Schema(description = "Способ подсчёта количества")
+public enum CountMode {
+    /**
+     * Точное количество.
+     */
+    EXACT,
+
+    /**
+     * Приблизительное количество по статистике базы данных.
+     */
+    ESTIMATE;
+
+    /**
+     * Возвращает название способа подсчёта.
+     *
+     * @return название способа подсчёта.
+     */
+    @JsonValue
+    public String getName() {
+        return this.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Возвращает способ подсчёта по названию без учёта регистра.
+     *
+     * @param name название способа подсчёта.
+     * @return способ подсчёта.
+     * @throws IllegalArgumentException если способа подсчёта с таким названием не существует.
+     */
+    public static CountMode of(final String name) {
+        return CountMode.valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.entities;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Класс результата удаления элемента пакета.
+ *
+ * @author Алексей Каленчуков.
+ */
+@Schema(description = "Сущность результата удаления элемента пакета")
+public final class DeletionResult {
+    /**
+     * Порядковый номер элемента в пакете.
+     */
+    @Schema(description = "Порядковый номер элемента в пакете, начиная с 0", example = "0")
+    private Long index;
+
+    /**
+     * Идентификатор ссылки.
+     */
+    @Schema(description = "Идентификатор ссылки или null, если элемент не является идентификатором", example = "1")
+    private Long linkId;
+
+    /**
+     * Удалена ли ссылка.
+     */
+    @Schema(description = "Удалена ли ссылка; false, если ссылки не существует", example = "true")
+    private Boolean deleted;
+
+    /**
+     * Конструктор для {@code DeletionResult}.
+     */
+    public DeletionResult() {
+    }
+
+    /**
+     * Конструктор для {@code DeletionResult}.
+     *
+     * @param index   порядковый номер элемента в пакете.
+     * @param linkId  идентификатор ссылки.
+     * @param deleted удалена ли ссылка.
+     */
+    public DeletionResult(final Long index, final Long linkId, final Boolean deleted) {
+        this.index = index;
+        this.linkId = linkId;
+        this.deleted = deleted;
+    }
+
+    /**
+     * Возвращает порядковый номер элемента в пакете.
+     *
+     * @return порядковый номер.
+     */
+    public Long getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Возвращает идентификатор ссылки.
+     *
+     * @return идентификатор ссылки.
+     */
+    public Long getLinkId() {
+        return this.linkId;
+    }
+
+    /**
+     * Возвращает удалена ли ссылка.
+     *
+     * @return {@code true} если ссылка удалена, иначе {@code false}.
+     */
+    public Boolean getDeleted() {
+        return this.deleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "DeletionResult{" +
+                "index=" + this.getIndex() + ", " +
+                "linkId=" + this.getLinkId() + ", " +
+                "deleted=" + this.getDeleted() +
+                "}";
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.entities;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * Перечисление детализаций статистики переходов.
+ *
+ * @author Алексей Каленчуков.
+ */
+@Schema(description = "Детализация статистики переходов")
+public enum Granularity {
+    /**
+     * По минутам.
+     */
+    MINUTE(ChronoUnit.MINUTES),
+
+    /**
+     * По часам.
+     */
+    HOUR(ChronoUnit.HOURS),
+
+    /**
+     * По дням.
+     */
+    DAY(ChronoUnit.DAYS);
+
+    /**
+     * Единица времени интервала.
+     */
+    private final ChronoUnit unit;
+
+    /**
+     * Конструктор для {@code Granularity}.
+     *
+     * @param unit единица времени интервала.
+     */
+    Granularity(final ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Возвращает название детализации.
+     * <p>
+     * Совпадает с единицей времени функции {@code date_trunc} базы данных.
+     *
+     * @return название детализации.
+     */
+    @JsonValue
+    public String getName() {
+        return this.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Возвращает единицу времени интервала.
+     *
+     * @return единицу времени интервала.
+     */
+    public ChronoUnit getUnit() {
+        return this.unit;
+    }
+
+    /**
+     * Возвращает детализацию по названию без учёта регистра.
+     *
+     * @param name название детализации.
+     * @return детализацию.
+     * @throws IllegalArgumentException если детализации с таким названием не существует.
+     */
+    public static Granularity of(final String name) {
+        return Granularity.valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.entities;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Класс хода загрузки ссылок.
+ *
+ * @author Алексей Каленчуков.
+ */
+@Schema(description = "Сущность хода загрузки ссылок")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class ImportProgress {
+    /**
+     * Идентификатор загрузки.
+     */
+    @Schema(description = "Идентификатор загрузки", example = "1")
+    private Long importId;
+
+    /**
+     * Состояние.
+     */
+    @Schema(description = "Состояние загрузки", example = "completed")
+    private ImportStatus status;
+
+    /**
+     * Сохраняются ли переданные идентификаторы.
+     */
+    @Schema(description = "Сохраняются ли переданные идентификаторы ссылок", example = "false")
+    private Boolean preserveIds;
+
+    /**
+     * Количество прочитанных ссылок.
+     */
+    @Schema(description = "Количество прочитанных ссылок", example = "1000000")
+    private Long received;
+
+    /**
+     * Количество отклонённых ссылок.
+     */
+    @Schema(description = "Количество ссылок, не прошедших проверку", example = "10")
+    private Long rejected;
+
+    /**
+     * Количество скопированных ссылок.
+     */
+    @Schema(description = "Количество ссылок, скопированных в промежуточную таблицу", example = "999990")
+    private Long copied;
+
+    /**
+     * Количество добавленных ссылок.
+     */
+    @Schema(description = "Количество ссылок, добавленных в таблицу ссылок", example = "999990")
+    private Long imported;
+
+    /**
+     * Дата начала.
+     */
+    @Schema(description = "Дата начала загрузки", example = "2023-06-16T09:59:54.075+00:00")
+    private Timestamp dateStart;
+
+    /**
+     * Продолжительность.
+     */
+    @Schema(description = "Продолжительность загрузки в секундах", example = "42.5")
+    private Double duration;
+
+    /**
+     * Скорость чтения.
+     */
+    @Schema(description = "Количество прочитанных ссылок в секунду", example = "23529.4")
+    private Double throughput;
+
+    /**
+     * Нарушения.
+     */
+    @Schema(description = "Нарушения первых ссылок, не прошедших проверку")
+    private List<BatchResult> violations;
+
+    /**
+     * Конструктор для {@code ImportProgress}.
+     */
+    public ImportProgress() {
+    }
+
+    /**
+     * Конструктор для {@code ImportProgress}.
+     *
+     * @param importId    идентификатор загрузки.
+     * @param status      состояние.
+     * @param preserveIds сохраняются ли переданные идентификаторы.
+     * @param received    количество прочитанных ссылок.
+     * @param rejected    количество отклонённых ссылок.
+     * @param copied      количество скопированных ссылок.
+     * @param imported    количество добавленных ссылок.
+     * @param dateStart   дата начала.
+     * @param duration    продолжительность в секундах.
+     * @param throughput  количество прочитанных ссылок в секунду.
+     * @param violations  нарушения.
+     */
+    public ImportProgress(final Long importId, final ImportStatus status, final Boolean preserveIds,
+                          final Long received, final Long rejected, final Long copied, final Long imported,
+                          final Timestamp dateStart, final Double duration, final Double throughput,
+                          final List<BatchResult> violations) {
+        this.importId = importId;
+        this.status = status;
+        this.preserveIds = preserveIds;
+        this.received = received;
+        this.rejected = rejected;
+        this.copied = copied;
+        this.imported = imported;
+        this.dateStart = dateStart;
+        this.duration = duration;
+        this.throughput = throughput;
+        this.violations = violations;
+    }
+
+    /**
+     * Возвращает идентификатор загрузки.
+     *
+     * @return идентификатор загрузки.
+     */
+    public Long getImportId() {
+        return this.importId;
+    }
+
+    /**
+     * Возвращает состояние.
+     *
+     * @return состояние.
+     */
+    public ImportStatus getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Возвращает сохраняются ли переданные идентификаторы.
+     *
+     * @return {@code true} если переданные идентификаторы сохраняются, иначе {@code false}.
+     */
+    public Boolean getPreserveIds() {
+        return this.preserveIds;
+    }
+
+    /**
+     * Возвращает количество прочитанных ссылок.
+     *
+     * @return количество прочитанных ссылок.
+     */
+    public Long getReceived() {
+        return this.received;
+    }
+
+    /**
+     * Возвращает количество отклонённых ссылок.
+     *
+     * @return количество отклонённых ссылок.
+     */
+    public Long getRejected() {
+        return this.rejected;
+    }
+
+    /**
+     * Возвращает количество скопированных ссылок.
+     *
+     * @return количество скопированных ссылок.
+     */
+    public Long getCopied() {
+        return this.copied;
+    }
+
+    /**
+     * Возвращает количество добавленных ссылок.
+     *
+     * @return количество добавленных ссылок.
+     */
+    public Long getImported() {
+        return this.imported;
+    }
+
+    /**
+     * Возвращает дату начала.
+     *
+     * @return дату начала.
+     */
+    public Timestamp getDateStart() {
+        return this.dateStart;
+    }
+
+    /**
+     * Возвращает продолжительность.
+     *
+     * @return продолжительность в секундах.
+     */
+    public Double getDuration() {
+        return this.duration;
+    }
+
+    /**
+     * Возвращает скорость чтения.
+     *
+     * @return количество прочитанных ссылок в секунду.
+     */
+    public Double getThroughput() {
+        return this.throughput;
+    }
+
+    /**
+     * Возвращает нарушения.
+     *
+     * @return нарушения.
+     */
+    public List<BatchResult> getViolations() {
+        return this.violations;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ImportProgress{" +
+                "importId=" + this.getImportId() + ", " +
+                "status=" + this.getStatus() + ", " +
+                "preserveIds=" + this.getPreserveIds() + ", " +
+                "received=" + this.getReceived() + ", " +
+                "rejected=" + this.getRejected() + ", " +
+                "copied=" + this.getCopied() + ", " +
+                "imported=" + this.getImported() + ", " +
+                "dateStart=" + this.getDateStart() + ", " +
+                "duration=" + this.getDuration() + ", " +
+                "throughput=" + this.getThroughput() + ", " +
+                "violations=" + this.getViolations() +
+                "}";
+    }
+}
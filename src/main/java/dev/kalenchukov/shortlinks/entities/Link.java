@@ -24,12 +24,17 @@
 
 package dev.kalenchukov.shortlinks.entities;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.validator.constraints.Length;
 import org.hibernate.validator.constraints.URL;
 import org.springframework.validation.annotation.Validated;
 
 import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.Objects;
 
 /**
@@ -47,10 +52,18 @@ public final class Link {
     @Positive(message = "Идентификатор должен быть больше 0")
     private Long linkId;
 
+    /**
+     * Код.
+     */
+    @Schema(description = "Короткий код", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    private String code;
+
     /**
      * URL-адрес.
      */
     @Schema(description = "URL-адрес", example = "https://kalenchukov.dev/shortlinks")
+    @NotBlank(message = "URL-адрес должен быть указан")
+    @Length(max = 255, message = "URL-адрес должен быть не длиннее 255 символов")
     @URL(message = "URl-адрес должен быть корректным")
     private String url;
 
@@ -60,6 +73,14 @@ public final class Link {
     @Schema(description = "Дата добавления", example = "2023-06-16T09:59:54.075+00:00", accessMode = Schema.AccessMode.READ_ONLY)
     private Timestamp dateCreate;
 
+    /**
+     * Дата истечения срока действия.
+     */
+    @Schema(description = "Дата истечения срока действия, без неё ссылка бессрочная", example = "2023-07-16T09:59:54.075+00:00", nullable = true)
+    @Future(message = "Срок действия должен истекать в будущем")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Timestamp expiresAt;
+
     /**
      * Конструктор для {@code Link}.
      */
@@ -79,6 +100,42 @@ public final class Link {
         this.dateCreate = dateCreate;
     }
 
+    /**
+     * Конструктор для {@code Link}.
+     *
+     * @param linkId     идентификатор.
+     * @param code       код.
+     * @param url        URL-адрес.
+     * @param dateCreate дата создания.
+     */
+    public Link(final Long linkId, final String code, final String url, final Timestamp dateCreate) {
+        this.linkId = linkId;
+        this.code = code;
+        this.url = url;
+        this.dateCreate = dateCreate;
+    }
+
+    /**
+     * Конструктор для {@code Link}.
+     *
+     * @param linkId     идентификатор.
+     * @param code       код.
+     * @param url        URL-адрес.
+     * @param dateCreate дата создания.
+     * @param expiresAt  дата истечения срока действия или {@code null}.
+     */
+    public Link(final Long linkId,
+                final String code,
+                final String url,
+                final Timestamp dateCreate,
+                final Timestamp expiresAt) {
+        this.linkId = linkId;
+        this.code = code;
+        this.url = url;
+        this.dateCreate = dateCreate;
+        this.expiresAt = expiresAt;
+    }
+
     /**
      * Возвращает идентификатор.
      *
@@ -88,6 +145,15 @@ public final class Link {
         return this.linkId;
     }
 
+    /**
+     * Возвращает код.
+     *
+     * @return код.
+     */
+    public String getCode() {
+        return this.code;
+    }
+
     /**
      * Возвращает URL-адрес.
      *
@@ -106,6 +172,25 @@ public final class Link {
         return this.dateCreate;
     }
 
+    /**
+     * Возвращает дату истечения срока действия.
+     *
+     * @return дата истечения срока действия или {@code null}, если ссылка бессрочная.
+     */
+    public Timestamp getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    /**
+     * Проверяет, истёк ли срок действия ссылки.
+     *
+     * @param now текущее время.
+     * @return {@code true} если срок действия истёк, иначе {@code false}.
+     */
+    public boolean isExpired(final Instant now) {
+        return this.expiresAt != null && !this.expiresAt.toInstant().isAfter(now);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -115,8 +200,10 @@ public final class Link {
     public String toString() {
         return "Link{" +
                 "linkId=" + this.getLinkId() + ", " +
+                "code='" + this.getCode() + "', " +
                 "url='" + this.getUrl() + "', " +
-                "dateCreate=" + this.getDateCreate() +
+                "dateCreate=" + this.getDateCreate() + ", " +
+                "expiresAt=" + this.getExpiresAt() +
                 "}";
     }
 
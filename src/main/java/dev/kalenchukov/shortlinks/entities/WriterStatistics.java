@@ -0,0 +1,205 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.entities;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Класс статистики группового добавления ссылок.
+ *
+ * @author Алексей Каленчуков.
+ */
+@Schema(description = "Сущность статистики группового добавления ссылок")
+public final class WriterStatistics {
+    /**
+     * Включено ли групповое добавление.
+     */
+    @Schema(description = "Включено ли групповое добавление", example = "true")
+    private Boolean enabled;
+
+    /**
+     * Количество ссылок в очереди.
+     */
+    @Schema(description = "Количество ссылок, ожидающих добавления", example = "12")
+    private Long queueDepth;
+
+    /**
+     * Количество групп.
+     */
+    @Schema(description = "Количество добавленных групп", example = "100")
+    private Long batchCount;
+
+    /**
+     * Количество ссылок.
+     */
+    @Schema(description = "Количество добавленных ссылок", example = "2500")
+    private Long linkCount;
+
+    /**
+     * Наибольший размер группы.
+     */
+    @Schema(description = "Наибольший размер группы", example = "64")
+    private Long maxBatchSize;
+
+    /**
+     * Средний размер группы.
+     */
+    @Schema(description = "Средний размер группы", example = "25.0")
+    private Double averageBatchSize;
+
+    /**
+     * Среднее время добавления группы.
+     */
+    @Schema(description = "Среднее время добавления группы в миллисекундах", example = "1.5")
+    private Double averageFlushTime;
+
+    /**
+     * Наибольшее время добавления группы.
+     */
+    @Schema(description = "Наибольшее время добавления группы в миллисекундах", example = "12.0")
+    private Double maxFlushTime;
+
+    /**
+     * Конструктор для {@code WriterStatistics}.
+     */
+    public WriterStatistics() {
+    }
+
+    /**
+     * Конструктор для {@code WriterStatistics}.
+     *
+     * @param enabled          включено ли групповое добавление.
+     * @param queueDepth       количество ссылок в очереди.
+     * @param batchCount       количество групп.
+     * @param linkCount        количество ссылок.
+     * @param maxBatchSize     наибольший размер группы.
+     * @param averageBatchSize средний размер группы.
+     * @param averageFlushTime среднее время добавления группы в миллисекундах.
+     * @param maxFlushTime     наибольшее время добавления группы в миллисекундах.
+     */
+    public WriterStatistics(final Boolean enabled, final Long queueDepth, final Long batchCount, final Long linkCount,
+                            final Long maxBatchSize, final Double averageBatchSize, final Double averageFlushTime,
+                            final Double maxFlushTime) {
+        this.enabled = enabled;
+        this.queueDepth = queueDepth;
+        this.batchCount = batchCount;
+        this.linkCount = linkCount;
+        this.maxBatchSize = maxBatchSize;
+        this.averageBatchSize = averageBatchSize;
+        this.averageFlushTime = averageFlushTime;
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    /**
+     * Возвращает включено ли групповое добавление.
+     *
+     * @return {@code true} если групповое добавление включено, иначе {@code false}.
+     */
+    public Boolean getEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Возвращает количество ссылок в очереди.
+     *
+     * @return количество ссылок в очереди.
+     */
+    public Long getQueueDepth() {
+        return this.queueDepth;
+    }
+
+    /**
+     * Возвращает количество групп.
+     *
+     * @return количество групп.
+     */
+    public Long getBatchCount() {
+        return this.batchCount;
+    }
+
+    /**
+     * Возвращает количество ссылок.
+     *
+     * @return количество ссылок.
+     */
+    public Long getLinkCount() {
+        return this.linkCount;
+    }
+
+    /**
+     * Возвращает наибольший размер группы.
+     *
+     * @return наибольший размер группы.
+     */
+    public Long getMaxBatchSize() {
+        return this.maxBatchSize;
+    }
+
+    /**
+     * Возвращает средний размер группы.
+     *
+     * @return средний размер группы.
+     */
+    public Double getAverageBatchSize() {
+        return this.averageBatchSize;
+    }
+
+    /**
+     * Возвращает среднее время добавления группы.
+     *
+     * @return среднее время добавления группы в миллисекундах.
+     */
+    public Double getAverageFlushTime() {
+        return this.averageFlushTime;
+    }
+
+    /**
+     * Возвращает наибольшее время добавления группы.
+     *
+     * @return наибольшее время добавления группы в миллисекундах.
+     */
+    public Double getMaxFlushTime() {
+        return this.maxFlushTime;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "WriterStatistics{" +
+                "enabled=" + this.getEnabled() + ", " +
+                "queueDepth=" + this.getQueueDepth() + ", " +
+                "batchCount=" + this.getBatchCount() + ", " +
+                "linkCount=" + this.getLinkCount() + ", " +
+                "maxBatchSize=" + this.getMaxBatchSize() + ", " +
+                "averageBatchSize=" + this.getAverageBatchSize() + ", " +
+                "averageFlushTime=" + this.getAverageFlushTime() + ", " +
+                "maxFlushTime=" + this.getMaxFlushTime() +
+                "}";
+    }
+}
@@ -28,8 +28,11 @@ import dev.kalenchukov.shortlinks.entities.Error;
 import dev.kalenchukov.shortlinks.entities.Errors;
 import dev.kalenchukov.shortlinks.entities.Violation;
 import dev.kalenchukov.shortlinks.entities.Violations;
+import dev.kalenchukov.shortlinks.exceptions.BadRequestException;
 import dev.kalenchukov.shortlinks.exceptions.EntityNotFoundException;
+import dev.kalenchukov.shortlinks.exceptions.LinkExpiredException;
 import dev.kalenchukov.shortlinks.exceptions.ServerErrorException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Path;
 import org.apache.logging.log4j.LogManager;
@@ -42,6 +45,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import java.util.List;
@@ -49,6 +53,9 @@ import java.util.Objects;
 
 /**
  * Класс обработчика исключений приложения.
+ * <p>
+ * Исключения приложения передаются в наблюдение HTTP-запроса, поэтому метрика
+ * {@code http.server.requests} получает тег {@code exception} с классом исключения.
  *
  * @author Алексей Каленчуков
  */
@@ -70,36 +77,90 @@ public class ApplicationExceptionHandler extends ResponseEntityExceptionHandler
      * Возвращает ошибку не найденной сущности.
      *
      * @param exception исключение.
+     * @param request   запрос.
      * @return ошибки.
      */
     @ExceptionHandler(EntityNotFoundException.class)
-    public ResponseEntity<Errors> handleNotFoundException(final EntityNotFoundException exception) {
+    public ResponseEntity<Errors> handleNotFoundException(final EntityNotFoundException exception,
+                                                          final HttpServletRequest request) {
+        ApplicationExceptionHandler.observeError(request, exception);
+
         final Error error = new Error(exception.getLocalizedMessage());
         final Errors errors = new Errors(
                 HttpStatus.NOT_FOUND,
                 List.of(error)
         );
 
-        LOG.debug("Возврат HTTP-ответа: " + errors);
+        LOG.debug("Возврат HTTP-ответа: {}", errors);
 
         return new ResponseEntity<>(errors, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Возвращает ошибку ссылки с истёкшим сроком действия.
+     *
+     * @param exception исключение.
+     * @param request   запрос.
+     * @return ошибки.
+     */
+    @ExceptionHandler(LinkExpiredException.class)
+    public ResponseEntity<Errors> handleExpiredException(final LinkExpiredException exception,
+                                                         final HttpServletRequest request) {
+        ApplicationExceptionHandler.observeError(request, exception);
+
+        final Error error = new Error(exception.getLocalizedMessage());
+        final Errors errors = new Errors(
+                HttpStatus.GONE,
+                List.of(error)
+        );
+
+        LOG.debug("Возврат HTTP-ответа: {}", errors);
+
+        return new ResponseEntity<>(errors, HttpStatus.GONE);
+    }
+
+    /**
+     * Возвращает ошибку некорректного запроса.
+     *
+     * @param exception исключение.
+     * @param request   запрос.
+     * @return ошибки.
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<Errors> handleBadRequestException(final BadRequestException exception,
+                                                            final HttpServletRequest request) {
+        ApplicationExceptionHandler.observeError(request, exception);
+
+        final Error error = new Error(exception.getLocalizedMessage());
+        final Errors errors = new Errors(
+                HttpStatus.BAD_REQUEST,
+                List.of(error)
+        );
+
+        LOG.debug("Возврат HTTP-ответа: {}", errors);
+
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Возвращает ошибку сервера.
      *
      * @param exception исключение.
+     * @param request   запрос.
      * @return ошибки.
      */
     @ExceptionHandler(ServerErrorException.class)
-    public ResponseEntity<Errors> handleServerErrorException(final ServerErrorException exception) {
+    public ResponseEntity<Errors> handleServerErrorException(final ServerErrorException exception,
+                                                             final HttpServletRequest request) {
+        ApplicationExceptionHandler.observeError(request, exception);
+
         final Error error = new Error(exception.getLocalizedMessage());
         final Errors errors = new Errors(
                 HttpStatus.INTERNAL_SERVER_ERROR,
                 List.of(error)
         );
 
-        LOG.debug("Возврат HTTP-ответа: " + errors);
+        LOG.debug("Возврат HTTP-ответа: {}", errors);
 
         return new ResponseEntity<>(errors, HttpStatus.INTERNAL_SERVER_ERROR);
     }
@@ -121,7 +182,7 @@ public class ApplicationExceptionHandler extends ResponseEntityExceptionHandler
                 violationResponse
         );
 
-        LOG.debug("Возврат HTTP-ответа: " + violations);
+        LOG.debug("Возврат HTTP-ответа: {}", violations);
 
         return new ResponseEntity<>(violations, HttpStatus.BAD_REQUEST);
     }
@@ -150,11 +211,22 @@ public class ApplicationExceptionHandler extends ResponseEntityExceptionHandler
                 List.of(violation)
         );
 
-        LOG.debug("Возврат HTTP-ответа: " + violations);
+        LOG.debug("Возврат HTTP-ответа: {}", violations);
 
         return new ResponseEntity<>(violations, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Передаёт исключение в наблюдение HTTP-запроса.
+     *
+     * @param request   запрос.
+     * @param exception исключение.
+     */
+    private static void observeError(final HttpServletRequest request, final Throwable exception) {
+        ServerHttpObservationFilter.findObservationContext(request)
+                .ifPresent(context -> context.setError(exception));
+    }
+
     /**
      * Возвращает название поля класса из пути.
      *
@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.generators;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Класс генератора упорядоченных по времени идентификаторов ссылок.
+ * <p>
+ * Идентификатор состоит из 41 бита миллисекунд с 1 января 2023 года, 10 бит номера узла
+ * и 12 бит счётчика в пределах миллисекунды, поэтому узлы с разными номерами
+ * выдают идентификаторы независимо друг от друга и без обращения к базе данных.
+ * <p>
+ * Время и счётчик хранятся в одном числе и изменяются сравнением с обменом без блокировок.
+ * Если часы отстали или счётчик миллисекунды исчерпан, генератор продолжает
+ * от последнего выданного значения, поэтому идентификаторы узла не повторяются
+ * и возрастают, пока работает приложение.
+ *
+ * @author Алексей Каленчуков
+ */
+@Component
+@ConditionalOnProperty(name = "shortlinks.ids.mode", havingValue = "snowflake")
+public class SnowflakeLinkIdGenerator implements LinkIdGenerators {
+    /**
+     * Начало отсчёта времени.
+     */
+    public static final Instant EPOCH = Instant.parse("2023-01-01T00:00:00Z");
+
+    /**
+     * Количество бит номера узла.
+     */
+    public static final int NODE_BITS = 10;
+
+    /**
+     * Количество бит счётчика.
+     */
+    public static final int SEQUENCE_BITS = 12;
+
+    /**
+     * Максимальный номер узла.
+     */
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    /**
+     * Маска счётчика.
+     */
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /**
+     * Номер узла, сдвинутый на своё место в идентификаторе.
+     */
+    private final long node;
+
+    /**
+     * Часы.
+     */
+    private final Clock clock;
+
+    /**
+     * Начало отсчёта времени в миллисекундах.
+     */
+    private final long epoch;
+
+    /**
+     * Последнее выданное время, сдвинутое на количество бит счётчика, и счётчик.
+     */
+    private final AtomicLong state;
+
+    /**
+     * Конструктор для {@code SnowflakeLinkIdGenerator}.
+     *
+     * @param nodeId номер узла.
+     * @throws IllegalArgumentException если номер узла вне допустимого диапазона.
+     */
+    @Autowired
+    public SnowflakeLinkIdGenerator(@Value("${shortlinks.ids.node-id:0}") final int nodeId) {
+        this(nodeId, Clock.systemUTC());
+    }
+
+    /**
+     * Конструктор для {@code SnowflakeLinkIdGenerator}.
+     *
+     * @param nodeId номер узла.
+     * @param clock  часы.
+     * @throws IllegalArgumentException если номер узла вне допустимого диапазона.
+     */
+    public SnowflakeLinkIdGenerator(final int nodeId, final Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Номер узла должен быть от 0 до " + MAX_NODE_ID + ".");
+        }
+
+        this.node = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+        this.epoch = EPOCH.toEpochMilli();
+        this.state = new AtomicLong();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public OptionalLong nextId() {
+        return OptionalLong.of(this.next());
+    }
+
+    /**
+     * Возвращает следующий идентификатор.
+     *
+     * @return идентификатор.
+     */
+    public long next() {
+        final long now = (this.clock.millis() - this.epoch) << SEQUENCE_BITS;
+
+        while (true) {
+            final long last = this.state.get();
+            final long next = now > last ? now : last + 1;
+
+            if (this.state.compareAndSet(last, next)) {
+                return ((next & ~SEQUENCE_MASK) << NODE_BITS) | this.node | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Класс счётчика переходов по ссылкам.
+ * <p>
+ * Переходы накапливаются в памяти в нескольких полосах, полоса выбирается по потоку,
+ * поэтому переходы по одной популярной ссылке из разных потоков не конкурируют за одну ячейку.
+ * Каждая полоса — таблица с открытой адресацией на примитивных массивах,
+ * учёт перехода не создаёт объектов и не блокирует поток.
+ * <p>
+ * Накопленные переходы периодически забираются и прибавляются в репозиторий одним запросом.
+ * Заполненная полоса заменяется новой, а старая дочитывается при следующем сохранении,
+ * чтобы не потерять переходы потоков, успевших получить её до замены.
+ * Если сохранение не удалось, переходы возвращаются в счётчик до следующей попытки.
+ *
+ * @author Алексей Каленчуков
+ */
+@Component
+public class ClickCounter implements ClickCounters {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(ClickCounter.class);
+
+    /**
+     * Максимальное количество проверяемых ячеек при поиске ячейки ссылки.
+     */
+    private static final int MAX_PROBES = 16;
+
+    /**
+     * Репозиторий количества переходов по ссылкам.
+     */
+    private final ClickRepositories clickRepository;
+
+    /**
+     * Включён ли учёт переходов.
+     */
+    private final boolean enabled;
+
+    /**
+     * Количество ячеек в полосе.
+     */
+    private final int capacity;
+
+    /**
+     * Полосы счётчиков.
+     */
+    private final AtomicReferenceArray<Stripe> stripes;
+
+    /**
+     * Полосы, заменённые при предыдущем сохранении.
+     */
+    private volatile List<Stripe> retired = List.of();
+
+    /**
+     * Контроллер для {@code ClickCounter}.
+     *
+     * @param clickRepository репозиторий количества переходов по ссылкам.
+     * @param enabled         включён ли учёт переходов.
+     * @param capacity        количество ячеек в полосе.
+     */
+    @Autowired
+    public ClickCounter(final ClickRepositories clickRepository,
+                        @Value("${shortlinks.clicks.enabled:true}") final boolean enabled,
+                        @Value("${shortlinks.clicks.capacity:16384}") final int capacity) {
+        this.clickRepository = clickRepository;
+        this.enabled = enabled;
+        this.capacity = Integer.highestOneBit(Math.max(capacity, MAX_PROBES) - 1) << 1;
+        this.stripes = new AtomicReferenceArray<>(
+                Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1
+        );
+
+        for (int index = 0; index < this.stripes.length(); index++) {
+            this.stripes.set(index, new Stripe(this.capacity));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     */
+    @Override
+    public void increment(final long linkId) {
+        if (this.enabled) {
+            this.add(linkId, 1L);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws SQLException {@inheritDoc}
+     */
+    @Override
+    public long get(final long linkId) throws SQLException {
+        long clicks = this.clickRepository.getById(linkId);
+
+        for (int index = 0; index < this.stripes.length(); index++) {
+            clicks += this.stripes.get(index).get(linkId);
+        }
+
+        for (Stripe stripe : this.retired) {
+            clicks += stripe.get(linkId);
+        }
+
+        return clicks;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Scheduled(initialDelayString = "${shortlinks.clicks.flush-interval:PT5S}",
+               fixedDelayString = "${shortlinks.clicks.flush-interval:PT5S}")
+    public synchronized void flush() {
+        if (!this.enabled) {
+            return;
+        }
+
+        final Map<Long, Long> clicks = new HashMap<>();
+        final List<Stripe> retiring = new ArrayList<>();
+
+        for (Stripe stripe : this.retired) {
+            stripe.drainTo(clicks);
+        }
+
+        for (int index = 0; index < this.stripes.length(); index++) {
+            Stripe stripe = this.stripes.get(index);
+
+            if (stripe.isFull()) {
+                this.stripes.set(index, new Stripe(this.capacity));
+                retiring.add(stripe);
+            }
+
+            stripe.drainTo(clicks);
+        }
+
+        this.retired = List.copyOf(retiring);
+
+        if (clicks.isEmpty()) {
+            return;
+        }
+
+        try {
+            this.clickRepository.addAll(clicks);
+        } catch (SQLException | RuntimeException exception) {
+            LOG.error("Ошибка при сохранении переходов по {} ссылкам.", clicks.size(), exception);
+
+            clicks.forEach(this::add);
+        }
+    }
+
+    /**
+     * Сохраняет переходы, накопленные к остановке приложения.
+     */
+    @PreDestroy
+    public void close() {
+        this.flush();
+    }
+
+    /**
+     * Прибавляет переходы по ссылке в полосу текущего потока.
+     *
+     * @param linkId идентификатор ссылки.
+     * @param clicks количество переходов.
+     */
+    private void add(final long linkId, final long clicks) {
+        final int index = ClickCounter.mix(Thread.currentThread().getId()) & (this.stripes.length() - 1);
+        this.stripes.get(index).add(linkId, clicks);
+    }
+
+    /**
+     * Перемешивает биты числа для равномерного распределения по ячейкам.
+     *
+     * @param value число.
+     * @return перемешанное число.
+     */
+    private static int mix(final long value) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Класс полосы счётчиков.
+     * <p>
+     * Ячейка закрепляется за ссылкой при первом переходе и не освобождается,
+     * поэтому полоса заменяется целиком после заполнения.
+     * Идентификатор {@code 0} обозначает свободную ячейку, идентификаторы ссылок всегда положительные.
+     * Переходы по ссылкам, для которых не нашлось ячейки, учитываются в дополнительной таблице.
+     */
+    private static final class Stripe {
+        /**
+         * Идентификаторы ссылок по ячейкам.
+         */
+        private final AtomicLongArray linkIds;
+
+        /**
+         * Количество переходов по ячейкам.
+         */
+        private final AtomicLongArray clicks;
+
+        /**
+         * Количество занятых ячеек.
+         */
+        private final AtomicInteger size = new AtomicInteger();
+
+        /**
+         * Переходы по ссылкам, для которых не нашлось ячейки.
+         */
+        private final Map<Long, AtomicLong> overflow = new ConcurrentHashMap<>();
+
+        /**
+         * Конструктор для {@code Stripe}.
+         *
+         * @param capacity количество ячеек, степень двойки.
+         */
+        private Stripe(final int capacity) {
+            this.linkIds = new AtomicLongArray(capacity);
+            this.clicks = new AtomicLongArray(capacity);
+        }
+
+        /**
+         * Прибавляет переходы по ссылке.
+         *
+         * @param linkId идентификатор ссылки.
+         * @param clicks количество переходов.
+         */
+        private void add(final long linkId, final long clicks) {
+            final int mask = this.linkIds.length() - 1;
+            int index = ClickCounter.mix(linkId) & mask;
+
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                long current = this.linkIds.get(index);
+
+                if (current == 0L) {
+                    if (this.linkIds.compareAndSet(index, 0L, linkId)) {
+                        this.size.incrementAndGet();
+                        current = linkId;
+                    } else {
+                        current = this.linkIds.get(index);
+                    }
+                }
+
+                if (current == linkId) {
+                    this.clicks.getAndAdd(index, clicks);
+                    return;
+                }
+
+                index = (index + 1) & mask;
+            }
+
+            this.overflow.computeIfAbsent(linkId, key -> new AtomicLong()).getAndAdd(clicks);
+        }
+
+        /**
+         * Возвращает накопленные переходы по ссылке.
+         *
+         * @param linkId идентификатор ссылки.
+         * @return количество переходов.
+         */
+        private long get(final long linkId) {
+            final int mask = this.linkIds.length() - 1;
+            int index = ClickCounter.mix(linkId) & mask;
+
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                final long current = this.linkIds.get(index);
+
+                if (current == linkId) {
+                    return this.clicks.get(index);
+                }
+
+                if (current == 0L) {
+                    return 0L;
+                }
+
+                index = (index + 1) & mask;
+            }
+
+            final AtomicLong overflowClicks = this.overflow.get(linkId);
+
+            return overflowClicks == null ? 0L : overflowClicks.get();
+        }
+
+        /**
+         * Проверяет, заполнена ли полоса больше чем на три четверти или переполнена.
+         *
+         * @return {@code true} если полосу пора заменить, иначе {@code false}.
+         */
+        private boolean isFull() {
+            return this.size.get() > this.linkIds.length() / 4 * 3 || !this.overflow.isEmpty();
+        }
+
+        /**
+         * Забирает накопленные переходы, обнуляя их.
+         *
+         * @param target количество переходов по идентификаторам ссылок.
+         */
+        private void drainTo(final Map<Long, Long> target) {
+            for (int index = 0; index < this.linkIds.length(); index++) {
+                final long linkId = this.linkIds.get(index);
+
+                if (linkId != 0L) {
+                    final long clicks = this.clicks.getAndSet(index, 0L);
+
+                    if (clicks != 0L) {
+                        target.merge(linkId, clicks, Long::sum);
+                    }
+                }
+            }
+
+            this.overflow.forEach((linkId, clicks) -> {
+                final long value = clicks.getAndSet(0L);
+
+                if (value != 0L) {
+                    target.merge(linkId, value, Long::sum);
+                }
+            });
+        }
+    }
+}
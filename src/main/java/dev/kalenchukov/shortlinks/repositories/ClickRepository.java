@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Класс репозитория количества переходов по ссылкам.
+ *
+ * @author Алексей Каленчуков
+ */
+@Repository
+public class ClickRepository implements ClickRepositories {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(ClickRepository.class);
+
+    /**
+     * Единица работы с базой данных.
+     */
+    private final UnitOfWork unitOfWork;
+
+    /**
+     * Контроллер для {@code ClickRepository}.
+     *
+     * @param unitOfWork единица работы с базой данных.
+     */
+    @Autowired
+    public ClickRepository(final UnitOfWork unitOfWork) {
+        this.unitOfWork = unitOfWork;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public long getById(final long linkId) throws SQLException {
+        long clicks = 0L;
+        final String query = "SELECT clicks FROM link_clicks WHERE link_id = ?";
+
+        LOG.debug("Выполнение запроса в базу данных для получения количества переходов по ссылке с ID {}.", linkId);
+
+        try (Connection connection = this.unitOfWork.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setLong(1, linkId);
+            preparedStatement.execute();
+
+            try (ResultSet resultSet = preparedStatement.getResultSet()) {
+                if (resultSet.next()) {
+                    clicks = resultSet.getLong(1);
+                }
+            }
+        }
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно.");
+
+        return clicks;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Переходы прибавляются к общему количеству и к минутному интервалу текущего времени.
+     * Строки блокируются в порядке идентификаторов, чтобы одновременные добавления
+     * нескольких экземпляров приложения не приводили к взаимной блокировке.
+     * Ссылки блокируются от удаления до конца запроса.
+     *
+     * @param clicks {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int addAll(final Map<Long, Long> clicks) throws SQLException {
+        if (clicks.isEmpty()) {
+            return 0;
+        }
+
+        final String query = "WITH added AS (" +
+                "SELECT c.link_id, c.clicks FROM UNNEST(?::BIGINT[], ?::BIGINT[]) AS c (link_id, clicks) " +
+                "JOIN links l ON l.link_id = c.link_id ORDER BY c.link_id FOR KEY SHARE OF l" +
+                "), totals AS (" +
+                "INSERT INTO link_clicks (link_id, clicks) SELECT link_id, clicks FROM added ORDER BY link_id " +
+                "ON CONFLICT (link_id) DO UPDATE " +
+                "SET clicks = link_clicks.clicks + EXCLUDED.clicks, date_update = CURRENT_TIMESTAMP" +
+                ") " +
+                "INSERT INTO link_clicks_buckets (link_id, granularity, bucket, clicks) " +
+                "SELECT link_id, 'minute', date_trunc('minute', LOCALTIMESTAMP), clicks FROM added ORDER BY link_id " +
+                "ON CONFLICT (link_id, granularity, bucket) " +
+                "DO UPDATE SET clicks = link_clicks_buckets.clicks + EXCLUDED.clicks";
+
+        final Long[] linkIds = clicks.keySet().toArray(new Long[0]);
+        Arrays.sort(linkIds);
+        final Long[] counts = new Long[linkIds.length];
+
+        for (int i = 0; i < linkIds.length; i++) {
+            counts[i] = clicks.get(linkIds[i]);
+        }
+
+        LOG.debug("Выполнение запроса в базу данных для добавления переходов по ссылкам в количестве {}.", linkIds.length);
+
+        final int added;
+
+        try (Connection connection = this.unitOfWork.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setArray(1, connection.createArrayOf("BIGINT", linkIds));
+            preparedStatement.setArray(2, connection.createArrayOf("BIGINT", counts));
+            added = preparedStatement.executeUpdate();
+        }
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно, добавлены переходы по ссылкам: {}.", added);
+
+        return added;
+    }
+}
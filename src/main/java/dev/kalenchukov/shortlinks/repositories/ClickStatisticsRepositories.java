@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.entities.ClickBucket;
+import dev.kalenchukov.shortlinks.entities.Granularity;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Интерфейс для реализации репозитория статистики переходов по ссылкам.
+ *
+ * @author Алексей Каленчуков
+ */
+public interface ClickStatisticsRepositories {
+    /**
+     * Возвращает количество переходов по ссылке за интервалы периода.
+     *
+     * @param linkId      идентификатор ссылки.
+     * @param granularity детализация.
+     * @param from        начало периода включительно, выровненное по детализации.
+     * @param to          конец периода исключительно, выровненный по детализации.
+     * @return интервалы с переходами в порядке времени.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    List<ClickBucket> getBuckets(long linkId, Granularity granularity, Timestamp from, Timestamp to) throws SQLException;
+
+    /**
+     * Сворачивает завершённые интервалы в интервалы более крупной детализации
+     * и удаляет устаревшие интервалы.
+     *
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    void rollup() throws SQLException;
+}
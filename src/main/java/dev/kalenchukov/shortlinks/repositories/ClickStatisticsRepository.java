@@ -0,0 +1,316 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.entities.ClickBucket;
+import dev.kalenchukov.shortlinks.entities.Granularity;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Класс репозитория статистики переходов по ссылкам.
+ * <p>
+ * Переходы записываются в минутные интервалы вместе с общим количеством переходов.
+ * Завершённые минутные интервалы сворачиваются в часовые, часовые в дневные.
+ * Граница сворачивания каждой детализации хранится в таблице {@code link_clicks_rollups},
+ * поэтому каждое сворачивание обрабатывает только новые интервалы.
+ * Интервалы удаляются по истечении срока хранения своей детализации, но не раньше сворачивания,
+ * поэтому количество записей на ссылку ограничено сроками хранения.
+ * <p>
+ * Запрос периода берёт свёрнутые интервалы до границы сворачивания и более мелкие после неё,
+ * поэтому читает количество записей порядка количества интервалов, а не переходов.
+ * <p>
+ * При выключенном учёте переходов новых интервалов нет, поэтому сворачивание не выполняется
+ * и сервис без базы данных не обращается к ней по расписанию.
+ *
+ * @author Алексей Каленчуков
+ */
+@Repository
+public class ClickStatisticsRepository implements ClickStatisticsRepositories {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(ClickStatisticsRepository.class);
+
+    /**
+     * Условия выбора интервалов по детализации запроса.
+     */
+    private static final Map<Granularity, String> CONDITIONS = new EnumMap<>(Map.of(
+            Granularity.MINUTE,
+            "b.granularity = 'minute'",
+            Granularity.HOUR,
+            "(b.granularity = 'hour' AND b.bucket < m.hour_mark) " +
+            "OR (b.granularity = 'minute' AND b.bucket >= m.hour_mark)",
+            Granularity.DAY,
+            "(b.granularity = 'day' AND b.bucket < m.day_mark) " +
+            "OR (b.granularity = 'hour' AND b.bucket >= m.day_mark AND b.bucket < m.hour_mark) " +
+            "OR (b.granularity = 'minute' AND b.bucket >= m.hour_mark)"
+    ));
+
+    /**
+     * Единица работы с базой данных.
+     */
+    private final UnitOfWork unitOfWork;
+
+    /**
+     * Включён ли учёт переходов.
+     */
+    private final boolean enabled;
+
+    /**
+     * Задержка сворачивания минутных интервалов, в течение которой в них ещё могут добавляться переходы.
+     */
+    private final Duration delay;
+
+    /**
+     * Сроки хранения интервалов по детализациям.
+     */
+    private final Map<Granularity, Duration> retentions;
+
+    /**
+     * Контроллер для {@code ClickStatisticsRepository}.
+     *
+     * @param unitOfWork      единица работы с базой данных.
+     * @param enabled         включён ли учёт переходов.
+     * @param delay           задержка сворачивания минутных интервалов.
+     * @param minuteRetention срок хранения минутных интервалов.
+     * @param hourRetention   срок хранения часовых интервалов.
+     * @param dayRetention    срок хранения дневных интервалов, нулевой срок — без ограничения.
+     */
+    @Autowired
+    public ClickStatisticsRepository(final UnitOfWork unitOfWork,
+                                     @Value("${shortlinks.clicks.enabled:true}") final boolean enabled,
+                                     @Value("${shortlinks.stats.rollup-delay:PT1M}") final String delay,
+                                     @Value("${shortlinks.stats.minute-retention:PT6H}") final String minuteRetention,
+                                     @Value("${shortlinks.stats.hour-retention:P31D}") final String hourRetention,
+                                     @Value("${shortlinks.stats.day-retention:P1095D}") final String dayRetention) {
+        this.unitOfWork = unitOfWork;
+        this.enabled = enabled;
+        this.delay = Duration.parse(delay);
+        this.retentions = new EnumMap<>(Map.of(
+                Granularity.MINUTE, Duration.parse(minuteRetention),
+                Granularity.HOUR, Duration.parse(hourRetention),
+                Granularity.DAY, Duration.parse(dayRetention)
+        ));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId      {@inheritDoc}
+     * @param granularity {@inheritDoc}
+     * @param from        {@inheritDoc}
+     * @param to          {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public List<ClickBucket> getBuckets(final long linkId,
+                                        final Granularity granularity,
+                                        final Timestamp from,
+                                        final Timestamp to) throws SQLException {
+        final List<ClickBucket> buckets = new ArrayList<>();
+        final String query = "SELECT date_trunc(?, b.bucket), SUM(b.clicks) FROM link_clicks_buckets b " +
+                "CROSS JOIN (SELECT MAX(rolled_to) FILTER (WHERE granularity = 'hour') AS hour_mark, " +
+                "MAX(rolled_to) FILTER (WHERE granularity = 'day') AS day_mark FROM link_clicks_rollups) m " +
+                "WHERE b.link_id = ? AND b.bucket >= ? AND b.bucket < ? AND (" + CONDITIONS.get(granularity) + ") " +
+                "GROUP BY 1 ORDER BY 1";
+
+        LOG.debug("Выполнение запроса в базу данных для получения переходов по ссылке с ID {} с {} по {}.", linkId, from, to);
+
+        try (Connection connection = this.unitOfWork.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setString(1, granularity.getName());
+            preparedStatement.setLong(2, linkId);
+            preparedStatement.setTimestamp(3, from);
+            preparedStatement.setTimestamp(4, to);
+            preparedStatement.execute();
+
+            try (ResultSet resultSet = preparedStatement.getResultSet()) {
+                while (resultSet.next()) {
+                    buckets.add(new ClickBucket(resultSet.getTimestamp(1), resultSet.getLong(2)));
+                }
+            }
+        }
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно, получено интервалов: {}.", buckets.size());
+
+        return buckets;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Минутные интервалы сворачиваются с задержкой, чтобы переходы, сохраняемые в момент
+     * смены часа, попали в минутный интервал до его сворачивания.
+     * Дневные интервалы сворачиваются из часовых до границы сворачивания часовых.
+     * При выключенном учёте переходов ничего не выполняется.
+     */
+    @Override
+    @Scheduled(initialDelayString = "${shortlinks.stats.rollup-interval:PT1M}",
+               fixedDelayString = "${shortlinks.stats.rollup-interval:PT1M}")
+    public synchronized void rollup() throws SQLException {
+        if (!this.enabled) {
+            return;
+        }
+
+        this.rollup(Granularity.HOUR, Granularity.MINUTE);
+        this.rollup(Granularity.DAY, Granularity.HOUR);
+
+        for (Map.Entry<Granularity, Duration> retention : this.retentions.entrySet()) {
+            if (!retention.getValue().isZero()) {
+                this.prune(retention.getKey(), retention.getValue());
+            }
+        }
+    }
+
+    /**
+     * Сворачивает интервалы от границы сворачивания детализации до новой границы.
+     * <p>
+     * Граница блокируется до конца транзакции, поэтому несколько экземпляров приложения
+     * не сворачивают одни и те же интервалы.
+     *
+     * @param granularity детализация свёрнутых интервалов.
+     * @param source      детализация сворачиваемых интервалов.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private void rollup(final Granularity granularity, final Granularity source) throws SQLException {
+        final String queryMarks = "SELECT r.rolled_to, " +
+                "date_trunc(r.granularity, COALESCE(s.rolled_to, LOCALTIMESTAMP - make_interval(secs => ?))) " +
+                "FROM link_clicks_rollups r LEFT JOIN link_clicks_rollups s ON s.granularity = ? " +
+                "WHERE r.granularity = ? FOR UPDATE OF r";
+        final String queryRollup = "INSERT INTO link_clicks_buckets (link_id, granularity, bucket, clicks) " +
+                "SELECT link_id, ?, date_trunc(?, bucket), SUM(clicks) FROM link_clicks_buckets " +
+                "WHERE granularity = ? AND bucket >= ? AND bucket < ? GROUP BY 1, 3 ORDER BY 1, 3 " +
+                "ON CONFLICT (link_id, granularity, bucket) " +
+                "DO UPDATE SET clicks = link_clicks_buckets.clicks + EXCLUDED.clicks";
+        final String queryMark = "UPDATE link_clicks_rollups SET rolled_to = ? WHERE granularity = ?";
+
+        LOG.debug("Выполнение запроса в базу данных для сворачивания интервалов в {}.", granularity);
+
+        final int rolled = this.unitOfWork.execute(() -> {
+            final Timestamp from;
+            final Timestamp to;
+
+            try (Connection connection = this.unitOfWork.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(queryMarks)) {
+                preparedStatement.setDouble(1, this.delay.toMillis() / 1000.0D);
+                preparedStatement.setString(2, source.getName());
+                preparedStatement.setString(3, granularity.getName());
+                preparedStatement.execute();
+
+                try (ResultSet resultSet = preparedStatement.getResultSet()) {
+                    if (!resultSet.next()) {
+                        return 0;
+                    }
+
+                    from = resultSet.getTimestamp(1);
+                    to = resultSet.getTimestamp(2);
+                }
+            }
+
+            if (!to.after(from)) {
+                return 0;
+            }
+
+            final int count;
+
+            try (Connection connection = this.unitOfWork.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(queryRollup)) {
+                preparedStatement.setString(1, granularity.getName());
+                preparedStatement.setString(2, granularity.getName());
+                preparedStatement.setString(3, source.getName());
+                preparedStatement.setTimestamp(4, from);
+                preparedStatement.setTimestamp(5, to);
+                count = preparedStatement.executeUpdate();
+            }
+
+            try (Connection connection = this.unitOfWork.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(queryMark)) {
+                preparedStatement.setTimestamp(1, to);
+                preparedStatement.setString(2, granularity.getName());
+                preparedStatement.executeUpdate();
+            }
+
+            return count;
+        });
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно, свёрнуто интервалов: {}.", rolled);
+    }
+
+    /**
+     * Удаляет интервалы детализации старше срока хранения, уже свёрнутые в более крупные.
+     *
+     * @param granularity детализация.
+     * @param retention   срок хранения.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private void prune(final Granularity granularity, final Duration retention) throws SQLException {
+        final String query = "DELETE FROM link_clicks_buckets WHERE granularity = ? " +
+                "AND bucket < LEAST(LOCALTIMESTAMP - make_interval(secs => ?), " +
+                "(SELECT rolled_to FROM link_clicks_rollups WHERE granularity = ?))";
+        final int pruned;
+
+        LOG.debug("Выполнение запроса в базу данных для удаления устаревших интервалов {}.", granularity);
+
+        try (Connection connection = this.unitOfWork.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setString(1, granularity.getName());
+            preparedStatement.setDouble(2, retention.toMillis() / 1000.0D);
+            preparedStatement.setString(3, ClickStatisticsRepository.coarser(granularity));
+            pruned = preparedStatement.executeUpdate();
+        }
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно, удалено интервалов: {}.", pruned);
+    }
+
+    /**
+     * Возвращает название детализации, в которую сворачиваются интервалы.
+     *
+     * @param granularity детализация.
+     * @return название более крупной детализации или {@code null}, если её нет.
+     */
+    private static String coarser(final Granularity granularity) {
+        return switch (granularity) {
+            case MINUTE -> Granularity.HOUR.getName();
+            case HOUR -> Granularity.DAY.getName();
+            case DAY -> null;
+        };
+    }
+}
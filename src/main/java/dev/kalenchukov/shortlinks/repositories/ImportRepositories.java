@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.entities.Link;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Интерфейс для реализации репозитория загрузки ссылок.
+ *
+ * @author Алексей Каленчуков
+ */
+public interface ImportRepositories {
+    /**
+     * Создаёт промежуточную таблицу для загрузки.
+     *
+     * @return название промежуточной таблицы.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    String createStaging() throws SQLException;
+
+    /**
+     * Копирует ссылки в промежуточную таблицу.
+     *
+     * @param staging название промежуточной таблицы.
+     * @param links   ссылки.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    void copy(String staging, List<Link> links) throws SQLException;
+
+    /**
+     * Переносит ссылки из промежуточной таблицы в таблицу ссылок.
+     *
+     * @param staging     название промежуточной таблицы.
+     * @param preserveIds сохранять ли переданные идентификаторы ссылок.
+     * @return количество добавленных ссылок.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    long merge(String staging, boolean preserveIds) throws SQLException;
+
+    /**
+     * Удаляет промежуточную таблицу.
+     *
+     * @param staging название промежуточной таблицы.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    void dropStaging(String staging) throws SQLException;
+}
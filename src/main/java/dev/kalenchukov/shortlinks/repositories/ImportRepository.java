@@ -0,0 +1,221 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.entities.Link;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Класс репозитория загрузки ссылок.
+ * <p>
+ * Ссылки копируются командой {@code COPY} в нежурналируемую промежуточную таблицу,
+ * отдельную для каждой загрузки, и переносятся в таблицу ссылок одним запросом.
+ *
+ * @author Алексей Каленчуков
+ */
+@Repository
+public class ImportRepository implements ImportRepositories {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(ImportRepository.class);
+
+    /**
+     * Единица работы с базой данных.
+     */
+    private final UnitOfWork unitOfWork;
+
+    /**
+     * Контроллер для {@code ImportRepository}.
+     *
+     * @param unitOfWork единица работы с базой данных.
+     */
+    @Autowired
+    public ImportRepository(final UnitOfWork unitOfWork) {
+        this.unitOfWork = unitOfWork;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String createStaging() throws SQLException {
+        final String staging = "links_import_" + UUID.randomUUID().toString().replace("-", "");
+        final String query = "CREATE UNLOGGED TABLE " + staging +
+                " (link_id BIGINT, url VARCHAR(255) NOT NULL, date_create TIMESTAMP)";
+
+        LOG.debug("Выполнение запроса в базу данных для создания промежуточной таблицы {}.", staging);
+
+        try (Connection connection = this.unitOfWork.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(query);
+        }
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно.");
+
+        return staging;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param staging {@inheritDoc}
+     * @param links   {@inheritDoc}
+     */
+    @Override
+    public void copy(final String staging, final List<Link> links) throws SQLException {
+        final String query = "COPY " + staging + " (link_id, url, date_create) FROM STDIN WITH (FORMAT csv)";
+
+        if (links.isEmpty()) {
+            return;
+        }
+
+        LOG.debug("Выполнение запроса в базу данных для копирования ссылок в количестве {}.", links.size());
+
+        final StringBuilder csv = new StringBuilder(links.size() * 64);
+
+        for (Link link : links) {
+            ImportRepository.appendCsv(csv, link);
+        }
+
+        try (Connection connection = this.unitOfWork.getConnection()) {
+            connection.unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn(query, new StringReader(csv.toString()));
+        } catch (IOException exception) {
+            throw new SQLException("Ошибка при копировании ссылок.", exception);
+        }
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно.");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * При сохранении идентификаторов таблица ссылок блокируется от добавления до конца переноса,
+     * ссылки с занятыми идентификаторами пропускаются, а последовательность идентификаторов
+     * продвигается за наибольший из них. Для сохраняемых идентификаторов заранее создаются
+     * недостающие секции таблицы ссылок шириной последней секции.
+     * Ссылки без идентификатора получают новые.
+     *
+     * @param staging     {@inheritDoc}
+     * @param preserveIds {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public long merge(final String staging, final boolean preserveIds) throws SQLException {
+        final String queryPartitions = "SELECT links_create_partitions(MAX(link_id)) FROM " + staging +
+                " HAVING MAX(link_id) IS NOT NULL";
+        final String queryLock = "LOCK TABLE links IN SHARE ROW EXCLUSIVE MODE";
+        final String queryWithIds = "INSERT INTO links (link_id, url, date_create) " +
+                "SELECT link_id, url, COALESCE(date_create, CURRENT_TIMESTAMP) FROM " + staging +
+                " WHERE link_id IS NOT NULL ON CONFLICT (link_id) DO NOTHING";
+        final String querySequence = "SELECT setval('links_link_id_seq', MAX(link_id)) FROM links " +
+                "HAVING MAX(link_id) > (SELECT CASE WHEN is_called THEN last_value ELSE last_value - 1 END " +
+                "FROM links_link_id_seq)";
+        final String queryWithoutIds = "INSERT INTO links (url, date_create) " +
+                "SELECT url, COALESCE(date_create, CURRENT_TIMESTAMP) FROM " + staging +
+                (preserveIds ? " WHERE link_id IS NULL" : "");
+
+        LOG.debug("Выполнение запроса в базу данных для переноса ссылок из {}.", staging);
+
+        final long imported = this.unitOfWork.execute(() -> {
+            long count = 0L;
+
+            try (Connection connection = this.unitOfWork.getConnection();
+                 Statement statement = connection.createStatement()) {
+                if (preserveIds) {
+                    statement.execute(queryPartitions);
+                    statement.execute(queryLock);
+                    count += statement.executeLargeUpdate(queryWithIds);
+                    statement.execute(querySequence);
+                }
+
+                count += statement.executeLargeUpdate(queryWithoutIds);
+            }
+
+            return count;
+        });
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно, добавлено ссылок: {}.", imported);
+
+        return imported;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param staging {@inheritDoc}
+     */
+    @Override
+    public void dropStaging(final String staging) throws SQLException {
+        final String query = "DROP TABLE IF EXISTS " + staging;
+
+        LOG.debug("Выполнение запроса в базу данных для удаления промежуточной таблицы {}.", staging);
+
+        try (Connection connection = this.unitOfWork.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(query);
+        }
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно.");
+    }
+
+    /**
+     * Добавляет ссылку строкой CSV.
+     * <p>
+     * Пустое значение без кавычек {@code COPY} считает {@code NULL}.
+     *
+     * @param csv  строки CSV.
+     * @param link ссылка.
+     */
+    private static void appendCsv(final StringBuilder csv, final Link link) {
+        if (link.getLinkId() != null) {
+            csv.append(link.getLinkId());
+        }
+
+        csv.append(",\"").append(link.getUrl().replace("\"", "\"\"")).append("\",");
+
+        if (link.getDateCreate() != null) {
+            csv.append(link.getDateCreate());
+        }
+
+        csv.append('\n');
+    }
+}
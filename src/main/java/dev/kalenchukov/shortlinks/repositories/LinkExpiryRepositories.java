@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Интерфейс для реализации репозитория ссылок с истёкшим сроком действия.
+ *
+ * @author Алексей Каленчуков
+ */
+public interface LinkExpiryRepositories {
+    /**
+     * Удаляет порцию ссылок, срок действия которых истёк к указанному времени.
+     *
+     * @param expiredBefore время.
+     * @param limit         наибольшее количество удаляемых ссылок.
+     * @return количество удалённых ссылок.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    int deleteExpired(Timestamp expiredBefore, int limit) throws SQLException;
+
+    /**
+     * Удаляет порциями все ссылки, срок действия которых истёк.
+     *
+     * @return количество удалённых ссылок.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    long reap() throws SQLException;
+
+    /**
+     * Возвращает количество ссылок с истёкшим сроком действия, удалённых с запуска.
+     *
+     * @return количество удалённых ссылок.
+     */
+    long getReclaimedCount();
+}
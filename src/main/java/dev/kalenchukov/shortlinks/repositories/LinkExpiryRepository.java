@@ -0,0 +1,260 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Класс репозитория ссылок с истёкшим сроком действия.
+ * <p>
+ * Каждые {@code shortlinks.expiry.interval} ссылки с истёкшим сроком удаляются порциями
+ * по {@code shortlinks.expiry.batch-size} ссылок. Порция выбирается по частичному индексу
+ * {@code links_expires_at_idx}, каждая порция удаляется отдельной короткой транзакцией,
+ * а между порциями выдерживается пауза, чтобы удалялось не больше {@code shortlinks.expiry.rate}
+ * ссылок в секунду. Заблокированные другими транзакциями ссылки пропускаются до следующей порции,
+ * поэтому удаление не ждёт блокировок, а несколько экземпляров приложения не мешают друг другу.
+ * Одно удаление длится не дольше {@code shortlinks.expiry.max-duration}, остальные ссылки
+ * удаляются при следующем запуске, чтобы не задерживать другие задачи планировщика.
+ *
+ * @author Алексей Каленчуков
+ */
+@Repository
+@ConditionalOnProperty(name = "shortlinks.storage", havingValue = "postgresql", matchIfMissing = true)
+public class LinkExpiryRepository implements LinkExpiryRepositories {
+    /**
+     * Название метрики удалённых ссылок.
+     */
+    public static final String METRIC = "shortlinks.expiry.reclaimed";
+
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(LinkExpiryRepository.class);
+
+    /**
+     * Единица работы с базой данных.
+     */
+    private final UnitOfWork unitOfWork;
+
+    /**
+     * Количество ссылок, удаляемых одним запросом.
+     */
+    private final int batchSize;
+
+    /**
+     * Наибольшее количество ссылок, удаляемых в секунду, или {@code 0} без ограничения.
+     */
+    private final long rate;
+
+    /**
+     * Наибольшая длительность одного удаления в наносекундах или {@code 0} без ограничения.
+     */
+    private final long maxDuration;
+
+    /**
+     * Количество удалённых ссылок.
+     */
+    private final LongAdder reclaimedCount;
+
+    /**
+     * Контроллер для {@code LinkExpiryRepository}.
+     *
+     * @param unitOfWork единица работы с базой данных.
+     * @param batchSize  количество ссылок, удаляемых одним запросом.
+     * @param rate        наибольшее количество ссылок, удаляемых в секунду, {@code 0} — без ограничения.
+     * @param maxDuration наибольшая длительность одного удаления в формате ISO-8601, нулевая — без ограничения.
+     * @param registry    реестр метрик.
+     */
+    @Autowired
+    public LinkExpiryRepository(final UnitOfWork unitOfWork,
+                                @Value("${shortlinks.expiry.batch-size:1000}") final int batchSize,
+                                @Value("${shortlinks.expiry.rate:5000}") final long rate,
+                                @Value("${shortlinks.expiry.max-duration:PT10S}") final String maxDuration,
+                                final ObjectProvider<MeterRegistry> registry) {
+        this(unitOfWork, batchSize, rate, maxDuration);
+
+        registry.ifAvailable(this::bindTo);
+    }
+
+    /**
+     * Контроллер для {@code LinkExpiryRepository} без метрик.
+     *
+     * @param unitOfWork единица работы с базой данных.
+     * @param batchSize  количество ссылок, удаляемых одним запросом.
+     * @param rate        наибольшее количество ссылок, удаляемых в секунду, {@code 0} — без ограничения.
+     * @param maxDuration наибольшая длительность одного удаления в формате ISO-8601, нулевая — без ограничения.
+     */
+    public LinkExpiryRepository(final UnitOfWork unitOfWork,
+                                final int batchSize,
+                                final long rate,
+                                final String maxDuration) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Размер порции удаления ссылок должен быть больше 0.");
+        }
+
+        this.unitOfWork = unitOfWork;
+        this.batchSize = batchSize;
+        this.rate = rate;
+        this.maxDuration = Duration.parse(maxDuration).toNanos();
+        this.reclaimedCount = new LongAdder();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Ссылки выбираются по возрастанию срока действия по частичному индексу
+     * и блокируются с пропуском уже заблокированных.
+     *
+     * @param expiredBefore {@inheritDoc}
+     * @param limit         {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int deleteExpired(final Timestamp expiredBefore, final int limit) throws SQLException {
+        final int deleted;
+        final String query = "WITH expired AS (SELECT link_id FROM links WHERE expires_at <= ? " +
+                "ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+                "DELETE FROM links WHERE link_id IN (SELECT link_id FROM expired)";
+
+        LOG.debug("Выполнение запроса в базу данных для удаления ссылок, срок действия которых истёк до {}.", expiredBefore);
+
+        try (Connection connection = this.unitOfWork.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setTimestamp(1, expiredBefore);
+            preparedStatement.setInt(2, limit);
+            deleted = preparedStatement.executeUpdate();
+        }
+
+        this.reclaimedCount.add(deleted);
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно, удалено ссылок: {}.", deleted);
+
+        return deleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Удаляются ссылки, срок действия которых истёк к началу удаления, поэтому
+     * удаление завершается, даже если сроки новых ссылок истекают быстрее.
+     * Если поток прерван или следующая порция начнётся позже наибольшей длительности удаления,
+     * удаление останавливается после текущей порции.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    @Scheduled(initialDelayString = "${shortlinks.expiry.interval:PT1M}", fixedDelayString = "${shortlinks.expiry.interval:PT1M}")
+    public synchronized long reap() throws SQLException {
+        final Timestamp now = Timestamp.from(Instant.now());
+        final long start = System.nanoTime();
+        long reclaimed = 0L;
+
+        while (true) {
+            final int deleted = this.deleteExpired(now, this.batchSize);
+            reclaimed += deleted;
+
+            if (deleted < this.batchSize || !this.pause(start, reclaimed)) {
+                break;
+            }
+        }
+
+        if (reclaimed > 0L) {
+            LOG.info("Удалены ссылки с истёкшим сроком действия в количестве {}.", reclaimed);
+        }
+
+        return reclaimed;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public long getReclaimedCount() {
+        return this.reclaimedCount.sum();
+    }
+
+    /**
+     * Регистрирует метрику удалённых ссылок с истёкшим сроком действия.
+     *
+     * @param registry реестр метрик.
+     */
+    private void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder(METRIC, this, LinkExpiryRepository::getReclaimedCount)
+                .description("Удалённые ссылки с истёкшим сроком действия")
+                .register(registry);
+    }
+
+    /**
+     * Выдерживает паузу перед следующей порцией, чтобы не превысить скорость удаления.
+     *
+     * @param start     время начала удаления в наносекундах.
+     * @param reclaimed количество удалённых с начала ссылок.
+     * @return {@code true} если удаление можно продолжить, {@code false} если поток прерван
+     * или истекла наибольшая длительность удаления.
+     */
+    private boolean pause(final long start, final long reclaimed) {
+        final long now = System.nanoTime();
+        final long resume = this.rate <= 0L ? now : start + TimeUnit.SECONDS.toNanos(reclaimed) / this.rate;
+
+        if (this.maxDuration > 0L && resume - start >= this.maxDuration) {
+            LOG.debug("Удаление ссылок с истёкшим сроком действия продолжится при следующем запуске.");
+
+            return false;
+        }
+
+        final long delay = resume - now;
+
+        try {
+            if (delay > 0L) {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            }
+
+            return !Thread.currentThread().isInterrupted();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,547 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Класс журнала изменений ссылок в памяти.
+ * <p>
+ * Изменения дописываются в конец файла журнала записями с контрольной суммой CRC32C.
+ * При сжатии все ссылки записываются в файл снимка, который атомарно заменяет
+ * предыдущий, после чего журнал очищается. При восстановлении читается снимок,
+ * затем журнал; журнал обрезается перед первой неполной или повреждённой записью,
+ * которая остаётся после аварийного завершения во время записи.
+ * <p>
+ * Повторное применение записей журнала к снимку не меняет результат, поэтому
+ * завершение между заменой снимка и очисткой журнала не приводит к потере данных.
+ *
+ * @author Алексей Каленчуков
+ */
+final class LinkJournal implements AutoCloseable {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(LinkJournal.class);
+
+    /**
+     * Имя файла журнала.
+     */
+    static final String LOG_FILE = "links.log";
+
+    /**
+     * Имя файла снимка.
+     */
+    static final String SNAPSHOT_FILE = "links.snapshot";
+
+    /**
+     * Тип записи добавления ссылки.
+     */
+    private static final byte PUT = 1;
+
+    /**
+     * Тип записи удаления ссылки.
+     */
+    private static final byte DELETE = 2;
+
+    /**
+     * Тип записи заголовка снимка.
+     */
+    private static final byte HEADER = 3;
+
+    /**
+     * Размер заголовка записи: контрольная сумма, длина данных и тип.
+     */
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES + Byte.BYTES;
+
+    /**
+     * Размер данных записи добавления без URL-адреса.
+     */
+    private static final int PUT_SIZE = Long.BYTES + Long.BYTES;
+
+    /**
+     * Максимальный размер данных записи.
+     */
+    private static final int MAX_PAYLOAD_SIZE = 1 << 20;
+
+    /**
+     * Размер буфера чтения и записи.
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Каталог файлов.
+     */
+    private final Path directory;
+
+    /**
+     * Сбрасываются ли записи на диск после каждого изменения.
+     */
+    private final boolean sync;
+
+    /**
+     * Контрольная сумма записей.
+     */
+    private final CRC32C checksum;
+
+    /**
+     * Буфер записи.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Канал файла журнала.
+     */
+    private FileChannel channel;
+
+    /**
+     * Количество записей в журнале.
+     */
+    private long records;
+
+    /**
+     * Количество записей в буфере.
+     */
+    private int pending;
+
+    /**
+     * Позиция начала текущей записи в буфере.
+     */
+    private int start;
+
+    /**
+     * Контроллер для {@code LinkJournal}.
+     *
+     * @param directory каталог файлов.
+     * @param sync      сбрасываются ли записи на диск после каждого изменения.
+     */
+    LinkJournal(final Path directory, final boolean sync) {
+        this.directory = directory;
+        this.sync = sync;
+        this.checksum = new CRC32C();
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    }
+
+    /**
+     * Восстанавливает ссылки из снимка и журнала и открывает журнал для записи.
+     *
+     * @param table таблица ссылок.
+     * @return наибольший выданный идентификатор ссылки.
+     * @throws IOException при ошибке чтения или повреждении снимка.
+     */
+    long recover(final LinkTable table) throws IOException {
+        Files.createDirectories(this.directory);
+
+        final Path snapshot = this.directory.resolve(SNAPSHOT_FILE);
+        final Path log = this.directory.resolve(LOG_FILE);
+        final Recovery recovery = new Recovery(table);
+
+        if (Files.exists(snapshot)) {
+            try (InputStream input = Files.newInputStream(snapshot)) {
+                final long position = recovery.read(input);
+
+                if (position != Files.size(snapshot)) {
+                    throw new IOException("Снимок ссылок повреждён на позиции " + position + ".");
+                }
+            }
+
+            LOG.info("Из снимка восстановлено ссылок: {}.", table.size());
+        }
+
+        if (Files.exists(log)) {
+            final long snapshotRecords = recovery.records;
+            final long position;
+
+            try (InputStream input = Files.newInputStream(log)) {
+                position = recovery.read(input);
+            }
+
+            final long size = Files.size(log);
+
+            if (position < size) {
+                LOG.warn("Журнал ссылок обрезан с {} до {} байт из-за неполной или повреждённой записи.", size, position);
+
+                try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+                    channel.truncate(position);
+                    channel.force(true);
+                }
+            }
+
+            this.records = recovery.records - snapshotRecords;
+
+            LOG.info("Из журнала применено записей: {}.", this.records);
+        }
+
+        this.channel = FileChannel.open(log, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        return recovery.sequence;
+    }
+
+    /**
+     * Возвращает количество записей в журнале с момента последнего снимка.
+     *
+     * @return количество записей.
+     */
+    long records() {
+        return this.records;
+    }
+
+    /**
+     * Добавляет в буфер запись добавления ссылки.
+     *
+     * @param linkId     идентификатор ссылки.
+     * @param dateCreate дата добавления в миллисекундах.
+     * @param url        URL-адрес в UTF-8.
+     */
+    void put(final long linkId, final long dateCreate, final byte[] url) {
+        this.begin(PUT, PUT_SIZE + url.length);
+        this.buffer.putLong(linkId).putLong(dateCreate).put(url);
+        this.end();
+    }
+
+    /**
+     * Добавляет в буфер запись удаления ссылки.
+     *
+     * @param linkId идентификатор ссылки.
+     */
+    void delete(final long linkId) {
+        this.begin(DELETE, Long.BYTES);
+        this.buffer.putLong(linkId);
+        this.end();
+    }
+
+    /**
+     * Дописывает записи из буфера в журнал.
+     * <p>
+     * При ошибке записи журнал обрезается до прежнего размера, чтобы
+     * частично записанные данные не применились при восстановлении.
+     *
+     * @throws IOException при ошибке записи.
+     */
+    void commit() throws IOException {
+        this.buffer.flip();
+
+        final long position = this.channel.size();
+
+        try {
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+
+            if (this.sync) {
+                this.channel.force(false);
+            }
+        } catch (IOException exception) {
+            this.rollback();
+            this.channel.truncate(position);
+            throw exception;
+        }
+
+        this.records += this.pending;
+        this.rollback();
+    }
+
+    /**
+     * Отменяет записи в буфере.
+     */
+    void rollback() {
+        this.buffer.clear();
+        this.pending = 0;
+    }
+
+    /**
+     * Записывает снимок всех ссылок и очищает журнал.
+     *
+     * @param table    таблица ссылок.
+     * @param sequence наибольший выданный идентификатор ссылки.
+     * @throws IOException при ошибке записи.
+     */
+    void snapshot(final LinkTable table, final long sequence) throws IOException {
+        final Path temporary = this.directory.resolve(SNAPSHOT_FILE + ".tmp");
+        final LinkTable.Slots slots = table.slots();
+
+        try (FileChannel snapshot = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            this.begin(HEADER, Long.BYTES + Long.BYTES);
+            this.buffer.putLong(table.size()).putLong(sequence);
+            this.end();
+
+            for (int i = 0; i < slots.keys.length; i++) {
+                if (slots.keys[i] != 0L) {
+                    final int urlLength = slots.urlLength(i);
+
+                    if (this.buffer.remaining() < RECORD_HEADER_SIZE + PUT_SIZE + urlLength) {
+                        this.drain(snapshot);
+                    }
+
+                    this.begin(PUT, PUT_SIZE + urlLength);
+                    this.buffer.putLong(slots.keys[i]).putLong(slots.dates[i]);
+                    slots.copyUrl(i, this.buffer);
+                    this.end();
+                }
+            }
+
+            this.drain(snapshot);
+            snapshot.force(true);
+        } finally {
+            this.rollback();
+        }
+
+        Files.move(temporary, this.directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // Переименование снимка должно сохраниться на диске раньше очистки журнала,
+        // иначе после сбоя питания восстановится старый снимок с пустым журналом
+        try (FileChannel directory = FileChannel.open(this.directory, StandardOpenOption.READ)) {
+            directory.force(true);
+        }
+
+        this.channel.truncate(0L);
+        this.channel.force(true);
+        this.records = 0L;
+
+        LOG.info("Записан снимок ссылок в количестве {}, журнал очищен.", table.size());
+    }
+
+    /**
+     * Закрывает журнал.
+     *
+     * @throws IOException при ошибке закрытия.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.channel != null && this.channel.isOpen()) {
+            this.channel.force(true);
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Начинает запись в буфере.
+     *
+     * @param type        тип записи.
+     * @param payloadSize размер данных записи.
+     */
+    private void begin(final byte type, final int payloadSize) {
+        if (payloadSize > MAX_PAYLOAD_SIZE) {
+            throw new IllegalArgumentException("Слишком большая запись журнала ссылок.");
+        }
+
+        final int required = RECORD_HEADER_SIZE + payloadSize;
+
+        if (this.buffer.remaining() < required) {
+            final ByteBuffer buffer = ByteBuffer.allocate(Math.max(this.buffer.capacity() * 2, this.buffer.position() + required));
+            this.buffer.flip();
+            buffer.put(this.buffer);
+            this.buffer = buffer;
+        }
+
+        this.start = this.buffer.position();
+        this.buffer.putInt(0).putInt(payloadSize).put(type);
+    }
+
+    /**
+     * Завершает запись в буфере, вычисляя контрольную сумму.
+     */
+    private void end() {
+        this.checksum.reset();
+        this.checksum.update(this.buffer.array(), this.start + Integer.BYTES, this.buffer.position() - this.start - Integer.BYTES);
+        this.buffer.putInt(this.start, (int) this.checksum.getValue());
+        this.pending++;
+    }
+
+    /**
+     * Записывает содержимое буфера в канал.
+     *
+     * @param channel канал.
+     * @throws IOException при ошибке записи.
+     */
+    private void drain(final FileChannel channel) throws IOException {
+        this.buffer.flip();
+
+        while (this.buffer.hasRemaining()) {
+            channel.write(this.buffer);
+        }
+
+        this.buffer.clear();
+    }
+
+    /**
+     * Класс чтения записей снимка и журнала в таблицу ссылок.
+     */
+    private static final class Recovery {
+        /**
+         * Таблица ссылок.
+         */
+        private final LinkTable table;
+
+        /**
+         * Заголовок записи.
+         */
+        private final byte[] header;
+
+        /**
+         * Данные записи.
+         */
+        private byte[] payload;
+
+        /**
+         * Контрольная сумма.
+         */
+        private final CRC32C checksum;
+
+        /**
+         * Количество прочитанных записей изменений.
+         */
+        private long records;
+
+        /**
+         * Наибольший выданный идентификатор ссылки.
+         */
+        private long sequence;
+
+        /**
+         * Контроллер для {@code Recovery}.
+         *
+         * @param table таблица ссылок.
+         */
+        private Recovery(final LinkTable table) {
+            this.table = table;
+            this.header = new byte[RECORD_HEADER_SIZE];
+            this.payload = new byte[PUT_SIZE + 256];
+            this.checksum = new CRC32C();
+        }
+
+        /**
+         * Читает и применяет записи до конца потока или до первой неполной или повреждённой записи.
+         *
+         * @param stream поток.
+         * @return позицию после последней применённой записи.
+         * @throws IOException при ошибке чтения.
+         */
+        private long read(final InputStream stream) throws IOException {
+            final DataInputStream input = new DataInputStream(new BufferedInputStream(stream, BUFFER_SIZE));
+            long position = 0L;
+
+            while (true) {
+                try {
+                    input.readFully(this.header);
+                } catch (EOFException exception) {
+                    return position;
+                }
+
+                final ByteBuffer header = ByteBuffer.wrap(this.header);
+                final int expectedChecksum = header.getInt();
+                final int payloadSize = header.getInt();
+                final byte type = header.get();
+
+                if (payloadSize < 0 || payloadSize > MAX_PAYLOAD_SIZE) {
+                    return position;
+                }
+
+                if (this.payload.length < payloadSize) {
+                    this.payload = new byte[Math.max(payloadSize, this.payload.length * 2)];
+                }
+
+                try {
+                    input.readFully(this.payload, 0, payloadSize);
+                } catch (EOFException exception) {
+                    return position;
+                }
+
+                this.checksum.reset();
+                this.checksum.update(this.header, Integer.BYTES, RECORD_HEADER_SIZE - Integer.BYTES);
+                this.checksum.update(this.payload, 0, payloadSize);
+
+                if ((int) this.checksum.getValue() != expectedChecksum || !this.apply(type, payloadSize)) {
+                    return position;
+                }
+
+                position += RECORD_HEADER_SIZE + payloadSize;
+            }
+        }
+
+        /**
+         * Применяет запись к таблице ссылок.
+         *
+         * @param type        тип записи.
+         * @param payloadSize размер данных записи.
+         * @return {@code true} если запись применена, {@code false} если запись некорректна.
+         */
+        private boolean apply(final byte type, final int payloadSize) {
+            final ByteBuffer payload = ByteBuffer.wrap(this.payload, 0, payloadSize);
+
+            switch (type) {
+                case PUT -> {
+                    if (payloadSize < PUT_SIZE) {
+                        return false;
+                    }
+
+                    final long linkId = payload.getLong();
+                    final long dateCreate = payload.getLong();
+
+                    this.table.put(linkId, dateCreate, this.payload, PUT_SIZE, payloadSize - PUT_SIZE);
+                    this.sequence = Math.max(this.sequence, linkId);
+                    this.records++;
+                }
+                case DELETE -> {
+                    if (payloadSize != Long.BYTES) {
+                        return false;
+                    }
+
+                    this.table.remove(payload.getLong());
+                    this.records++;
+                }
+                case HEADER -> {
+                    if (payloadSize != Long.BYTES + Long.BYTES) {
+                        return false;
+                    }
+
+                    this.table.ensureCapacity((int) Math.min(payload.getLong(), Integer.MAX_VALUE / 2));
+                    this.sequence = Math.max(this.sequence, payload.getLong());
+                }
+                default -> {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.generators.LinkIdGenerators;
+import dev.kalenchukov.shortlinks.generators.SnowflakeLinkIdGenerator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Класс репозитория секций таблицы ссылок.
+ * <p>
+ * Таблица ссылок секционирована по диапазонам {@code link_id}. Секции создаются заранее
+ * на {@code shortlinks.partitions.ahead} секций вперёд от последнего выданного идентификатора,
+ * так как у таблицы нет секции по умолчанию и ссылка вне секций не будет добавлена.
+ * Идентификаторы генератора {@link SnowflakeLinkIdGenerator} растут со временем,
+ * поэтому для них ширина секции увеличивается так, чтобы созданные заранее секции
+ * покрывали не меньше двух интервалов {@code shortlinks.partitions.maintenance-interval}.
+ * Если задан срок хранения {@code shortlinks.partitions.retention}, секции со ссылками старше
+ * срока отсоединяются и удаляются целиком, без удаления ссылок по одной.
+ * Секции создаются и удаляются функциями базы данных под общей блокировкой,
+ * поэтому несколько экземпляров приложения не мешают друг другу.
+ *
+ * @author Алексей Каленчуков
+ */
+@Repository
+@ConditionalOnProperty(name = "shortlinks.storage", havingValue = "postgresql", matchIfMissing = true)
+public class LinkPartitionRepository implements LinkPartitionRepositories {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(LinkPartitionRepository.class);
+
+    /**
+     * Единица работы с базой данных.
+     */
+    private final UnitOfWork unitOfWork;
+
+    /**
+     * Генератор идентификаторов ссылок.
+     */
+    private final LinkIdGenerators linkIdGenerator;
+
+    /**
+     * Ширина секции в идентификаторах.
+     */
+    private final long size;
+
+    /**
+     * Количество секций, создаваемых заранее.
+     */
+    private final int ahead;
+
+    /**
+     * Срок хранения ссылок.
+     */
+    private final Duration retention;
+
+    /**
+     * Контроллер для {@code LinkPartitionRepository}.
+     *
+     * @param unitOfWork          единица работы с базой данных.
+     * @param linkIdGenerator     генератор идентификаторов ссылок.
+     * @param size                ширина секции в идентификаторах.
+     * @param ahead               количество секций, создаваемых заранее.
+     * @param retention           срок хранения ссылок, нулевой срок — без ограничения.
+     * @param maintenanceInterval интервал обслуживания секций в формате ISO-8601.
+     * @throws IllegalArgumentException если ширина или количество секций меньше 1.
+     */
+    @Autowired
+    public LinkPartitionRepository(final UnitOfWork unitOfWork,
+                                   final LinkIdGenerators linkIdGenerator,
+                                   @Value("${shortlinks.partitions.size:10000000}") final long size,
+                                   @Value("${shortlinks.partitions.ahead:2}") final int ahead,
+                                   @Value("${shortlinks.partitions.retention:P0D}") final String retention,
+                                   @Value("${shortlinks.partitions.maintenance-interval:PT1H}") final String maintenanceInterval) {
+        if (size <= 0L || ahead <= 0) {
+            throw new IllegalArgumentException("Ширина и количество создаваемых заранее секций должны быть больше 0.");
+        }
+
+        this.unitOfWork = unitOfWork;
+        this.linkIdGenerator = linkIdGenerator;
+        this.size = LinkPartitionRepository.getSize(linkIdGenerator, size, ahead, Duration.parse(maintenanceInterval));
+        this.ahead = ahead;
+        this.retention = Duration.parse(retention);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param upTo {@inheritDoc}
+     * @param size {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int createPartitions(final long upTo, final long size) throws SQLException {
+        int created = 0;
+        final String query = "SELECT links_create_partitions(?, ?)";
+
+        LOG.debug("Выполнение запроса в базу данных для создания секций ссылок до ID {}.", upTo);
+
+        try (Connection connection = this.unitOfWork.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setLong(1, upTo);
+            preparedStatement.setLong(2, size);
+            preparedStatement.execute();
+
+            try (ResultSet resultSet = preparedStatement.getResultSet()) {
+                if (resultSet.next()) {
+                    created = resultSet.getInt(1);
+                }
+            }
+        }
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно, создано секций: {}.", created);
+
+        return created;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Переходы и хэши URL-адресов ссылок секции удаляются до отсоединения секции,
+     * а количество ссылок уменьшается на количество ссылок секции.
+     *
+     * @param createdBefore {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int dropPartitions(final Timestamp createdBefore) throws SQLException {
+        int dropped = 0;
+        final String query = "SELECT links_drop_partitions(?)";
+
+        LOG.debug("Выполнение запроса в базу данных для удаления секций ссылок, созданных до {}.", createdBefore);
+
+        try (Connection connection = this.unitOfWork.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setTimestamp(1, createdBefore);
+            preparedStatement.execute();
+
+            try (ResultSet resultSet = preparedStatement.getResultSet()) {
+                if (resultSet.next()) {
+                    dropped = resultSet.getInt(1);
+                }
+            }
+        }
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно, удалено секций: {}.", dropped);
+
+        return dropped;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Последний выданный идентификатор — наибольший из идентификатора ссылок,
+     * значения последовательности и следующего идентификатора генератора приложения.
+     */
+    @Override
+    @Scheduled(initialDelay = 0L, fixedDelayString = "${shortlinks.partitions.maintenance-interval:PT1H}")
+    public synchronized void maintain() throws SQLException {
+        final long upTo = this.getLastId() + this.size * this.ahead;
+        final int created = this.createPartitions(upTo, this.size);
+
+        if (created > 0) {
+            LOG.info("Созданы секции ссылок в количестве {} до ID {}.", created, upTo);
+        }
+
+        if (!this.retention.isZero()) {
+            final int dropped = this.dropPartitions(Timestamp.from(Instant.now().minus(this.retention)));
+
+            if (dropped > 0) {
+                LOG.info("Удалены секции устаревших ссылок в количестве {}.", dropped);
+            }
+        }
+    }
+
+    /**
+     * Возвращает ширину секции, при которой созданные заранее секции покрывают
+     * идентификаторы генератора {@link SnowflakeLinkIdGenerator} за два интервала обслуживания.
+     *
+     * @param linkIdGenerator     генератор идентификаторов ссылок.
+     * @param size                ширина секции в идентификаторах.
+     * @param ahead               количество секций, создаваемых заранее.
+     * @param maintenanceInterval интервал обслуживания секций.
+     * @return ширина секции в идентификаторах.
+     */
+    private static long getSize(final LinkIdGenerators linkIdGenerator,
+                                final long size,
+                                final int ahead,
+                                final Duration maintenanceInterval) {
+        if (!(linkIdGenerator instanceof SnowflakeLinkIdGenerator)) {
+            return size;
+        }
+
+        final long intervalIds = maintenanceInterval.toMillis()
+                << (SnowflakeLinkIdGenerator.NODE_BITS + SnowflakeLinkIdGenerator.SEQUENCE_BITS);
+        final long minSize = (2 * intervalIds + ahead - 1) / ahead;
+
+        if (size >= minSize) {
+            return size;
+        }
+
+        LOG.warn(
+                "Ширина секции {} покрывает меньше двух интервалов обслуживания {}, используется ширина {}.",
+                size, maintenanceInterval, minSize
+        );
+
+        return minSize;
+    }
+
+    /**
+     * Возвращает последний выданный идентификатор ссылки.
+     *
+     * @return идентификатор.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private long getLastId() throws SQLException {
+        long lastId = this.linkIdGenerator.nextId().orElse(0L);
+        final String query = "SELECT GREATEST((SELECT COALESCE(MAX(link_id), 0) FROM links), " +
+                "(SELECT last_value FROM links_link_id_seq))";
+
+        try (Connection connection = this.unitOfWork.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.execute();
+
+            try (ResultSet resultSet = preparedStatement.getResultSet()) {
+                if (resultSet.next()) {
+                    lastId = Math.max(lastId, resultSet.getLong(1));
+                }
+            }
+        }
+
+        return lastId;
+    }
+}
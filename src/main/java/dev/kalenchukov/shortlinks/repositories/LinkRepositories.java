@@ -27,7 +27,13 @@ package dev.kalenchukov.shortlinks.repositories;
 import dev.kalenchukov.shortlinks.entities.Link;
 
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 /**
  * Интерфейс для реализации репозитория ссылок.
@@ -53,6 +59,15 @@ public interface LinkRepositories {
      */
     Link save(Link link) throws SQLException;
 
+    /**
+     * Сохраняет ссылки одним запросом.
+     *
+     * @param links ссылки.
+     * @return ссылки в порядке переданных.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    List<Link> saveAll(List<Link> links) throws SQLException;
+
     /**
      * Возвращает количество ссылок.
      *
@@ -61,6 +76,21 @@ public interface LinkRepositories {
      */
     long size() throws SQLException;
 
+    /**
+     * Возвращает приблизительное количество ссылок по статистике базы данных.
+     *
+     * @return приблизительное количество ссылок.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    long estimateSize() throws SQLException;
+
+    /**
+     * Возвращает, сохраняет ли репозиторий срок действия ссылок.
+     *
+     * @return {@code true}, если срок действия сохраняется.
+     */
+    boolean isExpirySupported();
+
     /**
      * Удаляет ссылку по идентификатору.
      *
@@ -69,4 +99,31 @@ public interface LinkRepositories {
      * @throws SQLException при возникновении проблем с базой данных.
      */
     boolean deleteById(long linkId) throws SQLException;
+
+    /**
+     * Удаляет ссылки по идентификаторам одним запросом.
+     *
+     * @param linkIds идентификаторы ссылок.
+     * @return идентификаторы удалённых ссылок.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    Set<Long> deleteAllById(Collection<Long> linkIds) throws SQLException;
+
+    /**
+     * Передаёт идентификаторы всех ссылок без загрузки их в память целиком.
+     *
+     * @param consumer получатель идентификаторов.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    void forEachId(LongConsumer consumer) throws SQLException;
+
+    /**
+     * Передаёт ссылки в порядке идентификаторов без загрузки их в память целиком.
+     *
+     * @param from     начало периода создания ссылок включительно или {@code null}.
+     * @param to       конец периода создания ссылок исключительно или {@code null}.
+     * @param consumer получатель ссылок.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    void forEach(Timestamp from, Timestamp to, Consumer<Link> consumer) throws SQLException;
 }
@@ -24,22 +24,45 @@
 
 package dev.kalenchukov.shortlinks.repositories;
 
+import dev.kalenchukov.shortlinks.codecs.LinkCodecs;
+import dev.kalenchukov.shortlinks.codecs.UrlHashes;
 import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.generators.LinkIdGenerators;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
-import javax.sql.DataSource;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 /**
  * Класс репозитория ссылок.
+ * <p>
+ * Таблица ссылок секционирована по диапазонам идентификаторов, поэтому запросы одной ссылки
+ * содержат условие на {@code link_id} и планировщик оставляет в них одну секцию.
+ * Хэши URL-адресов хранятся в отдельной таблице {@code links_url_hashes}, так как уникальный
+ * индекс секционированной таблицы действует только внутри секции.
  *
  * @author Алексей Каленчуков
  */
 @Repository
+@ConditionalOnProperty(name = "shortlinks.storage", havingValue = "postgresql", matchIfMissing = true)
 public class LinkRepository implements LinkRepositories {
     /**
      * Логгер.
@@ -47,54 +70,112 @@ public class LinkRepository implements LinkRepositories {
     private static final Logger LOG = LogManager.getLogger(LinkRepository.class);
 
     /**
-     * Источник данных.
+     * Количество записей, получаемых из базы данных за одно обращение при потоковом чтении.
      */
-    private final DataSource dataSource;
+    private static final int FETCH_SIZE = 10_000;
+
+    /**
+     * Единица работы с базой данных.
+     */
+    private final UnitOfWork unitOfWork;
+
+    /**
+     * Преобразование идентификаторов ссылок в коды.
+     */
+    private final LinkCodecs linkCodec;
+
+    /**
+     * Генератор идентификаторов ссылок.
+     */
+    private final LinkIdGenerators linkIdGenerator;
+
+    /**
+     * Хэширование URL-адресов ссылок.
+     */
+    private final UrlHashes urlHash;
+
+    /**
+     * Исключаются ли повторяющиеся URL-адреса.
+     */
+    private final boolean deduplication;
+
+    /**
+     * Выбор реплики базы данных для чтения.
+     */
+    private final ReplicaRouters replicaRouter;
+
+    /**
+     * Дублирование медленных запросов чтения.
+     */
+    private final ReadHedgers readHedger;
 
     /**
      * Контроллер для {@code LinkRepository}.
      *
-     * @param dataSource источник данных.
+     * @param unitOfWork      единица работы с базой данных.
+     * @param linkCodec       преобразование идентификаторов ссылок в коды.
+     * @param linkIdGenerator генератор идентификаторов ссылок.
+     * @param urlHash         хэширование URL-адресов ссылок.
+     * @param deduplication   исключаются ли повторяющиеся URL-адреса.
+     * @param replicaRouter   выбор реплики базы данных для чтения.
+     * @param readHedger      дублирование медленных запросов чтения.
      */
     @Autowired
-    public LinkRepository(final DataSource dataSource) {
-        this.dataSource = dataSource;
+    public LinkRepository(final UnitOfWork unitOfWork,
+                          final LinkCodecs linkCodec,
+                          final LinkIdGenerators linkIdGenerator,
+                          final UrlHashes urlHash,
+                          @Value("${shortlinks.dedup.enabled:false}") final boolean deduplication,
+                          final ReplicaRouters replicaRouter,
+                          final ReadHedgers readHedger) {
+        this.unitOfWork = unitOfWork;
+        this.linkCodec = linkCodec;
+        this.linkIdGenerator = linkIdGenerator;
+        this.urlHash = urlHash;
+        this.deduplication = deduplication;
+        this.replicaRouter = replicaRouter;
+        this.readHedger = readHedger;
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Запрос выполняется на реплике, если ссылка не изменялась в этом экземпляре сервиса
+     * за время допустимого отставания реплик. Если реплика не ответила вовремя,
+     * запрос дублируется на другую реплику или основной сервер.
      *
      * @param linkId {@inheritDoc}
      * @return {@inheritDoc}
      */
     @Override
     public Optional<Link> getById(final long linkId) throws SQLException {
-        Optional<Link> link = Optional.empty();
-        final String query = "SELECT * FROM links WHERE link_id = ?";
+        final String query = "SELECT link_id, url, date_create, expires_at FROM links WHERE link_id = ?";
+        final boolean written = this.replicaRouter.isWritten(linkId);
 
-        LOG.debug("Выполнение запроса в базу данных для получения ссылки с ID " + linkId + ".");
+        LOG.debug("Выполнение запроса в базу данных для получения ссылки с ID {}.", linkId);
 
-        try (Connection connection = this.dataSource.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-            preparedStatement.setLong(1, linkId);
-            preparedStatement.execute();
+        final Optional<Link> link = this.readHedger.execute(
+                query,
+                () -> this.getReadConnection(written),
+                this.getHedgeSource(written),
+                preparedStatement -> {
+                    preparedStatement.setLong(1, linkId);
 
-            try (ResultSet resultSet = preparedStatement.getResultSet()) {
-                if (resultSet.next()) {
-                    final Link linkEntity = new Link(
-                            resultSet.getLong("link_id"),
-                            resultSet.getString("url"),
-                            resultSet.getTimestamp("date_create")
-                    );
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        if (resultSet.next()) {
+                            final Link linkEntity = this.toLink(resultSet);
 
-                    LOG.debug("Найдена ссылка " + linkEntity + ".");
+                            LOG.debug("Найдена ссылка {}.", linkEntity);
 
-                    link = Optional.of(linkEntity);
-                } else {
-                    LOG.debug("Ссылки с ID " + linkId + " не существует.");
+                            return Optional.of(linkEntity);
+                        }
+                    }
+
+                    LOG.debug("Ссылки с ID {} не существует.", linkId);
+
+                    return Optional.empty();
                 }
-            }
-        }
+        );
 
         LOG.debug("Выполнение запроса в базу данных прошло успешно.");
 
@@ -103,52 +184,331 @@ public class LinkRepository implements LinkRepositories {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Если повторяющиеся URL-адреса исключаются, возвращает существующую ссылку
+     * с тем же нормализованным URL-адресом. Ссылки со сроком действия сохраняются всегда.
      *
      * @param link {@inheritDoc}
      * @return {@inheritDoc}
      */
     @Override
     public Link save(final Link link) throws SQLException {
-        long linkId = 0L;
-        final String query = "INSERT INTO links (url) VALUES (?)";
+        if (this.deduplication && link.getExpiresAt() == null) {
+            return this.saveUnique(link);
+        }
+
+        final Link savedLink;
+        final OptionalLong linkId = this.linkIdGenerator.nextId();
+        final String query = linkId.isPresent()
+                ? "INSERT INTO links (url, expires_at, link_id) VALUES (?, ?, ?) " +
+                  "RETURNING link_id, url, date_create, expires_at"
+                : "INSERT INTO links (url, expires_at) VALUES (?, ?) RETURNING link_id, url, date_create, expires_at";
 
-        LOG.debug("Выполнение запроса в базу данных для добавления ссылки " + link + ".");
+        LOG.debug("Выполнение запроса в базу данных для добавления ссылки {}.", link);
 
-        try (Connection connection = this.dataSource.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = this.unitOfWork.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setString(1, link.getUrl());
-            preparedStatement.executeUpdate();
+            preparedStatement.setTimestamp(2, link.getExpiresAt());
 
-            try (ResultSet resultSet = preparedStatement.getGeneratedKeys()) {
-                if (resultSet.next()) {
-                    linkId = resultSet.getLong(1);
-                    LOG.debug("Добавлена ссылка с ID " + linkId + ".");
-                } else {
-                    LOG.debug("Не удалось получить ID новой записи.");
+            if (linkId.isPresent()) {
+                preparedStatement.setLong(3, linkId.getAsLong());
+            }
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new SQLException("Не удалось получить новую запись.");
                 }
+
+                savedLink = this.toLink(resultSet);
+                LOG.debug("Добавлена ссылка {}.", savedLink);
             }
         }
 
+        this.replicaRouter.written(savedLink.getLinkId());
+
         LOG.debug("Выполнение запроса в базу данных прошло успешно.");
 
-        return this.getById(linkId).orElseThrow(
-                () -> new SQLException("Не удалось получить новую запись по ID.")
-        );
+        return savedLink;
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Последовательность и генератор выдают идентификаторы в порядке ссылок,
+     * поэтому порядок ссылок восстанавливается сортировкой по идентификатору.
+     * Если повторяющиеся URL-адреса исключаются, для них возвращаются существующие ссылки,
+     * а ссылки со сроком действия сохраняются отдельным запросом.
+     *
+     * @param links {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public List<Link> saveAll(final List<Link> links) throws SQLException {
+        if (links.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        if (!this.deduplication) {
+            return this.insertAll(links);
+        }
+
+        final List<Link> expiringLinks = links.stream()
+                .filter(link -> link.getExpiresAt() != null)
+                .toList();
+
+        if (expiringLinks.isEmpty()) {
+            return this.saveAllUnique(links);
+        }
+
+        if (expiringLinks.size() == links.size()) {
+            return this.insertAll(links);
+        }
+
+        final Iterator<Link> savedUniqueLinks = this.saveAllUnique(
+                links.stream().filter(link -> link.getExpiresAt() == null).toList()
+        ).iterator();
+        final Iterator<Link> savedExpiringLinks = this.insertAll(expiringLinks).iterator();
+        final List<Link> savedLinks = new ArrayList<>(links.size());
+
+        for (Link link : links) {
+            savedLinks.add(link.getExpiresAt() == null ? savedUniqueLinks.next() : savedExpiringLinks.next());
+        }
+
+        return savedLinks;
+    }
+
+    /**
+     * Сохраняет ссылки одним запросом без исключения повторяющихся URL-адресов.
+     *
+     * @param links ссылки.
+     * @return ссылки в порядке переданных.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private List<Link> insertAll(final List<Link> links) throws SQLException {
+        final List<Link> savedLinks = new ArrayList<>(links.size());
+        final Long[] linkIds = this.nextIds(links.size());
+        final String query = linkIds == null
+                ? "INSERT INTO links (url, expires_at) " +
+                  "SELECT url, expires_at FROM UNNEST(?::VARCHAR[], ?::TIMESTAMP[]) " +
+                  "WITH ORDINALITY AS batch (url, expires_at, position) ORDER BY position " +
+                  "RETURNING link_id, url, date_create, expires_at"
+                : "INSERT INTO links (url, expires_at, link_id) " +
+                  "SELECT url, expires_at, link_id FROM UNNEST(?::VARCHAR[], ?::TIMESTAMP[], ?::BIGINT[]) " +
+                  "AS batch (url, expires_at, link_id) " +
+                  "RETURNING link_id, url, date_create, expires_at";
+
+        LOG.debug("Выполнение запроса в базу данных для добавления ссылок в количестве {}.", links.size());
+
+        try (Connection connection = this.unitOfWork.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            final String[] urls = links.stream()
+                    .map(Link::getUrl)
+                    .toArray(String[]::new);
+            final Timestamp[] expiresAt = links.stream()
+                    .map(Link::getExpiresAt)
+                    .toArray(Timestamp[]::new);
+            preparedStatement.setArray(1, connection.createArrayOf("VARCHAR", urls));
+            preparedStatement.setArray(2, connection.createArrayOf("TIMESTAMP", expiresAt));
+
+            if (linkIds != null) {
+                preparedStatement.setArray(3, connection.createArrayOf("BIGINT", linkIds));
+            }
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    savedLinks.add(this.toLink(resultSet));
+                }
+            }
+        }
+
+        if (savedLinks.size() != links.size()) {
+            throw new SQLException("Количество добавленных ссылок не совпадает с количеством переданных.");
+        }
+
+        savedLinks.sort(Comparator.comparing(Link::getLinkId));
+        savedLinks.forEach(savedLink -> this.replicaRouter.written(savedLink.getLinkId()));
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно.");
+
+        return savedLinks;
+    }
+
+    /**
+     * Сохраняет ссылку, если ссылки с тем же нормализованным URL-адресом нет.
+     *
+     * @param link ссылка.
+     * @return новую или существующую ссылку.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private Link saveUnique(final Link link) throws SQLException {
+        final UUID urlHash = this.urlHash.hash(link.getUrl());
+        final OptionalLong linkId = this.linkIdGenerator.nextId();
+        final String query = "WITH hash AS (" +
+                (linkId.isPresent()
+                        ? "INSERT INTO links_url_hashes (url_hash, link_id) VALUES (?, ?) "
+                        : "INSERT INTO links_url_hashes (url_hash, link_id) VALUES (?, nextval('links_link_id_seq')) ") +
+                "ON CONFLICT (url_hash) DO NOTHING RETURNING link_id) " +
+                "INSERT INTO links (link_id, url) SELECT link_id, ?::VARCHAR FROM hash " +
+                "RETURNING link_id, url, date_create, expires_at";
+
+        LOG.debug("Выполнение запроса в базу данных для добавления ссылки {} без повторов.", link);
+
+        try (Connection connection = this.unitOfWork.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            int parameterIndex = 1;
+            preparedStatement.setObject(parameterIndex++, urlHash);
+
+            if (linkId.isPresent()) {
+                preparedStatement.setLong(parameterIndex++, linkId.getAsLong());
+            }
+
+            preparedStatement.setString(parameterIndex, link.getUrl());
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    final Link savedLink = this.toLink(resultSet);
+                    LOG.debug("Добавлена ссылка {}.", savedLink);
+                    this.replicaRouter.written(savedLink.getLinkId());
+
+                    return savedLink;
+                }
+            }
+        }
+
+        final Link existingLink = this.getByUrlHashes(List.of(urlHash)).get(urlHash);
+
+        if (existingLink == null) {
+            throw new SQLException("Не удалось получить существующую запись.");
+        }
+
+        LOG.debug("Найдена ссылка с тем же URL-адресом {}.", existingLink);
+
+        return existingLink;
+    }
+
+    /**
+     * Сохраняет ссылки, URL-адресов которых ещё нет, одним запросом.
+     *
+     * @param links ссылки.
+     * @return новые или существующие ссылки в порядке переданных.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private List<Link> saveAllUnique(final List<Link> links) throws SQLException {
+        final Map<UUID, Link> savedLinks = new HashMap<>();
+        final UUID[] urlHashes = new UUID[links.size()];
+        final String[] urls = new String[links.size()];
+
+        for (int i = 0; i < links.size(); i++) {
+            urls[i] = links.get(i).getUrl();
+            urlHashes[i] = this.urlHash.hash(urls[i]);
+        }
+
+        final Long[] linkIds = this.nextIds(links.size());
+        final String query = "WITH batch AS (" +
+                (linkIds == null
+                        ? "SELECT url, url_hash, nextval('links_link_id_seq') AS link_id, position " +
+                          "FROM UNNEST(?::VARCHAR[], ?::UUID[]) WITH ORDINALITY AS input (url, url_hash, position) "
+                        : "SELECT url, url_hash, link_id, position " +
+                          "FROM UNNEST(?::VARCHAR[], ?::UUID[], ?::BIGINT[]) " +
+                          "WITH ORDINALITY AS input (url, url_hash, link_id, position) ") +
+                "ORDER BY position), " +
+                "hash AS (INSERT INTO links_url_hashes (url_hash, link_id) " +
+                "SELECT url_hash, link_id FROM batch ORDER BY position " +
+                "ON CONFLICT (url_hash) DO NOTHING RETURNING url_hash, link_id), " +
+                "inserted AS (INSERT INTO links (link_id, url) " +
+                "SELECT DISTINCT ON (hash.link_id) hash.link_id, batch.url FROM hash JOIN batch USING (url_hash) " +
+                "ORDER BY hash.link_id, batch.position RETURNING link_id, url, date_create, expires_at) " +
+                "SELECT inserted.link_id, inserted.url, inserted.date_create, inserted.expires_at, hash.url_hash " +
+                "FROM inserted JOIN hash USING (link_id)";
+
+        LOG.debug("Выполнение запроса в базу данных для добавления ссылок без повторов в количестве {}.", links.size());
+
+        try (Connection connection = this.unitOfWork.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setArray(1, connection.createArrayOf("VARCHAR", urls));
+            preparedStatement.setArray(2, connection.createArrayOf("UUID", urlHashes));
+
+            if (linkIds != null) {
+                preparedStatement.setArray(3, connection.createArrayOf("BIGINT", linkIds));
+            }
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    final Link savedLink = this.toLink(resultSet);
+                    savedLinks.put(resultSet.getObject("url_hash", UUID.class), savedLink);
+                    this.replicaRouter.written(savedLink.getLinkId());
+                }
+            }
+        }
+
+        final Set<UUID> existingUrlHashes = new HashSet<>(List.of(urlHashes));
+        existingUrlHashes.removeAll(savedLinks.keySet());
+
+        if (!existingUrlHashes.isEmpty()) {
+            savedLinks.putAll(this.getByUrlHashes(existingUrlHashes));
+        }
+
+        final List<Link> result = new ArrayList<>(links.size());
+
+        for (UUID urlHash : urlHashes) {
+            final Link savedLink = savedLinks.get(urlHash);
+
+            if (savedLink == null) {
+                throw new SQLException("Не удалось получить существующую запись.");
+            }
+
+            result.add(savedLink);
+        }
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно, добавлено ссылок: {}.", savedLinks.size() - existingUrlHashes.size());
+
+        return result;
+    }
+
+    /**
+     * Возвращает ссылки по хэшам URL-адресов.
+     *
+     * @param urlHashes хэши URL-адресов.
+     * @return ссылки по хэшам URL-адресов.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private Map<UUID, Link> getByUrlHashes(final Collection<UUID> urlHashes) throws SQLException {
+        final Map<UUID, Link> links = new HashMap<>();
+        final String query = "SELECT l.link_id, l.url, l.date_create, l.expires_at, h.url_hash FROM links_url_hashes h " +
+                "JOIN links l ON l.link_id = h.link_id WHERE h.url_hash = ANY(?)";
+
+        try (Connection connection = this.unitOfWork.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setArray(1, connection.createArrayOf("UUID", urlHashes.toArray(UUID[]::new)));
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    links.put(resultSet.getObject("url_hash", UUID.class), this.toLink(resultSet));
+                }
+            }
+        }
+
+        return links;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Количество поддерживается триггерами таблицы ссылок в таблице счётчиков,
+     * поэтому запрос не просматривает таблицу ссылок. Запрос выполняется на реплике,
+     * если ссылки не изменялись в этом экземпляре сервиса за время допустимого отставания реплик.
      *
      * @return {@inheritDoc}
      */
     @Override
     public long size() throws SQLException {
         long size = 0L;
-        final String query = "SELECT COUNT(*) FROM links";
+        final String query = "SELECT COALESCE(SUM(count), 0) FROM links_counters";
 
         LOG.debug("Выполнение запроса в базу данных для получения количества ссылок.");
 
-        try (Connection connection = this.dataSource.getConnection();
+        try (Connection connection = this.getReadConnection(this.replicaRouter.isWritten());
              PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.execute();
 
@@ -166,6 +526,50 @@ public class LinkRepository implements LinkRepositories {
         return size;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Таблица ссылок секционирована, поэтому складываются оценки её секций.
+     * Запрос выполняется на реплике, так как результат приблизителен.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public long estimateSize() throws SQLException {
+        long size = 0L;
+        final String query = "SELECT COALESCE(SUM(GREATEST(c.reltuples, 0)), 0)::BIGINT FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'links'::REGCLASS";
+
+        LOG.debug("Выполнение запроса в базу данных для получения приблизительного количества ссылок.");
+
+        try (Connection connection = this.getReadConnection(false);
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.execute();
+
+            try (ResultSet resultSet = preparedStatement.getResultSet()) {
+                if (resultSet.next()) {
+                    size = resultSet.getLong(1);
+                } else {
+                    LOG.debug("Не удалось получить приблизительное количество записей.");
+                }
+            }
+        }
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно.");
+
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isExpirySupported() {
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -177,17 +581,18 @@ public class LinkRepository implements LinkRepositories {
         boolean deleted = false;
         final String query = "DELETE FROM links WHERE link_id = ?";
 
-        LOG.debug("Выполнение запроса в базу данных для удаления ссылки с ID " + linkId + ".");
+        LOG.debug("Выполнение запроса в базу данных для удаления ссылки с ID {}.", linkId);
 
-        try (Connection connection = this.dataSource.getConnection();
+        try (Connection connection = this.unitOfWork.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setLong(1, linkId);
             final int countDeleted = preparedStatement.executeUpdate();
 
             if (countDeleted > 0) {
                 deleted = true;
+                this.replicaRouter.written(linkId);
             } else {
-                LOG.debug("Ссылки с ID " + linkId + " не существует.");
+                LOG.debug("Ссылки с ID {} не существует.", linkId);
             }
         }
 
@@ -195,4 +600,274 @@ public class LinkRepository implements LinkRepositories {
 
         return deleted;
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkIds {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Set<Long> deleteAllById(final Collection<Long> linkIds) throws SQLException {
+        final Set<Long> deletedLinkIds = new HashSet<>();
+        final String query = "DELETE FROM links WHERE link_id = ANY(?) RETURNING link_id";
+
+        if (linkIds.isEmpty()) {
+            return deletedLinkIds;
+        }
+
+        LOG.debug("Выполнение запроса в базу данных для удаления ссылок в количестве {}.", linkIds.size());
+
+        try (Connection connection = this.unitOfWork.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setArray(1, connection.createArrayOf("BIGINT", linkIds.toArray()));
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    deletedLinkIds.add(resultSet.getLong("link_id"));
+                }
+            }
+        }
+
+        deletedLinkIds.forEach(this.replicaRouter::written);
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно.");
+
+        return deletedLinkIds;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Для чтения порциями запрос выполняется в единице работы,
+     * иначе драйвер PostgreSQL загружает весь результат запроса сразу.
+     * Запрос всегда выполняется на основном сервере, чтобы фильтр существующих ссылок
+     * не пропустил ссылки, ещё не полученные репликами.
+     *
+     * @param consumer {@inheritDoc}
+     */
+    @Override
+    public void forEachId(final LongConsumer consumer) throws SQLException {
+        final String query = "SELECT link_id FROM links";
+
+        LOG.debug("Выполнение запроса в базу данных для получения идентификаторов ссылок.");
+
+        final long count = this.unitOfWork.execute(() -> {
+            long received = 0L;
+
+            try (Connection connection = this.unitOfWork.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                preparedStatement.setFetchSize(FETCH_SIZE);
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        consumer.accept(resultSet.getLong(1));
+                        received++;
+                    }
+                }
+            }
+
+            return received;
+        });
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно, получено идентификаторов: {}.", count);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Запрос выполняется в транзакции, поэтому драйвер PostgreSQL читает результат
+     * через курсор порциями, а транзакция остаётся открытой до передачи последней ссылки.
+     * Запрос выполняется на реплике, если ссылки не изменялись в этом экземпляре сервиса
+     * за время допустимого отставания реплик, иначе в единице работы на основном сервере.
+     *
+     * @param from     {@inheritDoc}
+     * @param to       {@inheritDoc}
+     * @param consumer {@inheritDoc}
+     */
+    @Override
+    public void forEach(final Timestamp from, final Timestamp to, final Consumer<Link> consumer) throws SQLException {
+        final StringBuilder query = new StringBuilder("SELECT link_id, url, date_create, expires_at FROM links WHERE TRUE");
+
+        if (from != null) {
+            query.append(" AND date_create >= ?");
+        }
+
+        if (to != null) {
+            query.append(" AND date_create < ?");
+        }
+
+        query.append(" ORDER BY link_id");
+
+        LOG.debug("Выполнение запроса в базу данных для получения ссылок, созданных с {} по {}.", from, to);
+
+        final long count;
+
+        try (Connection replica = this.getReplicaConnection(this.replicaRouter.isWritten())) {
+            if (replica == null) {
+                count = this.unitOfWork.execute(() -> {
+                    try (Connection connection = this.unitOfWork.getConnection()) {
+                        return this.forEach(connection, query.toString(), from, to, consumer);
+                    }
+                });
+            } else {
+                replica.setAutoCommit(false);
+
+                try {
+                    count = this.forEach(replica, query.toString(), from, to, consumer);
+                } finally {
+                    replica.rollback();
+                    replica.setAutoCommit(true);
+                }
+            }
+        }
+
+        LOG.debug("Выполнение запроса в базу данных прошло успешно, получено ссылок: {}.", count);
+    }
+
+    /**
+     * Передаёт ссылки, созданные за период, в порядке идентификаторов.
+     *
+     * @param connection соединение, на котором открыта транзакция.
+     * @param query      запрос.
+     * @param from       начало периода или {@code null}.
+     * @param to         конец периода или {@code null}.
+     * @param consumer   получатель ссылок.
+     * @return количество переданных ссылок.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private long forEach(final Connection connection,
+                         final String query,
+                         final Timestamp from,
+                         final Timestamp to,
+                         final Consumer<Link> consumer) throws SQLException {
+        long received = 0L;
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            int parameterIndex = 1;
+
+            if (from != null) {
+                preparedStatement.setTimestamp(parameterIndex++, from);
+            }
+
+            if (to != null) {
+                preparedStatement.setTimestamp(parameterIndex, to);
+            }
+
+            preparedStatement.setFetchSize(FETCH_SIZE);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    consumer.accept(this.toLink(resultSet));
+                    received++;
+                }
+            }
+        }
+
+        return received;
+    }
+
+    /**
+     * Возвращает соединение для чтения.
+     *
+     * @param written изменялись ли читаемые ссылки за время допустимого отставания реплик.
+     * @return соединение с репликой или, если она не подходит, с основным сервером.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private Connection getReadConnection(final boolean written) throws SQLException {
+        final Connection replica = this.getReplicaConnection(written);
+
+        if (replica == null) {
+            return this.unitOfWork.getConnection();
+        }
+
+        return replica;
+    }
+
+    /**
+     * Возвращает источник соединений для дублирования запроса чтения.
+     * <p>
+     * Запрос дублируется на другую реплику, если исправных реплик несколько,
+     * иначе на основной сервер. Если чтение выполняется на основном сервере,
+     * дублировать запрос некуда.
+     *
+     * @param written изменялись ли читаемые ссылки за время допустимого отставания реплик.
+     * @return источник соединений или {@code null}.
+     */
+    private ReadHedgers.Source getHedgeSource(final boolean written) {
+        final int healthyCount = this.replicaRouter.getHealthyCount();
+
+        if (written || healthyCount == 0 || this.unitOfWork.isActive()) {
+            return null;
+        }
+
+        if (healthyCount == 1) {
+            return this.unitOfWork::getConnection;
+        }
+
+        return () -> {
+            final Connection replica = this.replicaRouter.getConnection();
+
+            return replica == null ? this.unitOfWork.getConnection() : replica;
+        };
+    }
+
+    /**
+     * Возвращает соединение с репликой.
+     * <p>
+     * Внутри единицы работы чтение выполняется на её соединении, чтобы видеть её изменения.
+     *
+     * @param written изменялись ли читаемые ссылки за время допустимого отставания реплик.
+     * @return соединение или {@code null}, если читать нужно с основного сервера.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private Connection getReplicaConnection(final boolean written) throws SQLException {
+        if (written || this.unitOfWork.isActive()) {
+            return null;
+        }
+
+        return this.replicaRouter.getConnection();
+    }
+
+    /**
+     * Возвращает идентификаторы для новых ссылок.
+     *
+     * @param count количество ссылок.
+     * @return идентификаторы или {@code null}, если идентификаторы назначает база данных.
+     */
+    private Long[] nextIds(final int count) {
+        final OptionalLong linkId = this.linkIdGenerator.nextId();
+
+        if (linkId.isEmpty()) {
+            return null;
+        }
+
+        final Long[] linkIds = new Long[count];
+        linkIds[0] = linkId.getAsLong();
+
+        for (int i = 1; i < count; i++) {
+            linkIds[i] = this.linkIdGenerator.nextId().orElseThrow();
+        }
+
+        return linkIds;
+    }
+
+    /**
+     * Возвращает ссылку из текущей строки результата запроса.
+     *
+     * @param resultSet результат запроса.
+     * @return ссылку.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private Link toLink(final ResultSet resultSet) throws SQLException {
+        final long linkId = resultSet.getLong("link_id");
+
+        return new Link(
+                linkId,
+                this.linkCodec.encode(linkId),
+                resultSet.getString("url"),
+                resultSet.getTimestamp("date_create"),
+                resultSet.getTimestamp("expires_at")
+        );
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Класс измерения времени вызовов репозитория ссылок.
+ * <p>
+ * Время каждого вызова метода {@link LinkRepositories} записывается в таймер {@value #METRIC}
+ * с тегами {@code repository} (класс репозитория), {@code method} (метод репозитория)
+ * и {@code outcome} ({@code SUCCESS} или {@code ERROR}).
+ * Остальные методы репозитория, например сжатие журнала, вызываются без измерения.
+ * Таймеры создаются заранее, поэтому измерение не ищет их в реестре при каждом вызове.
+ *
+ * @author Алексей Каленчуков
+ */
+public class LinkRepositoryMetrics implements MethodInterceptor {
+    /**
+     * Название метрики времени вызовов.
+     */
+    public static final String METRIC = "shortlinks.repository.calls";
+
+    /**
+     * Таймеры по названиям методов.
+     */
+    private final Map<String, Timers> timers;
+
+    /**
+     * Контроллер для {@code LinkRepositoryMetrics}.
+     *
+     * @param repositoryClass класс репозитория.
+     * @param registry        реестр метрик.
+     */
+    public LinkRepositoryMetrics(final Class<?> repositoryClass,
+                                 final MeterRegistry registry) {
+        Objects.requireNonNull(repositoryClass);
+        Objects.requireNonNull(registry);
+
+        final String repository = ClassUtils.getUserClass(repositoryClass).getSimpleName();
+        this.timers = new HashMap<>();
+
+        for (Method method : LinkRepositories.class.getMethods()) {
+            this.timers.put(method.getName(), new Timers(registry, repository, method.getName()));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param invocation {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws Throwable {@inheritDoc}
+     */
+    @Override
+    public Object invoke(final MethodInvocation invocation) throws Throwable {
+        final Timers timers = this.timers.get(invocation.getMethod().getName());
+
+        if (timers == null) {
+            return invocation.proceed();
+        }
+
+        final long start = System.nanoTime();
+
+        try {
+            final Object result = invocation.proceed();
+            timers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            return result;
+        } catch (Throwable exception) {
+            timers.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            throw exception;
+        }
+    }
+
+    /**
+     * Класс таймеров успешных и завершившихся ошибкой вызовов метода.
+     */
+    private static final class Timers {
+        /**
+         * Таймер успешных вызовов.
+         */
+        private final Timer success;
+
+        /**
+         * Таймер вызовов, завершившихся ошибкой.
+         */
+        private final Timer error;
+
+        /**
+         * Контроллер для {@code Timers}.
+         *
+         * @param registry   реестр метрик.
+         * @param repository название репозитория.
+         * @param method     название метода.
+         */
+        private Timers(final MeterRegistry registry, final String repository, final String method) {
+            this.success = Timers.timer(registry, repository, method, "SUCCESS");
+            this.error = Timers.timer(registry, repository, method, "ERROR");
+        }
+
+        /**
+         * Регистрирует таймер.
+         *
+         * @param registry   реестр метрик.
+         * @param repository название репозитория.
+         * @param method     название метода.
+         * @param outcome    результат вызова.
+         * @return таймер.
+         */
+        private static Timer timer(final MeterRegistry registry, final String repository,
+                                   final String method, final String outcome) {
+            return Timer.builder(METRIC)
+                    .description("Время вызовов репозитория ссылок")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
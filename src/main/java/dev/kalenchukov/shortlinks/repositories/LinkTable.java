@@ -0,0 +1,591 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongConsumer;
+
+/**
+ * Класс таблицы ссылок в памяти с открытой адресацией по идентификатору.
+ * <p>
+ * Идентификаторы, даты добавления и ссылки на URL-адреса хранятся в параллельных
+ * массивах без упаковки в объекты, а URL-адреса в UTF-8 дописываются подряд в блоки
+ * по 1 МБ. Поэтому десятки миллионов ссылок занимают несколько тысяч объектов
+ * и не нагружают сборщик мусора. Коллизии разрешаются линейным пробированием,
+ * при удалении следующие записи цепочки сдвигаются назад, поэтому удалённые ячейки
+ * не накапливаются. Свободная ячейка обозначается идентификатором {@code 0}.
+ * <p>
+ * Класс не синхронизирован: изменения должны выполняться под блокировкой, а читатели
+ * без блокировки должны проверять, что таблица не изменилась за время чтения.
+ *
+ * @author Алексей Каленчуков
+ */
+final class LinkTable {
+    /**
+     * Минимальная вместимость.
+     */
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Максимальная вместимость.
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Множитель для перемешивания идентификаторов.
+     */
+    private static final long GOLDEN_RATIO = 0x9E37_79B9_7F4A_7C15L;
+
+    /**
+     * Количество бит смещения и длины URL-адреса в ссылке на URL-адрес.
+     */
+    private static final int POSITION_BITS = 21;
+
+    /**
+     * Маска смещения и длины URL-адреса в ссылке на URL-адрес.
+     */
+    private static final long POSITION_MASK = (1L << POSITION_BITS) - 1L;
+
+    /**
+     * Размер блока URL-адресов.
+     */
+    static final int CHUNK_SIZE = 1 << 20;
+
+    /**
+     * Максимальное количество блоков URL-адресов.
+     */
+    private static final int MAX_CHUNKS = 1 << 16;
+
+    /**
+     * Ячейки таблицы.
+     */
+    private volatile Slots slots;
+
+    /**
+     * Количество ссылок.
+     */
+    private int size;
+
+    /**
+     * Размер URL-адресов удалённых и заменённых ссылок в блоках.
+     */
+    private long garbage;
+
+    /**
+     * Контроллер для {@code LinkTable}.
+     *
+     * @param expectedSize ожидаемое количество ссылок.
+     */
+    LinkTable(final int expectedSize) {
+        this.slots = new Slots(LinkTable.capacityFor(expectedSize), new Arena());
+    }
+
+    /**
+     * Возвращает количество ссылок.
+     *
+     * @return количество ссылок.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Возвращает вместимость таблицы.
+     *
+     * @return количество ячеек.
+     */
+    int capacity() {
+        return this.slots.keys.length;
+    }
+
+    /**
+     * Возвращает размер всех URL-адресов в блоках, включая удалённые.
+     *
+     * @return размер в байтах.
+     */
+    long bytes() {
+        return this.slots.arena.bytes;
+    }
+
+    /**
+     * Возвращает размер URL-адресов удалённых и заменённых ссылок в блоках.
+     *
+     * @return размер в байтах.
+     */
+    long garbage() {
+        return this.garbage;
+    }
+
+    /**
+     * Возвращает текущие ячейки таблицы.
+     * <p>
+     * Массивы ячеек и блоки не заменяются по отдельности, поэтому читатель без блокировки
+     * всегда работает с согласованным набором массивов.
+     *
+     * @return ячейки.
+     */
+    Slots slots() {
+        return this.slots;
+    }
+
+    /**
+     * Добавляет или заменяет ссылку.
+     *
+     * @param linkId     идентификатор ссылки.
+     * @param dateCreate дата добавления в миллисекундах.
+     * @param url        URL-адрес в UTF-8.
+     * @return {@code true} если ссылка добавлена, {@code false} если заменена.
+     */
+    boolean put(final long linkId, final long dateCreate, final byte[] url) {
+        return this.put(linkId, dateCreate, url, 0, url.length);
+    }
+
+    /**
+     * Добавляет или заменяет ссылку.
+     *
+     * @param linkId     идентификатор ссылки.
+     * @param dateCreate дата добавления в миллисекундах.
+     * @param url        массив с URL-адресом в UTF-8.
+     * @param offset     смещение URL-адреса в массиве.
+     * @param length     длина URL-адреса.
+     * @return {@code true} если ссылка добавлена, {@code false} если заменена.
+     */
+    boolean put(final long linkId, final long dateCreate, final byte[] url, final int offset, final int length) {
+        if (linkId == 0L) {
+            throw new IllegalArgumentException("Идентификатор ссылки не может быть равен 0.");
+        }
+
+        Slots slots = this.slots;
+        int index = slots.indexOf(linkId);
+
+        if (index >= 0) {
+            this.garbage += LinkTable.lengthOf(slots.refs[index]);
+            slots.dates[index] = dateCreate;
+            slots.refs[index] = slots.arena.append(url, offset, length);
+
+            return false;
+        }
+
+        if ((this.size + 1L) * 4L > slots.keys.length * 3L) {
+            slots = this.resize(slots.keys.length * 2);
+        }
+
+        index = slots.freeIndexFor(linkId);
+        slots.dates[index] = dateCreate;
+        slots.refs[index] = slots.arena.append(url, offset, length);
+        slots.keys[index] = linkId;
+        this.size++;
+
+        return true;
+    }
+
+    /**
+     * Удаляет ссылку.
+     *
+     * @param linkId идентификатор ссылки.
+     * @return {@code true} если ссылка удалена, {@code false} если ссылки нет.
+     */
+    boolean remove(final long linkId) {
+        final Slots slots = this.slots;
+        int index = slots.indexOf(linkId);
+
+        if (index < 0) {
+            return false;
+        }
+
+        this.garbage += LinkTable.lengthOf(slots.refs[index]);
+
+        final int mask = slots.keys.length - 1;
+        int next = (index + 1) & mask;
+
+        while (slots.keys[next] != 0L) {
+            final int home = slots.homeOf(slots.keys[next]);
+
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                slots.keys[index] = slots.keys[next];
+                slots.dates[index] = slots.dates[next];
+                slots.refs[index] = slots.refs[next];
+                index = next;
+            }
+
+            next = (next + 1) & mask;
+        }
+
+        slots.keys[index] = 0L;
+        slots.dates[index] = 0L;
+        slots.refs[index] = 0L;
+        this.size--;
+
+        return true;
+    }
+
+    /**
+     * Подготавливает таблицу к указанному количеству ссылок без промежуточных расширений.
+     *
+     * @param expectedSize ожидаемое количество ссылок.
+     */
+    void ensureCapacity(final int expectedSize) {
+        final int capacity = LinkTable.capacityFor(expectedSize);
+
+        if (capacity > this.slots.keys.length) {
+            this.resize(capacity);
+        }
+    }
+
+    /**
+     * Переписывает URL-адреса в новые блоки без удалённых и заменённых.
+     * <p>
+     * Текущие ячейки не изменяются и остаются корректными для читателей,
+     * начавших чтение до замены.
+     */
+    void pack() {
+        final Slots oldSlots = this.slots;
+        final Slots newSlots = new Slots(oldSlots.keys.length, new Arena());
+
+        for (int i = 0; i < oldSlots.keys.length; i++) {
+            final long key = oldSlots.keys[i];
+
+            if (key != 0L) {
+                final long ref = oldSlots.refs[i];
+                newSlots.keys[i] = key;
+                newSlots.dates[i] = oldSlots.dates[i];
+                newSlots.refs[i] = newSlots.arena.append(
+                        oldSlots.arena.chunks[LinkTable.chunkOf(ref)], LinkTable.offsetOf(ref), LinkTable.lengthOf(ref)
+                );
+            }
+        }
+
+        this.slots = newSlots;
+        this.garbage = 0L;
+    }
+
+    /**
+     * Передаёт идентификаторы всех ссылок в порядке ячеек.
+     *
+     * @param consumer получатель идентификаторов.
+     */
+    void forEachId(final LongConsumer consumer) {
+        final long[] keys = this.slots.keys;
+
+        for (long key : keys) {
+            if (key != 0L) {
+                consumer.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Переносит ссылки в ячейки новой вместимости.
+     *
+     * @param capacity вместимость.
+     * @return новые ячейки.
+     */
+    private Slots resize(final int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Превышено максимальное количество ссылок в памяти.");
+        }
+
+        final Slots oldSlots = this.slots;
+        final Slots newSlots = new Slots(capacity, oldSlots.arena);
+
+        for (int i = 0; i < oldSlots.keys.length; i++) {
+            final long key = oldSlots.keys[i];
+
+            if (key != 0L) {
+                final int index = newSlots.freeIndexFor(key);
+                newSlots.keys[index] = key;
+                newSlots.dates[index] = oldSlots.dates[i];
+                newSlots.refs[index] = oldSlots.refs[i];
+            }
+        }
+
+        this.slots = newSlots;
+
+        return newSlots;
+    }
+
+    /**
+     * Возвращает вместимость для указанного количества ссылок с заполнением не более 3/4.
+     *
+     * @param expectedSize ожидаемое количество ссылок.
+     * @return вместимость.
+     */
+    private static int capacityFor(final int expectedSize) {
+        final long required = Math.max(expectedSize * 4L / 3L + 1L, MIN_CAPACITY);
+
+        if (required > MAX_CAPACITY) {
+            throw new IllegalStateException("Превышено максимальное количество ссылок в памяти.");
+        }
+
+        return Integer.highestOneBit((int) required - 1) << 1;
+    }
+
+    /**
+     * Возвращает номер блока из ссылки на URL-адрес.
+     *
+     * @param ref ссылка на URL-адрес.
+     * @return номер блока.
+     */
+    private static int chunkOf(final long ref) {
+        return (int) (ref >>> (POSITION_BITS * 2));
+    }
+
+    /**
+     * Возвращает смещение в блоке из ссылки на URL-адрес.
+     *
+     * @param ref ссылка на URL-адрес.
+     * @return смещение.
+     */
+    private static int offsetOf(final long ref) {
+        return (int) ((ref >>> POSITION_BITS) & POSITION_MASK);
+    }
+
+    /**
+     * Возвращает длину URL-адреса из ссылки на URL-адрес.
+     *
+     * @param ref ссылка на URL-адрес.
+     * @return длина.
+     */
+    private static int lengthOf(final long ref) {
+        return (int) (ref & POSITION_MASK);
+    }
+
+    /**
+     * Класс ячеек таблицы.
+     */
+    static final class Slots {
+        /**
+         * Идентификаторы ссылок.
+         */
+        final long[] keys;
+
+        /**
+         * Даты добавления ссылок в миллисекундах.
+         */
+        final long[] dates;
+
+        /**
+         * Ссылки на URL-адреса в блоках: номер блока, смещение и длина.
+         */
+        private final long[] refs;
+
+        /**
+         * Блоки URL-адресов.
+         */
+        private final Arena arena;
+
+        /**
+         * Сдвиг для получения номера ячейки из перемешанного идентификатора.
+         */
+        private final int shift;
+
+        /**
+         * Контроллер для {@code Slots}.
+         *
+         * @param capacity вместимость, степень двойки.
+         * @param arena    блоки URL-адресов.
+         */
+        private Slots(final int capacity, final Arena arena) {
+            this.keys = new long[capacity];
+            this.dates = new long[capacity];
+            this.refs = new long[capacity];
+            this.arena = arena;
+            this.shift = Long.numberOfLeadingZeros(capacity - 1L);
+        }
+
+        /**
+         * Возвращает номер ячейки ссылки.
+         * <p>
+         * Количество проверяемых ячеек ограничено вместимостью, поэтому чтение
+         * без блокировки во время изменения таблицы не зацикливается.
+         *
+         * @param linkId идентификатор ссылки.
+         * @return номер ячейки или {@code -1}, если ссылки нет.
+         */
+        int indexOf(final long linkId) {
+            if (linkId == 0L) {
+                return -1;
+            }
+
+            final int mask = this.keys.length - 1;
+            int index = this.homeOf(linkId);
+
+            for (int probe = 0; probe <= mask; probe++) {
+                final long key = this.keys[index];
+
+                if (key == linkId) {
+                    return index;
+                }
+
+                if (key == 0L) {
+                    return -1;
+                }
+
+                index = (index + 1) & mask;
+            }
+
+            return -1;
+        }
+
+        /**
+         * Возвращает URL-адрес ссылки в ячейке.
+         * <p>
+         * При чтении без блокировки во время изменения таблицы может вернуть
+         * некорректный URL-адрес или {@code null}.
+         *
+         * @param index номер ячейки.
+         * @return URL-адрес или {@code null}, если ячейка изменяется.
+         */
+        String url(final int index) {
+            final long ref = this.refs[index];
+            final int chunkIndex = LinkTable.chunkOf(ref);
+            final byte[] chunk = chunkIndex < this.arena.chunks.length ? this.arena.chunks[chunkIndex] : null;
+            final int offset = LinkTable.offsetOf(ref);
+            final int length = LinkTable.lengthOf(ref);
+
+            if (chunk == null || offset + length > chunk.length) {
+                return null;
+            }
+
+            return new String(chunk, offset, length, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Возвращает длину URL-адреса ссылки в ячейке в UTF-8.
+         *
+         * @param index номер ячейки.
+         * @return длина в байтах.
+         */
+        int urlLength(final int index) {
+            return LinkTable.lengthOf(this.refs[index]);
+        }
+
+        /**
+         * Записывает URL-адрес ссылки в ячейке в UTF-8 в буфер.
+         *
+         * @param index  номер ячейки.
+         * @param buffer буфер.
+         */
+        void copyUrl(final int index, final ByteBuffer buffer) {
+            final long ref = this.refs[index];
+            buffer.put(this.arena.chunks[LinkTable.chunkOf(ref)], LinkTable.offsetOf(ref), LinkTable.lengthOf(ref));
+        }
+
+        /**
+         * Возвращает номер свободной ячейки для ссылки, которой нет в таблице.
+         *
+         * @param linkId идентификатор ссылки.
+         * @return номер ячейки.
+         */
+        private int freeIndexFor(final long linkId) {
+            final int mask = this.keys.length - 1;
+            int index = this.homeOf(linkId);
+
+            while (this.keys[index] != 0L) {
+                index = (index + 1) & mask;
+            }
+
+            return index;
+        }
+
+        /**
+         * Возвращает исходную ячейку ссылки.
+         *
+         * @param linkId идентификатор ссылки.
+         * @return номер ячейки.
+         */
+        private int homeOf(final long linkId) {
+            return (int) ((linkId * GOLDEN_RATIO) >>> this.shift);
+        }
+    }
+
+    /**
+     * Класс блоков URL-адресов, в которые URL-адреса только дописываются.
+     * <p>
+     * Массив блоков выделяется сразу и не заменяется, поэтому читатель без блокировки
+     * видит либо блок, либо {@code null}.
+     */
+    private static final class Arena {
+        /**
+         * Блоки.
+         */
+        private final byte[][] chunks;
+
+        /**
+         * Номер текущего блока.
+         */
+        private int chunk;
+
+        /**
+         * Позиция в текущем блоке.
+         */
+        private int position;
+
+        /**
+         * Размер всех URL-адресов.
+         */
+        private long bytes;
+
+        /**
+         * Контроллер для {@code Arena}.
+         */
+        private Arena() {
+            this.chunks = new byte[MAX_CHUNKS][];
+            this.chunks[0] = new byte[CHUNK_SIZE];
+        }
+
+        /**
+         * Дописывает URL-адрес.
+         *
+         * @param url    массив с URL-адресом в UTF-8.
+         * @param offset смещение URL-адреса в массиве.
+         * @param length длина URL-адреса.
+         * @return ссылку на URL-адрес.
+         */
+        private long append(final byte[] url, final int offset, final int length) {
+            if (length > CHUNK_SIZE) {
+                throw new IllegalArgumentException("Слишком длинный URL-адрес.");
+            }
+
+            if (this.position + length > CHUNK_SIZE) {
+                if (this.chunk + 1 == MAX_CHUNKS) {
+                    throw new IllegalStateException("Превышен максимальный размер URL-адресов в памяти.");
+                }
+
+                this.chunks[++this.chunk] = new byte[CHUNK_SIZE];
+                this.position = 0;
+            }
+
+            System.arraycopy(url, offset, this.chunks[this.chunk], this.position, length);
+
+            final long ref = ((long) this.chunk << (POSITION_BITS * 2)) | ((long) this.position << POSITION_BITS) | length;
+            this.position += length;
+            this.bytes += length;
+
+            return ref;
+        }
+    }
+}
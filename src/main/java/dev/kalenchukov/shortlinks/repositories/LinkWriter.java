@@ -0,0 +1,380 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.entities.WriterStatistics;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Класс группового добавления ссылок.
+ * <p>
+ * При включённом групповом добавлении ссылки одновременных запросов собираются в очередь,
+ * откуда единственный поток записи забирает их группами, ограниченными по размеру и по
+ * времени ожидания, и добавляет каждую группу одним запросом в одной транзакции.
+ * Вызывающий поток дожидается фиксации транзакции и получает свою ссылку, поэтому
+ * для него добавление остаётся синхронным.
+ * При выключенном групповом добавлении и внутри {@link UnitOfWork} ссылка добавляется сразу.
+ *
+ * @author Алексей Каленчуков
+ */
+@Component
+public class LinkWriter implements LinkWriters {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(LinkWriter.class);
+
+    /**
+     * Репозиторий для ссылок.
+     */
+    private final LinkRepositories linkRepository;
+
+    /**
+     * Единица работы с базой данных.
+     */
+    private final UnitOfWork unitOfWork;
+
+    /**
+     * Включено ли групповое добавление.
+     */
+    private final boolean enabled;
+
+    /**
+     * Наибольший размер группы.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Наибольшее время ожидания группы в наносекундах.
+     */
+    private final long maxDelay;
+
+    /**
+     * Очередь ссылок, ожидающих добавления.
+     */
+    private final BlockingQueue<Request> queue;
+
+    /**
+     * Поток записи.
+     */
+    private final Thread writer;
+
+    /**
+     * Работает ли поток записи.
+     */
+    private volatile boolean running;
+
+    /**
+     * Блокировка постановки в очередь на чтение и остановки на запись,
+     * чтобы после остановки в очередь ничего не попадало.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Количество групп.
+     */
+    private final LongAdder batchCount = new LongAdder();
+
+    /**
+     * Количество ссылок.
+     */
+    private final LongAdder linkCount = new LongAdder();
+
+    /**
+     * Наибольший размер группы.
+     */
+    private final AtomicLong maxBatch = new AtomicLong();
+
+    /**
+     * Суммарное время добавления групп в наносекундах.
+     */
+    private final LongAdder flushTime = new LongAdder();
+
+    /**
+     * Наибольшее время добавления группы в наносекундах.
+     */
+    private final AtomicLong maxFlushTime = new AtomicLong();
+
+    /**
+     * Конструктор для {@code LinkWriter}.
+     *
+     * @param linkRepository репозиторий ссылок.
+     * @param unitOfWork     единица работы с базой данных.
+     * @param enabled        включено ли групповое добавление.
+     * @param maxBatchSize   наибольший размер группы.
+     * @param maxDelay       наибольшее время ожидания группы в формате ISO-8601.
+     * @param queueCapacity  вместимость очереди.
+     */
+    @Autowired
+    public LinkWriter(final LinkRepositories linkRepository,
+                      final UnitOfWork unitOfWork,
+                      @Value("${shortlinks.writer.enabled:false}") final boolean enabled,
+                      @Value("${shortlinks.writer.max-batch-size:256}") final int maxBatchSize,
+                      @Value("${shortlinks.writer.max-delay:PT0.002S}") final String maxDelay,
+                      @Value("${shortlinks.writer.queue-capacity:10000}") final int queueCapacity) {
+        this.linkRepository = linkRepository;
+        this.unitOfWork = unitOfWork;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = Duration.parse(maxDelay).toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::run, "link-writer");
+        this.writer.setDaemon(true);
+
+        if (this.enabled) {
+            this.running = true;
+            this.writer.start();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Если ожидание прервано после постановки ссылки в очередь, ссылка всё равно может быть добавлена.
+     *
+     * @param link {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws SQLException {@inheritDoc}
+     */
+    @Override
+    public Link write(final Link link) throws SQLException {
+        if (!this.running || this.unitOfWork.isActive()) {
+            return this.linkRepository.save(link);
+        }
+
+        final Request request = new Request(link, new CompletableFuture<>());
+
+        try {
+            if (!this.enqueue(request)) {
+                return this.linkRepository.save(link);
+            }
+
+            return request.future().get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Прервано ожидание добавления ссылки.", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof SQLException cause) {
+                throw cause;
+            }
+
+            throw new SQLException("Ошибка при групповом добавлении ссылки.", exception.getCause());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public WriterStatistics getStatistics() {
+        final long batches = this.batchCount.sum();
+        final long links = this.linkCount.sum();
+
+        return new WriterStatistics(
+                this.enabled,
+                (long) this.queue.size(),
+                batches,
+                links,
+                this.maxBatch.get(),
+                batches == 0 ? 0.0 : (double) links / batches,
+                batches == 0 ? 0.0 : this.flushTime.sum() / 1_000_000.0 / batches,
+                this.maxFlushTime.get() / 1_000_000.0
+        );
+    }
+
+    /**
+     * Останавливает поток записи, добавив ссылки, оставшиеся в очереди.
+     *
+     * @throws InterruptedException если ожидание остановки прервано.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        this.lock.writeLock().lock();
+
+        try {
+            if (!this.running) {
+                return;
+            }
+
+            this.running = false;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        this.writer.interrupt();
+        this.writer.join();
+
+        final List<Request> rest = new ArrayList<>();
+        this.queue.drainTo(rest);
+        this.saveEach(rest);
+    }
+
+    /**
+     * Ставит ссылку в очередь, если поток записи ещё работает.
+     * <p>
+     * Пока ссылка ставится в очередь, поток записи не может быть остановлен,
+     * поэтому каждая ссылка в очереди будет добавлена потоком записи или при остановке.
+     *
+     * @param request ожидающий добавления.
+     * @return {@code true} если ссылка поставлена в очередь, {@code false} если поток записи остановлен.
+     * @throws InterruptedException если ожидание места в очереди прервано.
+     */
+    private boolean enqueue(final Request request) throws InterruptedException {
+        this.lock.readLock().lockInterruptibly();
+
+        try {
+            if (!this.running) {
+                return false;
+            }
+
+            this.queue.put(request);
+
+            return true;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Забирает ссылки из очереди группами и добавляет их.
+     */
+    private void run() {
+        final List<Request> batch = new ArrayList<>(this.maxBatchSize);
+
+        while (this.running) {
+            try {
+                batch.add(this.queue.take());
+                final long deadline = System.nanoTime() + this.maxDelay;
+
+                while (batch.size() < this.maxBatchSize) {
+                    final Request next = this.queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+
+                    if (next == null) {
+                        break;
+                    }
+
+                    batch.add(next);
+                }
+            } catch (InterruptedException exception) {
+                LOG.debug("Остановка потока группового добавления ссылок.");
+            }
+
+            this.flush(batch);
+            batch.clear();
+        }
+
+        this.queue.drainTo(batch);
+        this.flush(batch);
+    }
+
+    /**
+     * Добавляет группу ссылок одним запросом и передаёт каждому ожидающему его ссылку.
+     * <p>
+     * Если группа не добавлена, ссылки добавляются по одной, чтобы ошибка одной ссылки
+     * не затрагивала остальные.
+     *
+     * @param batch группа ожидающих добавления.
+     */
+    private void flush(final List<Request> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        final List<Link> links = new ArrayList<>(batch.size());
+
+        for (Request request : batch) {
+            links.add(request.link());
+        }
+
+        final long start = System.nanoTime();
+        final List<Link> savedLinks;
+
+        try {
+            savedLinks = this.linkRepository.saveAll(links);
+        } catch (SQLException | RuntimeException exception) {
+            LOG.error("Ошибка при групповом добавлении {} ссылок.", batch.size(), exception);
+            this.saveEach(batch);
+
+            return;
+        }
+
+        final long elapsed = System.nanoTime() - start;
+        this.batchCount.increment();
+        this.linkCount.add(batch.size());
+        this.maxBatch.accumulateAndGet(batch.size(), Math::max);
+        this.flushTime.add(elapsed);
+        this.maxFlushTime.accumulateAndGet(elapsed, Math::max);
+
+        for (int index = 0; index < batch.size(); index++) {
+            batch.get(index).future().complete(savedLinks.get(index));
+        }
+    }
+
+    /**
+     * Добавляет ссылки группы по одной.
+     *
+     * @param batch группа ожидающих добавления.
+     */
+    private void saveEach(final List<Request> batch) {
+        for (Request request : batch) {
+            try {
+                request.future().complete(this.linkRepository.save(request.link()));
+            } catch (SQLException | RuntimeException exception) {
+                request.future().completeExceptionally(exception);
+            }
+        }
+    }
+
+    /**
+     * Ссылка, ожидающая добавления.
+     *
+     * @param link   ссылка.
+     * @param future результат добавления.
+     */
+    private record Request(Link link, CompletableFuture<Link> future) {
+    }
+}
@@ -0,0 +1,599 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.codecs.LinkCodecs;
+import dev.kalenchukov.shortlinks.codecs.UrlHashes;
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.generators.LinkIdGenerators;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Класс репозитория ссылок в памяти процесса.
+ * <p>
+ * Ссылки хранятся в таблице с открытой адресацией по идентификатору, изменения
+ * дописываются в журнал до применения к таблице и переживают перезапуск.
+ * Журнал периодически сжимается в снимок.
+ * <p>
+ * Изменения выполняются по одному: запись в журнал идёт под отдельной блокировкой,
+ * а таблица блокируется только на время изменения в памяти. Чтение выполняется
+ * без блокировки и повторяется под блокировкой, только если таблица изменилась.
+ * <p>
+ * Срок действия ссылок не хранится, поэтому ссылки со сроком действия не принимаются.
+ *
+ * @author Алексей Каленчуков
+ */
+@Repository
+@ConditionalOnProperty(name = "shortlinks.storage", havingValue = "memory")
+public class MemoryLinkRepository implements LinkRepositories {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(MemoryLinkRepository.class);
+
+    /**
+     * Преобразование идентификаторов ссылок в коды.
+     */
+    private final LinkCodecs linkCodec;
+
+    /**
+     * Генератор идентификаторов ссылок.
+     */
+    private final LinkIdGenerators linkIdGenerator;
+
+    /**
+     * Хэширование URL-адресов ссылок.
+     */
+    private final UrlHashes urlHash;
+
+    /**
+     * Исключаются ли повторяющиеся URL-адреса.
+     */
+    private final boolean deduplication;
+
+    /**
+     * Количество записей журнала, после которого журнал сжимается в снимок.
+     */
+    private final long compactionThreshold;
+
+    /**
+     * Таблица ссылок.
+     */
+    private final LinkTable table;
+
+    /**
+     * Журнал изменений ссылок.
+     */
+    private final LinkJournal journal;
+
+    /**
+     * Идентификаторы ссылок по хэшам URL-адресов, если повторяющиеся URL-адреса исключаются.
+     */
+    private final Map<UUID, Long> urlHashes;
+
+    /**
+     * Блокировка таблицы ссылок.
+     */
+    private final StampedLock lock;
+
+    /**
+     * Блокировка изменений, журнала и последовательности идентификаторов.
+     */
+    private final ReentrantLock writeLock;
+
+    /**
+     * Наибольший выданный идентификатор ссылки.
+     */
+    private long sequence;
+
+    /**
+     * Контроллер для {@code MemoryLinkRepository}.
+     *
+     * @param linkCodec           преобразование идентификаторов ссылок в коды.
+     * @param linkIdGenerator     генератор идентификаторов ссылок.
+     * @param urlHash             хэширование URL-адресов ссылок.
+     * @param deduplication       исключаются ли повторяющиеся URL-адреса.
+     * @param path                каталог журнала и снимка.
+     * @param sync                сбрасываются ли изменения на диск до ответа.
+     * @param compactionThreshold количество записей журнала, после которого журнал сжимается в снимок.
+     * @throws IOException при ошибке восстановления ссылок.
+     */
+    @Autowired
+    public MemoryLinkRepository(final LinkCodecs linkCodec,
+                                final LinkIdGenerators linkIdGenerator,
+                                final UrlHashes urlHash,
+                                @Value("${shortlinks.dedup.enabled:false}") final boolean deduplication,
+                                @Value("${shortlinks.memory.path:data}") final String path,
+                                @Value("${shortlinks.memory.sync:false}") final boolean sync,
+                                @Value("${shortlinks.memory.compaction-threshold:1000000}") final long compactionThreshold)
+            throws IOException {
+        this.linkCodec = linkCodec;
+        this.linkIdGenerator = linkIdGenerator;
+        this.urlHash = urlHash;
+        this.deduplication = deduplication;
+        this.compactionThreshold = compactionThreshold;
+        this.table = new LinkTable(0);
+        this.journal = new LinkJournal(Path.of(path), sync);
+        this.urlHashes = new HashMap<>();
+        this.lock = new StampedLock();
+        this.writeLock = new ReentrantLock();
+
+        final long start = System.nanoTime();
+        this.sequence = this.journal.recover(this.table);
+
+        if (this.deduplication) {
+            final LinkTable.Slots slots = this.table.slots();
+
+            for (int i = 0; i < slots.keys.length; i++) {
+                if (slots.keys[i] != 0L) {
+                    this.urlHashes.put(this.urlHash.hash(slots.url(i)), slots.keys[i]);
+                }
+            }
+        }
+
+        LOG.info("Восстановлено ссылок: {} за {} мс.", this.table.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Optional<Link> getById(final long linkId) {
+        final long stamp = this.lock.tryOptimisticRead();
+        Link link = this.find(linkId);
+
+        if (!this.lock.validate(stamp)) {
+            final long readStamp = this.lock.readLock();
+
+            try {
+                link = this.find(linkId);
+            } finally {
+                this.lock.unlockRead(readStamp);
+            }
+        }
+
+        return Optional.ofNullable(link);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Если повторяющиеся URL-адреса исключаются, возвращает существующую ссылку
+     * с тем же нормализованным URL-адресом.
+     *
+     * @param link {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws SQLException при ошибке записи журнала.
+     */
+    @Override
+    public Link save(final Link link) throws SQLException {
+        return this.saveAll(List.of(link)).get(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Все ссылки записываются в журнал одной операцией записи.
+     * Если повторяющиеся URL-адреса исключаются, для них возвращаются существующие ссылки.
+     *
+     * @param links {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws SQLException при ошибке записи журнала.
+     * @throws IllegalArgumentException если у ссылки задан срок действия.
+     */
+    @Override
+    public List<Link> saveAll(final List<Link> links) throws SQLException {
+        for (Link link : links) {
+            if (link.getExpiresAt() != null) {
+                throw new IllegalArgumentException("Хранилище ссылок в памяти процесса не сохраняет срок действия.");
+            }
+        }
+
+        final List<Link> savedLinks = new ArrayList<>(links.size());
+
+        if (links.isEmpty()) {
+            return savedLinks;
+        }
+
+        final UUID[] urlHashes = new UUID[links.size()];
+
+        if (this.deduplication) {
+            for (int i = 0; i < links.size(); i++) {
+                urlHashes[i] = this.urlHash.hash(links.get(i).getUrl());
+            }
+        }
+
+        final long dateCreate = System.currentTimeMillis();
+        final List<byte[]> urls = new ArrayList<>(links.size());
+
+        this.writeLock.lock();
+
+        try {
+            final Map<UUID, Long> addedUrlHashes = new HashMap<>();
+            final long[] linkIds = new long[links.size()];
+            final long sequence = this.sequence;
+
+            for (int i = 0; i < links.size(); i++) {
+                final Long existingLinkId = urlHashes[i] == null ? null
+                        : this.urlHashes.getOrDefault(urlHashes[i], addedUrlHashes.get(urlHashes[i]));
+
+                if (existingLinkId != null) {
+                    linkIds[i] = existingLinkId;
+                    urls.add(null);
+                    continue;
+                }
+
+                final byte[] url = links.get(i).getUrl().getBytes(StandardCharsets.UTF_8);
+                linkIds[i] = this.nextId();
+                urls.add(url);
+                this.journal.put(linkIds[i], dateCreate, url);
+
+                if (urlHashes[i] != null) {
+                    addedUrlHashes.put(urlHashes[i], linkIds[i]);
+                }
+            }
+
+            try {
+                this.journal.commit();
+            } catch (IOException exception) {
+                this.sequence = sequence;
+                throw new SQLException("Ошибка записи журнала ссылок.", exception);
+            }
+
+            final long stamp = this.lock.writeLock();
+
+            try {
+                for (int i = 0; i < linkIds.length; i++) {
+                    if (urls.get(i) != null) {
+                        this.table.put(linkIds[i], dateCreate, urls.get(i));
+                    }
+                }
+            } finally {
+                this.lock.unlockWrite(stamp);
+            }
+
+            this.urlHashes.putAll(addedUrlHashes);
+
+            for (int i = 0; i < linkIds.length; i++) {
+                final Link savedLink = urls.get(i) != null
+                        ? this.toLink(linkIds[i], dateCreate, links.get(i).getUrl())
+                        : this.find(linkIds[i]);
+
+                if (savedLink == null) {
+                    throw new SQLException("Не удалось получить существующую запись.");
+                }
+
+                savedLinks.add(savedLink);
+            }
+        } finally {
+            this.journal.rollback();
+            this.writeLock.unlock();
+        }
+
+        LOG.debug("Добавлено ссылок в памяти: {}.", links.size());
+
+        return savedLinks;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public long size() {
+        final long stamp = this.lock.readLock();
+
+        try {
+            return this.table.size();
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Количество ссылок в памяти известно точно.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public long estimateSize() {
+        return this.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code false}.
+     */
+    @Override
+    public boolean isExpirySupported() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws SQLException при ошибке записи журнала.
+     */
+    @Override
+    public boolean deleteById(final long linkId) throws SQLException {
+        return !this.deleteAllById(List.of(linkId)).isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkIds {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws SQLException при ошибке записи журнала.
+     */
+    @Override
+    public Set<Long> deleteAllById(final Collection<Long> linkIds) throws SQLException {
+        final Set<Long> deletedLinkIds = new HashSet<>();
+
+        if (linkIds.isEmpty()) {
+            return deletedLinkIds;
+        }
+
+        this.writeLock.lock();
+
+        try {
+            for (Long linkId : linkIds) {
+                if (this.table.slots().indexOf(linkId) >= 0 && deletedLinkIds.add(linkId)) {
+                    this.journal.delete(linkId);
+                }
+            }
+
+            if (deletedLinkIds.isEmpty()) {
+                return deletedLinkIds;
+            }
+
+            try {
+                this.journal.commit();
+            } catch (IOException exception) {
+                throw new SQLException("Ошибка записи журнала ссылок.", exception);
+            }
+
+            if (this.deduplication) {
+                for (Long linkId : deletedLinkIds) {
+                    this.urlHashes.remove(this.urlHash.hash(this.find(linkId).getUrl()));
+                }
+            }
+
+            final long stamp = this.lock.writeLock();
+
+            try {
+                for (Long linkId : deletedLinkIds) {
+                    this.table.remove(linkId);
+                }
+            } finally {
+                this.lock.unlockWrite(stamp);
+            }
+        } finally {
+            this.journal.rollback();
+            this.writeLock.unlock();
+        }
+
+        LOG.debug("Удалено ссылок в памяти: {}.", deletedLinkIds.size());
+
+        return deletedLinkIds;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Передаются идентификаторы ссылок на момент вызова, порядок не гарантируется.
+     *
+     * @param consumer {@inheritDoc}
+     */
+    @Override
+    public void forEachId(final LongConsumer consumer) {
+        for (long linkId : this.collectIds(null, null)) {
+            consumer.accept(linkId);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Передаются ссылки на момент вызова, кроме удалённых во время передачи.
+     *
+     * @param from     {@inheritDoc}
+     * @param to       {@inheritDoc}
+     * @param consumer {@inheritDoc}
+     */
+    @Override
+    public void forEach(final Timestamp from, final Timestamp to, final Consumer<Link> consumer) {
+        final long[] linkIds = this.collectIds(from, to);
+        Arrays.sort(linkIds);
+
+        for (long linkId : linkIds) {
+            this.getById(linkId).ifPresent(consumer);
+        }
+    }
+
+    /**
+     * Сжимает журнал в снимок, если в журнале накопилось достаточно записей,
+     * и освобождает память URL-адресов удалённых ссылок, если их больше половины.
+     * <p>
+     * На время сжатия изменения ссылок ожидают, чтение продолжается.
+     */
+    @Scheduled(
+            fixedDelayString = "${shortlinks.memory.compaction-interval:PT1M}",
+            initialDelayString = "${shortlinks.memory.compaction-interval:PT1M}"
+    )
+    public void compact() {
+        this.writeLock.lock();
+
+        try {
+            if (this.table.garbage() > this.table.bytes() / 2L) {
+                this.table.pack();
+                LOG.info("URL-адреса ссылок в памяти переписаны без удалённых.");
+            }
+
+            if (this.journal.records() >= this.compactionThreshold) {
+                this.journal.snapshot(this.table, this.sequence);
+            }
+        } catch (IOException exception) {
+            LOG.error("Ошибка при записи снимка ссылок.", exception);
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Закрывает журнал изменений ссылок.
+     *
+     * @throws IOException при ошибке закрытия журнала.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        this.writeLock.lock();
+
+        try {
+            this.journal.close();
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Возвращает ссылку из таблицы без блокировки.
+     * <p>
+     * При одновременном изменении таблицы результат может быть некорректным
+     * и должен быть отброшен после проверки блокировки.
+     *
+     * @param linkId идентификатор ссылки.
+     * @return ссылку или {@code null}, если ссылки нет.
+     */
+    private Link find(final long linkId) {
+        final LinkTable.Slots slots = this.table.slots();
+        final int index = slots.indexOf(linkId);
+
+        if (index < 0) {
+            return null;
+        }
+
+        final long dateCreate = slots.dates[index];
+        final String url = slots.url(index);
+
+        return url == null ? null : this.toLink(linkId, dateCreate, url);
+    }
+
+    /**
+     * Возвращает идентификаторы ссылок, созданных в указанный период.
+     *
+     * @param from начало периода создания ссылок включительно или {@code null}.
+     * @param to   конец периода создания ссылок исключительно или {@code null}.
+     * @return идентификаторы ссылок.
+     */
+    private long[] collectIds(final Timestamp from, final Timestamp to) {
+        final long fromTime = from == null ? Long.MIN_VALUE : from.getTime();
+        final long toTime = to == null ? Long.MAX_VALUE : to.getTime();
+        final long stamp = this.lock.readLock();
+
+        try {
+            final LinkTable.Slots slots = this.table.slots();
+            final long[] linkIds = new long[this.table.size()];
+            int count = 0;
+
+            for (int i = 0; i < slots.keys.length; i++) {
+                if (slots.keys[i] != 0L && slots.dates[i] >= fromTime && slots.dates[i] < toTime) {
+                    linkIds[count++] = slots.keys[i];
+                }
+            }
+
+            return count == linkIds.length ? linkIds : Arrays.copyOf(linkIds, count);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Возвращает идентификатор для новой ссылки.
+     *
+     * @return идентификатор.
+     */
+    private long nextId() {
+        final OptionalLong linkId = this.linkIdGenerator.nextId();
+        this.sequence = linkId.isPresent() ? Math.max(this.sequence, linkId.getAsLong()) : this.sequence + 1L;
+
+        return linkId.orElse(this.sequence);
+    }
+
+    /**
+     * Возвращает ссылку.
+     *
+     * @param linkId     идентификатор ссылки.
+     * @param dateCreate дата добавления в миллисекундах.
+     * @param url        URL-адрес.
+     * @return ссылку.
+     */
+    private Link toLink(final long linkId, final long dateCreate, final String url) {
+        return new Link(
+                linkId,
+                this.linkCodec.encode(linkId),
+                url,
+                new Timestamp(dateCreate)
+        );
+    }
+}
@@ -0,0 +1,484 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Класс дублирования медленных запросов чтения.
+ * <p>
+ * Первый запрос выполняется в вызывающем потоке. Если он не завершился за время,
+ * равное процентилю {@code shortlinks.hedging.percentile} времени последних запросов,
+ * тот же запрос отправляется во второй источник. Первый полученный ответ возвращается,
+ * а запрос, оставшийся без ответа, отменяется через {@link java.sql.Statement#cancel()}.
+ * Каждый запрос пополняет бюджет на {@code shortlinks.hedging.budget} процентов дублирования,
+ * поэтому дублирующие запросы не превышают этой доли от всех запросов.
+ *
+ * @author Алексей Каленчуков
+ */
+@Component
+public class ReadHedger implements ReadHedgers {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(ReadHedger.class);
+
+    /**
+     * Количество запоминаемых значений времени запросов.
+     */
+    private static final int SAMPLE_SIZE = 1024;
+
+    /**
+     * Стоимость одного дублирующего запроса в единицах бюджета.
+     */
+    private static final long HEDGE_COST = 100L;
+
+    /**
+     * Количество дублирующих запросов, которое может накопить бюджет.
+     */
+    private static final long MAX_BURST = 10L;
+
+    /**
+     * Состояние: дублирующий запрос не отправлен.
+     */
+    private static final int PENDING = 0;
+
+    /**
+     * Состояние: дублирующий запрос отправлен.
+     */
+    private static final int HEDGED = 1;
+
+    /**
+     * Состояние: первый запрос завершён без дублирования.
+     */
+    private static final int CLOSED = 2;
+
+    /**
+     * Включено ли дублирование.
+     */
+    private final boolean enabled;
+
+    /**
+     * Процентиль времени запросов, после которого запрос дублируется.
+     */
+    private final double percentile;
+
+    /**
+     * Наименьшее время ожидания перед дублированием в наносекундах.
+     */
+    private final long minDelay;
+
+    /**
+     * Наибольшее время ожидания перед дублированием в наносекундах.
+     */
+    private final long maxDelay;
+
+    /**
+     * Пополнение бюджета каждым запросом.
+     */
+    private final long budget;
+
+    /**
+     * Планировщик дублирующих запросов.
+     */
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * Время последних запросов в наносекундах.
+     */
+    private final AtomicLongArray samples = new AtomicLongArray(SAMPLE_SIZE);
+
+    /**
+     * Количество записанных значений времени запросов.
+     */
+    private final AtomicLong sampleCount = new AtomicLong();
+
+    /**
+     * Накопленный бюджет дублирования.
+     */
+    private final AtomicLong credits = new AtomicLong();
+
+    /**
+     * Количество дублирующих запросов.
+     */
+    private final LongAdder hedgeCount = new LongAdder();
+
+    /**
+     * Количество дублирующих запросов, ответивших первыми.
+     */
+    private final LongAdder winCount = new LongAdder();
+
+    /**
+     * Время ожидания перед дублированием в наносекундах.
+     */
+    private volatile long delay;
+
+    /**
+     * Конструктор для {@code ReadHedger}.
+     *
+     * @param enabled    включено ли дублирование.
+     * @param percentile процентиль времени запросов, после которого запрос дублируется.
+     * @param minDelay   наименьшее время ожидания перед дублированием в формате ISO-8601.
+     * @param maxDelay   наибольшее время ожидания перед дублированием в формате ISO-8601.
+     * @param budget     наибольшая доля дублирующих запросов в процентах.
+     * @param threads    количество потоков дублирующих запросов.
+     * @param registry   реестр метрик.
+     */
+    @Autowired
+    public ReadHedger(@Value("${shortlinks.hedging.enabled:false}") final boolean enabled,
+                      @Value("${shortlinks.hedging.percentile:0.95}") final double percentile,
+                      @Value("${shortlinks.hedging.min-delay:PT0.001S}") final String minDelay,
+                      @Value("${shortlinks.hedging.max-delay:PT0.1S}") final String maxDelay,
+                      @Value("${shortlinks.hedging.budget:5}") final long budget,
+                      @Value("${shortlinks.hedging.threads:4}") final int threads,
+                      final ObjectProvider<MeterRegistry> registry) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelay = Duration.parse(minDelay).toNanos();
+        this.maxDelay = Duration.parse(maxDelay).toNanos();
+        this.budget = budget;
+        this.delay = this.maxDelay;
+
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.scheduler = new ScheduledThreadPoolExecutor(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "read-hedger-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+
+        registry.ifAvailable(this::bindTo);
+
+        if (this.enabled) {
+            LOG.info("Медленные запросы чтения дублируются, не более {}% запросов.", budget);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param query  {@inheritDoc}
+     * @param first  {@inheritDoc}
+     * @param second {@inheritDoc}
+     * @param read   {@inheritDoc}
+     * @param <T>    {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws SQLException {@inheritDoc}
+     */
+    @Override
+    public <T> T execute(final String query, final Source first, final Source second, final Read<T> read)
+            throws SQLException {
+        if (!this.enabled || second == null) {
+            return ReadHedger.read(first, query, read, null);
+        }
+
+        this.credits.updateAndGet(credits -> Math.min(credits + this.budget, HEDGE_COST * MAX_BURST));
+
+        final Hedge<T> hedge = new Hedge<>();
+        final long start = System.nanoTime();
+        final ScheduledFuture<?> timer = this.scheduler.schedule(
+                () -> this.hedge(hedge, second, query, read), this.delay, TimeUnit.NANOSECONDS
+        );
+
+        try {
+            final T result = ReadHedger.read(first, query, read, hedge.first);
+
+            if (!hedge.state.compareAndSet(PENDING, CLOSED)) {
+                hedge.second.cancel();
+            }
+
+            return result;
+        } catch (SQLException | RuntimeException exception) {
+            if (hedge.state.compareAndSet(PENDING, CLOSED)) {
+                throw exception;
+            }
+
+            return ReadHedger.await(hedge, exception);
+        } finally {
+            timer.cancel(false);
+            this.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Пересчитывает время ожидания перед дублированием по времени последних запросов.
+     */
+    @Scheduled(fixedDelayString = "${shortlinks.hedging.update-interval:PT1S}")
+    public void update() {
+        final int count = (int) Math.min(this.sampleCount.get(), SAMPLE_SIZE);
+
+        if (!this.enabled || count == 0) {
+            return;
+        }
+
+        final long[] samples = new long[count];
+
+        for (int i = 0; i < count; i++) {
+            samples[i] = this.samples.get(i);
+        }
+
+        Arrays.sort(samples);
+
+        final long value = samples[Math.min(count - 1, (int) Math.ceil(count * this.percentile) - 1)];
+        this.delay = Math.max(this.minDelay, Math.min(this.maxDelay, value));
+
+        LOG.debug("Время ожидания перед дублированием запросов {} мкс.", TimeUnit.NANOSECONDS.toMicros(this.delay));
+    }
+
+    /**
+     * Останавливает планировщик дублирующих запросов.
+     */
+    @PreDestroy
+    public void close() {
+        this.scheduler.shutdownNow();
+    }
+
+    /**
+     * Отправляет дублирующий запрос, если первый ещё не завершён и бюджет позволяет.
+     *
+     * @param hedge  дублирование запроса.
+     * @param second второй источник соединений.
+     * @param query  запрос.
+     * @param read   чтение результата запроса.
+     * @param <T>    тип результата.
+     */
+    private <T> void hedge(final Hedge<T> hedge, final Source second, final String query, final Read<T> read) {
+        if (this.credits.getAndUpdate(credits -> credits >= HEDGE_COST ? credits - HEDGE_COST : credits) < HEDGE_COST) {
+            return;
+        }
+
+        if (!hedge.state.compareAndSet(PENDING, HEDGED)) {
+            this.credits.addAndGet(HEDGE_COST);
+
+            return;
+        }
+
+        this.hedgeCount.increment();
+
+        try {
+            final T result = ReadHedger.read(second, query, read, hedge.second);
+
+            if (hedge.result.complete(result)) {
+                this.winCount.increment();
+                hedge.first.cancel();
+            }
+        } catch (SQLException | RuntimeException exception) {
+            hedge.result.completeExceptionally(exception);
+        }
+    }
+
+    /**
+     * Дожидается ответа дублирующего запроса после ошибки первого.
+     *
+     * @param hedge     дублирование запроса.
+     * @param exception ошибка первого запроса.
+     * @param <T>       тип результата.
+     * @return результат дублирующего запроса.
+     * @throws SQLException если дублирующий запрос тоже завершился ошибкой.
+     */
+    private static <T> T await(final Hedge<T> hedge, final Exception exception) throws SQLException {
+        try {
+            return hedge.result.get();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            hedge.second.cancel();
+            exception.addSuppressed(interruptedException);
+        } catch (ExecutionException executionException) {
+            exception.addSuppressed(executionException.getCause());
+        }
+
+        if (exception instanceof SQLException sqlException) {
+            throw sqlException;
+        }
+
+        throw (RuntimeException) exception;
+    }
+
+    /**
+     * Выполняет запрос на соединении из источника.
+     *
+     * @param source  источник соединений.
+     * @param query   запрос.
+     * @param read    чтение результата запроса.
+     * @param attempt попытка, через которую запрос можно отменить, или {@code null}.
+     * @param <T>     тип результата.
+     * @return результат.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private static <T> T read(final Source source, final String query, final Read<T> read, final Attempt attempt)
+            throws SQLException {
+        try (Connection connection = source.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            if (attempt == null) {
+                return read.execute(preparedStatement);
+            }
+
+            attempt.start(preparedStatement);
+
+            try {
+                return read.execute(preparedStatement);
+            } finally {
+                attempt.finish();
+            }
+        }
+    }
+
+    /**
+     * Запоминает время запроса.
+     *
+     * @param time время запроса в наносекундах.
+     */
+    void record(final long time) {
+        this.samples.set((int) (this.sampleCount.getAndIncrement() % SAMPLE_SIZE), time);
+    }
+
+    /**
+     * Регистрирует метрики дублирования.
+     *
+     * @param registry реестр метрик.
+     */
+    private void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("shortlinks.hedging.hedges", this.hedgeCount, LongAdder::sum)
+                .description("Дублирующие запросы чтения")
+                .register(registry);
+        FunctionCounter.builder("shortlinks.hedging.wins", this.winCount, LongAdder::sum)
+                .description("Дублирующие запросы чтения, ответившие первыми")
+                .register(registry);
+        Gauge.builder("shortlinks.hedging.delay", this, hedger -> hedger.delay / 1_000_000_000.0)
+                .description("Время ожидания перед дублированием запроса")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /**
+     * Класс дублирования одного запроса.
+     *
+     * @param <T> тип результата.
+     */
+    private static final class Hedge<T> {
+        /**
+         * Первый запрос.
+         */
+        private final Attempt first = new Attempt();
+
+        /**
+         * Дублирующий запрос.
+         */
+        private final Attempt second = new Attempt();
+
+        /**
+         * Состояние дублирования.
+         */
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        /**
+         * Результат дублирующего запроса.
+         */
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+    }
+
+    /**
+     * Класс попытки выполнения запроса, которую можно отменить.
+     */
+    private static final class Attempt {
+        /**
+         * Выполняемый запрос.
+         */
+        private PreparedStatement preparedStatement;
+
+        /**
+         * Отменена ли попытка.
+         */
+        private boolean cancelled;
+
+        /**
+         * Отмечает начало выполнения запроса.
+         *
+         * @param preparedStatement подготовленный запрос.
+         * @throws SQLException если попытка уже отменена.
+         */
+        private synchronized void start(final PreparedStatement preparedStatement) throws SQLException {
+            if (this.cancelled) {
+                throw new SQLException("Запрос отменён до выполнения.");
+            }
+
+            this.preparedStatement = preparedStatement;
+        }
+
+        /**
+         * Отмечает завершение выполнения запроса.
+         */
+        private synchronized void finish() {
+            this.preparedStatement = null;
+        }
+
+        /**
+         * Отменяет попытку и выполняемый запрос.
+         */
+        private void cancel() {
+            final PreparedStatement preparedStatement;
+
+            synchronized (this) {
+                this.cancelled = true;
+                preparedStatement = this.preparedStatement;
+            }
+
+            if (preparedStatement == null) {
+                return;
+            }
+
+            try {
+                preparedStatement.cancel();
+            } catch (SQLException exception) {
+                LOG.debug("Не удалось отменить запрос: {}", exception.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Интерфейс для реализации дублирования медленных запросов чтения.
+ *
+ * @author Алексей Каленчуков
+ */
+public interface ReadHedgers {
+    /**
+     * Выполняет запрос чтения.
+     * <p>
+     * Если первый источник не ответил вовремя, запрос дублируется во второй источник
+     * и возвращается первый полученный ответ.
+     *
+     * @param query  запрос.
+     * @param first  первый источник соединений.
+     * @param second второй источник соединений или {@code null}, если дублировать запрос некуда.
+     * @param read   чтение результата запроса.
+     * @param <T>    тип результата.
+     * @return результат.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    <T> T execute(String query, Source first, Source second, Read<T> read) throws SQLException;
+
+    /**
+     * Интерфейс источника соединений.
+     */
+    @FunctionalInterface
+    interface Source {
+        /**
+         * Возвращает соединение.
+         *
+         * @return соединение.
+         * @throws SQLException при возникновении проблем с базой данных.
+         */
+        Connection getConnection() throws SQLException;
+    }
+
+    /**
+     * Интерфейс чтения результата запроса.
+     *
+     * @param <T> тип результата.
+     */
+    @FunctionalInterface
+    interface Read<T> {
+        /**
+         * Выполняет подготовленный запрос и читает его результат.
+         *
+         * @param preparedStatement подготовленный запрос.
+         * @return результат.
+         * @throws SQLException при возникновении проблем с базой данных.
+         */
+        T execute(PreparedStatement preparedStatement) throws SQLException;
+    }
+}
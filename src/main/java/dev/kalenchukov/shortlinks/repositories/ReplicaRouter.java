@@ -0,0 +1,342 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Класс выбора реплики базы данных для чтения.
+ * <p>
+ * Реплики перечисляются в параметре {@code shortlinks.replicas.urls} и выбираются по кругу.
+ * Реплика исключается, если к ней не удалось подключиться или её отставание от основного
+ * сервера превысило {@code shortlinks.replicas.max-lag}, и возвращается после успешной проверки.
+ * Изменения ссылок отмечаются на время допустимого отставания, чтобы их чтение
+ * в этом экземпляре сервиса выполнялось на основном сервере.
+ *
+ * @author Алексей Каленчуков
+ */
+@Component
+public class ReplicaRouter implements ReplicaRouters {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(ReplicaRouter.class);
+
+    /**
+     * Время ожидания ответа реплики при проверке в секундах.
+     */
+    private static final int CHECK_TIMEOUT = 1;
+
+    /**
+     * Реплики.
+     */
+    private final Replica[] replicas;
+
+    /**
+     * Номер следующей реплики.
+     */
+    private final AtomicInteger next;
+
+    /**
+     * Допустимое отставание реплик в наносекундах.
+     */
+    private final long maxLag;
+
+    /**
+     * Идентификаторы недавно изменённых ссылок.
+     */
+    private final Cache<Long, Boolean> written;
+
+    /**
+     * Время последнего изменения ссылок в наносекундах.
+     */
+    private volatile long lastWrite;
+
+    /**
+     * Контроллер для {@code ReplicaRouter}.
+     *
+     * @param urls              адреса реплик.
+     * @param username          логин.
+     * @param password          пароль.
+     * @param poolSize          размер пула соединений каждой реплики.
+     * @param connectionTimeout время ожидания соединения с репликой.
+     * @param maxLag            допустимое отставание реплик.
+     * @param writtenCapacity   количество запоминаемых изменённых ссылок.
+     * @param registry          реестр метрик пулов соединений.
+     */
+    @Autowired
+    public ReplicaRouter(@Value("${shortlinks.replicas.urls:}") final List<String> urls,
+                         @Value("${shortlinks.replicas.username:${spring.datasource.username:}}") final String username,
+                         @Value("${shortlinks.replicas.password:${spring.datasource.password:}}") final String password,
+                         @Value("${shortlinks.replicas.pool-size:10}") final int poolSize,
+                         @Value("${shortlinks.replicas.connection-timeout:PT1S}") final String connectionTimeout,
+                         @Value("${shortlinks.replicas.max-lag:PT5S}") final String maxLag,
+                         @Value("${shortlinks.replicas.written-capacity:100000}") final long writtenCapacity,
+                         final ObjectProvider<MeterRegistry> registry) {
+        final List<Replica> replicas = new ArrayList<>();
+
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+
+            final HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            config.setJdbcUrl(url.strip());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(poolSize);
+            config.setConnectionTimeout(Duration.parse(connectionTimeout).toMillis());
+            config.setInitializationFailTimeout(-1L);
+            config.setReadOnly(true);
+            registry.ifAvailable(config::setMetricRegistry);
+
+            replicas.add(new Replica(config.getPoolName(), new HikariDataSource(config)));
+        }
+
+        this.replicas = replicas.toArray(new Replica[0]);
+        this.next = new AtomicInteger();
+        this.maxLag = Duration.parse(maxLag).toNanos();
+        this.written = Caffeine.newBuilder()
+                .expireAfterWrite(this.maxLag, TimeUnit.NANOSECONDS)
+                .maximumSize(writtenCapacity)
+                .build();
+        this.lastWrite = System.nanoTime() - this.maxLag;
+
+        if (this.replicas.length > 0) {
+            LOG.info("Чтение ссылок распределяется по репликам в количестве {}.", this.replicas.length);
+            this.check();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Реплика, к которой не удалось подключиться, исключается до следующей проверки.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Connection getConnection() {
+        final Replica[] replicas = this.replicas;
+
+        if (replicas.length == 0) {
+            return null;
+        }
+
+        final int start = Math.floorMod(this.next.getAndIncrement(), replicas.length);
+
+        for (int i = 0; i < replicas.length; i++) {
+            final Replica replica = replicas[(start + i) % replicas.length];
+
+            if (!replica.healthy) {
+                continue;
+            }
+
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException exception) {
+                replica.healthy = false;
+                LOG.warn("Реплика {} исключена: {}", replica.name, exception.getMessage());
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int getHealthyCount() {
+        int count = 0;
+
+        for (Replica replica : this.replicas) {
+            if (replica.healthy) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     */
+    @Override
+    public void written(final long linkId) {
+        if (this.replicas.length == 0) {
+            return;
+        }
+
+        this.lastWrite = System.nanoTime();
+        this.written.put(linkId, Boolean.TRUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isWritten(final long linkId) {
+        return this.written.getIfPresent(linkId) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isWritten() {
+        return System.nanoTime() - this.lastWrite < this.maxLag;
+    }
+
+    /**
+     * Проверяет доступность и отставание реплик.
+     */
+    @Scheduled(
+            fixedDelayString = "${shortlinks.replicas.check-interval:PT5S}",
+            initialDelayString = "${shortlinks.replicas.check-interval:PT5S}"
+    )
+    public void check() {
+        for (Replica replica : this.replicas) {
+            final boolean healthy = this.isHealthy(replica);
+
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    LOG.info("Реплика {} возвращена.", replica.name);
+                } else {
+                    LOG.warn("Реплика {} исключена.", replica.name);
+                }
+            }
+
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * Закрывает пулы соединений реплик.
+     */
+    @PreDestroy
+    public void close() {
+        for (Replica replica : this.replicas) {
+            replica.dataSource.close();
+        }
+    }
+
+    /**
+     * Проверяет, что реплика отвечает и отстаёт от основного сервера не больше допустимого.
+     * <p>
+     * Отставание не учитывается, если реплика применила весь полученный журнал,
+     * иначе реплика без новых изменений на основном сервере считалась бы отстающей.
+     *
+     * @param replica реплика.
+     * @return {@code true} если реплика исправна, иначе {@code false}.
+     */
+    private boolean isHealthy(final Replica replica) {
+        final String query = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+                + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+        try (Connection connection = replica.dataSource.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setQueryTimeout(CHECK_TIMEOUT);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                final double lag = resultSet.next() ? resultSet.getDouble(1) : 0.0;
+
+                if (lag * TimeUnit.SECONDS.toNanos(1) > this.maxLag) {
+                    LOG.debug("Реплика {} отстаёт на {} с.", replica.name, lag);
+
+                    return false;
+                }
+            }
+
+            return true;
+        } catch (SQLException exception) {
+            LOG.debug("Реплика {} недоступна: {}", replica.name, exception.getMessage());
+
+            return false;
+        }
+    }
+
+    /**
+     * Класс реплики.
+     */
+    private static final class Replica {
+        /**
+         * Название реплики.
+         */
+        private final String name;
+
+        /**
+         * Пул соединений реплики.
+         */
+        private final HikariDataSource dataSource;
+
+        /**
+         * Исправна ли реплика.
+         */
+        private volatile boolean healthy;
+
+        /**
+         * Контроллер для {@code Replica}.
+         *
+         * @param name       название реплики.
+         * @param dataSource пул соединений реплики.
+         */
+        private Replica(final String name, final HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Интерфейс для реализации выбора реплики базы данных для чтения.
+ *
+ * @author Алексей Каленчуков
+ */
+public interface ReplicaRouters {
+    /**
+     * Возвращает соединение с исправной репликой.
+     *
+     * @return соединение или {@code null}, если исправных реплик нет.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    Connection getConnection() throws SQLException;
+
+    /**
+     * Возвращает количество исправных реплик.
+     *
+     * @return количество исправных реплик.
+     */
+    int getHealthyCount();
+
+    /**
+     * Отмечает изменение ссылки на основном сервере.
+     *
+     * @param linkId идентификатор ссылки.
+     */
+    void written(long linkId);
+
+    /**
+     * Проверяет, изменялась ли ссылка на основном сервере за время допустимого отставания реплик.
+     *
+     * @param linkId идентификатор ссылки.
+     * @return {@code true} если ссылка изменялась, иначе {@code false}.
+     */
+    boolean isWritten(long linkId);
+
+    /**
+     * Проверяет, изменялись ли ссылки на основном сервере за время допустимого отставания реплик.
+     *
+     * @return {@code true} если ссылки изменялись, иначе {@code false}.
+     */
+    boolean isWritten();
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.entities.Link;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Класс выбора базы данных для новой ссылки по кругу.
+ * <p>
+ * Ссылки распределяются между базами данных поровну, поэтому добавление ссылок
+ * масштабируется с количеством баз данных.
+ *
+ * @author Алексей Каленчуков
+ */
+@Component
+@ConditionalOnProperty(name = "shortlinks.shards.policy", havingValue = "round-robin", matchIfMissing = true)
+public class RoundRobinLinkShardPolicy implements LinkShardPolicies {
+    /**
+     * Номер следующей базы данных.
+     */
+    private final AtomicInteger next;
+
+    /**
+     * Конструктор для {@code RoundRobinLinkShardPolicy}.
+     */
+    public RoundRobinLinkShardPolicy() {
+        this.next = new AtomicInteger();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param link  {@inheritDoc}
+     * @param count {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int select(final Link link, final int count) {
+        return Math.floorMod(this.next.getAndIncrement(), count);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Класс репозитория количества переходов по ссылкам, распределённым по нескольким базам данных.
+ * <p>
+ * Переходы хранятся в базе данных ссылки, номер которой берётся из идентификатора ссылки,
+ * как в {@link ShardedLinkRepository}. Первой базой данных служит основная.
+ *
+ * @author Алексей Каленчуков
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(name = "shortlinks.storage", havingValue = "sharded")
+public class ShardedClickRepository implements ClickRepositories {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(ShardedClickRepository.class);
+
+    /**
+     * Репозитории количества переходов баз данных по номерам.
+     */
+    private final ClickRepositories[] shards;
+
+    /**
+     * Конструктор для {@code ShardedClickRepository}.
+     *
+     * @param clickRepository репозиторий количества переходов основной базы данных.
+     * @param linkRepository  репозиторий ссылок, распределённых по базам данных.
+     */
+    @Autowired
+    public ShardedClickRepository(final ClickRepository clickRepository,
+                                  final ShardedLinkRepository linkRepository) {
+        this(ShardedClickRepository.createShards(clickRepository, linkRepository.getUnitsOfWork()));
+    }
+
+    /**
+     * Конструктор для {@code ShardedClickRepository}.
+     *
+     * @param shards репозитории количества переходов баз данных по номерам.
+     */
+    public ShardedClickRepository(final List<ClickRepositories> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Количество баз данных должно быть больше нуля.");
+        }
+
+        this.shards = shards.toArray(new ClickRepositories[0]);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * У ссылок с номером несуществующей базы данных переходов нет.
+     *
+     * @param linkId {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public long getById(final long linkId) throws SQLException {
+        final int shard = ShardedLinkRepository.getShard(linkId);
+
+        if (shard >= this.shards.length) {
+            LOG.debug("Ссылки с ID {} не существует, базы данных {} нет.", linkId, shard);
+
+            return 0L;
+        }
+
+        return this.shards[shard].getById(linkId);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Переходы разделяются по базам данных ссылок и сохраняются в каждой базе данных
+     * отдельным запросом. Переходы по ссылкам с номером несуществующей базы данных не сохраняются.
+     *
+     * @param clicks {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int addAll(final Map<Long, Long> clicks) throws SQLException {
+        final List<Map<Long, Long>> shardClicks = new ArrayList<>(this.shards.length);
+
+        for (int shard = 0; shard < this.shards.length; shard++) {
+            shardClicks.add(new HashMap<>());
+        }
+
+        for (Map.Entry<Long, Long> entry : clicks.entrySet()) {
+            final int shard = ShardedLinkRepository.getShard(entry.getKey());
+
+            if (shard < this.shards.length) {
+                shardClicks.get(shard).put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        int count = 0;
+
+        for (int shard = 0; shard < this.shards.length; shard++) {
+            final Map<Long, Long> added = shardClicks.get(shard);
+
+            try {
+                count += this.shards[shard].addAll(added);
+            } catch (SQLException | RuntimeException exception) {
+                // Переходы предыдущих баз данных уже сохранены
+                for (int saved = 0; saved < shard; saved++) {
+                    clicks.keySet().removeAll(shardClicks.get(saved).keySet());
+                }
+
+                throw exception;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Создаёт репозитории количества переходов баз данных.
+     *
+     * @param clickRepository репозиторий количества переходов основной базы данных.
+     * @param unitsOfWork     единицы работы с базами данных по номерам.
+     * @return репозитории количества переходов баз данных по номерам.
+     */
+    private static List<ClickRepositories> createShards(final ClickRepository clickRepository,
+                                                        final List<UnitOfWork> unitsOfWork) {
+        final List<ClickRepositories> shards = new ArrayList<>();
+        shards.add(clickRepository);
+
+        for (int shard = 1; shard < unitsOfWork.size(); shard++) {
+            shards.add(new ClickRepository(unitsOfWork.get(shard)));
+        }
+
+        return shards;
+    }
+}
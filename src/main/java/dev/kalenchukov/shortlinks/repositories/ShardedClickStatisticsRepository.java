@@ -0,0 +1,163 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.entities.ClickBucket;
+import dev.kalenchukov.shortlinks.entities.Granularity;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Класс репозитория статистики переходов по ссылкам, распределённым по нескольким базам данных.
+ * <p>
+ * Статистика хранится в базе данных ссылки, номер которой берётся из идентификатора ссылки,
+ * как в {@link ShardedLinkRepository}. Первой базой данных служит основная,
+ * её интервалы сворачивает собственный репозиторий статистики.
+ *
+ * @author Алексей Каленчуков
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(name = "shortlinks.storage", havingValue = "sharded")
+public class ShardedClickStatisticsRepository implements ClickStatisticsRepositories {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(ShardedClickStatisticsRepository.class);
+
+    /**
+     * Репозитории статистики переходов баз данных по номерам.
+     */
+    private final ClickStatisticsRepositories[] shards;
+
+    /**
+     * Конструктор для {@code ShardedClickStatisticsRepository}.
+     *
+     * @param statisticsRepository репозиторий статистики переходов основной базы данных.
+     * @param linkRepository       репозиторий ссылок, распределённых по базам данных.
+     * @param enabled              включён ли учёт переходов.
+     * @param delay                задержка сворачивания минутных интервалов.
+     * @param minuteRetention      срок хранения минутных интервалов.
+     * @param hourRetention        срок хранения часовых интервалов.
+     * @param dayRetention         срок хранения дневных интервалов, нулевой срок — без ограничения.
+     */
+    @Autowired
+    public ShardedClickStatisticsRepository(final ClickStatisticsRepository statisticsRepository,
+                                            final ShardedLinkRepository linkRepository,
+                                            @Value("${shortlinks.clicks.enabled:true}") final boolean enabled,
+                                            @Value("${shortlinks.stats.rollup-delay:PT1M}") final String delay,
+                                            @Value("${shortlinks.stats.minute-retention:PT6H}") final String minuteRetention,
+                                            @Value("${shortlinks.stats.hour-retention:P31D}") final String hourRetention,
+                                            @Value("${shortlinks.stats.day-retention:P1095D}") final String dayRetention) {
+        final List<ClickStatisticsRepositories> shards = new ArrayList<>();
+        shards.add(statisticsRepository);
+
+        final List<UnitOfWork> unitsOfWork = linkRepository.getUnitsOfWork();
+
+        for (int shard = 1; shard < unitsOfWork.size(); shard++) {
+            shards.add(new ClickStatisticsRepository(
+                    unitsOfWork.get(shard), enabled, delay, minuteRetention, hourRetention, dayRetention
+            ));
+        }
+
+        this.shards = shards.toArray(new ClickStatisticsRepositories[0]);
+    }
+
+    /**
+     * Конструктор для {@code ShardedClickStatisticsRepository}.
+     *
+     * @param shards репозитории статистики переходов баз данных по номерам.
+     */
+    public ShardedClickStatisticsRepository(final List<ClickStatisticsRepositories> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Количество баз данных должно быть больше нуля.");
+        }
+
+        this.shards = shards.toArray(new ClickStatisticsRepositories[0]);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * У ссылок с номером несуществующей базы данных переходов нет.
+     *
+     * @param linkId      {@inheritDoc}
+     * @param granularity {@inheritDoc}
+     * @param from        {@inheritDoc}
+     * @param to          {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public List<ClickBucket> getBuckets(final long linkId,
+                                        final Granularity granularity,
+                                        final Timestamp from,
+                                        final Timestamp to) throws SQLException {
+        final int shard = ShardedLinkRepository.getShard(linkId);
+
+        if (shard >= this.shards.length) {
+            LOG.debug("Ссылки с ID {} не существует, базы данных {} нет.", linkId, shard);
+
+            return List.of();
+        }
+
+        return this.shards[shard].getBuckets(linkId, granularity, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Интервалы сворачиваются во всех базах данных.
+     */
+    @Override
+    public void rollup() throws SQLException {
+        for (ClickStatisticsRepositories shard : this.shards) {
+            shard.rollup();
+        }
+    }
+
+    /**
+     * Сворачивает интервалы во всех базах данных, кроме основной.
+     *
+     * @throws SQLException при возникновении проблем с базой данных.
+     * @see ClickStatisticsRepositories#rollup()
+     */
+    @Scheduled(initialDelayString = "${shortlinks.stats.rollup-interval:PT1M}",
+               fixedDelayString = "${shortlinks.stats.rollup-interval:PT1M}")
+    public void rollupShards() throws SQLException {
+        for (int shard = 1; shard < this.shards.length; shard++) {
+            this.shards[shard].rollup();
+        }
+    }
+}
@@ -0,0 +1,874 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import dev.kalenchukov.shortlinks.codecs.LinkCodecs;
+import dev.kalenchukov.shortlinks.codecs.UrlHashes;
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.generators.LinkIdGenerators;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Класс репозитория ссылок, распределённых по нескольким базам данных PostgreSQL.
+ * <p>
+ * Первой базой данных служит основной источник данных, остальные перечисляются
+ * в параметре {@code shortlinks.shards.urls}. Номер базы данных хранится в старших
+ * {@value #SHARD_BITS} битах идентификатора ссылки: последовательность базы данных с номером
+ * {@code N} выдаёт идентификаторы от {@code N << }{@value #SHARD_SHIFT}, поэтому запросы
+ * одной ссылки выполняются в одной базе данных без справочника, а ссылки существующей
+ * базы данных остаются в ней при добавлении новых.
+ * <p>
+ * База данных для новой ссылки выбирается {@link LinkShardPolicies}. Количество, выгрузка
+ * и построение фильтра существующих ссылок выполняются во всех базах данных параллельно.
+ * Работа первой базы данных выполняется в вызывающем потоке, чтобы участвовать в его единице работы,
+ * но транзакция не распространяется на остальные базы данных.
+ *
+ * @author Алексей Каленчуков
+ */
+@Repository
+@ConditionalOnProperty(name = "shortlinks.storage", havingValue = "sharded")
+public class ShardedLinkRepository implements LinkRepositories {
+    /**
+     * Количество битов идентификатора ссылки, занимаемых номером базы данных.
+     */
+    public static final int SHARD_BITS = 7;
+
+    /**
+     * Сдвиг номера базы данных в идентификаторе ссылки.
+     */
+    public static final int SHARD_SHIFT = Long.SIZE - 1 - SHARD_BITS;
+
+    /**
+     * Наибольшее количество баз данных.
+     */
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(ShardedLinkRepository.class);
+
+    /**
+     * Количество ссылок, ожидающих слияния, от одной базы данных при выгрузке.
+     */
+    private static final int MERGE_CAPACITY = 1024;
+
+    /**
+     * Признак окончания ссылок базы данных при выгрузке.
+     */
+    private static final Object END = new Object();
+
+    /**
+     * Репозитории ссылок баз данных по номерам.
+     */
+    private final LinkRepositories[] shards;
+
+    /**
+     * Единицы работы с базами данных по номерам.
+     */
+    private final List<UnitOfWork> unitsOfWork;
+
+    /**
+     * Выбор базы данных для новой ссылки.
+     */
+    private final LinkShardPolicies shardPolicy;
+
+    /**
+     * Репозитории секций таблиц ссылок баз данных.
+     */
+    private final List<LinkPartitionRepositories> partitionRepositories;
+
+    /**
+     * Репозитории ссылок с истёкшим сроком действия баз данных.
+     */
+    private final List<LinkExpiryRepositories> expiryRepositories;
+
+    /**
+     * Источники данных баз данных, кроме основной.
+     */
+    private final List<HikariDataSource> dataSources;
+
+    /**
+     * Потоки запросов к базам данных.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Контроллер для {@code ShardedLinkRepository}.
+     *
+     * @param unitOfWork          единица работы с основной базой данных.
+     * @param linkCodec           преобразование идентификаторов ссылок в коды.
+     * @param linkIdGenerator     генератор идентификаторов ссылок.
+     * @param urlHash             хэширование URL-адресов ссылок.
+     * @param deduplication       исключаются ли повторяющиеся URL-адреса.
+     * @param replicaRouter       выбор реплики основной базы данных для чтения.
+     * @param readHedger          дублирование медленных запросов чтения.
+     * @param shardPolicy         выбор базы данных для новой ссылки.
+     * @param urls                адреса баз данных, кроме основной.
+     * @param username            логин.
+     * @param password            пароль.
+     * @param poolSize            размер пула соединений каждой базы данных.
+     * @param migrate             выполняются ли миграции в базах данных, кроме основной.
+     * @param migrationLocations  расположение миграций.
+     * @param partitionSize       ширина секции таблицы ссылок в идентификаторах.
+     * @param partitionAhead      количество секций, создаваемых заранее.
+     * @param partitionRetention  срок хранения ссылок, нулевой срок — без ограничения.
+     * @param partitionInterval   интервал обслуживания секций в формате ISO-8601.
+     * @param expiryBatchSize     количество ссылок с истёкшим сроком, удаляемых одним запросом.
+     * @param expiryRate          наибольшее количество ссылок с истёкшим сроком, удаляемых в секунду в каждой базе данных.
+     * @param expiryMaxDuration   наибольшая длительность одного удаления ссылок с истёкшим сроком в каждой базе данных.
+     * @param registry            реестр метрик.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    @Autowired
+    public ShardedLinkRepository(final UnitOfWork unitOfWork,
+                                 final LinkCodecs linkCodec,
+                                 final LinkIdGenerators linkIdGenerator,
+                                 final UrlHashes urlHash,
+                                 @Value("${shortlinks.dedup.enabled:false}") final boolean deduplication,
+                                 final ReplicaRouters replicaRouter,
+                                 final ReadHedgers readHedger,
+                                 final LinkShardPolicies shardPolicy,
+                                 @Value("${shortlinks.shards.urls:}") final List<String> urls,
+                                 @Value("${shortlinks.shards.username:${spring.datasource.username:}}") final String username,
+                                 @Value("${shortlinks.shards.password:${spring.datasource.password:}}") final String password,
+                                 @Value("${shortlinks.shards.pool-size:10}") final int poolSize,
+                                 @Value("${shortlinks.shards.migrate:${spring.flyway.enabled:true}}") final boolean migrate,
+                                 @Value("${spring.flyway.locations:classpath:database/migration}") final String[] migrationLocations,
+                                 @Value("${shortlinks.partitions.size:10000000}") final long partitionSize,
+                                 @Value("${shortlinks.partitions.ahead:2}") final int partitionAhead,
+                                 @Value("${shortlinks.partitions.retention:P0D}") final String partitionRetention,
+                                 @Value("${shortlinks.partitions.maintenance-interval:PT1H}") final String partitionInterval,
+                                 @Value("${shortlinks.expiry.batch-size:1000}") final int expiryBatchSize,
+                                 @Value("${shortlinks.expiry.rate:5000}") final long expiryRate,
+                                 @Value("${shortlinks.expiry.max-duration:PT10S}") final String expiryMaxDuration,
+                                 final ObjectProvider<MeterRegistry> registry) throws SQLException {
+        if (linkIdGenerator.nextId().isPresent()) {
+            throw new IllegalStateException(
+                    "Идентификаторы ссылок в нескольких базах данных назначают их последовательности, " +
+                    "требуется shortlinks.ids.mode=sequence."
+            );
+        }
+
+        final List<UnitOfWork> unitsOfWork = new ArrayList<>();
+        unitsOfWork.add(unitOfWork);
+        this.unitsOfWork = Collections.unmodifiableList(unitsOfWork);
+        this.dataSources = new ArrayList<>();
+
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+
+            final HikariConfig config = new HikariConfig();
+            config.setPoolName("shard-" + unitsOfWork.size());
+            config.setJdbcUrl(url.strip());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(poolSize);
+            registry.ifAvailable(config::setMetricRegistry);
+
+            final HikariDataSource dataSource = new HikariDataSource(config);
+            this.dataSources.add(dataSource);
+
+            if (migrate) {
+                Flyway.configure()
+                        .dataSource(dataSource)
+                        .locations(migrationLocations)
+                        .encoding("UTF-8")
+                        .load()
+                        .migrate();
+            }
+
+            unitsOfWork.add(new UnitOfWork(dataSource));
+        }
+
+        if (unitsOfWork.size() > MAX_SHARDS) {
+            this.close();
+
+            throw new IllegalArgumentException("Баз данных ссылок больше " + MAX_SHARDS + ".");
+        }
+
+        // Реплики есть только у основной базы данных
+        final ReplicaRouters noReplicas = new ReplicaRouter(
+                List.of(), username, password, 1, "PT1S", "PT1S", 1L, registry
+        );
+
+        this.shards = new LinkRepositories[unitsOfWork.size()];
+        this.partitionRepositories = new ArrayList<>();
+        this.expiryRepositories = new ArrayList<>();
+
+        for (int shard = 0; shard < unitsOfWork.size(); shard++) {
+            final UnitOfWork shardUnitOfWork = unitsOfWork.get(shard);
+            ShardedLinkRepository.configureSequence(shardUnitOfWork, shard);
+
+            this.shards[shard] = new LinkRepository(
+                    shardUnitOfWork,
+                    linkCodec,
+                    OptionalLong::empty,
+                    urlHash,
+                    deduplication,
+                    shard == 0 ? replicaRouter : noReplicas,
+                    readHedger
+            );
+            final LinkPartitionRepositories partitionRepository = new LinkPartitionRepository(
+                    shardUnitOfWork,
+                    OptionalLong::empty,
+                    partitionSize,
+                    partitionAhead,
+                    partitionRetention,
+                    partitionInterval
+            );
+            // Последовательность могла начаться с N << 56, а миграции создают секции только
+            // для первых идентификаторов, поэтому секции создаются до первой записи в базу данных
+            partitionRepository.maintain();
+            this.partitionRepositories.add(partitionRepository);
+            this.expiryRepositories.add(new LinkExpiryRepository(
+                    shardUnitOfWork, expiryBatchSize, expiryRate, expiryMaxDuration
+            ));
+        }
+
+        this.shardPolicy = shardPolicy;
+        this.executor = ShardedLinkRepository.createExecutor();
+        registry.ifAvailable(this::bindTo);
+
+        LOG.info("Ссылки распределяются по базам данных в количестве {}.", this.shards.length);
+    }
+
+    /**
+     * Конструктор для {@code ShardedLinkRepository}.
+     * <p>
+     * Репозиторий с номером {@code N} должен выдавать идентификаторы,
+     * старшие биты которых равны {@code N}.
+     *
+     * @param shards      репозитории ссылок баз данных по номерам.
+     * @param shardPolicy выбор базы данных для новой ссылки.
+     */
+    public ShardedLinkRepository(final List<LinkRepositories> shards,
+                                 final LinkShardPolicies shardPolicy) {
+        if (shards.isEmpty() || shards.size() > MAX_SHARDS) {
+            throw new IllegalArgumentException("Количество баз данных ссылок должно быть от 1 до " + MAX_SHARDS + ".");
+        }
+
+        this.shards = shards.toArray(new LinkRepositories[0]);
+        this.unitsOfWork = List.of();
+        this.shardPolicy = shardPolicy;
+        this.partitionRepositories = List.of();
+        this.expiryRepositories = List.of();
+        this.dataSources = List.of();
+        this.executor = ShardedLinkRepository.createExecutor();
+    }
+
+    /**
+     * Возвращает номер базы данных ссылки.
+     *
+     * @param linkId идентификатор ссылки.
+     * @return номер базы данных.
+     */
+    public static int getShard(final long linkId) {
+        return (int) (linkId >>> SHARD_SHIFT);
+    }
+
+    /**
+     * Возвращает количество баз данных.
+     *
+     * @return количество баз данных.
+     */
+    public int getShardCount() {
+        return this.shards.length;
+    }
+
+    /**
+     * Возвращает единицы работы с базами данных по номерам.
+     * <p>
+     * Репозиторий, созданный из репозиториев ссылок, единиц работы не имеет.
+     *
+     * @return единицы работы с базами данных.
+     */
+    public List<UnitOfWork> getUnitsOfWork() {
+        return this.unitsOfWork;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Ссылки с номером несуществующей базы данных не существуют.
+     *
+     * @param linkId {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Optional<Link> getById(final long linkId) throws SQLException {
+        final int shard = ShardedLinkRepository.getShard(linkId);
+
+        if (shard >= this.shards.length) {
+            LOG.debug("Ссылки с ID {} не существует, базы данных {} нет.", linkId, shard);
+
+            return Optional.empty();
+        }
+
+        return this.shards[shard].getById(linkId);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Повторяющиеся URL-адреса исключаются внутри базы данных, выбранной для ссылки.
+     *
+     * @param link {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Link save(final Link link) throws SQLException {
+        return this.shards[this.shardPolicy.select(link, this.shards.length)].save(link);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Ссылки группируются по выбранным базам данных, и каждая группа сохраняется
+     * одним запросом параллельно с остальными.
+     *
+     * @param links {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public List<Link> saveAll(final List<Link> links) throws SQLException {
+        if (links.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        final List<List<Integer>> positions = new ArrayList<>();
+
+        for (int shard = 0; shard < this.shards.length; shard++) {
+            positions.add(new ArrayList<>());
+        }
+
+        for (int position = 0; position < links.size(); position++) {
+            positions.get(this.shardPolicy.select(links.get(position), this.shards.length)).add(position);
+        }
+
+        final Link[] savedLinks = new Link[links.size()];
+
+        this.execute(shard -> !positions.get(shard).isEmpty(), (shard, repository) -> {
+            final List<Integer> shardPositions = positions.get(shard);
+            final List<Link> shardLinks = shardPositions.stream().map(links::get).toList();
+            final List<Link> shardSavedLinks = repository.saveAll(shardLinks);
+
+            for (int i = 0; i < shardPositions.size(); i++) {
+                savedLinks[shardPositions.get(i)] = shardSavedLinks.get(i);
+            }
+
+            return null;
+        });
+
+        return new ArrayList<>(Arrays.asList(savedLinks));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public long size() throws SQLException {
+        return this.<Long>execute(shard -> true, (shard, repository) -> repository.size())
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public long estimateSize() throws SQLException {
+        return this.<Long>execute(shard -> true, (shard, repository) -> repository.estimateSize())
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Срок действия сохраняется, если его сохраняют все базы данных.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isExpirySupported() {
+        return Arrays.stream(this.shards).allMatch(LinkRepositories::isExpirySupported);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean deleteById(final long linkId) throws SQLException {
+        final int shard = ShardedLinkRepository.getShard(linkId);
+
+        if (shard >= this.shards.length) {
+            LOG.debug("Ссылки с ID {} не существует, базы данных {} нет.", linkId, shard);
+
+            return false;
+        }
+
+        return this.shards[shard].deleteById(linkId);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Идентификаторы группируются по базам данных, и каждая группа удаляется
+     * одним запросом параллельно с остальными.
+     *
+     * @param linkIds {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Set<Long> deleteAllById(final Collection<Long> linkIds) throws SQLException {
+        final Set<Long> deletedLinkIds = new HashSet<>();
+        final List<List<Long>> shardLinkIds = new ArrayList<>();
+
+        for (int shard = 0; shard < this.shards.length; shard++) {
+            shardLinkIds.add(new ArrayList<>());
+        }
+
+        for (Long linkId : linkIds) {
+            final int shard = ShardedLinkRepository.getShard(linkId);
+
+            if (shard < this.shards.length) {
+                shardLinkIds.get(shard).add(linkId);
+            }
+        }
+
+        this.<Set<Long>>execute(
+                shard -> !shardLinkIds.get(shard).isEmpty(),
+                (shard, repository) -> repository.deleteAllById(shardLinkIds.get(shard))
+        ).forEach(deletedLinkIds::addAll);
+
+        return deletedLinkIds;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Идентификаторы читаются из всех баз данных параллельно и передаются получателю по одному.
+     *
+     * @param consumer {@inheritDoc}
+     */
+    @Override
+    public void forEachId(final LongConsumer consumer) throws SQLException {
+        final LongConsumer synchronizedConsumer = linkId -> {
+            synchronized (consumer) {
+                consumer.accept(linkId);
+            }
+        };
+
+        this.execute(shard -> true, (shard, repository) -> {
+            repository.forEachId(this.shards.length == 1 ? consumer : synchronizedConsumer);
+
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Ссылки читаются из всех баз данных параллельно и сливаются в порядке идентификаторов.
+     * Каждая база данных опережает слияние не больше чем на {@value #MERGE_CAPACITY} ссылок.
+     *
+     * @param from     {@inheritDoc}
+     * @param to       {@inheritDoc}
+     * @param consumer {@inheritDoc}
+     */
+    @Override
+    public void forEach(final Timestamp from, final Timestamp to, final Consumer<Link> consumer) throws SQLException {
+        if (this.shards.length == 1) {
+            this.shards[0].forEach(from, to, consumer);
+
+            return;
+        }
+
+        final List<BlockingQueue<Object>> queues = new ArrayList<>();
+        final List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (LinkRepositories repository : this.shards) {
+                final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(MERGE_CAPACITY);
+                queues.add(queue);
+                futures.add(this.executor.submit(() -> {
+                    try {
+                        repository.forEach(from, to, link -> {
+                            try {
+                                queue.put(link);
+                            } catch (InterruptedException exception) {
+                                Thread.currentThread().interrupt();
+
+                                throw new IllegalStateException("Выгрузка ссылок прервана.", exception);
+                            }
+                        });
+                    } finally {
+                        try {
+                            queue.put(END);
+                        } catch (InterruptedException exception) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+
+                    return null;
+                }));
+            }
+
+            final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparingLong((Head head) -> head.link().getLinkId()));
+
+            for (int shard = 0; shard < this.shards.length; shard++) {
+                final Link link = ShardedLinkRepository.take(queues.get(shard), futures.get(shard));
+
+                if (link != null) {
+                    heads.add(new Head(shard, link));
+                }
+            }
+
+            while (!heads.isEmpty()) {
+                final Head head = heads.poll();
+                consumer.accept(head.link());
+
+                final Link link = ShardedLinkRepository.take(queues.get(head.shard()), futures.get(head.shard()));
+
+                if (link != null) {
+                    heads.add(new Head(head.shard(), link));
+                }
+            }
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Обслуживает секции таблиц ссылок во всех базах данных.
+     *
+     * @throws SQLException при возникновении проблем с базой данных.
+     * @see LinkPartitionRepositories#maintain()
+     */
+    @Scheduled(initialDelay = 0L, fixedDelayString = "${shortlinks.partitions.maintenance-interval:PT1H}")
+    public void maintainPartitions() throws SQLException {
+        for (LinkPartitionRepositories partitionRepository : this.partitionRepositories) {
+            partitionRepository.maintain();
+        }
+    }
+
+    /**
+     * Удаляет ссылки с истёкшим сроком действия во всех базах данных.
+     *
+     * @throws SQLException при возникновении проблем с базой данных.
+     * @see LinkExpiryRepositories#reap()
+     */
+    @Scheduled(initialDelayString = "${shortlinks.expiry.interval:PT1M}", fixedDelayString = "${shortlinks.expiry.interval:PT1M}")
+    public void reapExpired() throws SQLException {
+        this.execute(shard -> shard < this.expiryRepositories.size(), (shard, repository) -> {
+            this.expiryRepositories.get(shard).reap();
+
+            return null;
+        });
+    }
+
+    /**
+     * Останавливает потоки запросов и закрывает соединения с базами данных.
+     */
+    @PreDestroy
+    public void close() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+        }
+
+        this.dataSources.forEach(HikariDataSource::close);
+    }
+
+    /**
+     * Регистрирует метрику удалённых ссылок с истёкшим сроком действия во всех базах данных.
+     *
+     * @param registry реестр метрик.
+     */
+    private void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder(
+                        LinkExpiryRepository.METRIC,
+                        this.expiryRepositories,
+                        repositories -> repositories.stream().mapToLong(LinkExpiryRepositories::getReclaimedCount).sum()
+                )
+                .description("Удалённые ссылки с истёкшим сроком действия")
+                .register(registry);
+    }
+
+    /**
+     * Выполняет работу в базах данных параллельно.
+     * <p>
+     * Работа первой из баз данных выполняется в вызывающем потоке.
+     *
+     * @param filter базы данных, в которых выполняется работа.
+     * @param work   работа.
+     * @param <T>    тип результата работы.
+     * @return результаты работы в порядке номеров баз данных.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private <T> List<T> execute(final ShardFilter filter, final ShardWork<T> work) throws SQLException {
+        final List<Integer> shards = new ArrayList<>();
+
+        for (int shard = 0; shard < this.shards.length; shard++) {
+            if (filter.test(shard)) {
+                shards.add(shard);
+            }
+        }
+
+        final List<T> results = new ArrayList<>();
+
+        if (shards.isEmpty()) {
+            return results;
+        }
+
+        final List<Future<T>> futures = new ArrayList<>();
+
+        try {
+            for (int shard : shards.subList(1, shards.size())) {
+                futures.add(this.executor.submit(() -> work.execute(shard, this.shards[shard])));
+            }
+
+            final int first = shards.get(0);
+            results.add(work.execute(first, this.shards[first]));
+
+            for (Future<T> future : futures) {
+                results.add(ShardedLinkRepository.await(future));
+            }
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        return results;
+    }
+
+    /**
+     * Возвращает следующую ссылку базы данных при выгрузке.
+     *
+     * @param queue  ссылки базы данных, ожидающие слияния.
+     * @param future чтение ссылок базы данных.
+     * @return ссылку или {@code null}, если ссылки базы данных закончились.
+     * @throws SQLException если чтение ссылок базы данных завершилось ошибкой или прервано.
+     */
+    private static Link take(final BlockingQueue<Object> queue, final Future<?> future) throws SQLException {
+        final Object next;
+
+        try {
+            next = queue.take();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+
+            throw new SQLException("Выгрузка ссылок прервана.", exception);
+        }
+
+        if (next == END) {
+            ShardedLinkRepository.await(future);
+
+            return null;
+        }
+
+        return (Link) next;
+    }
+
+    /**
+     * Ожидает результат работы в базе данных.
+     *
+     * @param future работа.
+     * @param <T>    тип результата работы.
+     * @return результат работы.
+     * @throws SQLException если работа завершилась ошибкой или ожидание прервано.
+     */
+    private static <T> T await(final Future<T> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+
+            throw new SQLException("Ожидание базы данных прервано.", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new SQLException(exception.getCause());
+        }
+    }
+
+    /**
+     * Настраивает последовательность идентификаторов ссылок базы данных на её диапазон.
+     * <p>
+     * Последовательность новой базы данных начинается с начала диапазона,
+     * выданные ранее идентификаторы не меняются.
+     *
+     * @param unitOfWork единица работы с базой данных.
+     * @param shard      номер базы данных.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private static void configureSequence(final UnitOfWork unitOfWork, final int shard) throws SQLException {
+        final long minValue = shard == 0 ? 1L : (long) shard << SHARD_SHIFT;
+        final long maxValue = ((long) shard << SHARD_SHIFT) + ((1L << SHARD_SHIFT) - 1L);
+
+        unitOfWork.execute(() -> {
+            try (Connection connection = unitOfWork.getConnection()) {
+                final long lastValue;
+
+                try (PreparedStatement preparedStatement = connection.prepareStatement(
+                        "SELECT pg_advisory_xact_lock(hashtext('links_link_id_seq')), last_value FROM links_link_id_seq");
+                     ResultSet resultSet = preparedStatement.executeQuery()) {
+                    resultSet.next();
+                    lastValue = resultSet.getLong("last_value");
+                }
+
+                if (lastValue > maxValue) {
+                    throw new SQLException("Идентификаторы базы данных " + shard + " вышли за её диапазон.");
+                }
+
+                final String query = "ALTER SEQUENCE links_link_id_seq MINVALUE " + minValue +
+                        " MAXVALUE " + maxValue + " START WITH " + minValue +
+                        (lastValue < minValue ? " RESTART" : "");
+
+                try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                    preparedStatement.execute();
+                }
+            }
+
+            return null;
+        });
+
+        LOG.debug("Идентификаторы базы данных {} выдаются от {}.", shard, minValue);
+    }
+
+    /**
+     * Создаёт потоки запросов к базам данных.
+     * <p>
+     * Количество потоков не ограничено, так как выгрузка занимает поток каждой базы данных
+     * до своего окончания, а количество запросов ограничено пулами соединений.
+     *
+     * @return потоки.
+     */
+    private static ExecutorService createExecutor() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+
+        return Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "link-shard-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    /**
+     * Интерфейс выбора баз данных для работы.
+     */
+    @FunctionalInterface
+    private interface ShardFilter {
+        /**
+         * Проверяет, выполняется ли работа в базе данных.
+         *
+         * @param shard номер базы данных.
+         * @return {@code true} если работа выполняется, иначе {@code false}.
+         */
+        boolean test(int shard);
+    }
+
+    /**
+     * Интерфейс работы в базе данных.
+     *
+     * @param <T> тип результата работы.
+     */
+    @FunctionalInterface
+    private interface ShardWork<T> {
+        /**
+         * Выполняет работу.
+         *
+         * @param shard      номер базы данных.
+         * @param repository репозиторий ссылок базы данных.
+         * @return результат работы.
+         * @throws SQLException при возникновении проблем с базой данных.
+         */
+        T execute(int shard, LinkRepositories repository) throws SQLException;
+    }
+
+    /**
+     * Следующая ссылка базы данных при слиянии выгрузки.
+     *
+     * @param shard номер базы данных.
+     * @param link  ссылка.
+     */
+    private record Head(int shard, Link link) {
+    }
+}
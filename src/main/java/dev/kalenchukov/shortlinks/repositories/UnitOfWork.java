@@ -0,0 +1,178 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Класс единицы работы с базой данных.
+ * <p>
+ * Выполняет несколько запросов репозиториев на одном соединении в одной транзакции.
+ * Соединение привязывается к текущему потоку, поэтому репозитории получают его
+ * через {@link #getConnection()} без явной передачи.
+ *
+ * @author Алексей Каленчуков
+ */
+@Component
+public class UnitOfWork {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(UnitOfWork.class);
+
+    /**
+     * Источник данных.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * Соединение текущей единицы работы.
+     */
+    private final ThreadLocal<Connection> connection = new ThreadLocal<>();
+
+    /**
+     * Конструктор для {@code UnitOfWork}.
+     *
+     * @param dataSource источник данных.
+     */
+    @Autowired
+    public UnitOfWork(final DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Выполняет работу в одной транзакции.
+     * <p>
+     * Транзакция фиксируется при успешном завершении работы и откатывается при любой ошибке.
+     * Вложенный вызов выполняется в транзакции внешнего.
+     *
+     * @param work работа.
+     * @param <T>  тип результата работы.
+     * @return результат работы.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    public <T> T execute(final Work<T> work) throws SQLException {
+        if (this.connection.get() != null) {
+            return work.execute();
+        }
+
+        try (Connection connection = this.dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            this.connection.set(connection);
+
+            try {
+                final T result = work.execute();
+                connection.commit();
+
+                return result;
+            } catch (SQLException | RuntimeException | Error exception) {
+                LOG.debug("Откат транзакции единицы работы.");
+                connection.rollback();
+
+                throw exception;
+            } finally {
+                this.connection.remove();
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Возвращает соединение с базой данных.
+     * <p>
+     * Внутри единицы работы возвращается её соединение, закрытие которого ничего не делает,
+     * иначе новое соединение из источника данных.
+     *
+     * @return соединение.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    public Connection getConnection() throws SQLException {
+        final Connection current = this.connection.get();
+
+        if (current == null) {
+            return this.dataSource.getConnection();
+        }
+
+        return UnitOfWork.unclosable(current);
+    }
+
+    /**
+     * Проверяет, выполняется ли в текущем потоке единица работы.
+     *
+     * @return {@code true} если единица работы выполняется, иначе {@code false}.
+     */
+    public boolean isActive() {
+        return this.connection.get() != null;
+    }
+
+    /**
+     * Возвращает соединение, закрытие которого ничего не делает.
+     *
+     * @param connection соединение.
+     * @return соединение.
+     */
+    private static Connection unclosable(final Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        return null;
+                    }
+
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException exception) {
+                        throw exception.getCause();
+                    }
+                }
+        );
+    }
+
+    /**
+     * Интерфейс работы с базой данных.
+     *
+     * @param <T> тип результата работы.
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        /**
+         * Выполняет работу.
+         *
+         * @return результат работы.
+         * @throws SQLException при возникновении проблем с базой данных.
+         */
+        T execute() throws SQLException;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.codecs.UrlHashes;
+import dev.kalenchukov.shortlinks.entities.Link;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Класс выбора базы данных для новой ссылки по хэшу её URL-адреса.
+ * <p>
+ * Ссылки с одинаковым нормализованным URL-адресом попадают в одну базу данных,
+ * поэтому исключение повторяющихся URL-адресов действует между базами данных,
+ * пока их количество не меняется.
+ *
+ * @author Алексей Каленчуков
+ */
+@Component
+@ConditionalOnProperty(name = "shortlinks.shards.policy", havingValue = "url-hash")
+public class UrlHashLinkShardPolicy implements LinkShardPolicies {
+    /**
+     * Хэширование URL-адресов ссылок.
+     */
+    private final UrlHashes urlHash;
+
+    /**
+     * Конструктор для {@code UrlHashLinkShardPolicy}.
+     *
+     * @param urlHash хэширование URL-адресов ссылок.
+     */
+    @Autowired
+    public UrlHashLinkShardPolicy(final UrlHashes urlHash) {
+        this.urlHash = urlHash;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param link  {@inheritDoc}
+     * @param count {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int select(final Link link, final int count) {
+        return (int) Math.floorMod(this.urlHash.hash(link.getUrl()).getLeastSignificantBits(), (long) count);
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.services;
+
+import dev.kalenchukov.shortlinks.caches.LinkCaches;
+import dev.kalenchukov.shortlinks.caches.LinkFilters;
+import dev.kalenchukov.shortlinks.entities.BatchResult;
+import dev.kalenchukov.shortlinks.entities.DeletionResult;
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.entities.Violation;
+import dev.kalenchukov.shortlinks.exceptions.ServerErrorException;
+import dev.kalenchukov.shortlinks.repositories.LinkRepositories;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Класс сервиса пакетной обработки ссылок.
+ *
+ * @author Алексей Каленчуков
+ */
+@Service
+public class BatchService implements BatchServices {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(BatchService.class);
+
+    /**
+     * Репозиторий для ссылок.
+     */
+    private final LinkRepositories linkRepository;
+
+    /**
+     * Кэш ссылок.
+     */
+    private final LinkCaches linkCache;
+
+    /**
+     * Фильтр существующих ссылок.
+     */
+    private final LinkFilters linkFilter;
+
+    /**
+     * Валидатор.
+     */
+    private final Validator validator;
+
+    /**
+     * Количество ссылок, обрабатываемых одним запросом.
+     */
+    private final int chunkSize;
+
+    /**
+     * Конструктор для {@code BatchService}.
+     *
+     * @param linkRepository репозиторий ссылок.
+     * @param linkCache      кэш ссылок.
+     * @param linkFilter     фильтр существующих ссылок.
+     * @param validator      валидатор.
+     * @param chunkSize      количество ссылок, обрабатываемых одним запросом.
+     */
+    @Autowired
+    public BatchService(final LinkRepositories linkRepository,
+                        final LinkCaches linkCache,
+                        final LinkFilters linkFilter,
+                        final Validator validator,
+                        @Value("${shortlinks.batch.chunk-size:1000}") final int chunkSize) {
+        this.linkRepository = linkRepository;
+        this.linkCache = linkCache;
+        this.linkFilter = linkFilter;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Каждая часть добавляется в отдельной транзакции, поэтому при ошибке
+     * базы данных ранее добавленные части сохраняются.
+     *
+     * @param links    {@inheritDoc}
+     * @param consumer {@inheritDoc}
+     * @throws ServerErrorException если произошла ошибка при работе с базой данных.
+     */
+    @Override
+    public void addAll(final Iterator<Link> links, final Consumer<BatchResult> consumer) {
+        LOG.debug("Выполнение логики для пакетного добавления ссылок.");
+
+        final List<Link> chunk = new ArrayList<>(this.chunkSize);
+        long index = 0L;
+        long added = 0L;
+
+        while (links.hasNext()) {
+            chunk.add(links.next());
+
+            if (chunk.size() == this.chunkSize || !links.hasNext()) {
+                added += this.addChunk(index, chunk, consumer);
+                index += chunk.size();
+                chunk.clear();
+            }
+        }
+
+        LOG.debug("Пакетное добавление завершено, обработано ссылок {}, добавлено {}.", index, added);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Каждая часть удаляется отдельным запросом, поэтому при ошибке
+     * базы данных ранее удалённые части остаются удалёнными.
+     *
+     * @param linkIds  {@inheritDoc}
+     * @param consumer {@inheritDoc}
+     * @throws ServerErrorException если произошла ошибка при работе с базой данных.
+     */
+    @Override
+    public void deleteAll(final Iterator<Long> linkIds, final Consumer<DeletionResult> consumer) {
+        LOG.debug("Выполнение логики для пакетного удаления ссылок.");
+
+        final List<Long> chunk = new ArrayList<>(this.chunkSize);
+        long index = 0L;
+        long deleted = 0L;
+
+        while (linkIds.hasNext()) {
+            chunk.add(linkIds.next());
+
+            if (chunk.size() == this.chunkSize || !linkIds.hasNext()) {
+                deleted += this.deleteChunk(index, chunk, consumer);
+                index += chunk.size();
+                chunk.clear();
+            }
+        }
+
+        LOG.debug("Пакетное удаление завершено, обработано идентификаторов {}, удалено {}.", index, deleted);
+    }
+
+    /**
+     * Добавляет часть ссылок.
+     *
+     * @param firstIndex порядковый номер первой ссылки части в пакете.
+     * @param chunk      ссылки.
+     * @param consumer   получатель результатов.
+     * @return количество добавленных ссылок.
+     * @throws ServerErrorException если произошла ошибка при работе с базой данных.
+     */
+    private int addChunk(final long firstIndex, final List<Link> chunk, final Consumer<BatchResult> consumer) {
+        final List<List<Violation>> violations = new ArrayList<>(chunk.size());
+        final List<Link> validLinks = new ArrayList<>(chunk.size());
+
+        for (Link link : chunk) {
+            final List<Violation> linkViolations = this.validate(link);
+            violations.add(linkViolations);
+
+            if (linkViolations.isEmpty()) {
+                validLinks.add(link);
+            }
+        }
+
+        final List<Link> savedLinks;
+
+        try {
+            savedLinks = this.linkRepository.saveAll(validLinks);
+        } catch (SQLException exception) {
+            LOG.error("Ошибка при обращении к репозиторию.", exception);
+            throw new ServerErrorException("Ошибка при работе с базой данных.");
+        }
+
+        final Iterator<Link> savedLink = savedLinks.iterator();
+
+        for (int offset = 0; offset < chunk.size(); offset++) {
+            final long index = firstIndex + offset;
+
+            if (violations.get(offset).isEmpty()) {
+                final Link link = savedLink.next();
+                this.linkFilter.add(link.getLinkId());
+                consumer.accept(new BatchResult(index, link));
+            } else {
+                consumer.accept(new BatchResult(index, violations.get(offset)));
+            }
+        }
+
+        return savedLinks.size();
+    }
+
+    /**
+     * Удаляет часть ссылок.
+     * <p>
+     * Идентификаторы, которых по данным фильтра точно не существует, в запрос не передаются.
+     * Переданные в запрос идентификаторы вытесняются из кэша.
+     *
+     * @param firstIndex порядковый номер первого идентификатора части в пакете.
+     * @param chunk      идентификаторы ссылок.
+     * @param consumer   получатель результатов.
+     * @return количество удалённых ссылок.
+     * @throws ServerErrorException если произошла ошибка при работе с базой данных.
+     */
+    private int deleteChunk(final long firstIndex, final List<Long> chunk, final Consumer<DeletionResult> consumer) {
+        final Set<Long> linkIds = new HashSet<>(chunk.size());
+
+        for (Long linkId : chunk) {
+            if (linkId != null && !this.linkFilter.isAbsent(linkId)) {
+                linkIds.add(linkId);
+            }
+        }
+
+        final Set<Long> deletedLinkIds;
+
+        try {
+            deletedLinkIds = this.linkRepository.deleteAllById(linkIds);
+        } catch (SQLException exception) {
+            LOG.error("Ошибка при обращении к репозиторию.", exception);
+            throw new ServerErrorException("Ошибка при работе с базой данных.");
+        }
+
+        for (Long linkId : linkIds) {
+            this.linkCache.invalidate(linkId);
+        }
+
+        for (int offset = 0; offset < chunk.size(); offset++) {
+            final Long linkId = chunk.get(offset);
+            final boolean deleted = linkId != null && deletedLinkIds.contains(linkId);
+            consumer.accept(new DeletionResult(firstIndex + offset, linkId, deleted));
+        }
+
+        return deletedLinkIds.size();
+    }
+
+    /**
+     * Проверяет ссылку.
+     * <p>
+     * Срок действия не принимается, если репозиторий его не сохраняет.
+     *
+     * @param link ссылка.
+     * @return нарушения.
+     */
+    private List<Violation> validate(final Link link) {
+        final Set<ConstraintViolation<Link>> constraintViolations = this.validator.validate(link);
+        final boolean expiryRejected = link.getExpiresAt() != null && !this.linkRepository.isExpirySupported();
+
+        if (constraintViolations.isEmpty() && !expiryRejected) {
+            return List.of();
+        }
+
+        final List<Violation> violations = new ArrayList<>(constraintViolations.size() + 1);
+
+        for (ConstraintViolation<Link> violation : constraintViolations) {
+            violations.add(new Violation(violation.getPropertyPath().toString(), violation.getMessage()));
+        }
+
+        if (expiryRejected) {
+            violations.add(new Violation("expiresAt", "Хранилище ссылок не сохраняет срок действия"));
+        }
+
+        return violations;
+    }
+}
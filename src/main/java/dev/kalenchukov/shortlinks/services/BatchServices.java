@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.services;
+
+import dev.kalenchukov.shortlinks.entities.BatchResult;
+import dev.kalenchukov.shortlinks.entities.DeletionResult;
+import dev.kalenchukov.shortlinks.entities.Link;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Интерфейс для реализации сервиса пакетной обработки ссылок.
+ *
+ * @author Алексей Каленчуков
+ */
+public interface BatchServices {
+    /**
+     * Добавляет ссылки.
+     * <p>
+     * Ссылки читаются и добавляются частями, а результаты передаются получателю
+     * в порядке ссылок по мере добавления каждой части.
+     *
+     * @param links    ссылки.
+     * @param consumer получатель результатов.
+     */
+    void addAll(Iterator<Link> links, Consumer<BatchResult> consumer);
+
+    /**
+     * Удаляет ссылки.
+     * <p>
+     * Идентификаторы читаются и удаляются частями, а результаты передаются получателю
+     * в порядке идентификаторов по мере удаления каждой части.
+     * Элемент {@code null} означает, что элемент пакета не является идентификатором.
+     *
+     * @param linkIds  идентификаторы ссылок.
+     * @param consumer получатель результатов.
+     */
+    void deleteAll(Iterator<Long> linkIds, Consumer<DeletionResult> consumer);
+}
@@ -0,0 +1,398 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.services;
+
+import dev.kalenchukov.shortlinks.caches.LinkFilters;
+import dev.kalenchukov.shortlinks.entities.BatchResult;
+import dev.kalenchukov.shortlinks.entities.ImportProgress;
+import dev.kalenchukov.shortlinks.entities.ImportStatus;
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.entities.Violation;
+import dev.kalenchukov.shortlinks.exceptions.ServerErrorException;
+import dev.kalenchukov.shortlinks.repositories.ImportRepositories;
+import jakarta.validation.Validator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Класс сервиса загрузки ссылок.
+ * <p>
+ * Ссылки читаются частями, каждая часть проверяется параллельно и копируется
+ * в промежуточную таблицу, после чего все ссылки переносятся в таблицу ссылок.
+ * Ход загрузки доступен, пока она выполняется.
+ *
+ * @author Алексей Каленчуков
+ */
+@Service
+public class ImportService implements ImportServices {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(ImportService.class);
+
+    /**
+     * Количество хранимых завершённых загрузок.
+     */
+    private static final int HISTORY_SIZE = 10;
+
+    /**
+     * Количество хранимых нарушений загрузки.
+     */
+    private static final int VIOLATIONS_SIZE = 100;
+
+    /**
+     * Репозиторий для загрузки ссылок.
+     */
+    private final ImportRepositories importRepository;
+
+    /**
+     * Фильтр существующих ссылок.
+     */
+    private final LinkFilters linkFilter;
+
+    /**
+     * Валидатор.
+     */
+    private final Validator validator;
+
+    /**
+     * Количество ссылок, копируемых одним запросом.
+     */
+    private final int chunkSize;
+
+    /**
+     * Последний идентификатор загрузки.
+     */
+    private final AtomicLong lastImportId = new AtomicLong();
+
+    /**
+     * Выполняющиеся и последние завершённые загрузки.
+     */
+    private final Deque<ImportTask> tasks = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Конструктор для {@code ImportService}.
+     *
+     * @param importRepository репозиторий загрузки ссылок.
+     * @param linkFilter       фильтр существующих ссылок.
+     * @param validator        валидатор.
+     * @param chunkSize        количество ссылок, копируемых одним запросом.
+     */
+    @Autowired
+    public ImportService(final ImportRepositories importRepository,
+                         final LinkFilters linkFilter,
+                         final Validator validator,
+                         @Value("${shortlinks.import.chunk-size:10000}") final int chunkSize) {
+        this.importRepository = importRepository;
+        this.linkFilter = linkFilter;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * После переноса фильтр существующих ссылок перестраивается, чтобы в него попали
+     * идентификаторы загруженных ссылок.
+     *
+     * @param links       {@inheritDoc}
+     * @param preserveIds {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws ServerErrorException если произошла ошибка при работе с базой данных.
+     */
+    @Override
+    public ImportProgress importAll(final Iterator<Link> links, final boolean preserveIds) {
+        final ImportTask task = new ImportTask(this.lastImportId.incrementAndGet(), preserveIds);
+        this.tasks.addLast(task);
+
+        LOG.debug("Выполнение логики для загрузки ссылок, загрузка {}.", task.importId);
+
+        String staging = null;
+
+        try {
+            staging = this.importRepository.createStaging();
+            final List<Link> chunk = new ArrayList<>(this.chunkSize);
+
+            while (links.hasNext()) {
+                chunk.add(links.next());
+
+                if (chunk.size() == this.chunkSize || !links.hasNext()) {
+                    this.copyChunk(task, staging, chunk);
+                    chunk.clear();
+                }
+            }
+
+            task.status = ImportStatus.MERGING;
+            task.imported.set(this.importRepository.merge(staging, preserveIds));
+            this.linkFilter.rebuild();
+            task.finish(ImportStatus.COMPLETED);
+        } catch (SQLException exception) {
+            task.finish(ImportStatus.FAILED);
+            LOG.error("Ошибка при обращении к репозиторию.", exception);
+            throw new ServerErrorException("Ошибка при работе с базой данных.");
+        } catch (RuntimeException exception) {
+            task.finish(ImportStatus.FAILED);
+            throw exception;
+        } finally {
+            this.dropStaging(staging);
+            this.forget();
+        }
+
+        ImportProgress progress = task.toProgress();
+        LOG.debug("Загрузка {} завершена: {}.", task.importId, progress);
+
+        return progress;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public List<ImportProgress> getImports() {
+        LOG.debug("Выполнение логики для получения хода загрузок ссылок.");
+
+        final List<ImportProgress> imports = new ArrayList<>();
+
+        for (ImportTask task : this.tasks) {
+            imports.add(task.toProgress());
+        }
+
+        return imports;
+    }
+
+    /**
+     * Проверяет часть ссылок параллельно и копирует прошедшие проверку.
+     *
+     * @param task    загрузка.
+     * @param staging название промежуточной таблицы.
+     * @param chunk   ссылки.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private void copyChunk(final ImportTask task, final String staging, final List<Link> chunk) throws SQLException {
+        final List<List<Violation>> violations = chunk.parallelStream()
+                .map(this::validate)
+                .toList();
+        final List<Link> validLinks = new ArrayList<>(chunk.size());
+        final long firstIndex = task.received.sum();
+
+        for (int offset = 0; offset < chunk.size(); offset++) {
+            if (violations.get(offset).isEmpty()) {
+                validLinks.add(chunk.get(offset));
+            } else {
+                task.reject(new BatchResult(firstIndex + offset, violations.get(offset)));
+            }
+        }
+
+        task.received.add(chunk.size());
+        this.importRepository.copy(staging, validLinks);
+        task.copied.add(validLinks.size());
+    }
+
+    /**
+     * Проверяет ссылку.
+     *
+     * @param link ссылка.
+     * @return нарушения.
+     */
+    private List<Violation> validate(final Link link) {
+        return this.validator.validate(link).stream()
+                .map(violation -> new Violation(violation.getPropertyPath().toString(), violation.getMessage()))
+                .toList();
+    }
+
+    /**
+     * Удаляет промежуточную таблицу, если она создана.
+     *
+     * @param staging название промежуточной таблицы.
+     */
+    private void dropStaging(final String staging) {
+        if (staging == null) {
+            return;
+        }
+
+        try {
+            this.importRepository.dropStaging(staging);
+        } catch (SQLException exception) {
+            LOG.error("Не удалось удалить промежуточную таблицу {}.", staging, exception);
+        }
+    }
+
+    /**
+     * Удаляет самые старые завершённые загрузки сверх хранимого количества.
+     */
+    private void forget() {
+        final Iterator<ImportTask> iterator = this.tasks.iterator();
+
+        while (this.tasks.size() > HISTORY_SIZE && iterator.hasNext()) {
+            if (iterator.next().isFinished()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Класс загрузки.
+     */
+    private static final class ImportTask {
+        /**
+         * Идентификатор загрузки.
+         */
+        private final long importId;
+
+        /**
+         * Сохраняются ли переданные идентификаторы.
+         */
+        private final boolean preserveIds;
+
+        /**
+         * Время начала в наносекундах.
+         */
+        private final long start = System.nanoTime();
+
+        /**
+         * Дата начала.
+         */
+        private final Timestamp dateStart = new Timestamp(System.currentTimeMillis());
+
+        /**
+         * Количество прочитанных ссылок.
+         */
+        private final LongAdder received = new LongAdder();
+
+        /**
+         * Количество отклонённых ссылок.
+         */
+        private final LongAdder rejected = new LongAdder();
+
+        /**
+         * Количество скопированных ссылок.
+         */
+        private final LongAdder copied = new LongAdder();
+
+        /**
+         * Количество добавленных ссылок.
+         */
+        private final AtomicLong imported = new AtomicLong();
+
+        /**
+         * Нарушения первых отклонённых ссылок.
+         */
+        private final List<BatchResult> violations = Collections.synchronizedList(new ArrayList<>());
+
+        /**
+         * Состояние.
+         */
+        private volatile ImportStatus status = ImportStatus.COPYING;
+
+        /**
+         * Время окончания в наносекундах.
+         */
+        private volatile long end;
+
+        /**
+         * Конструктор для {@code ImportTask}.
+         *
+         * @param importId    идентификатор загрузки.
+         * @param preserveIds сохраняются ли переданные идентификаторы.
+         */
+        private ImportTask(final long importId, final boolean preserveIds) {
+            this.importId = importId;
+            this.preserveIds = preserveIds;
+        }
+
+        /**
+         * Учитывает отклонённую ссылку.
+         *
+         * @param violation нарушения ссылки.
+         */
+        private void reject(final BatchResult violation) {
+            this.rejected.increment();
+
+            if (this.violations.size() < VIOLATIONS_SIZE) {
+                this.violations.add(violation);
+            }
+        }
+
+        /**
+         * Завершает загрузку.
+         *
+         * @param status итоговое состояние.
+         */
+        private void finish(final ImportStatus status) {
+            this.end = System.nanoTime();
+            this.status = status;
+        }
+
+        /**
+         * Проверяет, завершена ли загрузка.
+         *
+         * @return {@code true} если загрузка завершена, иначе {@code false}.
+         */
+        private boolean isFinished() {
+            return this.status == ImportStatus.COMPLETED || this.status == ImportStatus.FAILED;
+        }
+
+        /**
+         * Возвращает ход загрузки.
+         *
+         * @return ход загрузки.
+         */
+        private ImportProgress toProgress() {
+            final long received = this.received.sum();
+            final long elapsed = (this.isFinished() ? this.end : System.nanoTime()) - this.start;
+            final double duration = elapsed / 1_000_000_000.0;
+
+            return new ImportProgress(
+                    this.importId,
+                    this.status,
+                    this.preserveIds,
+                    received,
+                    this.rejected.sum(),
+                    this.copied.sum(),
+                    this.imported.get(),
+                    this.dateStart,
+                    duration,
+                    duration == 0.0 ? 0.0 : received / duration,
+                    List.copyOf(this.violations)
+            );
+        }
+    }
+}
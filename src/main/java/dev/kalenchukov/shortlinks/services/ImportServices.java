@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.services;
+
+import dev.kalenchukov.shortlinks.entities.ImportProgress;
+import dev.kalenchukov.shortlinks.entities.Link;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Интерфейс для реализации сервиса загрузки ссылок.
+ *
+ * @author Алексей Каленчуков
+ */
+public interface ImportServices {
+    /**
+     * Загружает ссылки.
+     * <p>
+     * Ссылки, не прошедшие проверку, пропускаются.
+     *
+     * @param links       ссылки.
+     * @param preserveIds сохранять ли переданные идентификаторы ссылок.
+     * @return итог загрузки.
+     */
+    ImportProgress importAll(Iterator<Link> links, boolean preserveIds);
+
+    /**
+     * Возвращает ход выполняющихся и последних завершённых загрузок.
+     *
+     * @return ход загрузок.
+     */
+    List<ImportProgress> getImports();
+}
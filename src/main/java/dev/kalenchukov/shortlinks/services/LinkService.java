@@ -24,17 +24,41 @@
 
 package dev.kalenchukov.shortlinks.services;
 
+import dev.kalenchukov.shortlinks.caches.LinkCaches;
+import dev.kalenchukov.shortlinks.caches.LinkFilters;
+import dev.kalenchukov.shortlinks.caches.UrlCaches;
+import dev.kalenchukov.shortlinks.codecs.UrlHashes;
+import dev.kalenchukov.shortlinks.entities.ClickBucket;
+import dev.kalenchukov.shortlinks.entities.ClickStatistics;
+import dev.kalenchukov.shortlinks.entities.Clicks;
 import dev.kalenchukov.shortlinks.entities.Count;
+import dev.kalenchukov.shortlinks.entities.CountMode;
+import dev.kalenchukov.shortlinks.entities.Granularity;
 import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.exceptions.BadRequestException;
+import dev.kalenchukov.shortlinks.exceptions.LinkExpiredException;
 import dev.kalenchukov.shortlinks.exceptions.ServerErrorException;
 import dev.kalenchukov.shortlinks.exceptions.LinkNotFoundException;
+import dev.kalenchukov.shortlinks.repositories.ClickCounters;
+import dev.kalenchukov.shortlinks.repositories.ClickStatisticsRepositories;
 import dev.kalenchukov.shortlinks.repositories.LinkRepositories;
+import dev.kalenchukov.shortlinks.repositories.LinkWriters;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Класс сервиса ссылок.
@@ -53,14 +77,78 @@ public class LinkService implements LinkServices {
      */
     private final LinkRepositories linkRepository;
 
+    /**
+     * Кэш ссылок.
+     */
+    private final LinkCaches linkCache;
+
+    /**
+     * Фильтр существующих ссылок.
+     */
+    private final LinkFilters linkFilter;
+
+    /**
+     * Добавление ссылок.
+     */
+    private final LinkWriters linkWriter;
+
+    /**
+     * Кэш идентификаторов ссылок по хэшу URL-адреса.
+     */
+    private final UrlCaches urlCache;
+
+    /**
+     * Хэширование URL-адресов ссылок.
+     */
+    private final UrlHashes urlHash;
+
+    /**
+     * Счётчик переходов по ссылкам.
+     */
+    private final ClickCounters clickCounter;
+
+    /**
+     * Репозиторий статистики переходов по ссылкам.
+     */
+    private final ClickStatisticsRepositories clickStatisticsRepository;
+
+    /**
+     * Максимальное количество интервалов в запросе статистики.
+     */
+    private final long maxBuckets;
+
     /**
      * Контроллер для {@code LinkService}.
      *
-     * @param linkRepository репозиторий ссылок.
+     * @param linkRepository            репозиторий ссылок.
+     * @param linkCache                 кэш ссылок.
+     * @param linkFilter                фильтр существующих ссылок.
+     * @param linkWriter                добавление ссылок.
+     * @param urlCache                  кэш идентификаторов ссылок по хэшу URL-адреса.
+     * @param urlHash                   хэширование URL-адресов ссылок.
+     * @param clickCounter              счётчик переходов по ссылкам.
+     * @param clickStatisticsRepository репозиторий статистики переходов по ссылкам.
+     * @param maxBuckets                максимальное количество интервалов в запросе статистики.
      */
     @Autowired
-    public LinkService(final LinkRepositories linkRepository) {
+    public LinkService(final LinkRepositories linkRepository,
+                       final LinkCaches linkCache,
+                       final LinkFilters linkFilter,
+                       final LinkWriters linkWriter,
+                       final UrlCaches urlCache,
+                       final UrlHashes urlHash,
+                       final ClickCounters clickCounter,
+                       final ClickStatisticsRepositories clickStatisticsRepository,
+                       @Value("${shortlinks.stats.max-buckets:10000}") final long maxBuckets) {
         this.linkRepository = linkRepository;
+        this.linkCache = linkCache;
+        this.linkFilter = linkFilter;
+        this.linkWriter = linkWriter;
+        this.urlCache = urlCache;
+        this.urlHash = urlHash;
+        this.clickCounter = clickCounter;
+        this.clickStatisticsRepository = clickStatisticsRepository;
+        this.maxBuckets = maxBuckets;
     }
 
     /**
@@ -73,10 +161,10 @@ public class LinkService implements LinkServices {
      */
     @Override
     public Link get(final long linkId) {
-        LOG.debug("Выполнение логики для получения ссылки с ID " + linkId + ".");
+        LOG.debug("Выполнение логики для получения ссылки с ID {}.", linkId);
 
         try {
-            return this.linkRepository.getById(linkId).orElseThrow(
+            return this.linkCache.get(linkId, this::load).orElseThrow(
                     () -> new LinkNotFoundException("Ссылка не найдена.")
             );
         } catch (SQLException exception) {
@@ -87,50 +175,199 @@ public class LinkService implements LinkServices {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Срок действия проверяется по ссылке из кэша, поэтому переход по закэшированной ссылке
+     * с истёкшим сроком отклоняется без обращения к базе данных.
      *
      * @param linkId {@inheritDoc}
      * @return {@inheritDoc}
      * @throws LinkNotFoundException если ссылка с таким идентификатором не найдена.
+     * @throws LinkExpiredException  если срок действия ссылки истёк.
      * @throws ServerErrorException  если произошла ошибка при работе с базой данных.
      */
     @Override
     public String getUrl(final long linkId) {
-        LOG.debug("Выполнение логики для получения URL-адреса ссылки с ID " + linkId + ".");
+        LOG.debug("Выполнение логики для получения URL-адреса ссылки с ID {}.", linkId);
+
+        final Link link = this.get(linkId);
+
+        if (link.isExpired(Instant.now())) {
+            LOG.debug("Срок действия ссылки с ID {} истёк {}.", linkId, link.getExpiresAt());
+
+            throw new LinkExpiredException("Срок действия ссылки истёк.");
+        }
+
+        this.clickCounter.increment(linkId);
+
+        return link.getUrl();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws LinkNotFoundException если ссылка с таким идентификатором не найдена.
+     * @throws ServerErrorException  если произошла ошибка при работе с базой данных.
+     */
+    @Override
+    public Clicks getClicks(final long linkId) {
+        LOG.debug("Выполнение логики для получения количества переходов по ссылке с ID {}.", linkId);
+
+        final Link link = this.get(linkId);
+
+        try {
+            return new Clicks(link.getLinkId(), link.getCode(), this.clickCounter.get(linkId));
+        } catch (SQLException exception) {
+            LOG.error("Ошибка при обращении к репозиторию.", exception);
+            throw new ServerErrorException("Ошибка при работе с базой данных.");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Начало периода выравнивается вниз, а конец вверх по границе интервала в часовом поясе сервера.
+     *
+     * @param linkId      {@inheritDoc}
+     * @param from        {@inheritDoc}
+     * @param to          {@inheritDoc}
+     * @param granularity {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws LinkNotFoundException если ссылка с таким идентификатором не найдена.
+     * @throws BadRequestException   если период пустой или содержит слишком много интервалов.
+     * @throws ServerErrorException  если произошла ошибка при работе с базой данных.
+     */
+    @Override
+    public ClickStatistics getStatistics(final long linkId,
+                                         final Instant from,
+                                         final Instant to,
+                                         final Granularity granularity) {
+        LOG.debug("Выполнение логики для получения статистики переходов по ссылке с ID {} с {} по {}.", linkId, from, to);
+
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("Начало периода должно быть раньше конца.");
+        }
+
+        final ZonedDateTime alignedFrom = from.atZone(ZoneId.systemDefault()).truncatedTo(granularity.getUnit());
+        ZonedDateTime alignedTo = to.atZone(ZoneId.systemDefault()).truncatedTo(granularity.getUnit());
 
-        return this.get(linkId).getUrl();
+        if (alignedTo.toInstant().isBefore(to)) {
+            alignedTo = alignedTo.plus(1L, granularity.getUnit());
+        }
+
+        if (granularity.getUnit().between(alignedFrom, alignedTo) > this.maxBuckets) {
+            throw new BadRequestException("Период содержит больше " + this.maxBuckets + " интервалов.");
+        }
+
+        final Link link = this.get(linkId);
+        final Timestamp fromTimestamp = Timestamp.from(alignedFrom.toInstant());
+        final Timestamp toTimestamp = Timestamp.from(alignedTo.toInstant());
+
+        try {
+            final List<ClickBucket> buckets = this.clickStatisticsRepository.getBuckets(
+                    linkId, granularity, fromTimestamp, toTimestamp
+            );
+
+            return new ClickStatistics(
+                    link.getLinkId(), link.getCode(), granularity, fromTimestamp, toTimestamp, buckets
+            );
+        } catch (SQLException exception) {
+            LOG.error("Ошибка при обращении к репозиторию.", exception);
+            throw new ServerErrorException("Ошибка при работе с базой данных.");
+        }
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Если URL-адрес недавно сокращался, возвращает существующую ссылку без добавления.
+     * Ссылки со сроком действия добавляются всегда, так как срок существующей ссылки может отличаться.
      *
      * @param link {@inheritDoc}
      * @return {@inheritDoc}
+     * @throws BadRequestException  если задан срок действия, а репозиторий его не сохраняет.
      * @throws ServerErrorException если произошла ошибка при работе с базой данных.
      */
     @Override
     public Link add(final Link link) {
-        LOG.debug("Выполнение логики для добавления ссылки " + link + ".");
+        LOG.debug("Выполнение логики для добавления ссылки {}.", link);
+
+        if (link.getExpiresAt() != null && !this.linkRepository.isExpirySupported()) {
+            throw new BadRequestException("Хранилище ссылок не сохраняет срок действия.");
+        }
+
+        final UUID urlHash = this.urlCache.isEnabled() && link.getExpiresAt() == null
+                ? this.urlHash.hash(link.getUrl())
+                : null;
+
+        if (urlHash != null) {
+            final Optional<Link> existingLink = this.findByUrlHash(urlHash);
+
+            if (existingLink.isPresent()) {
+                return existingLink.get();
+            }
+        }
 
         try {
-            return this.linkRepository.save(link);
+            final Link savedLink = this.linkWriter.write(link);
+            this.linkFilter.add(savedLink.getLinkId());
+            this.linkCache.put(savedLink);
+
+            if (urlHash != null) {
+                this.urlCache.put(urlHash, savedLink.getLinkId());
+            }
+
+            return savedLink;
         } catch (SQLException exception) {
             LOG.error("Ошибка при обращении к репозиторию.", exception);
             throw new ServerErrorException("Ошибка при работе с базой данных.");
         }
     }
 
+    /**
+     * Возвращает недавно добавленную ссылку с URL-адресом.
+     *
+     * @param urlHash хэш URL-адреса.
+     * @return ссылку или пустое значение, если её нет в кэше или она удалена.
+     */
+    private Optional<Link> findByUrlHash(final UUID urlHash) {
+        final OptionalLong linkId = this.urlCache.get(urlHash);
+
+        if (linkId.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            final Link link = this.get(linkId.getAsLong());
+            LOG.debug("Найдена недавно добавленная ссылка с тем же URL-адресом {}.", link);
+
+            return Optional.of(link);
+        } catch (LinkNotFoundException exception) {
+            this.urlCache.invalidate(urlHash);
+
+            return Optional.empty();
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
+     * @param mode {@inheritDoc}
      * @return {@inheritDoc}
      * @throws ServerErrorException если произошла ошибка при работе с базой данных.
      */
     @Override
-    public Count count() {
-        LOG.debug("Выполнение логики для получения количества ссылок.");
+    public Count count(final CountMode mode) {
+        LOG.debug("Выполнение логики для получения количества ссылок способом {}.", mode);
 
         try {
-            return new Count(this.linkRepository.size());
+            final long size = switch (mode) {
+                case EXACT -> this.linkRepository.size();
+                case ESTIMATE -> this.linkRepository.estimateSize();
+            };
+
+            return new Count(size, mode);
         } catch (SQLException exception) {
             LOG.error("Ошибка при обращении к репозиторию.", exception);
             throw new ServerErrorException("Ошибка при работе с базой данных.");
@@ -146,10 +383,17 @@ public class LinkService implements LinkServices {
      */
     @Override
     public void delete(final long linkId) {
-        LOG.debug("Выполнение логики для удаления ссылки с ID " + linkId + ".");
+        LOG.debug("Выполнение логики для удаления ссылки с ID {}.", linkId);
+
+        if (this.linkFilter.isAbsent(linkId)) {
+            throw new LinkNotFoundException("Ссылка не найдена.");
+        }
 
         try {
-            if (!this.linkRepository.deleteById(linkId)) {
+            final boolean deleted = this.linkRepository.deleteById(linkId);
+            this.linkCache.invalidate(linkId);
+
+            if (!deleted) {
                 throw new LinkNotFoundException("Ссылка не найдена.");
             }
         } catch (SQLException exception) {
@@ -157,4 +401,41 @@ public class LinkService implements LinkServices {
             throw new ServerErrorException("Ошибка при работе с базой данных.");
         }
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param from     {@inheritDoc}
+     * @param to       {@inheritDoc}
+     * @param consumer {@inheritDoc}
+     * @throws ServerErrorException если произошла ошибка при работе с базой данных.
+     */
+    @Override
+    public void export(final Timestamp from, final Timestamp to, final Consumer<Link> consumer) {
+        LOG.debug("Выполнение логики для выгрузки ссылок, созданных с {} по {}.", from, to);
+
+        try {
+            this.linkRepository.forEach(from, to, consumer);
+        } catch (SQLException exception) {
+            LOG.error("Ошибка при обращении к репозиторию.", exception);
+            throw new ServerErrorException("Ошибка при работе с базой данных.");
+        }
+    }
+
+    /**
+     * Загружает ссылку из репозитория, если фильтр не исключает её существование.
+     *
+     * @param linkId идентификатор ссылки.
+     * @return ссылку.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private Optional<Link> load(final long linkId) throws SQLException {
+        if (this.linkFilter.isAbsent(linkId)) {
+            LOG.debug("Ссылки с ID {} не существует по данным фильтра.", linkId);
+
+            return Optional.empty();
+        }
+
+        return this.linkRepository.getById(linkId);
+    }
 }
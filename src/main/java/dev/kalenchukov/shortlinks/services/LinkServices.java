@@ -24,12 +24,20 @@
 
 package dev.kalenchukov.shortlinks.services;
 
+import dev.kalenchukov.shortlinks.entities.ClickStatistics;
+import dev.kalenchukov.shortlinks.entities.Clicks;
 import dev.kalenchukov.shortlinks.entities.Count;
+import dev.kalenchukov.shortlinks.entities.CountMode;
+import dev.kalenchukov.shortlinks.entities.Granularity;
 import dev.kalenchukov.shortlinks.entities.Link;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import org.springframework.validation.annotation.Validated;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.function.Consumer;
+
 /**
  * Интерфейс для реализации сервиса ссылок.
  *
@@ -46,13 +54,37 @@ public interface LinkServices {
     Link get(@Positive(message = "Идентификатор должен быть больше 0") long linkId);
 
     /**
-     * Возвращает URL ссылки.
+     * Возвращает URL ссылки для перехода и учитывает переход.
+     * <p>
+     * По ссылке с истёкшим сроком действия переход не выполняется.
      *
      * @param linkId идентификатор ссылки.
      * @return URL ссылки.
      */
     String getUrl(@Positive(message = "Идентификатор должен быть больше 0") long linkId);
 
+    /**
+     * Возвращает количество переходов по ссылке.
+     *
+     * @param linkId идентификатор ссылки.
+     * @return количество переходов.
+     */
+    Clicks getClicks(@Positive(message = "Идентификатор должен быть больше 0") long linkId);
+
+    /**
+     * Возвращает статистику переходов по ссылке за период.
+     *
+     * @param linkId      идентификатор ссылки.
+     * @param from        начало периода включительно.
+     * @param to          конец периода исключительно.
+     * @param granularity детализация.
+     * @return статистику переходов.
+     */
+    ClickStatistics getStatistics(@Positive(message = "Идентификатор должен быть больше 0") long linkId,
+                                  Instant from,
+                                  Instant to,
+                                  Granularity granularity);
+
     /**
      * Добавляет ссылку.
      *
@@ -64,9 +96,10 @@ public interface LinkServices {
     /**
      * Возвращает количество ссылок.
      *
+     * @param mode способ подсчёта.
      * @return количество ссылок.
      */
-    Count count();
+    Count count(CountMode mode);
 
     /**
      * Удаляет ссылку.
@@ -74,4 +107,13 @@ public interface LinkServices {
      * @param linkId идентификатор ссылки.
      */
     void delete(@Positive(message = "Идентификатор должен быть больше 0") long linkId);
+
+    /**
+     * Передаёт ссылки, созданные за период, в порядке идентификаторов.
+     *
+     * @param from     начало периода включительно или {@code null}.
+     * @param to       конец периода исключительно или {@code null}.
+     * @param consumer получатель ссылок.
+     */
+    void export(Timestamp from, Timestamp to, Consumer<Link> consumer);
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.services;
+
+import dev.kalenchukov.shortlinks.caches.LinkCaches;
+import dev.kalenchukov.shortlinks.entities.CacheStatistics;
+import dev.kalenchukov.shortlinks.entities.WriterStatistics;
+import dev.kalenchukov.shortlinks.repositories.LinkWriters;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Класс сервиса статистики.
+ *
+ * @author Алексей Каленчуков
+ */
+@Service
+public class StatisticsService implements StatisticsServices {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(StatisticsService.class);
+
+    /**
+     * Кэш ссылок.
+     */
+    private final LinkCaches linkCache;
+
+    /**
+     * Добавление ссылок.
+     */
+    private final LinkWriters linkWriter;
+
+    /**
+     * Конструктор для {@code StatisticsService}.
+     *
+     * @param linkCache  кэш ссылок.
+     * @param linkWriter добавление ссылок.
+     */
+    @Autowired
+    public StatisticsService(final LinkCaches linkCache, final LinkWriters linkWriter) {
+        this.linkCache = linkCache;
+        this.linkWriter = linkWriter;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public CacheStatistics getCacheStatistics() {
+        LOG.debug("Выполнение логики для получения статистики кэша ссылок.");
+
+        return this.linkCache.getStatistics();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public WriterStatistics getWriterStatistics() {
+        LOG.debug("Выполнение логики для получения статистики группового добавления ссылок.");
+
+        return this.linkWriter.getStatistics();
+    }
+}
@@ -0,0 +1,61 @@
+-- Блокирует изменение ссылок до заполнения счётчиков
+LOCK TABLE links IN SHARE MODE;
+
+-- Создаёт таблицу счётчиков количества ссылок
+-- Счётчик разбит на части, чтобы одновременные изменения не ждали друг друга
+CREATE TABLE IF NOT EXISTS links_counters
+(
+	slot SMALLINT PRIMARY KEY,
+	count BIGINT NOT NULL DEFAULT 0
+);
+
+-- Заполняет счётчики текущим количеством ссылок
+INSERT INTO links_counters (slot, count)
+SELECT slot, CASE WHEN slot = 0 THEN (SELECT COUNT(*) FROM links) ELSE 0 END
+FROM generate_series(0, 15) AS slot
+ON CONFLICT (slot) DO NOTHING;
+
+-- Увеличивает счётчик на количество добавленных ссылок
+CREATE OR REPLACE FUNCTION links_counters_insert() RETURNS TRIGGER AS $$
+BEGIN
+	UPDATE links_counters
+	SET count = count + (SELECT COUNT(*) FROM inserted_links)
+	WHERE slot = pg_backend_pid() % 16;
+
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Уменьшает счётчик на количество удалённых ссылок
+CREATE OR REPLACE FUNCTION links_counters_delete() RETURNS TRIGGER AS $$
+BEGIN
+	UPDATE links_counters
+	SET count = count - (SELECT COUNT(*) FROM deleted_links)
+	WHERE slot = pg_backend_pid() % 16;
+
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Обнуляет счётчики при очистке таблицы ссылок
+CREATE OR REPLACE FUNCTION links_counters_truncate() RETURNS TRIGGER AS $$
+BEGIN
+	UPDATE links_counters SET count = 0;
+
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER links_counters_insert
+	AFTER INSERT ON links
+	REFERENCING NEW TABLE AS inserted_links
+	FOR EACH STATEMENT EXECUTE FUNCTION links_counters_insert();
+
+CREATE TRIGGER links_counters_delete
+	AFTER DELETE ON links
+	REFERENCING OLD TABLE AS deleted_links
+	FOR EACH STATEMENT EXECUTE FUNCTION links_counters_delete();
+
+CREATE TRIGGER links_counters_truncate
+	AFTER TRUNCATE ON links
+	FOR EACH STATEMENT EXECUTE FUNCTION links_counters_truncate();
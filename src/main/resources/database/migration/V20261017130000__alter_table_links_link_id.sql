@@ -0,0 +1,4 @@
+-- Идентификаторы ссылок могут назначаться приложением, а не последовательностью
+COMMENT ON COLUMN links.link_id IS 'Идентификатор из последовательности links_link_id_seq или от генератора приложения';
+ALTER TABLE links ADD CONSTRAINT links_link_id_check CHECK (link_id > 0) NOT VALID;
+ALTER TABLE links VALIDATE CONSTRAINT links_link_id_check;
@@ -0,0 +1,5 @@
+-- Добавляет хэш нормализованного URL-адреса для исключения повторяющихся ссылок
+ALTER TABLE links ADD COLUMN IF NOT EXISTS url_hash UUID;
+
+-- Уникальный индекс содержит только ссылки с хэшем, поэтому растёт по количеству уникальных URL-адресов
+CREATE UNIQUE INDEX IF NOT EXISTS links_url_hash_key ON links (url_hash) WHERE url_hash IS NOT NULL;
@@ -0,0 +1,8 @@
+-- Создаёт таблицу количества переходов по ссылкам
+-- Количество накапливается в памяти приложения и добавляется сюда группами
+CREATE TABLE IF NOT EXISTS link_clicks
+(
+	link_id BIGINT PRIMARY KEY REFERENCES links (link_id) ON DELETE CASCADE,
+	clicks BIGINT NOT NULL DEFAULT 0,
+	date_update TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
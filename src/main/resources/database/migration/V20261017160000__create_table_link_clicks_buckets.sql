@@ -0,0 +1,25 @@
+-- Создаёт таблицу количества переходов по ссылкам за интервалы времени
+-- Переходы записываются в минутные интервалы, которые в фоне сворачиваются в часовые, а часовые в дневные
+CREATE TABLE IF NOT EXISTS link_clicks_buckets
+(
+	link_id BIGINT NOT NULL REFERENCES links (link_id) ON DELETE CASCADE,
+	granularity VARCHAR(6) NOT NULL CHECK (granularity IN ('minute', 'hour', 'day')),
+	bucket TIMESTAMP NOT NULL,
+	clicks BIGINT NOT NULL,
+	PRIMARY KEY (link_id, granularity, bucket)
+);
+
+-- Индекс для сворачивания и удаления устаревших интервалов
+CREATE INDEX IF NOT EXISTS link_clicks_buckets_granularity_bucket_idx ON link_clicks_buckets (granularity, bucket);
+
+-- Создаёт таблицу границ сворачивания
+-- Интервалы более мелкой детализации до границы уже учтены в интервалах этой детализации
+CREATE TABLE IF NOT EXISTS link_clicks_rollups
+(
+	granularity VARCHAR(6) PRIMARY KEY CHECK (granularity IN ('hour', 'day')),
+	rolled_to TIMESTAMP NOT NULL
+);
+
+INSERT INTO link_clicks_rollups (granularity, rolled_to)
+VALUES ('hour', date_trunc('hour', LOCALTIMESTAMP)), ('day', date_trunc('day', LOCALTIMESTAMP))
+ON CONFLICT (granularity) DO NOTHING;
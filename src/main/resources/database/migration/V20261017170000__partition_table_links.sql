@@ -0,0 +1,189 @@
+-- Переводит таблицу ссылок на декларативное секционирование по диапазонам link_id
+-- Существующая таблица без копирования данных становится первой секцией links_p0,
+-- новые ссылки попадают в секции, создаваемые заранее функцией links_create_partitions
+LOCK TABLE links IN ACCESS EXCLUSIVE MODE;
+
+-- Уникальный индекс секционированной таблицы обязан включать ключ секционирования,
+-- поэтому хэши URL-адресов для исключения повторяющихся ссылок хранятся в отдельной таблице
+CREATE TABLE IF NOT EXISTS links_url_hashes
+(
+	url_hash UUID PRIMARY KEY,
+	link_id BIGINT NOT NULL
+);
+
+INSERT INTO links_url_hashes (url_hash, link_id)
+SELECT url_hash, link_id FROM links WHERE url_hash IS NOT NULL
+ON CONFLICT (url_hash) DO NOTHING;
+
+-- Индекс для каскадного удаления и удаления секций
+CREATE INDEX IF NOT EXISTS links_url_hashes_link_id_idx ON links_url_hashes (link_id);
+
+DROP INDEX IF EXISTS links_url_hash_key;
+ALTER TABLE links DROP COLUMN IF EXISTS url_hash;
+
+-- Внешние ключи и триггеры с переходными таблицами переносятся на секционированную таблицу
+ALTER TABLE link_clicks DROP CONSTRAINT IF EXISTS link_clicks_link_id_fkey;
+ALTER TABLE link_clicks_buckets DROP CONSTRAINT IF EXISTS link_clicks_buckets_link_id_fkey;
+
+DROP TRIGGER IF EXISTS links_counters_insert ON links;
+DROP TRIGGER IF EXISTS links_counters_delete ON links;
+DROP TRIGGER IF EXISTS links_counters_truncate ON links;
+
+ALTER TABLE links RENAME TO links_p0;
+ALTER INDEX links_pkey RENAME TO links_p0_pkey;
+
+CREATE TABLE links
+(
+	link_id BIGINT NOT NULL DEFAULT nextval('links_link_id_seq') CONSTRAINT links_link_id_check CHECK (link_id > 0),
+	url VARCHAR(255) NOT NULL,
+	date_create TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+	PRIMARY KEY (link_id)
+) PARTITION BY RANGE (link_id);
+
+COMMENT ON COLUMN links.link_id IS 'Идентификатор из последовательности links_link_id_seq или от генератора приложения';
+
+-- Последовательность не должна удаляться вместе с секцией links_p0
+ALTER SEQUENCE links_link_id_seq OWNED BY links.link_id;
+
+-- Создаёт таблицу секций ссылок
+-- Нижняя граница NULL означает секцию без нижней границы
+CREATE TABLE IF NOT EXISTS links_partitions
+(
+	name VARCHAR(63) PRIMARY KEY,
+	lower_bound BIGINT,
+	upper_bound BIGINT NOT NULL UNIQUE
+);
+
+-- Создаёт секции, пока последняя из них не будет содержать идентификатор up_to
+-- Ширина секции по умолчанию равна ширине последней секции
+-- Если до up_to больше 100 секций, промежуток занимает одна секция
+CREATE OR REPLACE FUNCTION links_create_partitions(up_to BIGINT, width BIGINT DEFAULT NULL) RETURNS INTEGER AS $$
+DECLARE
+	last_lower BIGINT;
+	last_upper BIGINT;
+	next_upper BIGINT;
+	step BIGINT;
+	created INTEGER := 0;
+BEGIN
+	PERFORM pg_advisory_xact_lock(hashtext('links_partitions'));
+
+	SELECT lower_bound, upper_bound INTO last_lower, last_upper
+	FROM links_partitions ORDER BY upper_bound DESC LIMIT 1;
+
+	step := COALESCE(width, last_upper - last_lower);
+
+	IF step IS NULL OR step <= 0 THEN
+		RAISE EXCEPTION 'Не задана ширина секций ссылок.';
+	END IF;
+
+	WHILE last_upper <= up_to LOOP
+		next_upper := CASE
+			WHEN up_to - last_upper >= step * 100 THEN up_to - (up_to - last_upper) % step
+			ELSE last_upper + step
+		END;
+
+		EXECUTE format(
+			'CREATE TABLE %I PARTITION OF links FOR VALUES FROM (%s) TO (%s)',
+			'links_p' || last_upper, last_upper, next_upper
+		);
+
+		INSERT INTO links_partitions (name, lower_bound, upper_bound)
+		VALUES ('links_p' || last_upper, last_upper, next_upper);
+
+		last_upper := next_upper;
+		created := created + 1;
+	END LOOP;
+
+	RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Удаляет секции, все ссылки которых созданы до created_before
+-- Идентификаторы выдаются по возрастанию времени, поэтому время создания ссылок секции
+-- определяется по первой ссылке следующей секции, а последняя непустая секция не удаляется
+-- Переходы и хэши URL-адресов ссылок секции удаляются по индексам, количество ссылок уменьшается
+CREATE OR REPLACE FUNCTION links_drop_partitions(created_before TIMESTAMP) RETURNS INTEGER AS $$
+DECLARE
+	part RECORD;
+	next_date TIMESTAMP;
+	partition_size BIGINT;
+	dropped INTEGER := 0;
+BEGIN
+	PERFORM pg_advisory_xact_lock(hashtext('links_partitions'));
+
+	FOR part IN SELECT name, lower_bound, upper_bound FROM links_partitions ORDER BY upper_bound LOOP
+		SELECT date_create INTO next_date
+		FROM links WHERE link_id >= part.upper_bound ORDER BY link_id LIMIT 1;
+
+		EXIT WHEN next_date IS NULL OR next_date >= created_before;
+
+		DELETE FROM link_clicks
+		WHERE link_id >= COALESCE(part.lower_bound, 0) AND link_id < part.upper_bound;
+		DELETE FROM link_clicks_buckets
+		WHERE link_id >= COALESCE(part.lower_bound, 0) AND link_id < part.upper_bound;
+		DELETE FROM links_url_hashes
+		WHERE link_id >= COALESCE(part.lower_bound, 0) AND link_id < part.upper_bound;
+
+		EXECUTE format('SELECT COUNT(*) FROM %I', part.name) INTO partition_size;
+		UPDATE links_counters SET count = count - partition_size WHERE slot = 0;
+
+		EXECUTE format('ALTER TABLE links DETACH PARTITION %I', part.name);
+		EXECUTE format('DROP TABLE %I', part.name);
+		DELETE FROM links_partitions WHERE name = part.name;
+
+		dropped := dropped + 1;
+	END LOOP;
+
+	RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Присоединяет существующую таблицу первой секцией
+-- Если перед миграцией на ней создано и проверено ограничение links_p0_bound (link_id < N),
+-- граница секции берётся из него и таблица не просматривается под блокировкой
+DO $$
+DECLARE
+	bound BIGINT;
+BEGIN
+	SELECT (regexp_match(pg_get_constraintdef(oid), '<\s*''?(\d+)'))[1]::BIGINT INTO bound
+	FROM pg_constraint
+	WHERE conrelid = 'links_p0'::REGCLASS AND conname = 'links_p0_bound' AND convalidated;
+
+	IF bound IS NULL THEN
+		SELECT GREATEST(COALESCE(MAX(link_id), 0), (SELECT last_value FROM links_link_id_seq)) + 1 INTO bound
+		FROM links_p0;
+
+		ALTER TABLE links_p0 DROP CONSTRAINT IF EXISTS links_p0_bound;
+		EXECUTE format('ALTER TABLE links_p0 ADD CONSTRAINT links_p0_bound CHECK (link_id < %s)', bound);
+	END IF;
+
+	EXECUTE format('ALTER TABLE links ATTACH PARTITION links_p0 FOR VALUES FROM (MINVALUE) TO (%s)', bound);
+
+	INSERT INTO links_partitions (name, lower_bound, upper_bound) VALUES ('links_p0', NULL, bound);
+
+	PERFORM links_create_partitions(bound, 10000000);
+END;
+$$;
+
+CREATE TRIGGER links_counters_insert
+	AFTER INSERT ON links
+	REFERENCING NEW TABLE AS inserted_links
+	FOR EACH STATEMENT EXECUTE FUNCTION links_counters_insert();
+
+CREATE TRIGGER links_counters_delete
+	AFTER DELETE ON links
+	REFERENCING OLD TABLE AS deleted_links
+	FOR EACH STATEMENT EXECUTE FUNCTION links_counters_delete();
+
+CREATE TRIGGER links_counters_truncate
+	AFTER TRUNCATE ON links
+	FOR EACH STATEMENT EXECUTE FUNCTION links_counters_truncate();
+
+ALTER TABLE link_clicks
+	ADD CONSTRAINT link_clicks_link_id_fkey FOREIGN KEY (link_id) REFERENCES links (link_id) ON DELETE CASCADE;
+
+ALTER TABLE link_clicks_buckets
+	ADD CONSTRAINT link_clicks_buckets_link_id_fkey FOREIGN KEY (link_id) REFERENCES links (link_id) ON DELETE CASCADE;
+
+ALTER TABLE links_url_hashes
+	ADD CONSTRAINT links_url_hashes_link_id_fkey FOREIGN KEY (link_id) REFERENCES links (link_id) ON DELETE CASCADE;
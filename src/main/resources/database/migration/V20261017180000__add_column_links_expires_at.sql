@@ -0,0 +1,8 @@
+-- Добавляет необязательный срок действия ссылок
+ALTER TABLE links ADD COLUMN IF NOT EXISTS expires_at TIMESTAMP;
+
+COMMENT ON COLUMN links.expires_at IS 'Время истечения срока действия или NULL для бессрочной ссылки';
+
+-- Частичный индекс для удаления истёкших ссылок порциями, бессрочные ссылки в него не входят
+-- Индекс создаётся на каждой секции, а уже созданные заранее подходящие индексы секций присоединяются
+CREATE INDEX IF NOT EXISTS links_expires_at_idx ON links (expires_at) WHERE expires_at IS NOT NULL;
@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.reactive.controllers;
+
+import dev.kalenchukov.shortlinks.codecs.LinkCodecs;
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.exceptions.LinkNotFoundException;
+import dev.kalenchukov.shortlinks.reactive.services.ReactiveLinkServices;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Класс неблокирующего контроллера ссылок.
+ * <p>
+ * Ссылка доступна по коду с префиксом {@code /s/} и по десятичному идентификатору,
+ * по которому опубликованы ссылки, созданные до появления кодов.
+ *
+ * @author Алексей Каленчуков
+ */
+@RestController
+@RequestMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveLinkController {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(ReactiveLinkController.class);
+
+    /**
+     * Сервис для ссылок.
+     */
+    private final ReactiveLinkServices linkService;
+
+    /**
+     * Преобразование кодов ссылок в идентификаторы.
+     */
+    private final LinkCodecs linkCodec;
+
+    /**
+     * Контроллер для {@code ReactiveLinkController}.
+     *
+     * @param linkService сервис для ссылок.
+     * @param linkCodec   преобразование кодов ссылок в идентификаторы.
+     */
+    @Autowired
+    public ReactiveLinkController(final ReactiveLinkServices linkService, final LinkCodecs linkCodec) {
+        this.linkService = linkService;
+        this.linkCodec = linkCodec;
+    }
+
+    /**
+     * Переадресовывает по URL-адресу ссылки.
+     *
+     * @param linkId идентификатор ссылки или {@code null}, если ссылка запрошена по коду.
+     * @param code   код ссылки или {@code null}, если ссылка запрошена по идентификатору.
+     * @return пустой ответ.
+     */
+    @GetMapping(path = {"/{linkId:\\d+}", "/s/{code}"})
+    public Mono<ResponseEntity<Void>> redirect(@PathVariable(name = "linkId", required = false) final Long linkId,
+                                               @PathVariable(name = "code", required = false) final String code) {
+        LOG.debug("Получен запрос на получение URL-адреса ссылки с ID {} или кодом {}.", linkId, code);
+
+        return this.linkService.getUrl(this.resolve(linkId, code))
+                .map(url -> ResponseEntity.status(HttpStatus.FOUND)
+                        .location(URI.create(url))
+                        .build());
+    }
+
+    /**
+     * Возвращает информацию о ссылке.
+     *
+     * @param linkId идентификатор ссылки или {@code null}, если ссылка запрошена по коду.
+     * @param code   код ссылки или {@code null}, если ссылка запрошена по идентификатору.
+     * @return ссылку.
+     */
+    @GetMapping(path = {"/{linkId:\\d+}/info", "/s/{code}/info"})
+    public Mono<ResponseEntity<Link>> info(@PathVariable(name = "linkId", required = false) final Long linkId,
+                                           @PathVariable(name = "code", required = false) final String code) {
+        LOG.debug("Получен запрос на получение информации по ссылке с ID {} или кодом {}.", linkId, code);
+
+        return this.linkService.get(this.resolve(linkId, code))
+                .map(link -> ResponseEntity.status(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(link));
+    }
+
+    /**
+     * Возвращает идентификатор ссылки по идентификатору или коду из пути запроса.
+     *
+     * @param linkId идентификатор ссылки или {@code null}.
+     * @param code   код ссылки или {@code null}.
+     * @return идентификатор ссылки.
+     * @throws LinkNotFoundException если код некорректный.
+     */
+    private long resolve(final Long linkId, final String code) {
+        if (linkId != null) {
+            return linkId;
+        }
+
+        try {
+            return this.linkCodec.decode(code);
+        } catch (IllegalArgumentException exception) {
+            throw new LinkNotFoundException("Ссылка не найдена.");
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.reactive.exceptions.handlers;
+
+import dev.kalenchukov.shortlinks.entities.Error;
+import dev.kalenchukov.shortlinks.entities.Errors;
+import dev.kalenchukov.shortlinks.entities.Violation;
+import dev.kalenchukov.shortlinks.entities.Violations;
+import dev.kalenchukov.shortlinks.exceptions.BadRequestException;
+import dev.kalenchukov.shortlinks.exceptions.EntityNotFoundException;
+import dev.kalenchukov.shortlinks.exceptions.LinkExpiredException;
+import dev.kalenchukov.shortlinks.exceptions.ServerErrorException;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Path;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.filter.reactive.ServerHttpObservationFilter;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.List;
+
+/**
+ * Класс обработчика исключений реактивного приложения.
+ * <p>
+ * Возвращает те же ответы, что и {@code ApplicationExceptionHandler},
+ * и так же передаёт исключения приложения в наблюдение HTTP-запроса.
+ *
+ * @author Алексей Каленчуков
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(ReactiveExceptionHandler.class);
+
+    /**
+     * Контроллер для {@code ReactiveExceptionHandler}.
+     */
+    public ReactiveExceptionHandler() {
+        super();
+    }
+
+    /**
+     * Возвращает ошибку не найденной сущности.
+     *
+     * @param exception исключение.
+     * @param exchange  обмен запросом и ответом.
+     * @return ошибки.
+     */
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<Errors> handleNotFoundException(final EntityNotFoundException exception,
+                                                          final ServerWebExchange exchange) {
+        return this.toResponse(HttpStatus.NOT_FOUND, exception, exchange);
+    }
+
+    /**
+     * Возвращает ошибку ссылки с истёкшим сроком действия.
+     *
+     * @param exception исключение.
+     * @param exchange  обмен запросом и ответом.
+     * @return ошибки.
+     */
+    @ExceptionHandler(LinkExpiredException.class)
+    public ResponseEntity<Errors> handleExpiredException(final LinkExpiredException exception,
+                                                         final ServerWebExchange exchange) {
+        return this.toResponse(HttpStatus.GONE, exception, exchange);
+    }
+
+    /**
+     * Возвращает ошибку некорректного запроса.
+     *
+     * @param exception исключение.
+     * @param exchange  обмен запросом и ответом.
+     * @return ошибки.
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<Errors> handleBadRequestException(final BadRequestException exception,
+                                                            final ServerWebExchange exchange) {
+        return this.toResponse(HttpStatus.BAD_REQUEST, exception, exchange);
+    }
+
+    /**
+     * Возвращает ошибку сервера.
+     *
+     * @param exception исключение.
+     * @param exchange  обмен запросом и ответом.
+     * @return ошибки.
+     */
+    @ExceptionHandler(ServerErrorException.class)
+    public ResponseEntity<Errors> handleServerErrorException(final ServerErrorException exception,
+                                                             final ServerWebExchange exchange) {
+        return this.toResponse(HttpStatus.INTERNAL_SERVER_ERROR, exception, exchange);
+    }
+
+    /**
+     * Возвращает ошибку параметра.
+     *
+     * @param exception исключение.
+     * @return нарушения.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Violations> handleConstraintViolationException(final ConstraintViolationException exception) {
+        final List<Violation> violationResponse = exception.getConstraintViolations().stream()
+                .map(violation -> new Violation(this.getNameFieldFromPath(violation.getPropertyPath()), violation.getMessage()))
+                .toList();
+
+        final Violations violations = new Violations(
+                HttpStatus.BAD_REQUEST,
+                violationResponse
+        );
+
+        LOG.debug("Возврат HTTP-ответа: {}", violations);
+
+        return new ResponseEntity<>(violations, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Возвращает ответ с ошибкой.
+     *
+     * @param status    статус.
+     * @param exception исключение.
+     * @param exchange  обмен запросом и ответом.
+     * @return ошибки.
+     */
+    private ResponseEntity<Errors> toResponse(final HttpStatus status, final RuntimeException exception,
+                                              final ServerWebExchange exchange) {
+        ServerHttpObservationFilter.findObservationContext(exchange)
+                .ifPresent(context -> context.setError(exception));
+
+        final Error error = new Error(exception.getLocalizedMessage());
+        final Errors errors = new Errors(
+                status,
+                List.of(error)
+        );
+
+        LOG.debug("Возврат HTTP-ответа: {}", errors);
+
+        return new ResponseEntity<>(errors, status);
+    }
+
+    /**
+     * Возвращает название поля класса из пути.
+     *
+     * @param path путь.
+     * @return название поля класса.
+     */
+    private String getNameFieldFromPath(final Path path) {
+        String nameField = null;
+
+        for (Path.Node node : path) {
+            nameField = node.getName();
+        }
+
+        return nameField;
+    }
+}
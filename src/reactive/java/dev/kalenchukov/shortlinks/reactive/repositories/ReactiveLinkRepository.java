@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.reactive.repositories;
+
+import dev.kalenchukov.shortlinks.codecs.LinkCodecs;
+import dev.kalenchukov.shortlinks.entities.Link;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Класс неблокирующего репозитория ссылок.
+ *
+ * @author Алексей Каленчуков
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveLinkRepository implements ReactiveLinkRepositories {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(ReactiveLinkRepository.class);
+
+    /**
+     * Фабрика соединений с базой данных.
+     */
+    private final ConnectionFactory connectionFactory;
+
+    /**
+     * Преобразование идентификаторов ссылок в коды.
+     */
+    private final LinkCodecs linkCodec;
+
+    /**
+     * Контроллер для {@code ReactiveLinkRepository}.
+     *
+     * @param connectionFactory фабрика соединений с базой данных.
+     * @param linkCodec         преобразование идентификаторов ссылок в коды.
+     */
+    @Autowired
+    public ReactiveLinkRepository(final ConnectionFactory connectionFactory, final LinkCodecs linkCodec) {
+        this.connectionFactory = connectionFactory;
+        this.linkCodec = linkCodec;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Mono<Link> getById(final long linkId) {
+        final String query = "SELECT link_id, url, date_create, expires_at FROM links WHERE link_id = $1";
+
+        LOG.debug("Выполнение запроса в базу данных для получения ссылки с ID {}.", linkId);
+
+        return Mono.usingWhen(
+                this.connectionFactory.create(),
+                connection -> Flux.from(connection.createStatement(query).bind("$1", linkId).execute())
+                        .flatMap(result -> result.map(this::toLink))
+                        .singleOrEmpty(),
+                Connection::close
+        );
+    }
+
+    /**
+     * Возвращает ссылку из строки результата запроса.
+     *
+     * @param row      строка результата запроса.
+     * @param metadata метаданные строки.
+     * @return ссылку.
+     */
+    private Link toLink(final Row row, final RowMetadata metadata) {
+        final long linkId = row.get("link_id", Long.class);
+        final LocalDateTime expiresAt = row.get("expires_at", LocalDateTime.class);
+
+        return new Link(
+                linkId,
+                this.linkCodec.encode(linkId),
+                row.get("url", String.class),
+                Timestamp.valueOf(row.get("date_create", LocalDateTime.class)),
+                expiresAt == null ? null : Timestamp.valueOf(expiresAt)
+        );
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.reactive.services;
+
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.exceptions.LinkExpiredException;
+import dev.kalenchukov.shortlinks.exceptions.LinkNotFoundException;
+import dev.kalenchukov.shortlinks.exceptions.ServerErrorException;
+import dev.kalenchukov.shortlinks.reactive.repositories.ReactiveLinkRepositories;
+import io.r2dbc.spi.R2dbcException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Класс неблокирующего сервиса для ссылок.
+ *
+ * @author Алексей Каленчуков
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveLinkService implements ReactiveLinkServices {
+    /**
+     * Логгер.
+     */
+    private static final Logger LOG = LogManager.getLogger(ReactiveLinkService.class);
+
+    /**
+     * Репозиторий для ссылок.
+     */
+    private final ReactiveLinkRepositories linkRepository;
+
+    /**
+     * Контроллер для {@code ReactiveLinkService}.
+     *
+     * @param linkRepository репозиторий для ссылок.
+     */
+    @Autowired
+    public ReactiveLinkService(final ReactiveLinkRepositories linkRepository) {
+        this.linkRepository = linkRepository;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     * @return {@inheritDoc} Завершается ошибкой {@link LinkNotFoundException}, если ссылка не найдена,
+     * или {@link ServerErrorException}, если произошла ошибка при работе с базой данных.
+     */
+    @Override
+    public Mono<Link> get(final long linkId) {
+        LOG.debug("Выполнение логики для получения ссылки с ID {}.", linkId);
+
+        return this.linkRepository.getById(linkId)
+                .switchIfEmpty(Mono.error(() -> new LinkNotFoundException("Ссылка не найдена.")))
+                .onErrorMap(R2dbcException.class, exception -> {
+                    LOG.error("Ошибка при обращении к репозиторию.", exception);
+                    return new ServerErrorException("Ошибка при работе с базой данных.");
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param linkId {@inheritDoc}
+     * @return {@inheritDoc} Завершается ошибкой {@link LinkExpiredException}, если срок действия ссылки истёк.
+     */
+    @Override
+    public Mono<String> getUrl(final long linkId) {
+        LOG.debug("Выполнение логики для получения URL-адреса ссылки с ID {}.", linkId);
+
+        return this.get(linkId)
+                .filter(link -> !link.isExpired(Instant.now()))
+                .switchIfEmpty(Mono.error(() -> new LinkExpiredException("Срок действия ссылки истёк.")))
+                .map(Link::getUrl);
+    }
+}
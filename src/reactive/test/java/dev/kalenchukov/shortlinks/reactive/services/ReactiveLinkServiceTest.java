@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.reactive.services;
+
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.exceptions.LinkNotFoundException;
+import dev.kalenchukov.shortlinks.exceptions.ServerErrorException;
+import dev.kalenchukov.shortlinks.reactive.repositories.ReactiveLinkRepositories;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Класс проверки методов класса {@link ReactiveLinkService}.
+ *
+ * @author Алексей Каленчуков
+ */
+@ExtendWith(MockitoExtension.class)
+public class ReactiveLinkServiceTest {
+    /**
+     * Репозиторий для ссылок.
+     */
+    @Mock
+    private ReactiveLinkRepositories linkRepository;
+
+    /**
+     * Сервис для ссылок.
+     */
+    @InjectMocks
+    private ReactiveLinkService linkService;
+
+    /**
+     * Проверка метода {@link ReactiveLinkService#get(long)}.
+     */
+    @Test
+    public void get() {
+        // подготовка
+        Link expectedLink = new Link(1L, "https://kalenchukov.dev/shortlinks", Timestamp.from(Instant.now()));
+        Mockito.when(this.linkRepository.getById(1L)).thenReturn(Mono.just(expectedLink));
+
+        // выполнение
+        // проверка
+        StepVerifier.create(this.linkService.get(1L))
+                .expectNext(expectedLink)
+                .verifyComplete();
+    }
+
+    /**
+     * Проверка метода {@link ReactiveLinkService#getUrl(long)}.
+     */
+    @Test
+    public void getUrl() {
+        // подготовка
+        Link link = new Link(1L, "https://kalenchukov.dev/shortlinks", Timestamp.from(Instant.now()));
+        Mockito.when(this.linkRepository.getById(1L)).thenReturn(Mono.just(link));
+
+        // выполнение
+        // проверка
+        StepVerifier.create(this.linkService.getUrl(1L))
+                .expectNext("https://kalenchukov.dev/shortlinks")
+                .verifyComplete();
+    }
+
+    /**
+     * Проверка метода {@link ReactiveLinkService#get(long)} с несуществующим ID ссылки.
+     */
+    @Test
+    public void getNotExistLinkId() {
+        // подготовка
+        Mockito.when(this.linkRepository.getById(1L)).thenReturn(Mono.empty());
+
+        // выполнение
+        // проверка
+        StepVerifier.create(this.linkService.get(1L))
+                .expectError(LinkNotFoundException.class)
+                .verify();
+    }
+
+    /**
+     * Проверка метода {@link ReactiveLinkService#get(long)} с ошибкой базы данных.
+     */
+    @Test
+    public void getWithDatabaseError() {
+        // подготовка
+        Mockito.when(this.linkRepository.getById(1L))
+                .thenReturn(Mono.error(new R2dbcNonTransientResourceException("Соединение закрыто.")));
+
+        // выполнение
+        // проверка
+        StepVerifier.create(this.linkService.get(1L))
+                .expectError(ServerErrorException.class)
+                .verify();
+    }
+}
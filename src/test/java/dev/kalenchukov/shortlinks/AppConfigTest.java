@@ -24,11 +24,13 @@
 
 package dev.kalenchukov.shortlinks;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringBootConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
 import javax.sql.DataSource;
 
@@ -39,7 +41,10 @@ import javax.sql.DataSource;
  */
 @SpringBootConfiguration
 @ComponentScan(basePackages = {
+        "dev.kalenchukov.shortlinks.caches",
+        "dev.kalenchukov.shortlinks.codecs",
         "dev.kalenchukov.shortlinks.controllers",
+        "dev.kalenchukov.shortlinks.generators",
         "dev.kalenchukov.shortlinks.repositories",
         "dev.kalenchukov.shortlinks.services"
 })
@@ -66,4 +71,24 @@ public class AppConfigTest {
 
         return dataSource;
     }
+
+    /**
+     * Возвращает валидатор.
+     *
+     * @return валидатор.
+     */
+    @Bean
+    public LocalValidatorFactoryBean validator() {
+        return new LocalValidatorFactoryBean();
+    }
+
+    /**
+     * Возвращает преобразователь JSON.
+     *
+     * @return преобразователь JSON.
+     */
+    @Bean
+    public ObjectMapper objectMapper() {
+        return new ObjectMapper();
+    }
 }
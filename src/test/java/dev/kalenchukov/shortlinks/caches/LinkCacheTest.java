@@ -0,0 +1,184 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.caches;
+
+import dev.kalenchukov.shortlinks.entities.CacheStatistics;
+import dev.kalenchukov.shortlinks.entities.Link;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Класс проверки методов класса {@link LinkCache}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class LinkCacheTest {
+    /**
+     * Проверка метода {@link LinkCache#get(long, LinkCaches.Loader)}.
+     */
+    @Test
+    public void get() throws SQLException {
+        // подготовка
+        LinkCache linkCache = new LinkCache(true, 100L, 0L);
+        Link expectedLink = new Link(1L, "https://kalenchukov.dev/shortlinks", Timestamp.from(Instant.now()));
+        LinkCaches.Loader loader = Mockito.mock(LinkCaches.Loader.class);
+        Mockito.when(loader.load(1L)).thenReturn(Optional.of(expectedLink));
+
+        // выполнение
+        linkCache.get(1L, loader);
+        Optional<Link> actualLink = linkCache.get(1L, loader);
+
+        // проверка
+        assertThat(actualLink).isPresent().get().isEqualTo(expectedLink);
+        Mockito.verify(loader, Mockito.only()).load(1L);
+    }
+
+    /**
+     * Проверка метода {@link LinkCache#get(long, LinkCaches.Loader)} с несуществующей ссылкой.
+     */
+    @Test
+    public void getNotExistLink() throws SQLException {
+        // подготовка
+        LinkCache linkCache = new LinkCache(true, 100L, 0L);
+        LinkCaches.Loader loader = Mockito.mock(LinkCaches.Loader.class);
+        Mockito.when(loader.load(1L)).thenReturn(Optional.empty());
+
+        // выполнение
+        linkCache.get(1L, loader);
+        Optional<Link> actualLink = linkCache.get(1L, loader);
+
+        // проверка
+        assertThat(actualLink).isNotPresent();
+        Mockito.verify(loader, Mockito.times(2)).load(1L);
+    }
+
+    /**
+     * Проверка метода {@link LinkCache#get(long, LinkCaches.Loader)} при ошибке загрузки.
+     */
+    @Test
+    public void getErrorLoader() throws SQLException {
+        // подготовка
+        LinkCache linkCache = new LinkCache(true, 100L, 0L);
+        LinkCaches.Loader loader = Mockito.mock(LinkCaches.Loader.class);
+        Mockito.when(loader.load(1L)).thenThrow(SQLException.class);
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(SQLException.class).isThrownBy(() -> {
+            linkCache.get(1L, loader);
+        });
+    }
+
+    /**
+     * Проверка метода {@link LinkCache#get(long, LinkCaches.Loader)} с выключенным кэшем.
+     */
+    @Test
+    public void getDisabled() throws SQLException {
+        // подготовка
+        LinkCache linkCache = new LinkCache(false, 100L, 0L);
+        Link expectedLink = new Link(1L, "https://kalenchukov.dev/shortlinks", Timestamp.from(Instant.now()));
+        LinkCaches.Loader loader = Mockito.mock(LinkCaches.Loader.class);
+        Mockito.when(loader.load(1L)).thenReturn(Optional.of(expectedLink));
+
+        // выполнение
+        linkCache.get(1L, loader);
+        Optional<Link> actualLink = linkCache.get(1L, loader);
+
+        // проверка
+        assertThat(actualLink).isPresent().get().isEqualTo(expectedLink);
+        Mockito.verify(loader, Mockito.times(2)).load(1L);
+    }
+
+    /**
+     * Проверка метода {@link LinkCache#put(Link)}.
+     */
+    @Test
+    public void put() throws SQLException {
+        // подготовка
+        LinkCache linkCache = new LinkCache(true, 100L, 0L);
+        Link expectedLink = new Link(1L, "https://kalenchukov.dev/shortlinks", Timestamp.from(Instant.now()));
+        LinkCaches.Loader loader = Mockito.mock(LinkCaches.Loader.class);
+
+        // выполнение
+        linkCache.put(expectedLink);
+        Optional<Link> actualLink = linkCache.get(1L, loader);
+
+        // проверка
+        assertThat(actualLink).isPresent().get().isEqualTo(expectedLink);
+        Mockito.verifyNoInteractions(loader);
+    }
+
+    /**
+     * Проверка метода {@link LinkCache#invalidate(long)}.
+     */
+    @Test
+    public void invalidate() throws SQLException {
+        // подготовка
+        LinkCache linkCache = new LinkCache(true, 100L, 0L);
+        Link link = new Link(1L, "https://kalenchukov.dev/shortlinks", Timestamp.from(Instant.now()));
+        LinkCaches.Loader loader = Mockito.mock(LinkCaches.Loader.class);
+        Mockito.when(loader.load(1L)).thenReturn(Optional.empty());
+
+        // выполнение
+        linkCache.put(link);
+        linkCache.invalidate(1L);
+        Optional<Link> actualLink = linkCache.get(1L, loader);
+
+        // проверка
+        assertThat(actualLink).isNotPresent();
+        Mockito.verify(loader, Mockito.only()).load(1L);
+    }
+
+    /**
+     * Проверка метода {@link LinkCache#getStatistics()}.
+     */
+    @Test
+    public void getStatistics() throws SQLException {
+        // подготовка
+        LinkCache linkCache = new LinkCache(true, 100L, 0L);
+        Link link = new Link(1L, "https://kalenchukov.dev/shortlinks", Timestamp.from(Instant.now()));
+        LinkCaches.Loader loader = Mockito.mock(LinkCaches.Loader.class);
+        Mockito.when(loader.load(1L)).thenReturn(Optional.of(link));
+
+        // выполнение
+        linkCache.get(1L, loader);
+        linkCache.get(1L, loader);
+        linkCache.get(1L, loader);
+        CacheStatistics actualStatistics = linkCache.getStatistics();
+
+        // проверка
+        assertThat(actualStatistics.getEnabled()).isTrue();
+        assertThat(actualStatistics.getSize()).isEqualTo(1L);
+        assertThat(actualStatistics.getHitCount()).isEqualTo(2L);
+        assertThat(actualStatistics.getMissCount()).isEqualTo(1L);
+    }
+}
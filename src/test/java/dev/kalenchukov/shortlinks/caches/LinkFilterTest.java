@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.caches;
+
+import dev.kalenchukov.shortlinks.repositories.LinkRepositories;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс проверки методов класса {@link LinkFilter}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class LinkFilterTest {
+    /**
+     * Проверка метода {@link LinkFilter#isAbsent(long)} до построения фильтра.
+     */
+    @Test
+    public void isAbsentNotBuilt() {
+        // подготовка
+        LinkRepositories linkRepository = Mockito.mock(LinkRepositories.class);
+        LinkFilter linkFilter = new LinkFilter(linkRepository, true, 1000L, 0.01);
+
+        // выполнение
+        boolean actualAbsent = linkFilter.isAbsent(1L);
+
+        // проверка
+        assertThat(actualAbsent).isFalse();
+        Mockito.verifyNoInteractions(linkRepository);
+    }
+
+    /**
+     * Проверка метода {@link LinkFilter#rebuild()}.
+     */
+    @Test
+    public void rebuild() throws SQLException {
+        // подготовка
+        LinkRepositories linkRepository = Mockito.mock(LinkRepositories.class);
+        Mockito.doAnswer(invocation -> {
+            LongConsumer consumer = invocation.getArgument(0);
+            consumer.accept(1L);
+            consumer.accept(2L);
+            consumer.accept(3L);
+            return null;
+        }).when(linkRepository).forEachId(Mockito.any());
+        LinkFilter linkFilter = new LinkFilter(linkRepository, true, 1000L, 0.01);
+
+        // выполнение
+        linkFilter.rebuild();
+
+        // проверка
+        assertThat(linkFilter.isAbsent(1L)).isFalse();
+        assertThat(linkFilter.isAbsent(2L)).isFalse();
+        assertThat(linkFilter.isAbsent(3L)).isFalse();
+        assertThat(linkFilter.isAbsent(4L)).isTrue();
+    }
+
+    /**
+     * Проверка метода {@link LinkFilter#rebuild()} с выключенным фильтром.
+     */
+    @Test
+    public void rebuildDisabled() throws SQLException {
+        // подготовка
+        LinkRepositories linkRepository = Mockito.mock(LinkRepositories.class);
+        LinkFilter linkFilter = new LinkFilter(linkRepository, false, 1000L, 0.01);
+
+        // выполнение
+        linkFilter.rebuild();
+
+        // проверка
+        assertThat(linkFilter.isAbsent(4L)).isFalse();
+        Mockito.verifyNoInteractions(linkRepository);
+    }
+
+    /**
+     * Проверка метода {@link LinkFilter#add(long)}.
+     */
+    @Test
+    public void add() throws SQLException {
+        // подготовка
+        LinkRepositories linkRepository = Mockito.mock(LinkRepositories.class);
+        LinkFilter linkFilter = new LinkFilter(linkRepository, true, 1000L, 0.01);
+        linkFilter.rebuild();
+
+        // выполнение
+        linkFilter.add(4L);
+
+        // проверка
+        assertThat(linkFilter.isAbsent(4L)).isFalse();
+    }
+
+    /**
+     * Проверка отсутствия ложноотрицательных ответов на большом количестве ссылок.
+     */
+    @Test
+    public void isAbsentManyLinks() throws SQLException {
+        // подготовка
+        LinkRepositories linkRepository = Mockito.mock(LinkRepositories.class);
+        LinkFilter linkFilter = new LinkFilter(linkRepository, true, 100_000L, 0.01);
+        linkFilter.rebuild();
+        int falsePositives = 0;
+
+        // выполнение
+        for (long linkId = 1L; linkId <= 100_000L; linkId++) {
+            linkFilter.add(linkId);
+        }
+
+        for (long linkId = 100_001L; linkId <= 200_000L; linkId++) {
+            if (!linkFilter.isAbsent(linkId)) {
+                falsePositives++;
+            }
+        }
+
+        // проверка
+        for (long linkId = 1L; linkId <= 100_000L; linkId++) {
+            assertThat(linkFilter.isAbsent(linkId)).isFalse();
+        }
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.caches;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Класс проверки методов класса {@link UrlCache}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class UrlCacheTest {
+    /**
+     * Проверка метода {@link UrlCache#get(UUID)}.
+     */
+    @Test
+    public void get() {
+        // подготовка
+        UrlCache urlCache = new UrlCache(true, 100L);
+        UUID urlHash = UUID.randomUUID();
+        urlCache.put(urlHash, 1L);
+
+        // выполнение
+        OptionalLong actualLinkId = urlCache.get(urlHash);
+
+        // проверка
+        assertThat(actualLinkId).hasValue(1L);
+    }
+
+    /**
+     * Проверка метода {@link UrlCache#invalidate(UUID)}.
+     */
+    @Test
+    public void invalidate() {
+        // подготовка
+        UrlCache urlCache = new UrlCache(true, 100L);
+        UUID urlHash = UUID.randomUUID();
+        urlCache.put(urlHash, 1L);
+
+        // выполнение
+        urlCache.invalidate(urlHash);
+
+        // проверка
+        assertThat(urlCache.get(urlHash)).isEmpty();
+    }
+
+    /**
+     * Проверка выключенного кэша.
+     */
+    @Test
+    public void disabled() {
+        // подготовка
+        UrlCache urlCache = new UrlCache(false, 100L);
+        UUID urlHash = UUID.randomUUID();
+
+        // выполнение
+        urlCache.put(urlHash, 1L);
+
+        // проверка
+        assertThat(urlCache.isEnabled()).isFalse();
+        assertThat(urlCache.get(urlHash)).isEmpty();
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.codecs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Класс проверки методов класса {@link LinkCodec}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class LinkCodecTest {
+    /**
+     * Проверка метода {@link LinkCodec#encode(long)} без перестановки.
+     */
+    @Test
+    public void encode() {
+        // подготовка
+        LinkCodecs linkCodec = new LinkCodec("");
+
+        // выполнение
+        // проверка
+        assertThat(linkCodec.encode(0L)).isEqualTo("0");
+        assertThat(linkCodec.encode(9L)).isEqualTo("9");
+        assertThat(linkCodec.encode(61L)).isEqualTo("z");
+        assertThat(linkCodec.encode(62L)).isEqualTo("10");
+        assertThat(linkCodec.encode(Long.MAX_VALUE)).isEqualTo("AzL8n0Y58m7");
+    }
+
+    /**
+     * Проверка метода {@link LinkCodec#encode(long, char[], int)} со смещением в буфере.
+     */
+    @Test
+    public void encodeToBuffer() {
+        // подготовка
+        LinkCodecs linkCodec = new LinkCodec("");
+        char[] buffer = new char[LinkCodecs.MAX_LENGTH + 2];
+
+        // выполнение
+        int length = linkCodec.encode(3844L, buffer, 2);
+
+        // проверка
+        assertThat(length).isEqualTo(3);
+        assertThat(new String(buffer, 2, length)).isEqualTo("100");
+    }
+
+    /**
+     * Проверка метода {@link LinkCodec#encode(long)} с отрицательным идентификатором.
+     */
+    @Test
+    public void encodeNegative() {
+        // подготовка
+        LinkCodecs linkCodec = new LinkCodec("");
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> {
+            linkCodec.encode(-1L);
+        });
+    }
+
+    /**
+     * Проверка метода {@link LinkCodec#decode(CharSequence)} без перестановки.
+     */
+    @Test
+    public void decode() {
+        // подготовка
+        LinkCodecs linkCodec = new LinkCodec("");
+
+        // выполнение
+        // проверка
+        assertThat(linkCodec.decode("0")).isEqualTo(0L);
+        assertThat(linkCodec.decode("1")).isEqualTo(1L);
+        assertThat(linkCodec.decode("10")).isEqualTo(62L);
+        assertThat(linkCodec.decode("AzL8n0Y58m7")).isEqualTo(Long.MAX_VALUE);
+    }
+
+    /**
+     * Проверка метода {@link LinkCodec#decode(CharSequence)} с некорректными кодами.
+     */
+    @Test
+    public void decodeInvalid() {
+        // подготовка
+        LinkCodecs linkCodec = new LinkCodec("");
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> linkCodec.decode(""));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> linkCodec.decode("1-2"));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> linkCodec.decode("ссылка"));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> linkCodec.decode("AzL8n0Y58m8"));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> linkCodec.decode("100000000000"));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> linkCodec.decode("01"));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> linkCodec.decode("00"));
+    }
+
+    /**
+     * Проверка взаимной однозначности кодов с перестановкой.
+     */
+    @Test
+    public void encodeDecodeWithKey() {
+        // подготовка
+        LinkCodecs linkCodec = new LinkCodec("secret");
+        Set<String> codes = new HashSet<>();
+
+        // выполнение
+        // проверка
+        for (long linkId = 0; linkId < 10_000; linkId++) {
+            String code = linkCodec.encode(linkId);
+
+            assertThat(codes.add(code)).isTrue();
+            assertThat(linkCodec.decode(code)).isEqualTo(linkId);
+        }
+
+        assertThat(linkCodec.decode(linkCodec.encode(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+    }
+
+    /**
+     * Проверка того, что коды с перестановкой не последовательны и зависят от ключа.
+     */
+    @Test
+    public void encodeWithKeyIsNotSequential() {
+        // подготовка
+        LinkCodecs linkCodec = new LinkCodec("secret");
+        LinkCodecs otherLinkCodec = new LinkCodec("other");
+
+        // выполнение
+        long first = new LinkCodec("").decode(linkCodec.encode(1L));
+        long second = new LinkCodec("").decode(linkCodec.encode(2L));
+
+        // проверка
+        assertThat(Math.abs(second - first)).isGreaterThan(1_000_000L);
+        assertThat(linkCodec.encode(1L)).isNotEqualTo(otherLinkCodec.encode(1L));
+    }
+}
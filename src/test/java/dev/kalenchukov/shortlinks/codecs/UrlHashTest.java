@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.codecs;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Класс проверки методов класса {@link UrlHash}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class UrlHashTest {
+    /**
+     * Проверка метода {@link UrlHash#normalize(String)}.
+     */
+    @Test
+    public void normalize() {
+        // подготовка
+        UrlHashes urlHash = new UrlHash();
+
+        // выполнение
+        // проверка
+        assertThat(urlHash.normalize(" HTTPS://Kalenchukov.DEV ")).isEqualTo("https://kalenchukov.dev/");
+        assertThat(urlHash.normalize("http://kalenchukov.dev:80/a?b=C#D")).isEqualTo("http://kalenchukov.dev/a?b=C#D");
+        assertThat(urlHash.normalize("https://kalenchukov.dev:8443/A")).isEqualTo("https://kalenchukov.dev:8443/A");
+        assertThat(urlHash.normalize("https://user@kalenchukov.dev/")).isEqualTo("https://user@kalenchukov.dev/");
+    }
+
+    /**
+     * Проверка метода {@link UrlHash#normalize(String)} со строкой, не являющейся URL-адресом.
+     */
+    @Test
+    public void normalizeNotUrl() {
+        // подготовка
+        UrlHashes urlHash = new UrlHash();
+
+        // выполнение
+        // проверка
+        assertThat(urlHash.normalize(" not a url ")).isEqualTo("not a url");
+        assertThat(urlHash.normalize("mailto:aleksey.kalenchukov@yandex.ru")).isEqualTo("mailto:aleksey.kalenchukov@yandex.ru");
+    }
+
+    /**
+     * Проверка метода {@link UrlHash#hash(String)}.
+     */
+    @Test
+    public void hash() {
+        // подготовка
+        UrlHashes urlHash = new UrlHash();
+
+        // выполнение
+        // проверка
+        assertThat(urlHash.hash("https://kalenchukov.dev")).isEqualTo(urlHash.hash("HTTPS://KALENCHUKOV.DEV:443/"));
+        assertThat(urlHash.hash("https://kalenchukov.dev/a")).isNotEqualTo(urlHash.hash("https://kalenchukov.dev/A"));
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.kalenchukov.shortlinks.entities.BatchResult;
+import dev.kalenchukov.shortlinks.entities.DeletionResult;
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.services.BatchServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс проверки методов класса {@link BatchController}.
+ *
+ * @author Алексей Каленчуков
+ */
+@ExtendWith(MockitoExtension.class)
+public class BatchControllerTest {
+    /**
+     * Сервис для пакетной обработки ссылок.
+     */
+    @Mock
+    private BatchServices batchService;
+
+    /**
+     * Преобразователь JSON.
+     */
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Контроллер для пакетной обработки ссылок.
+     */
+    @InjectMocks
+    private BatchController batchController;
+
+    /**
+     * Проверка метода {@link BatchController#addAll(MediaType, jakarta.servlet.http.HttpServletRequest,
+     * jakarta.servlet.http.HttpServletResponse)} с JSON-массивом.
+     */
+    @Test
+    public void addAllJson() throws IOException {
+        // подготовка
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("[\"https://kalenchukov.dev/1\", {\"url\": \"https://kalenchukov.dev/2\"}]".getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<String> actualUrls = this.mockAddAll();
+
+        // выполнение
+        this.batchController.addAll(MediaType.APPLICATION_JSON, request, response);
+
+        // проверка
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(response.getContentAsString()).isEqualTo(
+                "[{\"index\":0,\"link\":{\"linkId\":1,\"code\":\"1\",\"url\":\"https://kalenchukov.dev/1\",\"dateCreate\":null}}," +
+                        "{\"index\":1,\"link\":{\"linkId\":2,\"code\":\"2\",\"url\":\"https://kalenchukov.dev/2\",\"dateCreate\":null}}]"
+        );
+        assertThat(actualUrls).containsExactly("https://kalenchukov.dev/1", "https://kalenchukov.dev/2");
+    }
+
+    /**
+     * Проверка метода {@link BatchController#addAll(MediaType, jakarta.servlet.http.HttpServletRequest,
+     * jakarta.servlet.http.HttpServletResponse)} с NDJSON-потоком.
+     */
+    @Test
+    public void addAllNdjson() throws IOException {
+        // подготовка
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("\"https://kalenchukov.dev/1\"\n{\"url\": \"https://kalenchukov.dev/2\"}\n".getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<String> actualUrls = this.mockAddAll();
+
+        // выполнение
+        this.batchController.addAll(MediaType.APPLICATION_NDJSON, request, response);
+
+        // проверка
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(response.getContentAsString()).isEqualTo(
+                "{\"index\":0,\"link\":{\"linkId\":1,\"code\":\"1\",\"url\":\"https://kalenchukov.dev/1\",\"dateCreate\":null}}\n" +
+                        "{\"index\":1,\"link\":{\"linkId\":2,\"code\":\"2\",\"url\":\"https://kalenchukov.dev/2\",\"dateCreate\":null}}\n"
+        );
+        assertThat(actualUrls).containsExactly("https://kalenchukov.dev/1", "https://kalenchukov.dev/2");
+    }
+
+    /**
+     * Проверка метода {@link BatchController#deleteAll(MediaType, jakarta.servlet.http.HttpServletRequest,
+     * jakarta.servlet.http.HttpServletResponse)} с JSON-массивом.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void deleteAllJson() throws IOException {
+        // подготовка
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("[1, \"x\", 2]".getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<Long> actualLinkIds = new ArrayList<>();
+        Mockito.doAnswer(invocation -> {
+            Iterator<Long> linkIds = invocation.getArgument(0);
+            Consumer<DeletionResult> consumer = invocation.getArgument(1);
+            long index = 0L;
+
+            while (linkIds.hasNext()) {
+                Long linkId = linkIds.next();
+                actualLinkIds.add(linkId);
+                consumer.accept(new DeletionResult(index++, linkId, Long.valueOf(1L).equals(linkId)));
+            }
+
+            return null;
+        }).when(this.batchService).deleteAll(Mockito.any(Iterator.class), Mockito.any(Consumer.class));
+
+        // выполнение
+        this.batchController.deleteAll(MediaType.APPLICATION_JSON, request, response);
+
+        // проверка
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(response.getContentAsString()).isEqualTo(
+                "[{\"index\":0,\"linkId\":1,\"deleted\":true}," +
+                        "{\"index\":1,\"linkId\":null,\"deleted\":false}," +
+                        "{\"index\":2,\"linkId\":2,\"deleted\":false}]"
+        );
+        assertThat(actualLinkIds).containsExactly(1L, null, 2L);
+    }
+
+    /**
+     * Подготавливает сервис, добавляющий ссылки с идентификаторами по порядку.
+     *
+     * @return URL-адреса переданных сервису ссылок.
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> mockAddAll() {
+        List<String> urls = new ArrayList<>();
+
+        Mockito.doAnswer(invocation -> {
+            Iterator<Link> links = invocation.getArgument(0);
+            Consumer<BatchResult> consumer = invocation.getArgument(1);
+            long index = 0L;
+
+            while (links.hasNext()) {
+                Link link = links.next();
+                urls.add(link.getUrl());
+                consumer.accept(new BatchResult(index, new Link(index + 1, String.valueOf(index + 1), link.getUrl(), null)));
+                index++;
+            }
+
+            return null;
+        }).when(this.batchService).addAll(Mockito.any(Iterator.class), Mockito.any(Consumer.class));
+
+        return urls;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.services.LinkServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс проверки методов класса {@link ExportController}.
+ *
+ * @author Алексей Каленчуков
+ */
+@ExtendWith(MockitoExtension.class)
+public class ExportControllerTest {
+    /**
+     * Ожидаемый NDJSON-поток ссылок.
+     */
+    private static final String EXPECTED_BODY =
+            "{\"linkId\":1,\"code\":\"1\",\"url\":\"https://kalenchukov.dev/1\",\"dateCreate\":null}\n" +
+                    "{\"linkId\":2,\"code\":\"2\",\"url\":\"https://kalenchukov.dev/2\",\"dateCreate\":null}\n";
+
+    /**
+     * Сервис для ссылок.
+     */
+    @Mock
+    private LinkServices linkService;
+
+    /**
+     * Преобразователь JSON.
+     */
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Контроллер для выгрузки ссылок.
+     */
+    @InjectMocks
+    private ExportController exportController;
+
+    /**
+     * Проверка метода {@link ExportController#export(Instant, Instant, String)}.
+     */
+    @Test
+    public void export() throws IOException {
+        // подготовка
+        Instant from = Instant.parse("2023-01-01T00:00:00Z");
+        this.mockExport(Timestamp.from(from));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // выполнение
+        ResponseEntity<StreamingResponseBody> responseEntity = this.exportController.export(from, null, null);
+        responseEntity.getBody().writeTo(outputStream);
+
+        // проверка
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responseEntity.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(responseEntity.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(EXPECTED_BODY);
+    }
+
+    /**
+     * Проверка метода {@link ExportController#export(Instant, Instant, String)} со сжатием gzip.
+     */
+    @Test
+    public void exportGzip() throws IOException {
+        // подготовка
+        this.mockExport(null);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // выполнение
+        ResponseEntity<StreamingResponseBody> responseEntity = this.exportController.export(null, null, "deflate, gzip");
+        responseEntity.getBody().writeTo(outputStream);
+        byte[] actualBody;
+
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            actualBody = inputStream.readAllBytes();
+        }
+
+        // проверка
+        assertThat(responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(new String(actualBody, StandardCharsets.UTF_8)).isEqualTo(EXPECTED_BODY);
+    }
+
+    /**
+     * Проверка метода {@link ExportController#export(Instant, Instant, String)} с отказом клиента от gzip.
+     */
+    @Test
+    public void exportGzipRejected() {
+        // подготовка
+        // выполнение
+        ResponseEntity<StreamingResponseBody> responseEntity = this.exportController.export(null, null, "gzip;q=0");
+
+        // проверка
+        assertThat(responseEntity.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+    }
+
+    /**
+     * Подготавливает сервис, передающий две ссылки.
+     *
+     * @param from ожидаемое начало периода.
+     */
+    @SuppressWarnings("unchecked")
+    private void mockExport(final Timestamp from) {
+        Mockito.doAnswer(invocation -> {
+            Consumer<Link> consumer = invocation.getArgument(2);
+            consumer.accept(new Link(1L, "1", "https://kalenchukov.dev/1", null));
+            consumer.accept(new Link(2L, "2", "https://kalenchukov.dev/2", null));
+
+            return null;
+        }).when(this.linkService).export(Mockito.eq(from), Mockito.isNull(), Mockito.any(Consumer.class));
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.kalenchukov.shortlinks.entities.ImportProgress;
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.exceptions.BadRequestException;
+import dev.kalenchukov.shortlinks.services.ImportServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Класс проверки методов класса {@link ImportController}.
+ *
+ * @author Алексей Каленчуков
+ */
+@ExtendWith(MockitoExtension.class)
+public class ImportControllerTest {
+    /**
+     * Сервис для загрузки ссылок.
+     */
+    @Mock
+    private ImportServices importService;
+
+    /**
+     * Преобразователь JSON.
+     */
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Контроллер для загрузки ссылок.
+     */
+    @InjectMocks
+    private ImportController importController;
+
+    /**
+     * Проверка метода {@link ImportController#importAll(MediaType, boolean, jakarta.servlet.http.HttpServletRequest)}
+     * с NDJSON-потоком.
+     */
+    @Test
+    public void importAllNdjson() throws IOException {
+        // подготовка
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("\"https://kalenchukov.dev/1\"\n{\"linkId\": 5, \"url\": \"https://kalenchukov.dev/5\"}\n"
+                .getBytes(StandardCharsets.UTF_8));
+        ImportProgress expectedProgress = Mockito.mock(ImportProgress.class);
+        List<Link> actualLinks = this.mockImportAll(true, expectedProgress);
+
+        // выполнение
+        ResponseEntity<ImportProgress> responseEntity = this.importController.importAll(
+                MediaType.APPLICATION_NDJSON, true, request
+        );
+
+        // проверка
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responseEntity.getBody()).isEqualTo(expectedProgress);
+        assertThat(actualLinks).extracting(Link::getLinkId, Link::getUrl).containsExactly(
+                tuple(null, "https://kalenchukov.dev/1"),
+                tuple(5L, "https://kalenchukov.dev/5")
+        );
+    }
+
+    /**
+     * Проверка метода {@link ImportController#importAll(MediaType, boolean, jakarta.servlet.http.HttpServletRequest)}
+     * с CSV.
+     */
+    @Test
+    public void importAllCsv() throws IOException {
+        // подготовка
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(("date_create,URL,link_id\n" +
+                "2023-06-16T09:59:54Z,\"https://kalenchukov.dev/?a=1,b=\"\"2\"\"\",7\n" +
+                "\n" +
+                ",https://kalenchukov.dev/2,\n" +
+                "bad date,https://kalenchukov.dev/3,\n").getBytes(StandardCharsets.UTF_8));
+        ImportProgress expectedProgress = Mockito.mock(ImportProgress.class);
+        List<Link> actualLinks = this.mockImportAll(false, expectedProgress);
+
+        // выполнение
+        ResponseEntity<ImportProgress> responseEntity = this.importController.importAll(
+                MediaType.parseMediaType("text/csv"), false, request
+        );
+
+        // проверка
+        assertThat(responseEntity.getBody()).isEqualTo(expectedProgress);
+        assertThat(actualLinks).extracting(Link::getLinkId, Link::getUrl, Link::getDateCreate).containsExactly(
+                tuple(7L, "https://kalenchukov.dev/?a=1,b=\"2\"", Timestamp.from(Instant.parse("2023-06-16T09:59:54Z"))),
+                tuple(null, "https://kalenchukov.dev/2", null),
+                tuple(null, null, null)
+        );
+    }
+
+    /**
+     * Проверка метода {@link ImportController#importAll(MediaType, boolean, jakarta.servlet.http.HttpServletRequest)}
+     * с CSV без столбца URL-адреса.
+     */
+    @Test
+    public void importAllCsvWithoutUrl() {
+        // подготовка
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("link_id\n1\n".getBytes(StandardCharsets.UTF_8));
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(BadRequestException.class).isThrownBy(() -> {
+            this.importController.importAll(MediaType.parseMediaType("text/csv"), false, request);
+        });
+        Mockito.verifyNoInteractions(this.importService);
+    }
+
+    /**
+     * Проверка метода {@link ImportController#getImports()}.
+     */
+    @Test
+    public void getImports() {
+        // подготовка
+        List<ImportProgress> expectedImports = List.of(Mockito.mock(ImportProgress.class));
+        Mockito.when(this.importService.getImports()).thenReturn(expectedImports);
+
+        // выполнение
+        ResponseEntity<List<ImportProgress>> responseEntity = this.importController.getImports();
+
+        // проверка
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responseEntity.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(responseEntity.getBody()).isEqualTo(expectedImports);
+    }
+
+    /**
+     * Подготавливает сервис, собирающий переданные ссылки.
+     *
+     * @param preserveIds      ожидаемое сохранение идентификаторов.
+     * @param expectedProgress итог загрузки.
+     * @return переданные сервису ссылки.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Link> mockImportAll(final boolean preserveIds, final ImportProgress expectedProgress) {
+        List<Link> links = new ArrayList<>();
+
+        Mockito.doAnswer(invocation -> {
+            Iterator<Link> iterator = invocation.getArgument(0);
+            iterator.forEachRemaining(links::add);
+
+            return expectedProgress;
+        }).when(this.importService).importAll(Mockito.any(Iterator.class), Mockito.eq(preserveIds));
+
+        return links;
+    }
+}
@@ -24,14 +24,22 @@
 
 package dev.kalenchukov.shortlinks.controllers;
 
+import dev.kalenchukov.shortlinks.codecs.LinkCodec;
+import dev.kalenchukov.shortlinks.codecs.LinkCodecs;
+import dev.kalenchukov.shortlinks.entities.ClickStatistics;
+import dev.kalenchukov.shortlinks.entities.Clicks;
 import dev.kalenchukov.shortlinks.entities.Count;
+import dev.kalenchukov.shortlinks.entities.CountMode;
+import dev.kalenchukov.shortlinks.entities.Granularity;
 import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.exceptions.LinkNotFoundException;
 import dev.kalenchukov.shortlinks.services.LinkServices;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -39,8 +47,10 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import java.net.URI;
+import java.time.Instant;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
  * Класс проверки методов класса {@link LinkController}.
@@ -55,6 +65,12 @@ public class LinkControllerTest {
     @Mock
     private LinkServices linkService;
 
+    /**
+     * Преобразование кодов ссылок в идентификаторы.
+     */
+    @Spy
+    private LinkCodecs linkCodec = new LinkCodec("");
+
     /**
      * Контроллер для ссылок.
      */
@@ -85,16 +101,16 @@ public class LinkControllerTest {
     }
 
     /**
-     * Проверка метода {@link LinkController#count()}.
+     * Проверка метода {@link LinkController#count(CountMode)}.
      */
     @Test
     public void count() {
         // подготовка
         Count expectedCount = Mockito.mock(Count.class);
-        Mockito.when(this.linkService.count()).thenReturn(expectedCount);
+        Mockito.when(this.linkService.count(CountMode.EXACT)).thenReturn(expectedCount);
 
         // выполнение
-        ResponseEntity<Count> responseEntity = this.linkController.count();
+        ResponseEntity<Count> responseEntity = this.linkController.count(CountMode.EXACT);
         HttpStatusCode actualHttpStatusCode = responseEntity.getStatusCode();
         MediaType actualMediaType = responseEntity.getHeaders().getContentType();
         Count actualCount = responseEntity.getBody();
@@ -103,11 +119,11 @@ public class LinkControllerTest {
         assertThat(actualHttpStatusCode).isEqualTo(HttpStatus.OK);
         assertThat(actualMediaType).isEqualTo(MediaType.APPLICATION_JSON);
         assertThat(actualCount).isEqualTo(expectedCount);
-        Mockito.verify(this.linkService, Mockito.only()).count();
+        Mockito.verify(this.linkService, Mockito.only()).count(CountMode.EXACT);
     }
 
     /**
-     * Проверка метода {@link LinkController#redirect(long)}.
+     * Проверка метода {@link LinkController#redirect(Long, String)}.
      */
     @Test
     public void redirect() {
@@ -116,7 +132,7 @@ public class LinkControllerTest {
         Mockito.when(this.linkService.getUrl(1L)).thenReturn(url);
 
         // выполнение
-        ResponseEntity<Void> responseEntity = this.linkController.redirect(1L);
+        ResponseEntity<Void> responseEntity = this.linkController.redirect(null, "1");
         HttpStatusCode actualHttpStatusCode = responseEntity.getStatusCode();
         URI actualLocation = responseEntity.getHeaders().getLocation();
 
@@ -127,7 +143,53 @@ public class LinkControllerTest {
     }
 
     /**
-     * Проверка метода {@link LinkController#delete(long)}.
+     * Проверка метода {@link LinkController#clicks(Long, String)}.
+     */
+    @Test
+    public void clicks() {
+        // подготовка
+        Clicks expectedClicks = new Clicks(1L, "1", 13L);
+        Mockito.when(this.linkService.getClicks(1L)).thenReturn(expectedClicks);
+
+        // выполнение
+        ResponseEntity<Clicks> responseEntity = this.linkController.clicks(null, "1");
+        HttpStatusCode actualHttpStatusCode = responseEntity.getStatusCode();
+        MediaType actualMediaType = responseEntity.getHeaders().getContentType();
+        Clicks actualClicks = responseEntity.getBody();
+
+        // проверка
+        assertThat(actualHttpStatusCode).isEqualTo(HttpStatus.OK);
+        assertThat(actualMediaType).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(actualClicks).isEqualTo(expectedClicks);
+        Mockito.verify(this.linkService, Mockito.only()).getClicks(1L);
+    }
+
+    /**
+     * Проверка метода {@link LinkController#stats(Long, String, Instant, Instant, Granularity)}.
+     */
+    @Test
+    public void stats() {
+        // подготовка
+        Instant from = Instant.parse("2023-06-13T00:00:00Z");
+        Instant to = Instant.parse("2023-06-14T00:00:00Z");
+        ClickStatistics expectedStatistics = Mockito.mock(ClickStatistics.class);
+        Mockito.when(this.linkService.getStatistics(1L, from, to, Granularity.HOUR)).thenReturn(expectedStatistics);
+
+        // выполнение
+        ResponseEntity<ClickStatistics> responseEntity = this.linkController.stats(null, "1", from, to, Granularity.HOUR);
+        HttpStatusCode actualHttpStatusCode = responseEntity.getStatusCode();
+        MediaType actualMediaType = responseEntity.getHeaders().getContentType();
+        ClickStatistics actualStatistics = responseEntity.getBody();
+
+        // проверка
+        assertThat(actualHttpStatusCode).isEqualTo(HttpStatus.OK);
+        assertThat(actualMediaType).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(actualStatistics).isEqualTo(expectedStatistics);
+        Mockito.verify(this.linkService, Mockito.only()).getStatistics(1L, from, to, Granularity.HOUR);
+    }
+
+    /**
+     * Проверка метода {@link LinkController#delete(Long, String)}.
      */
     @Test
     public void delete() {
@@ -135,7 +197,7 @@ public class LinkControllerTest {
         Mockito.doNothing().when(this.linkService).delete(1L);
 
         // выполнение
-        ResponseEntity<Void> responseEntity = this.linkController.delete(1L);
+        ResponseEntity<Void> responseEntity = this.linkController.delete(null, "1");
         HttpStatusCode actualHttpStatusCode = responseEntity.getStatusCode();
 
         // проверка
@@ -144,7 +206,7 @@ public class LinkControllerTest {
     }
 
     /**
-     * Проверка метода {@link LinkController#info(long)}.
+     * Проверка метода {@link LinkController#info(Long, String)}.
      */
     @Test
     public void info() {
@@ -153,7 +215,7 @@ public class LinkControllerTest {
         Mockito.when(this.linkService.get(1L)).thenReturn(expectedLink);
 
         // выполнение
-        ResponseEntity<Link> responseEntity = this.linkController.info(1L);
+        ResponseEntity<Link> responseEntity = this.linkController.info(null, "1");
         HttpStatusCode actualHttpStatusCode = responseEntity.getStatusCode();
         MediaType actualMediaType = responseEntity.getHeaders().getContentType();
         Link actualLink = responseEntity.getBody();
@@ -164,4 +226,67 @@ public class LinkControllerTest {
         assertThat(actualLink).isEqualTo(expectedLink);
         Mockito.verify(this.linkService, Mockito.only()).get(1L);
     }
-}
\ No newline at end of file
+
+    /**
+     * Проверка метода {@link LinkController#redirect(Long, String)} с многосимвольным кодом.
+     */
+    @Test
+    public void redirectWithLongCode() {
+        // подготовка
+        String url = "https://kalenchukov.dev/shortlinks";
+        Mockito.when(this.linkService.getUrl(3844L)).thenReturn(url);
+
+        // выполнение
+        ResponseEntity<Void> responseEntity = this.linkController.redirect(null, "100");
+        URI actualLocation = responseEntity.getHeaders().getLocation();
+
+        // проверка
+        assertThat(actualLocation).isEqualTo(URI.create(url));
+        Mockito.verify(this.linkService, Mockito.only()).getUrl(3844L);
+    }
+
+    /**
+     * Проверка метода {@link LinkController#redirect(Long, String)} по десятичному идентификатору.
+     */
+    @Test
+    public void redirectWithLinkId() {
+        // подготовка
+        String url = "https://kalenchukov.dev/shortlinks";
+        Mockito.when(this.linkService.getUrl(100L)).thenReturn(url);
+
+        // выполнение
+        ResponseEntity<Void> responseEntity = this.linkController.redirect(100L, null);
+        URI actualLocation = responseEntity.getHeaders().getLocation();
+
+        // проверка
+        assertThat(actualLocation).isEqualTo(URI.create(url));
+        Mockito.verify(this.linkService, Mockito.only()).getUrl(100L);
+        Mockito.verifyNoInteractions(this.linkCodec);
+    }
+
+    /**
+     * Проверка метода {@link LinkController#redirect(Long, String)} с некорректным кодом.
+     */
+    @Test
+    public void redirectWithInvalidCode() {
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(LinkNotFoundException.class).isThrownBy(() -> {
+            this.linkController.redirect(null, "1-2");
+        });
+        Mockito.verifyNoInteractions(this.linkService);
+    }
+
+    /**
+     * Проверка метода {@link LinkController#redirect(Long, String)} с кодом с ведущим нулём.
+     */
+    @Test
+    public void redirectWithLeadingZeroCode() {
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(LinkNotFoundException.class).isThrownBy(() -> {
+            this.linkController.redirect(null, "01");
+        });
+        Mockito.verifyNoInteractions(this.linkService);
+    }
+}
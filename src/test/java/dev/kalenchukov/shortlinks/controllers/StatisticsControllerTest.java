@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.controllers;
+
+import dev.kalenchukov.shortlinks.entities.CacheStatistics;
+import dev.kalenchukov.shortlinks.entities.WriterStatistics;
+import dev.kalenchukov.shortlinks.services.StatisticsServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс проверки методов класса {@link StatisticsController}.
+ *
+ * @author Алексей Каленчуков
+ */
+@ExtendWith(MockitoExtension.class)
+public class StatisticsControllerTest {
+    /**
+     * Сервис для статистики.
+     */
+    @Mock
+    private StatisticsServices statisticsService;
+
+    /**
+     * Контроллер для статистики.
+     */
+    @InjectMocks
+    private StatisticsController statisticsController;
+
+    /**
+     * Проверка метода {@link StatisticsController#cache()}.
+     */
+    @Test
+    public void cache() {
+        // подготовка
+        CacheStatistics expectedStatistics = Mockito.mock(CacheStatistics.class);
+        Mockito.when(this.statisticsService.getCacheStatistics()).thenReturn(expectedStatistics);
+
+        // выполнение
+        ResponseEntity<CacheStatistics> responseEntity = this.statisticsController.cache();
+        HttpStatusCode actualHttpStatusCode = responseEntity.getStatusCode();
+        MediaType actualMediaType = responseEntity.getHeaders().getContentType();
+        CacheStatistics actualStatistics = responseEntity.getBody();
+
+        // проверка
+        assertThat(actualHttpStatusCode).isEqualTo(HttpStatus.OK);
+        assertThat(actualMediaType).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(actualStatistics).isEqualTo(expectedStatistics);
+        Mockito.verify(this.statisticsService, Mockito.only()).getCacheStatistics();
+    }
+
+    /**
+     * Проверка метода {@link StatisticsController#writer()}.
+     */
+    @Test
+    public void writer() {
+        // подготовка
+        WriterStatistics expectedStatistics = Mockito.mock(WriterStatistics.class);
+        Mockito.when(this.statisticsService.getWriterStatistics()).thenReturn(expectedStatistics);
+
+        // выполнение
+        ResponseEntity<WriterStatistics> responseEntity = this.statisticsController.writer();
+        HttpStatusCode actualHttpStatusCode = responseEntity.getStatusCode();
+        MediaType actualMediaType = responseEntity.getHeaders().getContentType();
+        WriterStatistics actualStatistics = responseEntity.getBody();
+
+        // проверка
+        assertThat(actualHttpStatusCode).isEqualTo(HttpStatus.OK);
+        assertThat(actualMediaType).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(actualStatistics).isEqualTo(expectedStatistics);
+        Mockito.verify(this.statisticsService, Mockito.only()).getWriterStatistics();
+    }
+}
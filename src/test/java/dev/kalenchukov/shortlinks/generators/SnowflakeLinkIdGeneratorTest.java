@@ -0,0 +1,205 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.generators;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Класс проверки методов класса {@link SnowflakeLinkIdGenerator}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class SnowflakeLinkIdGeneratorTest {
+    /**
+     * Проверка расположения времени, номера узла и счётчика в идентификаторе.
+     */
+    @Test
+    public void next() {
+        // подготовка
+        Instant now = SnowflakeLinkIdGenerator.EPOCH.plusMillis(1000L);
+        SnowflakeLinkIdGenerator linkIdGenerator = new SnowflakeLinkIdGenerator(7, Clock.fixed(now, ZoneOffset.UTC));
+
+        // выполнение
+        long first = linkIdGenerator.next();
+        long second = linkIdGenerator.next();
+
+        // проверка
+        assertThat(first).isEqualTo((1000L << 22) | (7L << 12));
+        assertThat(second).isEqualTo(first + 1);
+    }
+
+    /**
+     * Проверка метода {@link SnowflakeLinkIdGenerator#nextId()}.
+     */
+    @Test
+    public void nextId() {
+        // подготовка
+        LinkIdGenerators linkIdGenerator = new SnowflakeLinkIdGenerator(1);
+
+        // выполнение
+        OptionalLong linkId = linkIdGenerator.nextId();
+
+        // проверка
+        assertThat(linkId).isPresent();
+        assertThat(linkId.getAsLong()).isPositive();
+    }
+
+    /**
+     * Проверка возрастания идентификаторов при отставании часов.
+     */
+    @Test
+    public void nextWithClockRegression() {
+        // подготовка
+        MutableClock clock = new MutableClock(SnowflakeLinkIdGenerator.EPOCH.plusMillis(5000L));
+        SnowflakeLinkIdGenerator linkIdGenerator = new SnowflakeLinkIdGenerator(1, clock);
+
+        // выполнение
+        long beforeRegression = linkIdGenerator.next();
+        clock.instant = SnowflakeLinkIdGenerator.EPOCH.plusMillis(4000L);
+        long afterRegression = linkIdGenerator.next();
+        clock.instant = SnowflakeLinkIdGenerator.EPOCH.plusMillis(6000L);
+        long afterRecovery = linkIdGenerator.next();
+
+        // проверка
+        assertThat(afterRegression).isGreaterThan(beforeRegression);
+        assertThat(afterRecovery).isEqualTo((6000L << 22) | (1L << 12));
+    }
+
+    /**
+     * Проверка переноса счётчика в следующую миллисекунду при его исчерпании.
+     */
+    @Test
+    public void nextWithSequenceOverflow() {
+        // подготовка
+        Instant now = SnowflakeLinkIdGenerator.EPOCH.plusMillis(1000L);
+        SnowflakeLinkIdGenerator linkIdGenerator = new SnowflakeLinkIdGenerator(3, Clock.fixed(now, ZoneOffset.UTC));
+        long last = 0L;
+
+        // выполнение
+        for (int i = 0; i <= 4096; i++) {
+            long linkId = linkIdGenerator.next();
+
+            // проверка
+            assertThat(linkId).isGreaterThan(last);
+            last = linkId;
+        }
+
+        assertThat(last).isEqualTo((1001L << 22) | (3L << 12));
+    }
+
+    /**
+     * Проверка уникальности идентификаторов при одновременной генерации.
+     */
+    @Test
+    public void nextConcurrently() throws Exception {
+        // подготовка
+        SnowflakeLinkIdGenerator linkIdGenerator = new SnowflakeLinkIdGenerator(1);
+        Set<Long> linkIds = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // выполнение
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 50_000; j++) {
+                    linkIds.add(linkIdGenerator.next());
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        executor.shutdown();
+
+        // проверка
+        assertThat(linkIds).hasSize(200_000);
+    }
+
+    /**
+     * Проверка конструктора с номером узла вне допустимого диапазона.
+     */
+    @Test
+    public void constructorWithInvalidNodeId() {
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> {
+            new SnowflakeLinkIdGenerator(1024);
+        });
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> {
+            new SnowflakeLinkIdGenerator(-1);
+        });
+    }
+
+    /**
+     * Класс часов с изменяемым временем.
+     */
+    private static final class MutableClock extends Clock {
+        /**
+         * Текущее время.
+         */
+        private Instant instant;
+
+        /**
+         * Конструктор для {@code MutableClock}.
+         *
+         * @param instant текущее время.
+         */
+        private MutableClock(final Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Класс проверки методов класса {@link ClickCounter}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class ClickCounterTest {
+    /**
+     * Репозиторий количества переходов по ссылкам.
+     */
+    private ClickRepositories clickRepository;
+
+    /**
+     * Сохранённое количество переходов по идентификаторам ссылок.
+     */
+    private Map<Long, Long> savedClicks;
+
+    /**
+     * Подготавливает репозиторий, накапливающий переходы в памяти.
+     */
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.clickRepository = Mockito.mock(ClickRepositories.class);
+        this.savedClicks = new HashMap<>();
+        Mockito.when(this.clickRepository.getById(Mockito.anyLong())).thenAnswer(invocation -> {
+            return this.savedClicks.getOrDefault(invocation.<Long>getArgument(0), 0L);
+        });
+        Mockito.when(this.clickRepository.addAll(Mockito.anyMap())).thenAnswer(invocation -> {
+            Map<Long, Long> clicks = invocation.getArgument(0);
+            clicks.forEach((linkId, count) -> this.savedClicks.merge(linkId, count, Long::sum));
+
+            return clicks.size();
+        });
+    }
+
+    /**
+     * Проверка метода {@link ClickCounter#flush()}.
+     */
+    @Test
+    public void flush() throws SQLException {
+        // подготовка
+        ClickCounter clickCounter = new ClickCounter(this.clickRepository, true, 64);
+        clickCounter.increment(1L);
+        clickCounter.increment(1L);
+        clickCounter.increment(2L);
+
+        // выполнение
+        clickCounter.flush();
+        clickCounter.flush();
+
+        // проверка
+        assertThat(this.savedClicks).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 2L, 2L, 1L));
+        Mockito.verify(this.clickRepository, Mockito.times(1)).addAll(Mockito.anyMap());
+    }
+
+    /**
+     * Проверка метода {@link ClickCounter#get(long)}.
+     */
+    @Test
+    public void get() throws SQLException {
+        // подготовка
+        ClickCounter clickCounter = new ClickCounter(this.clickRepository, true, 64);
+        clickCounter.increment(1L);
+        clickCounter.flush();
+        clickCounter.increment(1L);
+
+        // выполнение
+        long actualClicks = clickCounter.get(1L);
+
+        // проверка
+        assertThat(actualClicks).isEqualTo(2L);
+    }
+
+    /**
+     * Проверка метода {@link ClickCounter#increment(long)} с выключенным учётом переходов.
+     */
+    @Test
+    public void incrementDisabled() throws SQLException {
+        // подготовка
+        ClickCounter clickCounter = new ClickCounter(this.clickRepository, false, 64);
+
+        // выполнение
+        clickCounter.increment(1L);
+        clickCounter.flush();
+
+        // проверка
+        assertThat(clickCounter.get(1L)).isZero();
+        Mockito.verify(this.clickRepository, Mockito.never()).addAll(Mockito.anyMap());
+    }
+
+    /**
+     * Проверка метода {@link ClickCounter#increment(long)} с большим количеством ссылок, чем ячеек.
+     */
+    @Test
+    public void incrementOverflow() throws SQLException {
+        // подготовка
+        ClickCounter clickCounter = new ClickCounter(this.clickRepository, true, 16);
+
+        // выполнение
+        for (long linkId = 1L; linkId <= 1000L; linkId++) {
+            clickCounter.increment(linkId);
+        }
+
+        long actualPendingClicks = clickCounter.get(500L);
+        clickCounter.flush();
+        clickCounter.increment(1L);
+        clickCounter.flush();
+
+        // проверка
+        assertThat(actualPendingClicks).isEqualTo(1L);
+        assertThat(this.savedClicks).hasSize(1000);
+        assertThat(this.savedClicks.get(1L)).isEqualTo(2L);
+        assertThat(this.savedClicks.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(1001L);
+    }
+
+    /**
+     * Проверка метода {@link ClickCounter#flush()} при неработоспособной базе данных.
+     */
+    @Test
+    public void flushErrorDatabase() throws SQLException {
+        // подготовка
+        ClickCounter clickCounter = new ClickCounter(this.clickRepository, true, 64);
+        clickCounter.increment(1L);
+        Mockito.when(this.clickRepository.addAll(Mockito.anyMap())).thenThrow(SQLException.class).thenReturn(1);
+        ArgumentCaptor<Map<Long, Long>> captor = ArgumentCaptor.forClass(Map.class);
+
+        // выполнение
+        clickCounter.flush();
+        clickCounter.flush();
+
+        // проверка
+        Mockito.verify(this.clickRepository, Mockito.times(2)).addAll(captor.capture());
+        assertThat(captor.getAllValues()).containsOnly(Map.of(1L, 1L));
+    }
+
+    /**
+     * Проверка метода {@link ClickCounter#increment(long)} из нескольких потоков.
+     */
+    @Test
+    public void incrementConcurrently() throws Exception {
+        // подготовка
+        ClickCounter clickCounter = new ClickCounter(this.clickRepository, true, 64);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // выполнение
+        for (int thread = 0; thread < 4; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int index = 0; index < 10_000; index++) {
+                    clickCounter.increment(1L + index % 3);
+
+                    if (index % 1_000 == 0) {
+                        clickCounter.flush();
+                    }
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        executor.shutdown();
+        clickCounter.flush();
+
+        // проверка
+        assertThat(this.savedClicks.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(40_000L);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.AppConfigTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс проверки методов класса {@link ClickRepository}.
+ *
+ * @author Алексей Каленчуков
+ */
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = AppConfigTest.class)
+@Sql(value = "/database/create-tables.sql")
+@Sql(value = "/database/insert-table-links.sql")
+@Sql(value = "/database/drop-tables.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ClickRepositoryTest {
+    /**
+     * Репозиторий количества переходов по ссылкам.
+     */
+    @Autowired
+    public ClickRepository clickRepository;
+
+    /**
+     * Репозиторий для ссылок.
+     */
+    @Autowired
+    public LinkRepository linkRepository;
+
+    /**
+     * Проверка метода {@link ClickRepository#getById(long)} без переходов.
+     */
+    @Test
+    public void getByIdWithoutClicks() throws SQLException {
+        // подготовка
+
+        // выполнение
+        long actualClicks = this.clickRepository.getById(1L);
+
+        // проверка
+        assertThat(actualClicks).isZero();
+    }
+
+    /**
+     * Проверка метода {@link ClickRepository#addAll(Map)}.
+     */
+    @Test
+    public void addAll() throws SQLException {
+        // подготовка
+        this.clickRepository.addAll(Map.of(1L, 3L));
+
+        // выполнение
+        int actualAdded = this.clickRepository.addAll(Map.of(1L, 10L, 2L, 5L));
+
+        // проверка
+        assertThat(actualAdded).isEqualTo(2);
+        assertThat(this.clickRepository.getById(1L)).isEqualTo(13L);
+        assertThat(this.clickRepository.getById(2L)).isEqualTo(5L);
+        assertThat(this.clickRepository.getById(3L)).isZero();
+    }
+
+    /**
+     * Проверка метода {@link ClickRepository#addAll(Map)} с переходами по несуществующим ссылкам.
+     */
+    @Test
+    public void addAllNotExistLinkId() throws SQLException {
+        // подготовка
+        this.linkRepository.deleteById(2L);
+
+        // выполнение
+        int actualAdded = this.clickRepository.addAll(Map.of(1L, 1L, 2L, 1L, 100L, 1L));
+
+        // проверка
+        assertThat(actualAdded).isEqualTo(1);
+        assertThat(this.clickRepository.getById(1L)).isEqualTo(1L);
+        assertThat(this.clickRepository.getById(2L)).isZero();
+    }
+
+    /**
+     * Проверка удаления переходов вместе со ссылкой.
+     */
+    @Test
+    public void deleteLink() throws SQLException {
+        // подготовка
+        this.clickRepository.addAll(Map.of(1L, 7L));
+
+        // выполнение
+        this.linkRepository.deleteById(1L);
+
+        // проверка
+        assertThat(this.clickRepository.getById(1L)).isZero();
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.AppConfigTest;
+import dev.kalenchukov.shortlinks.entities.ClickBucket;
+import dev.kalenchukov.shortlinks.entities.Granularity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс проверки методов класса {@link ClickStatisticsRepository}.
+ *
+ * @author Алексей Каленчуков
+ */
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = AppConfigTest.class)
+@Sql(value = "/database/create-tables.sql")
+@Sql(value = "/database/insert-table-links.sql")
+@Sql(value = "/database/drop-tables.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ClickStatisticsRepositoryTest {
+    /**
+     * Источник данных.
+     */
+    @Autowired
+    public DataSource dataSource;
+
+    /**
+     * Единица работы с базой данных.
+     */
+    @Autowired
+    public UnitOfWork unitOfWork;
+
+    /**
+     * Репозиторий количества переходов по ссылкам.
+     */
+    @Autowired
+    public ClickRepository clickRepository;
+
+    /**
+     * Репозиторий статистики переходов по ссылкам.
+     */
+    @Autowired
+    public ClickStatisticsRepository clickStatisticsRepository;
+
+    /**
+     * Проверка метода {@link ClickStatisticsRepository#getBuckets(long, Granularity, Timestamp, Timestamp)}
+     * с ещё не свёрнутыми переходами.
+     */
+    @Test
+    public void getBuckets() throws SQLException {
+        // подготовка
+        ZonedDateTime minute = ZonedDateTime.now(ZoneId.systemDefault()).truncatedTo(ChronoUnit.MINUTES);
+        ZonedDateTime day = minute.truncatedTo(ChronoUnit.DAYS).minusDays(1L);
+        this.clickRepository.addAll(Map.of(1L, 3L, 2L, 1L));
+        this.clickRepository.addAll(Map.of(1L, 2L));
+
+        // выполнение
+        List<ClickBucket> actualMinutes = this.clickStatisticsRepository.getBuckets(
+                1L, Granularity.MINUTE, ClickStatisticsRepositoryTest.toTimestamp(minute.minusMinutes(5L)),
+                ClickStatisticsRepositoryTest.toTimestamp(minute.plusMinutes(5L))
+        );
+        List<ClickBucket> actualDays = this.clickStatisticsRepository.getBuckets(
+                1L, Granularity.DAY, ClickStatisticsRepositoryTest.toTimestamp(day),
+                ClickStatisticsRepositoryTest.toTimestamp(day.plusDays(3L))
+        );
+
+        // проверка
+        assertThat(actualMinutes).isNotEmpty();
+        assertThat(actualMinutes.stream().mapToLong(ClickBucket::getClicks).sum()).isEqualTo(5L);
+        assertThat(actualDays.stream().mapToLong(ClickBucket::getClicks).sum()).isEqualTo(5L);
+    }
+
+    /**
+     * Проверка метода {@link ClickStatisticsRepository#rollup()}.
+     */
+    @Test
+    public void rollup() throws SQLException {
+        // подготовка
+        this.execute(
+                "UPDATE link_clicks_rollups SET rolled_to = date_trunc(granularity, LOCALTIMESTAMP - INTERVAL '3 days')",
+                "INSERT INTO link_clicks_buckets (link_id, granularity, bucket, clicks) VALUES " +
+                        "(1, 'minute', date_trunc('day', LOCALTIMESTAMP - INTERVAL '2 days') + INTERVAL '10 hours 5 minutes', 3), " +
+                        "(1, 'minute', date_trunc('day', LOCALTIMESTAMP - INTERVAL '2 days') + INTERVAL '10 hours 40 minutes', 4), " +
+                        "(1, 'minute', date_trunc('day', LOCALTIMESTAMP - INTERVAL '2 days') + INTERVAL '11 hours', 5), " +
+                        "(2, 'minute', date_trunc('day', LOCALTIMESTAMP - INTERVAL '2 days') + INTERVAL '10 hours', 1)"
+        );
+        ZonedDateTime day = ZonedDateTime.now(ZoneId.systemDefault()).truncatedTo(ChronoUnit.DAYS).minusDays(2L);
+
+        // выполнение
+        this.clickStatisticsRepository.rollup();
+        this.clickStatisticsRepository.rollup();
+
+        // проверка
+        assertThat(this.count("hour")).isEqualTo(3L);
+        assertThat(this.count("day")).isEqualTo(2L);
+        assertThat(this.clickStatisticsRepository.getBuckets(
+                1L, Granularity.HOUR, ClickStatisticsRepositoryTest.toTimestamp(day),
+                ClickStatisticsRepositoryTest.toTimestamp(day.plusDays(1L))
+        )).containsExactly(
+                new ClickBucket(ClickStatisticsRepositoryTest.toTimestamp(day.plusHours(10L)), 7L),
+                new ClickBucket(ClickStatisticsRepositoryTest.toTimestamp(day.plusHours(11L)), 5L)
+        );
+        assertThat(this.clickStatisticsRepository.getBuckets(
+                1L, Granularity.DAY, ClickStatisticsRepositoryTest.toTimestamp(day.minusDays(1L)),
+                ClickStatisticsRepositoryTest.toTimestamp(day.plusDays(3L))
+        )).containsExactly(
+                new ClickBucket(ClickStatisticsRepositoryTest.toTimestamp(day), 12L)
+        );
+    }
+
+    /**
+     * Проверка метода {@link ClickStatisticsRepository#rollup()} с удалением устаревших интервалов.
+     */
+    @Test
+    public void rollupWithRetention() throws SQLException {
+        // подготовка
+        ClickStatisticsRepository clickStatisticsRepository = new ClickStatisticsRepository(
+                this.unitOfWork, true, "PT1M", "PT1H", "PT24H", "PT0S"
+        );
+        this.execute(
+                "UPDATE link_clicks_rollups SET rolled_to = date_trunc(granularity, LOCALTIMESTAMP - INTERVAL '3 days')",
+                "INSERT INTO link_clicks_buckets (link_id, granularity, bucket, clicks) VALUES " +
+                        "(1, 'minute', date_trunc('day', LOCALTIMESTAMP - INTERVAL '2 days') + INTERVAL '10 hours', 3), " +
+                        "(1, 'minute', date_trunc('minute', LOCALTIMESTAMP), 1)"
+        );
+
+        // выполнение
+        clickStatisticsRepository.rollup();
+
+        // проверка
+        assertThat(this.count("minute")).isEqualTo(1L);
+        assertThat(this.count("hour")).isZero();
+        assertThat(this.count("day")).isEqualTo(1L);
+    }
+
+    /**
+     * Проверка метода {@link ClickStatisticsRepository#rollup()} с выключенным учётом переходов.
+     */
+    @Test
+    public void rollupDisabled() throws SQLException {
+        // подготовка
+        UnitOfWork unitOfWork = Mockito.mock(UnitOfWork.class);
+        ClickStatisticsRepository clickStatisticsRepository = new ClickStatisticsRepository(
+                unitOfWork, false, "PT1M", "PT6H", "P31D", "P1095D"
+        );
+
+        // выполнение
+        clickStatisticsRepository.rollup();
+
+        // проверка
+        Mockito.verifyNoInteractions(unitOfWork);
+    }
+
+    /**
+     * Выполняет запросы в базу данных.
+     *
+     * @param queries запросы.
+     */
+    private void execute(final String... queries) throws SQLException {
+        try (Connection connection = this.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String query : queries) {
+                statement.execute(query);
+            }
+        }
+    }
+
+    /**
+     * Возвращает количество интервалов детализации.
+     *
+     * @param granularity детализация.
+     * @return количество интервалов.
+     */
+    private long count(final String granularity) throws SQLException {
+        try (Connection connection = this.dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT COUNT(*) FROM link_clicks_buckets WHERE granularity = '" + granularity + "'")) {
+            resultSet.next();
+
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * Возвращает отметку времени.
+     *
+     * @param dateTime дата и время.
+     * @return отметку времени.
+     */
+    private static Timestamp toTimestamp(final ZonedDateTime dateTime) {
+        return Timestamp.from(dateTime.toInstant());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.AppConfigTest;
+import dev.kalenchukov.shortlinks.entities.Link;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Класс проверки методов класса {@link ImportRepository}.
+ *
+ * @author Алексей Каленчуков
+ */
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = AppConfigTest.class)
+@Sql(value = "/database/create-tables.sql")
+@Sql(value = "/database/insert-table-links.sql")
+@Sql(value = "/database/drop-tables.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+public class ImportRepositoryTest {
+    /**
+     * Репозиторий для загрузки ссылок.
+     */
+    @Autowired
+    public ImportRepository importRepository;
+
+    /**
+     * Репозиторий для ссылок.
+     */
+    @Autowired
+    public LinkRepository linkRepository;
+
+    /**
+     * Проверка метода {@link ImportRepository#merge(String, boolean)} без сохранения идентификаторов.
+     */
+    @Test
+    public void merge() throws SQLException {
+        // подготовка
+        String staging = this.importRepository.createStaging();
+        this.importRepository.copy(staging, List.of(
+                new Link(100L, "https://kalenchukov.dev/\"quoted\",comma", null),
+                new Link(null, "https://kalenchukov.dev/dated", Timestamp.valueOf("2020-01-02 03:04:05"))
+        ));
+
+        // выполнение
+        long actualImported = this.importRepository.merge(staging, false);
+        this.importRepository.dropStaging(staging);
+        List<Link> actualLinks = new ArrayList<>();
+        this.linkRepository.forEach(null, null, actualLinks::add);
+
+        // проверка
+        assertThat(actualImported).isEqualTo(2L);
+        assertThat(actualLinks).extracting(Link::getLinkId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(actualLinks).extracting(Link::getUrl).contains(
+                "https://kalenchukov.dev/\"quoted\",comma",
+                "https://kalenchukov.dev/dated"
+        );
+        assertThat(actualLinks).extracting(Link::getDateCreate).contains(Timestamp.valueOf("2020-01-02 03:04:05"));
+        assertThat(this.linkRepository.size()).isEqualTo(5L);
+    }
+
+    /**
+     * Проверка метода {@link ImportRepository#merge(String, boolean)} с сохранением идентификаторов.
+     */
+    @Test
+    public void mergePreserveIds() throws SQLException {
+        // подготовка
+        String staging = this.importRepository.createStaging();
+        this.importRepository.copy(staging, List.of(
+                new Link(2L, "https://kalenchukov.dev/conflict", null),
+                new Link(10L, "https://kalenchukov.dev/10", null),
+                new Link(null, "https://kalenchukov.dev/new", null)
+        ));
+
+        // выполнение
+        long actualImported = this.importRepository.merge(staging, true);
+        this.importRepository.dropStaging(staging);
+        Link actualSavedLink = this.linkRepository.save(new Link(null, "https://kalenchukov.dev/next", null));
+
+        // проверка
+        assertThat(actualImported).isEqualTo(2L);
+        assertThat(this.linkRepository.getById(2L)).map(Link::getUrl)
+                .contains("https://kalenchukov.dev/shortlinks/doc");
+        assertThat(this.linkRepository.getById(10L)).map(Link::getUrl).contains("https://kalenchukov.dev/10");
+        assertThat(this.linkRepository.getById(11L)).map(Link::getUrl).contains("https://kalenchukov.dev/new");
+        assertThat(actualSavedLink.getLinkId()).isEqualTo(12L);
+    }
+
+    /**
+     * Проверка метода {@link ImportRepository#merge(String, boolean)} с сохранением идентификаторов,
+     * меньших уже выданных.
+     */
+    @Test
+    public void mergePreserveIdsBelowSequence() throws SQLException {
+        // подготовка
+        this.linkRepository.deleteById(1L);
+        String staging = this.importRepository.createStaging();
+        this.importRepository.copy(staging, List.of(new Link(1L, "https://kalenchukov.dev/1", null)));
+
+        // выполнение
+        long actualImported = this.importRepository.merge(staging, true);
+        this.importRepository.dropStaging(staging);
+        Link actualSavedLink = this.linkRepository.save(new Link(null, "https://kalenchukov.dev/next", null));
+
+        // проверка
+        assertThat(actualImported).isEqualTo(1L);
+        assertThat(actualSavedLink.getLinkId()).isEqualTo(4L);
+    }
+
+    /**
+     * Проверка метода {@link ImportRepository#dropStaging(String)}.
+     */
+    @Test
+    public void dropStaging() throws SQLException {
+        // подготовка
+        String staging = this.importRepository.createStaging();
+        List<Link> links = List.of(new Link(null, "https://kalenchukov.dev/1", null));
+
+        // выполнение
+        this.importRepository.dropStaging(staging);
+
+        // проверка
+        assertThatExceptionOfType(SQLException.class).isThrownBy(() -> {
+            this.importRepository.copy(staging, links);
+        });
+    }
+}
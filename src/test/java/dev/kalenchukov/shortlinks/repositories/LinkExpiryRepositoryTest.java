@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.AppConfigTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Класс проверки методов класса {@link LinkExpiryRepository}.
+ *
+ * @author Алексей Каленчуков
+ */
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = AppConfigTest.class)
+@Sql(value = "/database/create-tables.sql")
+@Sql(value = "/database/insert-table-links.sql")
+@Sql(value = "/database/drop-tables.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class LinkExpiryRepositoryTest {
+    /**
+     * Источник данных.
+     */
+    @Autowired
+    public DataSource dataSource;
+
+    /**
+     * Репозиторий ссылок с истёкшим сроком действия.
+     */
+    @Autowired
+    public LinkExpiryRepository linkExpiryRepository;
+
+    /**
+     * Репозиторий для ссылок.
+     */
+    @Autowired
+    public LinkRepository linkRepository;
+
+    /**
+     * Проверка метода {@link LinkExpiryRepository#deleteExpired(Timestamp, int)}.
+     */
+    @Test
+    public void deleteExpired() throws SQLException {
+        // подготовка
+        this.execute(
+                "UPDATE links SET expires_at = '2020-01-01' WHERE link_id IN (1, 2)",
+                "UPDATE links SET expires_at = '2100-01-01' WHERE link_id = 3"
+        );
+        long reclaimedCount = this.linkExpiryRepository.getReclaimedCount();
+
+        // выполнение
+        int actualDeleted = this.linkExpiryRepository.deleteExpired(Timestamp.from(Instant.now()), 1);
+
+        // проверка
+        assertThat(actualDeleted).isEqualTo(1);
+        assertThat(this.linkRepository.getById(1L)).isNotPresent();
+        assertThat(this.linkRepository.getById(2L)).isPresent();
+        assertThat(this.linkRepository.getById(3L)).isPresent();
+        assertThat(this.linkExpiryRepository.getReclaimedCount()).isEqualTo(reclaimedCount + 1L);
+    }
+
+    /**
+     * Проверка метода {@link LinkExpiryRepository#deleteExpired(Timestamp, int)} без ссылок с истёкшим сроком.
+     */
+    @Test
+    public void deleteExpiredNotExpired() throws SQLException {
+        // подготовка
+        this.execute("UPDATE links SET expires_at = '2100-01-01' WHERE link_id = 1");
+
+        // выполнение
+        int actualDeleted = this.linkExpiryRepository.deleteExpired(Timestamp.from(Instant.now()), 10);
+
+        // проверка
+        assertThat(actualDeleted).isZero();
+        assertThat(this.linkRepository.size()).isEqualTo(3L);
+    }
+
+    /**
+     * Проверка метода {@link LinkExpiryRepository#reap()}.
+     */
+    @Test
+    public void reap() throws SQLException {
+        // подготовка
+        LinkExpiryRepository linkExpiryRepository = new LinkExpiryRepository(new UnitOfWork(this.dataSource), 1, 0L, "PT0S");
+        this.execute("UPDATE links SET expires_at = '2020-01-01' WHERE link_id IN (1, 2)");
+
+        // выполнение
+        long actualReclaimed = linkExpiryRepository.reap();
+
+        // проверка
+        assertThat(actualReclaimed).isEqualTo(2L);
+        assertThat(linkExpiryRepository.getReclaimedCount()).isEqualTo(2L);
+        assertThat(this.linkRepository.getById(3L)).isPresent();
+        assertThat(this.linkRepository.size()).isEqualTo(1L);
+    }
+
+    /**
+     * Проверка метода {@link LinkExpiryRepository#reap()} с ограничением длительности удаления.
+     * <p>
+     * Следующая порция при скорости в одну ссылку в секунду начнётся позже ограничения,
+     * поэтому удаление останавливается после первой порции и продолжается при следующем запуске.
+     */
+    @Test
+    public void reapWithMaxDuration() throws SQLException {
+        // подготовка
+        LinkExpiryRepository linkExpiryRepository = new LinkExpiryRepository(new UnitOfWork(this.dataSource), 1, 1L, "PT0.5S");
+        this.execute("UPDATE links SET expires_at = '2020-01-01' WHERE link_id IN (1, 2)");
+
+        // выполнение
+        long actualFirstReclaimed = linkExpiryRepository.reap();
+        long actualSecondReclaimed = linkExpiryRepository.reap();
+
+        // проверка
+        assertThat(actualFirstReclaimed).isEqualTo(1L);
+        assertThat(actualSecondReclaimed).isEqualTo(1L);
+        assertThat(this.linkRepository.size()).isEqualTo(1L);
+    }
+
+    /**
+     * Проверка конструктора {@link LinkExpiryRepository} с некорректным размером порции.
+     */
+    @Test
+    public void constructorInvalidBatchSize() {
+        // подготовка
+        // выполнение
+        // проверка
+        assertThatIllegalArgumentException().isThrownBy(() -> {
+            new LinkExpiryRepository(new UnitOfWork(this.dataSource), 0, 0L, "PT0S");
+        });
+    }
+
+    /**
+     * Выполняет запросы в базу данных.
+     *
+     * @param queries запросы.
+     */
+    private void execute(final String... queries) throws SQLException {
+        try (Connection connection = this.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String query : queries) {
+                statement.execute(query);
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.AppConfigTest;
+import dev.kalenchukov.shortlinks.generators.SnowflakeLinkIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс проверки методов класса {@link LinkPartitionRepository}.
+ * <p>
+ * Тестовая таблица ссылок содержит секции {@code links_p0} до 1000 и {@code links_p1000} до 2000.
+ *
+ * @author Алексей Каленчуков
+ */
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = AppConfigTest.class)
+@Sql(value = "/database/create-tables.sql")
+@Sql(value = "/database/insert-table-links.sql")
+@Sql(value = "/database/drop-tables.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class LinkPartitionRepositoryTest {
+    /**
+     * Источник данных.
+     */
+    @Autowired
+    public DataSource dataSource;
+
+    /**
+     * Репозиторий секций таблицы ссылок.
+     */
+    @Autowired
+    public LinkPartitionRepository linkPartitionRepository;
+
+    /**
+     * Репозиторий для ссылок.
+     */
+    @Autowired
+    public LinkRepository linkRepository;
+
+    /**
+     * Проверка метода {@link LinkPartitionRepository#createPartitions(long, long)}.
+     */
+    @Test
+    public void createPartitions() throws SQLException {
+        // подготовка
+        // выполнение
+        int actualCreated = this.linkPartitionRepository.createPartitions(3500L, 1000L);
+        int actualCreatedAgain = this.linkPartitionRepository.createPartitions(3500L, 1000L);
+
+        // проверка
+        assertThat(actualCreated).isEqualTo(2);
+        assertThat(actualCreatedAgain).isZero();
+        assertThat(this.count("SELECT COUNT(*) FROM links_partitions")).isEqualTo(4L);
+        this.execute("INSERT INTO links (link_id, url) VALUES (3999, 'https://kalenchukov.dev/shortlinks')");
+        assertThat(this.linkRepository.getById(3999L)).isPresent();
+    }
+
+    /**
+     * Проверка метода {@link LinkPartitionRepository#createPartitions(long, long)} с далёким идентификатором.
+     */
+    @Test
+    public void createPartitionsGap() throws SQLException {
+        // подготовка
+        // выполнение
+        int actualCreated = this.linkPartitionRepository.createPartitions(500_000L, 1000L);
+
+        // проверка
+        assertThat(actualCreated).isEqualTo(2);
+        assertThat(this.count("SELECT MAX(upper_bound) FROM links_partitions")).isEqualTo(501_000L);
+    }
+
+    /**
+     * Проверка метода {@link LinkPartitionRepository#dropPartitions(Timestamp)}.
+     */
+    @Test
+    public void dropPartitions() throws SQLException {
+        // подготовка
+        this.execute(
+                "UPDATE links SET date_create = '2020-01-01'",
+                "INSERT INTO links (link_id, url, date_create) VALUES (1500, 'https://kalenchukov.dev/shortlinks', '2020-01-02')",
+                "INSERT INTO link_clicks (link_id, clicks) VALUES (1, 10)"
+        );
+
+        // выполнение
+        int actualDropped = this.linkPartitionRepository.dropPartitions(Timestamp.from(Instant.now()));
+
+        // проверка
+        assertThat(actualDropped).isEqualTo(1);
+        assertThat(this.linkRepository.getById(1L)).isNotPresent();
+        assertThat(this.linkRepository.getById(1500L)).isPresent();
+        assertThat(this.linkRepository.size()).isEqualTo(1L);
+        assertThat(this.count("SELECT COUNT(*) FROM link_clicks")).isZero();
+    }
+
+    /**
+     * Проверка метода {@link LinkPartitionRepository#dropPartitions(Timestamp)} с новыми ссылками.
+     */
+    @Test
+    public void dropPartitionsRecentLinks() throws SQLException {
+        // подготовка
+        this.execute("INSERT INTO links (link_id, url) VALUES (1500, 'https://kalenchukov.dev/shortlinks')");
+
+        // выполнение
+        int actualDropped = this.linkPartitionRepository.dropPartitions(Timestamp.from(Instant.parse("2020-01-01T00:00:00Z")));
+
+        // проверка
+        assertThat(actualDropped).isZero();
+        assertThat(this.linkRepository.size()).isEqualTo(4L);
+    }
+
+    /**
+     * Проверка метода {@link LinkPartitionRepository#maintain()}.
+     */
+    @Test
+    public void maintain() throws SQLException {
+        // подготовка
+        LinkPartitionRepository linkPartitionRepository = new LinkPartitionRepository(
+                new UnitOfWork(this.dataSource), OptionalLong::empty, 1000L, 2, "P0D", "PT1H"
+        );
+
+        // выполнение
+        linkPartitionRepository.maintain();
+
+        // проверка
+        assertThat(this.count("SELECT MAX(upper_bound) FROM links_partitions")).isEqualTo(3000L);
+    }
+
+    /**
+     * Проверка конструктора {@link LinkPartitionRepository} с генератором {@link SnowflakeLinkIdGenerator}.
+     */
+    @Test
+    public void constructorSnowflakeGenerator() {
+        // подготовка
+        // выполнение
+        LinkPartitionRepository linkPartitionRepository = new LinkPartitionRepository(
+                new UnitOfWork(this.dataSource), new SnowflakeLinkIdGenerator(0), 10_000_000L, 2, "P0D", "PT1H"
+        );
+
+        // проверка
+        assertThat(linkPartitionRepository).extracting("size").isEqualTo(
+                TimeUnit.HOURS.toMillis(1L) << (SnowflakeLinkIdGenerator.NODE_BITS + SnowflakeLinkIdGenerator.SEQUENCE_BITS)
+        );
+    }
+
+    /**
+     * Выполняет запросы в базу данных.
+     *
+     * @param queries запросы.
+     */
+    private void execute(final String... queries) throws SQLException {
+        try (Connection connection = this.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String query : queries) {
+                statement.execute(query);
+            }
+        }
+    }
+
+    /**
+     * Возвращает число из результата запроса.
+     *
+     * @param query запрос.
+     * @return число.
+     */
+    private long count(final String query) throws SQLException {
+        try (Connection connection = this.dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(query)) {
+            resultSet.next();
+
+            return resultSet.getLong(1);
+        }
+    }
+}
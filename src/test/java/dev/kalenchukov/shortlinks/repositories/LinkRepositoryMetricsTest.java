@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.entities.Link;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Класс проверки методов класса {@link LinkRepositoryMetrics}.
+ *
+ * @author Алексей Каленчуков
+ */
+@ExtendWith(MockitoExtension.class)
+public class LinkRepositoryMetricsTest {
+    /**
+     * Репозиторий ссылок.
+     */
+    @Mock
+    private LinkRepositories linkRepository;
+
+    /**
+     * Реестр метрик.
+     */
+    private SimpleMeterRegistry registry;
+
+    /**
+     * Репозиторий ссылок с измерением времени вызовов.
+     */
+    private LinkRepositories meteredLinkRepository;
+
+    /**
+     * Создаёт репозиторий с измерением времени вызовов перед каждой проверкой.
+     */
+    @BeforeEach
+    public void setUp() {
+        this.registry = new SimpleMeterRegistry();
+
+        ProxyFactory proxyFactory = new ProxyFactory(this.linkRepository);
+        proxyFactory.addAdvice(new LinkRepositoryMetrics(LinkRepository.class, this.registry));
+        this.meteredLinkRepository = (LinkRepositories) proxyFactory.getProxy();
+    }
+
+    /**
+     * Проверка метода {@link LinkRepositoryMetrics#invoke(org.aopalliance.intercept.MethodInvocation)}.
+     */
+    @Test
+    public void invoke() throws SQLException {
+        // подготовка
+        Link link = Mockito.mock(Link.class);
+        Mockito.when(this.linkRepository.getById(1L)).thenReturn(Optional.of(link));
+
+        // выполнение
+        Optional<Link> actual = this.meteredLinkRepository.getById(1L);
+
+        // проверка
+        assertThat(actual).contains(link);
+        assertThat(this.timer("getById", "SUCCESS").count()).isEqualTo(1L);
+        assertThat(this.timer("getById", "ERROR").count()).isZero();
+    }
+
+    /**
+     * Проверка метода {@link LinkRepositoryMetrics#invoke(org.aopalliance.intercept.MethodInvocation)}
+     * с ошибкой базы данных.
+     */
+    @Test
+    public void invokeError() throws SQLException {
+        // подготовка
+        Mockito.when(this.linkRepository.size()).thenThrow(new SQLException());
+
+        // выполнение
+        assertThatExceptionOfType(SQLException.class).isThrownBy(() -> {
+            this.meteredLinkRepository.size();
+        });
+
+        // проверка
+        assertThat(this.timer("size", "SUCCESS").count()).isZero();
+        assertThat(this.timer("size", "ERROR").count()).isEqualTo(1L);
+    }
+
+    /**
+     * Проверка регистрации таймеров всех методов репозитория до первого вызова.
+     */
+    @Test
+    public void timersRegistered() {
+        // выполнение
+        Timer actual = this.timer("deleteAllById", "SUCCESS");
+
+        // проверка
+        assertThat(actual.getId().getTag("repository")).isEqualTo("LinkRepository");
+        assertThat(this.registry.find(LinkRepositoryMetrics.METRIC).timers())
+                .hasSize(LinkRepositories.class.getMethods().length * 2);
+    }
+
+    /**
+     * Возвращает таймер метода.
+     *
+     * @param method  название метода.
+     * @param outcome результат вызова.
+     * @return таймер.
+     */
+    private Timer timer(final String method, final String outcome) {
+        return this.registry.get(LinkRepositoryMetrics.METRIC)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .timer();
+    }
+}
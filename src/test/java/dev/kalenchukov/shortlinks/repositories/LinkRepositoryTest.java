@@ -25,7 +25,11 @@
 package dev.kalenchukov.shortlinks.repositories;
 
 import dev.kalenchukov.shortlinks.AppConfigTest;
+import dev.kalenchukov.shortlinks.codecs.LinkCodecs;
+import dev.kalenchukov.shortlinks.codecs.UrlHashes;
 import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.generators.LinkIdGenerators;
+import dev.kalenchukov.shortlinks.generators.SnowflakeLinkIdGenerator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
@@ -41,7 +45,10 @@ import javax.sql.DataSource;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -70,6 +77,42 @@ public class LinkRepositoryTest {
     @Autowired
     public LinkRepository linkRepository;
 
+    /**
+     * Единица работы с базой данных.
+     */
+    @Autowired
+    public UnitOfWork unitOfWork;
+
+    /**
+     * Преобразование идентификаторов ссылок в коды.
+     */
+    @Autowired
+    public LinkCodecs linkCodec;
+
+    /**
+     * Генератор идентификаторов ссылок.
+     */
+    @Autowired
+    public LinkIdGenerators linkIdGenerator;
+
+    /**
+     * Хэширование URL-адресов ссылок.
+     */
+    @Autowired
+    public UrlHashes urlHash;
+
+    /**
+     * Выбор реплики базы данных для чтения.
+     */
+    @Autowired
+    public ReplicaRouters replicaRouter;
+
+    /**
+     * Дублирование медленных запросов чтения.
+     */
+    @Autowired
+    public ReadHedgers readHedger;
+
     /**
      * Проверка метода {@link LinkRepository#getById(long)}.
      */
@@ -87,6 +130,7 @@ public class LinkRepositoryTest {
 
         // проверка
         assertThat(actualLink).isPresent().get().isEqualTo(expectedLink);
+        assertThat(actualLink.get().getCode()).isEqualTo("1");
     }
 
     /**
@@ -157,6 +201,168 @@ public class LinkRepositoryTest {
         assertThat(actualLink2).isEqualTo(expectedLink2);
     }
 
+    /**
+     * Проверка метода {@link LinkRepository#save(Link)} с исключением повторяющихся URL-адресов.
+     */
+    @Test
+    public void saveWithDeduplication() throws SQLException {
+        // подготовка
+        LinkRepository linkRepository = new LinkRepository(
+                this.unitOfWork, this.linkCodec, this.linkIdGenerator, this.urlHash, true, this.replicaRouter, this.readHedger
+        );
+        Link link = new Link(null, "https://kalenchukov.dev/shortlinks/help", null);
+        Link duplicateLink = new Link(null, "https://KALENCHUKOV.dev/shortlinks/help", null);
+
+        // выполнение
+        Link actualLink = linkRepository.save(link);
+        Link actualDuplicateLink = linkRepository.save(duplicateLink);
+
+        // проверка
+        assertThat(actualDuplicateLink.getLinkId()).isEqualTo(actualLink.getLinkId());
+        assertThat(actualDuplicateLink.getUrl()).isEqualTo("https://kalenchukov.dev/shortlinks/help");
+        assertThat(actualDuplicateLink.getCode()).isEqualTo(actualLink.getCode());
+        assertThat(this.linkRepository.size()).isEqualTo(4L);
+    }
+
+    /**
+     * Проверка метода {@link LinkRepository#saveAll(List)} с исключением повторяющихся URL-адресов.
+     */
+    @Test
+    public void saveAllWithDeduplication() throws SQLException {
+        // подготовка
+        LinkRepository linkRepository = new LinkRepository(
+                this.unitOfWork, this.linkCodec, this.linkIdGenerator, this.urlHash, true, this.replicaRouter, this.readHedger
+        );
+        Link existingLink = linkRepository.save(new Link(null, "https://kalenchukov.dev/shortlinks/help", null));
+        List<Link> links = List.of(
+                new Link(null, "https://kalenchukov.dev/shortlinks/1", null),
+                new Link(null, "https://kalenchukov.dev/shortlinks/help", null),
+                new Link(null, "https://kalenchukov.dev:443/shortlinks/1", null),
+                new Link(null, "https://kalenchukov.dev/shortlinks/2", null)
+        );
+
+        // выполнение
+        List<Link> actualLinks = linkRepository.saveAll(links);
+
+        // проверка
+        assertThat(actualLinks).extracting(Link::getUrl).containsExactly(
+                "https://kalenchukov.dev/shortlinks/1",
+                "https://kalenchukov.dev/shortlinks/help",
+                "https://kalenchukov.dev/shortlinks/1",
+                "https://kalenchukov.dev/shortlinks/2"
+        );
+        assertThat(actualLinks.get(1).getLinkId()).isEqualTo(existingLink.getLinkId());
+        assertThat(actualLinks.get(2).getLinkId()).isEqualTo(actualLinks.get(0).getLinkId());
+        assertThat(this.linkRepository.size()).isEqualTo(6L);
+    }
+
+    /**
+     * Проверка метода {@link LinkRepository#saveAll(List)}.
+     */
+    @Test
+    @Sql(value = "/database/drop-tables.sql")
+    @Sql(value = "/database/create-tables.sql")
+    public void saveAll() throws SQLException {
+        // подготовка
+        List<Link> links = List.of(
+                new Link(null, "https://kalenchukov.dev/shortlinks/1", null),
+                new Link(null, "https://kalenchukov.dev/shortlinks/2", null),
+                new Link(null, "https://kalenchukov.dev/shortlinks/3", null)
+        );
+
+        // выполнение
+        List<Link> actualLinks = this.linkRepository.saveAll(links);
+
+        // проверка
+        assertThat(actualLinks).extracting(Link::getLinkId).containsExactly(1L, 2L, 3L);
+        assertThat(actualLinks).extracting(Link::getUrl).containsExactly(
+                "https://kalenchukov.dev/shortlinks/1",
+                "https://kalenchukov.dev/shortlinks/2",
+                "https://kalenchukov.dev/shortlinks/3"
+        );
+        assertThat(actualLinks).extracting(Link::getDateCreate).doesNotContainNull();
+        assertThat(this.linkRepository.size()).isEqualTo(3L);
+    }
+
+    /**
+     * Проверка метода {@link LinkRepository#save(Link)} со сроком действия.
+     */
+    @Test
+    public void saveWithExpiresAt() throws SQLException {
+        // подготовка
+        Timestamp expiresAt = Timestamp.from(Instant.parse("2030-01-01T00:00:00Z"));
+        Link link = new Link(null, null, "https://kalenchukov.dev/shortlinks/campaign", null, expiresAt);
+
+        // выполнение
+        Link actualLink = this.linkRepository.save(link);
+
+        // проверка
+        assertThat(actualLink.getExpiresAt()).isEqualTo(expiresAt);
+        assertThat(this.linkRepository.getById(actualLink.getLinkId()))
+                .hasValueSatisfying(savedLink -> assertThat(savedLink.getExpiresAt()).isEqualTo(expiresAt));
+    }
+
+    /**
+     * Проверка метода {@link LinkRepository#save(Link)} с идентификатором от генератора приложения.
+     */
+    @Test
+    public void saveWithGeneratedId() throws SQLException {
+        // подготовка
+        SnowflakeLinkIdGenerator linkIdGenerator = new SnowflakeLinkIdGenerator(5);
+        LinkRepository linkRepository = new LinkRepository(this.unitOfWork, this.linkCodec, linkIdGenerator, this.urlHash, false, this.replicaRouter, this.readHedger);
+        Link link = new Link(null, "https://kalenchukov.dev/shortlinks/help", null);
+
+        // выполнение
+        Link actualLink = linkRepository.save(link);
+
+        // проверка
+        assertThat(actualLink.getLinkId()).isGreaterThan(3L);
+        assertThat((actualLink.getLinkId() >>> SnowflakeLinkIdGenerator.SEQUENCE_BITS) & SnowflakeLinkIdGenerator.MAX_NODE_ID)
+                .isEqualTo(5L);
+        assertThat(this.linkRepository.getById(actualLink.getLinkId())).isPresent();
+    }
+
+    /**
+     * Проверка метода {@link LinkRepository#saveAll(List)} с идентификаторами от генератора приложения.
+     */
+    @Test
+    public void saveAllWithGeneratedIds() throws SQLException {
+        // подготовка
+        SnowflakeLinkIdGenerator linkIdGenerator = new SnowflakeLinkIdGenerator(5);
+        LinkRepository linkRepository = new LinkRepository(this.unitOfWork, this.linkCodec, linkIdGenerator, this.urlHash, false, this.replicaRouter, this.readHedger);
+        List<Link> links = List.of(
+                new Link(null, "https://kalenchukov.dev/shortlinks/1", null),
+                new Link(null, "https://kalenchukov.dev/shortlinks/2", null),
+                new Link(null, "https://kalenchukov.dev/shortlinks/3", null)
+        );
+
+        // выполнение
+        List<Link> actualLinks = linkRepository.saveAll(links);
+
+        // проверка
+        assertThat(actualLinks).extracting(Link::getLinkId).isSorted().allMatch(linkId -> linkId > 3L);
+        assertThat(actualLinks).extracting(Link::getUrl).containsExactly(
+                "https://kalenchukov.dev/shortlinks/1",
+                "https://kalenchukov.dev/shortlinks/2",
+                "https://kalenchukov.dev/shortlinks/3"
+        );
+        assertThat(this.linkRepository.size()).isEqualTo(6L);
+    }
+
+    /**
+     * Проверка метода {@link LinkRepository#saveAll(List)} с пустым списком ссылок.
+     */
+    @Test
+    public void saveAllIsEmpty() throws SQLException {
+        // подготовка
+        // выполнение
+        List<Link> actualLinks = this.linkRepository.saveAll(List.of());
+
+        // проверка
+        assertThat(actualLinks).isEmpty();
+        assertThat(this.linkRepository.size()).isEqualTo(3L);
+    }
+
     /**
      * Проверка метода {@link LinkRepository#size()}.
      */
@@ -188,6 +394,42 @@ public class LinkRepositoryTest {
         assertThat(actualSize).isEqualTo(expectedSize);
     }
 
+    /**
+     * Проверка метода {@link LinkRepository#size()} после добавления и удаления ссылок.
+     */
+    @Test
+    public void sizeAfterSaveAndDelete() throws SQLException {
+        // подготовка
+        Link link = Mockito.mock(Link.class);
+        Mockito.when(link.getUrl()).thenReturn("https://kalenchukov.dev/shortlinks/help");
+        long expectedSize = 3L;
+
+        // выполнение
+        this.linkRepository.save(link);
+        this.linkRepository.deleteById(1L);
+        this.linkRepository.deleteById(0L);
+        long actualSize = this.linkRepository.size();
+
+        // проверка
+        assertThat(actualSize).isEqualTo(expectedSize);
+    }
+
+    /**
+     * Проверка метода {@link LinkRepository#estimateSize()}.
+     */
+    @Test
+    @Sql(statements = "ANALYZE links")
+    public void estimateSize() throws SQLException {
+        // подготовка
+        long expectedSize = 3L;
+
+        // выполнение
+        long actualSize = this.linkRepository.estimateSize();
+
+        // проверка
+        assertThat(actualSize).isEqualTo(expectedSize);
+    }
+
     /**
      * Проверка метода {@link LinkRepository#deleteById(long)}.
      */
@@ -213,4 +455,107 @@ public class LinkRepositoryTest {
         // проверка
         assertThat(actualDeleted).isFalse();
     }
-}
\ No newline at end of file
+
+    /**
+     * Проверка метода {@link LinkRepository#deleteAllById(java.util.Collection)}.
+     */
+    @Test
+    public void deleteAllById() throws SQLException {
+        // подготовка
+        // выполнение
+        Set<Long> actualDeletedLinkIds = this.linkRepository.deleteAllById(List.of(1L, 3L, 0L, 4L));
+
+        // проверка
+        assertThat(actualDeletedLinkIds).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(this.linkRepository.size()).isEqualTo(1L);
+    }
+
+    /**
+     * Проверка метода {@link LinkRepository#deleteAllById(java.util.Collection)} с пустым списком идентификаторов.
+     */
+    @Test
+    public void deleteAllByIdIsEmpty() throws SQLException {
+        // подготовка
+        // выполнение
+        Set<Long> actualDeletedLinkIds = this.linkRepository.deleteAllById(List.of());
+
+        // проверка
+        assertThat(actualDeletedLinkIds).isEmpty();
+        assertThat(this.linkRepository.size()).isEqualTo(3L);
+    }
+
+    /**
+     * Проверка метода {@link LinkRepository#forEach(Timestamp, Timestamp, java.util.function.Consumer)}.
+     */
+    @Test
+    public void forEach() throws SQLException {
+        // подготовка
+        List<Link> actualLinks = new ArrayList<>();
+
+        // выполнение
+        this.linkRepository.forEach(null, null, actualLinks::add);
+
+        // проверка
+        assertThat(actualLinks).extracting(Link::getLinkId).containsExactly(1L, 2L, 3L);
+        assertThat(actualLinks).extracting(Link::getUrl).containsExactly(
+                "https://kalenchukov.dev/shortlinks",
+                "https://kalenchukov.dev/shortlinks/doc",
+                "https://kalenchukov.dev/shortlinks/code"
+        );
+    }
+
+    /**
+     * Проверка метода {@link LinkRepository#forEach(Timestamp, Timestamp, java.util.function.Consumer)}
+     * с периодом создания ссылок.
+     */
+    @Test
+    public void forEachInPeriod() throws SQLException {
+        // подготовка
+        Timestamp past = Timestamp.from(Instant.now().minusSeconds(3600L));
+        Timestamp future = Timestamp.from(Instant.now().plusSeconds(3600L));
+        List<Link> actualLinksBefore = new ArrayList<>();
+        List<Link> actualLinksAfter = new ArrayList<>();
+        List<Link> actualLinksBetween = new ArrayList<>();
+
+        // выполнение
+        this.linkRepository.forEach(null, past, actualLinksBefore::add);
+        this.linkRepository.forEach(future, null, actualLinksAfter::add);
+        this.linkRepository.forEach(past, future, actualLinksBetween::add);
+
+        // проверка
+        assertThat(actualLinksBefore).isEmpty();
+        assertThat(actualLinksAfter).isEmpty();
+        assertThat(actualLinksBetween).extracting(Link::getLinkId).containsExactly(1L, 2L, 3L);
+    }
+
+    /**
+     * Проверка метода {@link LinkRepository#forEachId(java.util.function.LongConsumer)}.
+     */
+    @Test
+    public void forEachId() throws SQLException {
+        // подготовка
+        List<Long> actualIds = new ArrayList<>();
+
+        // выполнение
+        this.linkRepository.forEachId(actualIds::add);
+
+        // проверка
+        assertThat(actualIds).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    /**
+     * Проверка метода {@link LinkRepository#forEachId(java.util.function.LongConsumer)} с отсутствием ссылок.
+     */
+    @Test
+    @Sql(value = "/database/truncate-table-links.sql")
+    public void forEachIdIsEmpty() throws SQLException {
+        // подготовка
+        List<Long> actualIds = new ArrayList<>();
+
+        // выполнение
+        this.linkRepository.forEachId(actualIds::add);
+
+        // проверка
+        assertThat(actualIds).isEmpty();
+    }
+}
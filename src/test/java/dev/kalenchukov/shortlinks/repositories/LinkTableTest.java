@@ -0,0 +1,243 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Класс проверки методов класса {@link LinkTable}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class LinkTableTest {
+    /**
+     * Проверка метода {@link LinkTable#put(long, long, byte[])}.
+     */
+    @Test
+    public void put() {
+        // подготовка
+        LinkTable table = new LinkTable(0);
+
+        // выполнение
+        boolean actualAdded = table.put(1L, 100L, bytes("https://kalenchukov.dev/shortlinks"));
+        boolean actualReplaced = table.put(1L, 200L, bytes("https://kalenchukov.dev/shortlinks/doc"));
+
+        // проверка
+        LinkTable.Slots slots = table.slots();
+        int index = slots.indexOf(1L);
+        assertThat(actualAdded).isTrue();
+        assertThat(actualReplaced).isFalse();
+        assertThat(table.size()).isEqualTo(1);
+        assertThat(slots.dates[index]).isEqualTo(200L);
+        assertThat(slots.url(index)).isEqualTo("https://kalenchukov.dev/shortlinks/doc");
+        assertThat(table.garbage()).isEqualTo("https://kalenchukov.dev/shortlinks".length());
+    }
+
+    /**
+     * Проверка метода {@link LinkTable#put(long, long, byte[])} с нулевым идентификатором.
+     */
+    @Test
+    public void putZeroLinkId() {
+        // подготовка
+        LinkTable table = new LinkTable(0);
+
+        // выполнение
+        // проверка
+        assertThatThrownBy(() -> table.put(0L, 100L, bytes("https://kalenchukov.dev/shortlinks")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Проверка метода {@link LinkTable#put(long, long, byte[])} с расширением таблицы.
+     */
+    @Test
+    public void putResize() {
+        // подготовка
+        LinkTable table = new LinkTable(0);
+        int initialCapacity = table.capacity();
+
+        // выполнение
+        for (long linkId = 1L; linkId <= 1000L; linkId++) {
+            table.put(linkId, linkId, bytes("https://kalenchukov.dev/" + linkId));
+        }
+
+        // проверка
+        assertThat(table.size()).isEqualTo(1000);
+        assertThat(table.capacity()).isGreaterThan(initialCapacity).isGreaterThanOrEqualTo(1000 * 4 / 3);
+
+        for (long linkId = 1L; linkId <= 1000L; linkId++) {
+            assertThat(table.slots().url(table.slots().indexOf(linkId))).isEqualTo("https://kalenchukov.dev/" + linkId);
+        }
+    }
+
+    /**
+     * Проверка метода {@link LinkTable#remove(long)}.
+     */
+    @Test
+    public void remove() {
+        // подготовка
+        LinkTable table = new LinkTable(0);
+        table.put(1L, 100L, bytes("https://kalenchukov.dev/shortlinks"));
+
+        // выполнение
+        boolean actualRemoved = table.remove(1L);
+        boolean actualAbsentRemoved = table.remove(1L);
+
+        // проверка
+        assertThat(actualRemoved).isTrue();
+        assertThat(actualAbsentRemoved).isFalse();
+        assertThat(table.size()).isZero();
+        assertThat(table.slots().indexOf(1L)).isEqualTo(-1);
+    }
+
+    /**
+     * Проверка методов {@link LinkTable#put(long, long, byte[])} и {@link LinkTable#remove(long)}
+     * в случайном порядке в сравнении с {@link HashMap}.
+     * <p>
+     * Таблица остаётся почти заполненной, поэтому удаление постоянно сдвигает цепочки коллизий.
+     */
+    @Test
+    public void putAndRemoveRandom() {
+        // подготовка
+        Random random = new Random(42L);
+        LinkTable table = new LinkTable(1000);
+        Map<Long, Long> expected = new HashMap<>();
+
+        // выполнение
+        for (int i = 0; i < 100_000; i++) {
+            long linkId = 1L + random.nextInt(1200);
+
+            if (random.nextBoolean()) {
+                table.put(linkId, i, bytes(Long.toString(linkId)));
+                expected.put(linkId, (long) i);
+            } else {
+                assertThat(table.remove(linkId)).isEqualTo(expected.remove(linkId) != null);
+            }
+        }
+
+        // проверка
+        List<Long> actualIds = new ArrayList<>();
+        table.forEachId(actualIds::add);
+        assertThat(table.size()).isEqualTo(expected.size());
+        assertThat(actualIds).containsExactlyInAnyOrderElementsOf(expected.keySet());
+
+        for (long linkId = 1L; linkId <= 1200L; linkId++) {
+            int index = table.slots().indexOf(linkId);
+
+            if (expected.containsKey(linkId)) {
+                assertThat(table.slots().dates[index]).isEqualTo(expected.get(linkId));
+                assertThat(table.slots().url(index)).isEqualTo(Long.toString(linkId));
+            } else {
+                assertThat(index).isEqualTo(-1);
+            }
+        }
+    }
+
+    /**
+     * Проверка метода {@link LinkTable#put(long, long, byte[])} с URL-адресами в нескольких блоках.
+     */
+    @Test
+    public void putManyChunks() {
+        // подготовка
+        LinkTable table = new LinkTable(0);
+        byte[] url = new byte[LinkTable.CHUNK_SIZE / 3];
+
+        // выполнение
+        for (long linkId = 1L; linkId <= 10L; linkId++) {
+            url[0] = (byte) linkId;
+            table.put(linkId, linkId, url);
+        }
+
+        // проверка
+        assertThat(table.bytes()).isEqualTo(10L * url.length);
+
+        for (long linkId = 1L; linkId <= 10L; linkId++) {
+            int index = table.slots().indexOf(linkId);
+            assertThat(table.slots().urlLength(index)).isEqualTo(url.length);
+            assertThat(table.slots().url(index).charAt(0)).isEqualTo((char) linkId);
+        }
+    }
+
+    /**
+     * Проверка метода {@link LinkTable#pack()}.
+     */
+    @Test
+    public void pack() {
+        // подготовка
+        LinkTable table = new LinkTable(0);
+
+        for (long linkId = 1L; linkId <= 100L; linkId++) {
+            table.put(linkId, linkId, bytes("https://kalenchukov.dev/" + linkId));
+        }
+
+        for (long linkId = 1L; linkId <= 100L; linkId += 2L) {
+            table.remove(linkId);
+        }
+
+        LinkTable.Slots oldSlots = table.slots();
+        int oldIndex = oldSlots.indexOf(2L);
+
+        // выполнение
+        table.pack();
+
+        // проверка
+        assertThat(table.garbage()).isZero();
+        assertThat(table.size()).isEqualTo(50);
+        assertThat(oldSlots.url(oldIndex)).isEqualTo("https://kalenchukov.dev/2");
+
+        for (long linkId = 1L; linkId <= 100L; linkId++) {
+            int index = table.slots().indexOf(linkId);
+
+            if (linkId % 2L == 0L) {
+                assertThat(table.slots().url(index)).isEqualTo("https://kalenchukov.dev/" + linkId);
+            } else {
+                assertThat(index).isEqualTo(-1);
+            }
+        }
+
+        table.put(101L, 101L, bytes("https://kalenchukov.dev/101"));
+        assertThat(table.slots().url(table.slots().indexOf(101L))).isEqualTo("https://kalenchukov.dev/101");
+    }
+
+    /**
+     * Возвращает строку в UTF-8.
+     *
+     * @param value строка.
+     * @return байты.
+     */
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.entities.WriterStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Класс проверки методов класса {@link LinkWriter}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class LinkWriterTest {
+    /**
+     * Репозиторий для ссылок.
+     */
+    private LinkRepositories linkRepository;
+
+    /**
+     * Единица работы с базой данных.
+     */
+    private UnitOfWork unitOfWork;
+
+    /**
+     * Подготавливает репозиторий, присваивающий ссылкам идентификаторы по длине URL-адреса.
+     */
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.linkRepository = Mockito.mock(LinkRepositories.class);
+        this.unitOfWork = Mockito.mock(UnitOfWork.class);
+        Mockito.when(this.linkRepository.save(Mockito.any())).thenAnswer(invocation -> {
+            return toSavedLink(invocation.getArgument(0));
+        });
+        Mockito.when(this.linkRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> {
+            List<Link> links = invocation.getArgument(0);
+            List<Link> savedLinks = new ArrayList<>();
+
+            for (Link link : links) {
+                savedLinks.add(toSavedLink(link));
+            }
+
+            return savedLinks;
+        });
+    }
+
+    /**
+     * Проверка метода {@link LinkWriter#write(Link)} с выключенным групповым добавлением.
+     */
+    @Test
+    public void writeDisabled() throws SQLException, InterruptedException {
+        // подготовка
+        LinkWriter linkWriter = new LinkWriter(this.linkRepository, this.unitOfWork, false, 4, "PT1S", 100);
+
+        // выполнение
+        Link actualLink = linkWriter.write(new Link(null, "https://kalenchukov.dev/1", null));
+        linkWriter.close();
+
+        // проверка
+        assertThat(actualLink.getLinkId()).isEqualTo(25L);
+        assertThat(linkWriter.getStatistics().getEnabled()).isFalse();
+        Mockito.verify(this.linkRepository, Mockito.only()).save(Mockito.any());
+    }
+
+    /**
+     * Проверка метода {@link LinkWriter#write(Link)} внутри единицы работы.
+     */
+    @Test
+    public void writeInUnitOfWork() throws SQLException, InterruptedException {
+        // подготовка
+        LinkWriter linkWriter = new LinkWriter(this.linkRepository, this.unitOfWork, true, 4, "PT1S", 100);
+        Mockito.when(this.unitOfWork.isActive()).thenReturn(true);
+
+        // выполнение
+        Link actualLink = linkWriter.write(new Link(null, "https://kalenchukov.dev/1", null));
+        linkWriter.close();
+
+        // проверка
+        assertThat(actualLink.getLinkId()).isEqualTo(25L);
+        Mockito.verify(this.linkRepository, Mockito.only()).save(Mockito.any());
+    }
+
+    /**
+     * Проверка метода {@link LinkWriter#write(Link)} с одновременным добавлением ссылок.
+     */
+    @Test
+    public void write() throws Exception {
+        // подготовка
+        LinkWriter linkWriter = new LinkWriter(this.linkRepository, this.unitOfWork, true, 4, "PT10S", 100);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Link>> futures = new ArrayList<>();
+
+        // выполнение
+        for (int index = 1; index <= 4; index++) {
+            Link link = new Link(null, "https://kalenchukov.dev/" + "1".repeat(index), null);
+            futures.add(executor.submit(() -> linkWriter.write(link)));
+        }
+
+        List<Long> actualLinkIds = new ArrayList<>();
+
+        for (Future<Link> future : futures) {
+            actualLinkIds.add(future.get().getLinkId());
+        }
+
+        executor.shutdown();
+        linkWriter.close();
+        WriterStatistics actualStatistics = linkWriter.getStatistics();
+
+        // проверка
+        assertThat(actualLinkIds).containsExactly(25L, 26L, 27L, 28L);
+        assertThat(actualStatistics.getBatchCount()).isEqualTo(1L);
+        assertThat(actualStatistics.getLinkCount()).isEqualTo(4L);
+        assertThat(actualStatistics.getMaxBatchSize()).isEqualTo(4L);
+        assertThat(actualStatistics.getQueueDepth()).isEqualTo(0L);
+        Mockito.verify(this.linkRepository, Mockito.only()).saveAll(Mockito.anyList());
+    }
+
+    /**
+     * Проверка метода {@link LinkWriter#write(Link)} с ожиданием неполной группы.
+     */
+    @Test
+    public void writeAfterDelay() throws SQLException, InterruptedException {
+        // подготовка
+        LinkWriter linkWriter = new LinkWriter(this.linkRepository, this.unitOfWork, true, 4, "PT0.01S", 100);
+
+        // выполнение
+        Link actualLink = linkWriter.write(new Link(null, "https://kalenchukov.dev/1", null));
+        linkWriter.close();
+
+        // проверка
+        assertThat(actualLink.getLinkId()).isEqualTo(25L);
+        assertThat(linkWriter.getStatistics().getBatchCount()).isEqualTo(1L);
+        Mockito.verify(this.linkRepository, Mockito.only()).saveAll(Mockito.anyList());
+    }
+
+    /**
+     * Проверка метода {@link LinkWriter#write(Link)} при ошибке группового добавления.
+     */
+    @Test
+    public void writeErrorDatabase() throws SQLException, InterruptedException {
+        // подготовка
+        LinkWriter linkWriter = new LinkWriter(this.linkRepository, this.unitOfWork, true, 4, "PT0.01S", 100);
+        Mockito.doThrow(SQLException.class).when(this.linkRepository).saveAll(Mockito.anyList());
+        Mockito.doThrow(SQLException.class).when(this.linkRepository).save(Mockito.any());
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(SQLException.class).isThrownBy(() -> {
+            linkWriter.write(new Link(null, "https://kalenchukov.dev/1", null));
+        });
+        linkWriter.close();
+        assertThat(linkWriter.getStatistics().getBatchCount()).isEqualTo(0L);
+    }
+
+    /**
+     * Проверка метода {@link LinkWriter#write(Link)} после остановки потока записи.
+     */
+    @Test
+    public void writeAfterClose() throws SQLException, InterruptedException {
+        // подготовка
+        LinkWriter linkWriter = new LinkWriter(this.linkRepository, this.unitOfWork, true, 4, "PT1S", 100);
+        linkWriter.close();
+
+        // выполнение
+        Link actualLink = linkWriter.write(new Link(null, "https://kalenchukov.dev/1", null));
+
+        // проверка
+        assertThat(actualLink.getLinkId()).isEqualTo(25L);
+        assertThat(linkWriter.getStatistics().getQueueDepth()).isEqualTo(0L);
+        Mockito.verify(this.linkRepository, Mockito.only()).save(Mockito.any());
+    }
+
+    /**
+     * Проверка метода {@link LinkWriter#close()} во время одновременного добавления ссылок.
+     */
+    @Test
+    public void closeWhileWriting() throws Exception {
+        // подготовка
+        LinkWriter linkWriter = new LinkWriter(this.linkRepository, this.unitOfWork, true, 4, "PT0.001S", 100);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Link>> futures = new ArrayList<>();
+
+        for (int index = 0; index < 1000; index++) {
+            Link link = new Link(null, "https://kalenchukov.dev/1", null);
+            futures.add(executor.submit(() -> linkWriter.write(link)));
+        }
+
+        // выполнение
+        linkWriter.close();
+
+        // проверка
+        for (Future<Link> future : futures) {
+            assertThat(future.get(10L, TimeUnit.SECONDS).getLinkId()).isEqualTo(25L);
+        }
+
+        executor.shutdown();
+    }
+
+    /**
+     * Возвращает добавленную ссылку с идентификатором, равным длине URL-адреса.
+     *
+     * @param link ссылка.
+     * @return добавленную ссылку.
+     */
+    private static Link toSavedLink(final Link link) {
+        return new Link((long) link.getUrl().length(), link.getUrl(), Timestamp.from(Instant.now()));
+    }
+}
@@ -0,0 +1,523 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.codecs.LinkCodec;
+import dev.kalenchukov.shortlinks.codecs.UrlHash;
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.generators.LinkIdGenerators;
+import dev.kalenchukov.shortlinks.generators.SequenceLinkIdGenerator;
+import dev.kalenchukov.shortlinks.generators.SnowflakeLinkIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Класс проверки методов класса {@link MemoryLinkRepository}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class MemoryLinkRepositoryTest {
+    /**
+     * Каталог журнала и снимка.
+     */
+    @TempDir
+    public Path directory;
+
+    /**
+     * Репозиторий для ссылок.
+     */
+    private MemoryLinkRepository linkRepository;
+
+    /**
+     * Подготавливает репозиторий с тремя ссылками.
+     */
+    @BeforeEach
+    public void setUp() throws IOException, SQLException {
+        this.linkRepository = this.open(new SequenceLinkIdGenerator(), false, 1_000_000L);
+        this.linkRepository.saveAll(List.of(
+                new Link(null, "https://kalenchukov.dev/shortlinks", null),
+                new Link(null, "https://kalenchukov.dev/shortlinks/doc", null),
+                new Link(null, "https://kalenchukov.dev/shortlinks/code", null)
+        ));
+    }
+
+    /**
+     * Закрывает репозиторий.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        this.linkRepository.close();
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#getById(long)}.
+     */
+    @Test
+    public void getById() {
+        // подготовка
+        Link expectedLink = new Link(
+                1L,
+                "https://kalenchukov.dev/shortlinks",
+                Timestamp.from(Instant.now())
+        );
+
+        // выполнение
+        Optional<Link> actualLink = this.linkRepository.getById(1L);
+
+        // проверка
+        assertThat(actualLink).isPresent().get().isEqualTo(expectedLink);
+        assertThat(actualLink.get().getCode()).isEqualTo("1");
+        assertThat(actualLink.get().getUrl()).isEqualTo("https://kalenchukov.dev/shortlinks");
+        assertThat(actualLink.get().getDateCreate()).isNotNull();
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#getById(long)} с несуществующим ID ссылки.
+     */
+    @Test
+    public void getByIdNotExistLinkId() {
+        // подготовка
+        // выполнение
+        Optional<Link> actualLink = this.linkRepository.getById(0L);
+
+        // проверка
+        assertThat(actualLink).isNotPresent();
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#save(Link)}.
+     */
+    @Test
+    public void save() throws SQLException {
+        // подготовка
+        Link link = new Link(null, "https://kalenchukov.dev/shortlinks/help", null);
+
+        // выполнение
+        Link actualLink = this.linkRepository.save(link);
+
+        // проверка
+        assertThat(actualLink.getLinkId()).isEqualTo(4L);
+        assertThat(actualLink.getUrl()).isEqualTo("https://kalenchukov.dev/shortlinks/help");
+        assertThat(this.linkRepository.getById(4L)).isPresent().get().isEqualTo(actualLink);
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#save(Link)} со сроком действия.
+     */
+    @Test
+    public void saveWithExpiresAt() {
+        // подготовка
+        Link link = new Link(
+                null, null, "https://kalenchukov.dev/shortlinks/help", null, Timestamp.from(Instant.now().plusSeconds(60))
+        );
+
+        // выполнение
+        // проверка
+        assertThatIllegalArgumentException().isThrownBy(() -> {
+            this.linkRepository.save(link);
+        });
+        assertThat(this.linkRepository.size()).isEqualTo(3L);
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#save(Link)} с дублирующим URL.
+     */
+    @Test
+    public void saveDuplicateUrl() throws SQLException {
+        // подготовка
+        Link link = new Link(null, "https://kalenchukov.dev/shortlinks/help", null);
+
+        // выполнение
+        Link actualLink1 = this.linkRepository.save(link);
+        Link actualLink2 = this.linkRepository.save(link);
+
+        // проверка
+        assertThat(actualLink1.getLinkId()).isEqualTo(4L);
+        assertThat(actualLink2.getLinkId()).isEqualTo(5L);
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#save(Link)} с исключением повторяющихся URL-адресов.
+     */
+    @Test
+    public void saveWithDeduplication() throws IOException, SQLException {
+        // подготовка
+        this.linkRepository.close();
+        this.linkRepository = this.open(new SequenceLinkIdGenerator(), true, 1_000_000L);
+        Link link = new Link(null, "https://kalenchukov.dev/shortlinks/help", null);
+        Link duplicateLink = new Link(null, "https://KALENCHUKOV.dev/shortlinks/help", null);
+        Link existingLink = new Link(null, "https://kalenchukov.dev:443/shortlinks", null);
+
+        // выполнение
+        Link actualLink = this.linkRepository.save(link);
+        Link actualDuplicateLink = this.linkRepository.save(duplicateLink);
+        Link actualExistingLink = this.linkRepository.save(existingLink);
+
+        // проверка
+        assertThat(actualDuplicateLink.getLinkId()).isEqualTo(actualLink.getLinkId());
+        assertThat(actualDuplicateLink.getUrl()).isEqualTo("https://kalenchukov.dev/shortlinks/help");
+        assertThat(actualDuplicateLink.getCode()).isEqualTo(actualLink.getCode());
+        assertThat(actualExistingLink.getLinkId()).isEqualTo(1L);
+        assertThat(this.linkRepository.size()).isEqualTo(4L);
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#saveAll(List)} с исключением повторяющихся URL-адресов.
+     */
+    @Test
+    public void saveAllWithDeduplication() throws IOException, SQLException {
+        // подготовка
+        this.linkRepository.close();
+        this.linkRepository = this.open(new SequenceLinkIdGenerator(), true, 1_000_000L);
+        Link existingLink = this.linkRepository.save(new Link(null, "https://kalenchukov.dev/shortlinks/help", null));
+        List<Link> links = List.of(
+                new Link(null, "https://kalenchukov.dev/shortlinks/1", null),
+                new Link(null, "https://kalenchukov.dev/shortlinks/help", null),
+                new Link(null, "https://kalenchukov.dev:443/shortlinks/1", null),
+                new Link(null, "https://kalenchukov.dev/shortlinks/2", null)
+        );
+
+        // выполнение
+        List<Link> actualLinks = this.linkRepository.saveAll(links);
+
+        // проверка
+        assertThat(actualLinks).extracting(Link::getUrl).containsExactly(
+                "https://kalenchukov.dev/shortlinks/1",
+                "https://kalenchukov.dev/shortlinks/help",
+                "https://kalenchukov.dev/shortlinks/1",
+                "https://kalenchukov.dev/shortlinks/2"
+        );
+        assertThat(actualLinks.get(1).getLinkId()).isEqualTo(existingLink.getLinkId());
+        assertThat(actualLinks.get(2).getLinkId()).isEqualTo(actualLinks.get(0).getLinkId());
+        assertThat(this.linkRepository.size()).isEqualTo(6L);
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#saveAll(List)}.
+     */
+    @Test
+    public void saveAll() throws SQLException {
+        // подготовка
+        List<Link> links = List.of(
+                new Link(null, "https://kalenchukov.dev/shortlinks/1", null),
+                new Link(null, "https://kalenchukov.dev/shortlinks/2", null),
+                new Link(null, "https://kalenchukov.dev/shortlinks/3", null)
+        );
+
+        // выполнение
+        List<Link> actualLinks = this.linkRepository.saveAll(links);
+
+        // проверка
+        assertThat(actualLinks).extracting(Link::getLinkId).containsExactly(4L, 5L, 6L);
+        assertThat(actualLinks).extracting(Link::getUrl).containsExactly(
+                "https://kalenchukov.dev/shortlinks/1",
+                "https://kalenchukov.dev/shortlinks/2",
+                "https://kalenchukov.dev/shortlinks/3"
+        );
+        assertThat(actualLinks).extracting(Link::getDateCreate).doesNotContainNull();
+        assertThat(this.linkRepository.size()).isEqualTo(6L);
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#saveAll(List)} с идентификаторами от генератора приложения.
+     */
+    @Test
+    public void saveAllWithGeneratedIds() throws IOException, SQLException {
+        // подготовка
+        this.linkRepository.close();
+        this.linkRepository = this.open(new SnowflakeLinkIdGenerator(5), false, 1_000_000L);
+        List<Link> links = List.of(
+                new Link(null, "https://kalenchukov.dev/shortlinks/1", null),
+                new Link(null, "https://kalenchukov.dev/shortlinks/2", null),
+                new Link(null, "https://kalenchukov.dev/shortlinks/3", null)
+        );
+
+        // выполнение
+        List<Link> actualLinks = this.linkRepository.saveAll(links);
+
+        // проверка
+        assertThat(actualLinks).extracting(Link::getLinkId).isSorted().allMatch(linkId -> linkId > 3L);
+        assertThat(actualLinks).extracting(Link::getLinkId).allMatch(
+                linkId -> ((linkId >>> SnowflakeLinkIdGenerator.SEQUENCE_BITS) & SnowflakeLinkIdGenerator.MAX_NODE_ID) == 5L
+        );
+        assertThat(this.linkRepository.size()).isEqualTo(6L);
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#saveAll(List)} с пустым списком ссылок.
+     */
+    @Test
+    public void saveAllIsEmpty() throws SQLException {
+        // подготовка
+        // выполнение
+        List<Link> actualLinks = this.linkRepository.saveAll(List.of());
+
+        // проверка
+        assertThat(actualLinks).isEmpty();
+        assertThat(this.linkRepository.size()).isEqualTo(3L);
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#size()} после добавления и удаления ссылок.
+     */
+    @Test
+    public void sizeAfterSaveAndDelete() throws SQLException {
+        // подготовка
+        Link link = new Link(null, "https://kalenchukov.dev/shortlinks/help", null);
+
+        // выполнение
+        this.linkRepository.save(link);
+        this.linkRepository.deleteById(1L);
+        this.linkRepository.deleteById(0L);
+        long actualSize = this.linkRepository.size();
+
+        // проверка
+        assertThat(actualSize).isEqualTo(3L);
+        assertThat(this.linkRepository.estimateSize()).isEqualTo(3L);
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#deleteById(long)}.
+     */
+    @Test
+    public void deleteById() throws SQLException {
+        // подготовка
+        // выполнение
+        boolean actualDeleted = this.linkRepository.deleteById(3L);
+
+        // проверка
+        assertThat(actualDeleted).isTrue();
+        assertThat(this.linkRepository.getById(3L)).isNotPresent();
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#deleteById(long)} с несуществующим ID ссылки.
+     */
+    @Test
+    public void deleteByIdNotExist() throws SQLException {
+        // подготовка
+        // выполнение
+        boolean actualDeleted = this.linkRepository.deleteById(0L);
+
+        // проверка
+        assertThat(actualDeleted).isFalse();
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#deleteAllById(java.util.Collection)}.
+     */
+    @Test
+    public void deleteAllById() throws SQLException {
+        // подготовка
+        // выполнение
+        Set<Long> actualDeletedLinkIds = this.linkRepository.deleteAllById(List.of(1L, 3L, 0L, 4L));
+
+        // проверка
+        assertThat(actualDeletedLinkIds).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(this.linkRepository.size()).isEqualTo(1L);
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#forEach(Timestamp, Timestamp, java.util.function.Consumer)}.
+     */
+    @Test
+    public void forEach() {
+        // подготовка
+        List<Link> actualLinks = new ArrayList<>();
+
+        // выполнение
+        this.linkRepository.forEach(null, null, actualLinks::add);
+
+        // проверка
+        assertThat(actualLinks).extracting(Link::getLinkId).containsExactly(1L, 2L, 3L);
+        assertThat(actualLinks).extracting(Link::getUrl).containsExactly(
+                "https://kalenchukov.dev/shortlinks",
+                "https://kalenchukov.dev/shortlinks/doc",
+                "https://kalenchukov.dev/shortlinks/code"
+        );
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#forEach(Timestamp, Timestamp, java.util.function.Consumer)}
+     * с периодом создания ссылок.
+     */
+    @Test
+    public void forEachInPeriod() {
+        // подготовка
+        Timestamp past = Timestamp.from(Instant.now().minusSeconds(3600L));
+        Timestamp future = Timestamp.from(Instant.now().plusSeconds(3600L));
+        List<Link> actualLinksBefore = new ArrayList<>();
+        List<Link> actualLinksAfter = new ArrayList<>();
+        List<Link> actualLinksBetween = new ArrayList<>();
+
+        // выполнение
+        this.linkRepository.forEach(null, past, actualLinksBefore::add);
+        this.linkRepository.forEach(future, null, actualLinksAfter::add);
+        this.linkRepository.forEach(past, future, actualLinksBetween::add);
+
+        // проверка
+        assertThat(actualLinksBefore).isEmpty();
+        assertThat(actualLinksAfter).isEmpty();
+        assertThat(actualLinksBetween).extracting(Link::getLinkId).containsExactly(1L, 2L, 3L);
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#forEachId(java.util.function.LongConsumer)}.
+     */
+    @Test
+    public void forEachId() {
+        // подготовка
+        List<Long> actualIds = new ArrayList<>();
+
+        // выполнение
+        this.linkRepository.forEachId(actualIds::add);
+
+        // проверка
+        assertThat(actualIds).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    /**
+     * Проверка восстановления ссылок из журнала при открытии репозитория.
+     */
+    @Test
+    public void recover() throws IOException, SQLException {
+        // подготовка
+        this.linkRepository.deleteById(2L);
+        this.linkRepository.close();
+
+        // выполнение
+        this.linkRepository = this.open(new SequenceLinkIdGenerator(), false, 1_000_000L);
+        Link actualLink = this.linkRepository.save(new Link(null, "https://kalenchukov.dev/shortlinks/help", null));
+
+        // проверка
+        assertThat(this.linkRepository.size()).isEqualTo(3L);
+        assertThat(this.linkRepository.getById(1L)).isPresent().get()
+                .extracting(Link::getUrl).isEqualTo("https://kalenchukov.dev/shortlinks");
+        assertThat(this.linkRepository.getById(2L)).isNotPresent();
+        assertThat(actualLink.getLinkId()).isEqualTo(4L);
+    }
+
+    /**
+     * Проверка метода {@link MemoryLinkRepository#compact()}.
+     */
+    @Test
+    public void compact() throws IOException, SQLException {
+        // подготовка
+        this.linkRepository.close();
+        this.linkRepository = this.open(new SequenceLinkIdGenerator(), false, 1L);
+        this.linkRepository.deleteById(3L);
+
+        // выполнение
+        this.linkRepository.compact();
+        this.linkRepository.close();
+        this.linkRepository = this.open(new SequenceLinkIdGenerator(), false, 1_000_000L);
+        Link actualLink = this.linkRepository.save(new Link(null, "https://kalenchukov.dev/shortlinks/help", null));
+
+        // проверка
+        assertThat(Files.size(this.directory.resolve(LinkJournal.LOG_FILE))).isEqualTo(actualLink.getUrl().length() + 25L);
+        assertThat(Files.exists(this.directory.resolve(LinkJournal.SNAPSHOT_FILE))).isTrue();
+        assertThat(this.linkRepository.size()).isEqualTo(3L);
+        assertThat(this.linkRepository.getById(3L)).isNotPresent();
+        assertThat(actualLink.getLinkId()).isEqualTo(4L);
+    }
+
+    /**
+     * Проверка восстановления ссылок из журнала с неполной последней записью.
+     */
+    @Test
+    public void recoverTornRecord() throws IOException, SQLException {
+        // подготовка
+        this.linkRepository.close();
+        Path log = this.directory.resolve(LinkJournal.LOG_FILE);
+        long size = Files.size(log);
+        Files.write(log, new byte[] {1, 2, 3, 4, 5, 6, 7}, StandardOpenOption.APPEND);
+
+        // выполнение
+        this.linkRepository = this.open(new SequenceLinkIdGenerator(), false, 1_000_000L);
+        this.linkRepository.save(new Link(null, "https://kalenchukov.dev/shortlinks/help", null));
+        this.linkRepository.close();
+        this.linkRepository = this.open(new SequenceLinkIdGenerator(), false, 1_000_000L);
+
+        // проверка
+        assertThat(Files.size(log)).isGreaterThan(size);
+        assertThat(this.linkRepository.size()).isEqualTo(4L);
+        assertThat(this.linkRepository.getById(4L)).isPresent();
+    }
+
+    /**
+     * Проверка восстановления ссылок из журнала с повреждённой последней записью.
+     */
+    @Test
+    public void recoverCorruptedRecord() throws IOException, SQLException {
+        // подготовка
+        this.linkRepository.close();
+        Path log = this.directory.resolve(LinkJournal.LOG_FILE);
+        byte[] content = Files.readAllBytes(log);
+        content[content.length - 1] ^= 0x20;
+        Files.write(log, content);
+
+        // выполнение
+        this.linkRepository = this.open(new SequenceLinkIdGenerator(), false, 1_000_000L);
+
+        // проверка
+        assertThat(this.linkRepository.size()).isEqualTo(2L);
+        assertThat(this.linkRepository.getById(3L)).isNotPresent();
+        assertThat(Files.size(log)).isLessThan(content.length);
+    }
+
+    /**
+     * Открывает репозиторий в каталоге теста.
+     *
+     * @param linkIdGenerator     генератор идентификаторов ссылок.
+     * @param deduplication       исключаются ли повторяющиеся URL-адреса.
+     * @param compactionThreshold количество записей журнала, после которого журнал сжимается в снимок.
+     * @return репозиторий.
+     */
+    private MemoryLinkRepository open(final LinkIdGenerators linkIdGenerator,
+                                      final boolean deduplication,
+                                      final long compactionThreshold) throws IOException {
+        return new MemoryLinkRepository(
+                new LinkCodec(""), linkIdGenerator, new UrlHash(), deduplication,
+                this.directory.toString(), false, compactionThreshold
+        );
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Класс проверки методов класса {@link ReadHedger}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class ReadHedgerTest {
+    /**
+     * Запрос.
+     */
+    private static final String QUERY = "SELECT 1";
+
+    /**
+     * Дублирование запросов.
+     */
+    private ReadHedger readHedger;
+
+    /**
+     * Останавливает дублирование запросов.
+     */
+    @AfterEach
+    public void tearDown() {
+        if (this.readHedger != null) {
+            this.readHedger.close();
+        }
+    }
+
+    /**
+     * Проверка метода {@link ReadHedger#execute(String, ReadHedgers.Source, ReadHedgers.Source, ReadHedgers.Read)}
+     * с медленным первым источником.
+     */
+    @Test
+    public void executeSlowFirst() throws SQLException {
+        // подготовка
+        this.readHedger = this.createReadHedger(true, 100L);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        PreparedStatement firstStatement = ReadHedgerTest.mockStatement();
+        Mockito.doAnswer(invocation -> {
+            cancelled.countDown();
+
+            return null;
+        }).when(firstStatement).cancel();
+        PreparedStatement secondStatement = ReadHedgerTest.mockStatement();
+
+        // выполнение
+        String actualResult = this.readHedger.execute(
+                QUERY,
+                () -> ReadHedgerTest.mockConnection(firstStatement),
+                () -> ReadHedgerTest.mockConnection(secondStatement),
+                preparedStatement -> {
+                    if (preparedStatement == firstStatement) {
+                        if (!ReadHedgerTest.await(cancelled)) {
+                            return "first";
+                        }
+
+                        throw new SQLException("canceling statement due to user request");
+                    }
+
+                    return "second";
+                }
+        );
+
+        // проверка
+        assertThat(actualResult).isEqualTo("second");
+        Mockito.verify(firstStatement).cancel();
+    }
+
+    /**
+     * Проверка метода {@link ReadHedger#execute(String, ReadHedgers.Source, ReadHedgers.Source, ReadHedgers.Read)}
+     * с быстрым первым источником.
+     */
+    @Test
+    public void executeFastFirst() throws SQLException {
+        // подготовка
+        this.readHedger = this.createReadHedger(true, 100L);
+        PreparedStatement firstStatement = ReadHedgerTest.mockStatement();
+        ReadHedgers.Source second = Mockito.mock(ReadHedgers.Source.class);
+
+        // выполнение
+        String actualResult = this.readHedger.execute(
+                QUERY,
+                () -> ReadHedgerTest.mockConnection(firstStatement),
+                second,
+                preparedStatement -> "first"
+        );
+
+        // проверка
+        assertThat(actualResult).isEqualTo("first");
+        Mockito.verify(second, Mockito.after(100L).never()).getConnection();
+    }
+
+    /**
+     * Проверка метода {@link ReadHedger#execute(String, ReadHedgers.Source, ReadHedgers.Source, ReadHedgers.Read)}
+     * с ошибкой первого источника после дублирования.
+     */
+    @Test
+    public void executeFailedFirst() throws SQLException {
+        // подготовка
+        this.readHedger = this.createReadHedger(true, 100L);
+        PreparedStatement firstStatement = ReadHedgerTest.mockStatement();
+        PreparedStatement secondStatement = ReadHedgerTest.mockStatement();
+        CountDownLatch hedged = new CountDownLatch(1);
+
+        // выполнение
+        String actualResult = this.readHedger.execute(
+                QUERY,
+                () -> ReadHedgerTest.mockConnection(firstStatement),
+                () -> ReadHedgerTest.mockConnection(secondStatement),
+                preparedStatement -> {
+                    if (preparedStatement == firstStatement) {
+                        ReadHedgerTest.await(hedged);
+
+                        throw new SQLException("connection reset");
+                    }
+
+                    hedged.countDown();
+                    ReadHedgerTest.sleep(50L);
+
+                    return "second";
+                }
+        );
+
+        // проверка
+        assertThat(actualResult).isEqualTo("second");
+    }
+
+    /**
+     * Проверка метода {@link ReadHedger#execute(String, ReadHedgers.Source, ReadHedgers.Source, ReadHedgers.Read)}
+     * с исчерпанным бюджетом.
+     */
+    @Test
+    public void executeWithoutBudget() throws SQLException {
+        // подготовка
+        this.readHedger = this.createReadHedger(true, 0L);
+        PreparedStatement firstStatement = ReadHedgerTest.mockStatement();
+        ReadHedgers.Source second = Mockito.mock(ReadHedgers.Source.class);
+
+        // выполнение
+        String actualResult = this.readHedger.execute(
+                QUERY,
+                () -> ReadHedgerTest.mockConnection(firstStatement),
+                second,
+                preparedStatement -> {
+                    ReadHedgerTest.sleep(50L);
+
+                    return "first";
+                }
+        );
+
+        // проверка
+        assertThat(actualResult).isEqualTo("first");
+        Mockito.verify(second, Mockito.never()).getConnection();
+    }
+
+    /**
+     * Проверка метода {@link ReadHedger#execute(String, ReadHedgers.Source, ReadHedgers.Source, ReadHedgers.Read)}
+     * с выключенным дублированием.
+     */
+    @Test
+    public void executeDisabled() throws SQLException {
+        // подготовка
+        this.readHedger = this.createReadHedger(false, 100L);
+        PreparedStatement firstStatement = ReadHedgerTest.mockStatement();
+        ReadHedgers.Source second = Mockito.mock(ReadHedgers.Source.class);
+
+        // выполнение
+        String actualResult = this.readHedger.execute(
+                QUERY,
+                () -> ReadHedgerTest.mockConnection(firstStatement),
+                second,
+                preparedStatement -> {
+                    ReadHedgerTest.sleep(50L);
+
+                    return "first";
+                }
+        );
+
+        // проверка
+        assertThat(actualResult).isEqualTo("first");
+        Mockito.verify(second, Mockito.never()).getConnection();
+    }
+
+    /**
+     * Проверка метода {@link ReadHedger#update()}.
+     */
+    @Test
+    public void update() {
+        // подготовка
+        this.readHedger = this.createReadHedger(true, 0L);
+
+        for (int i = 0; i < 95; i++) {
+            this.readHedger.record(TimeUnit.MILLISECONDS.toNanos(2L));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            this.readHedger.record(TimeUnit.MILLISECONDS.toNanos(50L));
+        }
+
+        // выполнение
+        this.readHedger.update();
+
+        // проверка
+        assertThat(this.readHedger).extracting("delay").isEqualTo(TimeUnit.MILLISECONDS.toNanos(2L));
+    }
+
+    /**
+     * Проверка метода {@link ReadHedger#update()} с быстрыми запросами.
+     */
+    @Test
+    public void updateFastQueries() {
+        // подготовка
+        this.readHedger = this.createReadHedger(true, 0L);
+
+        for (int i = 0; i < 100; i++) {
+            this.readHedger.record(TimeUnit.MICROSECONDS.toNanos(100L));
+        }
+
+        // выполнение
+        this.readHedger.update();
+
+        // проверка
+        assertThat(this.readHedger).extracting("delay").isEqualTo(TimeUnit.MILLISECONDS.toNanos(1L));
+    }
+
+    /**
+     * Проверка метода {@link ReadHedger#update()} с медленными запросами.
+     */
+    @Test
+    public void updateSlowQueries() {
+        // подготовка
+        this.readHedger = this.createReadHedger(true, 0L);
+
+        for (int i = 0; i < 100; i++) {
+            this.readHedger.record(TimeUnit.MILLISECONDS.toNanos(50L));
+        }
+
+        // выполнение
+        this.readHedger.update();
+
+        // проверка
+        assertThat(this.readHedger).extracting("delay").isEqualTo(TimeUnit.MILLISECONDS.toNanos(10L));
+    }
+
+    /**
+     * Возвращает дублирование запросов с ожиданием перед дублированием не больше 10 мс.
+     *
+     * @param enabled включено ли дублирование.
+     * @param budget  наибольшая доля дублирующих запросов в процентах.
+     * @return дублирование запросов.
+     */
+    @SuppressWarnings("unchecked")
+    private ReadHedger createReadHedger(final boolean enabled, final long budget) {
+        return new ReadHedger(
+                enabled, 0.95, "PT0.001S", "PT0.01S", budget, 2,
+                Mockito.mock(ObjectProvider.class)
+        );
+    }
+
+    /**
+     * Возвращает подготовленный запрос.
+     *
+     * @return подготовленный запрос.
+     */
+    private static PreparedStatement mockStatement() {
+        return Mockito.mock(PreparedStatement.class);
+    }
+
+    /**
+     * Возвращает соединение, подготавливающее указанный запрос.
+     *
+     * @param preparedStatement подготовленный запрос.
+     * @return соединение.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private static Connection mockConnection(final PreparedStatement preparedStatement) throws SQLException {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.prepareStatement(Mockito.anyString())).thenReturn(preparedStatement);
+
+        return connection;
+    }
+
+    /**
+     * Ожидает сигнала не дольше 10 секунд.
+     *
+     * @param latch сигнал.
+     * @return {@code true} если сигнал получен, иначе {@code false}.
+     * @throws SQLException если ожидание прервано.
+     */
+    private static boolean await(final CountDownLatch latch) throws SQLException {
+        try {
+            return latch.await(10L, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(exception);
+        }
+    }
+
+    /**
+     * Приостанавливает поток.
+     *
+     * @param millis время в миллисекундах.
+     * @throws SQLException если ожидание прервано.
+     */
+    private static void sleep(final long millis) throws SQLException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(exception);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.AppConfigTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Класс проверки методов класса {@link ReplicaRouter}.
+ * <p>
+ * Репликой служит тестовая база данных.
+ *
+ * @author Алексей Каленчуков
+ */
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = AppConfigTest.class)
+public class ReplicaRouterTest {
+    /**
+     * Адрес тестовой базы данных.
+     */
+    @Value("${spring.datasource.url}")
+    public String url;
+
+    /**
+     * Логин.
+     */
+    @Value("${spring.datasource.username}")
+    public String username;
+
+    /**
+     * Пароль.
+     */
+    @Value("${spring.datasource.password}")
+    public String password;
+
+    /**
+     * Проверка метода {@link ReplicaRouter#getConnection()}.
+     */
+    @Test
+    public void getConnection() throws SQLException {
+        // подготовка
+        ReplicaRouter replicaRouter = this.createReplicaRouter(List.of(this.url));
+
+        // выполнение
+        try (Connection actualConnection = replicaRouter.getConnection()) {
+            // проверка
+            assertThat(actualConnection).isNotNull();
+            assertThat(actualConnection.isReadOnly()).isTrue();
+        } finally {
+            replicaRouter.close();
+        }
+    }
+
+    /**
+     * Проверка метода {@link ReplicaRouter#getConnection()} без реплик.
+     */
+    @Test
+    public void getConnectionWithoutReplicas() throws SQLException {
+        // подготовка
+        ReplicaRouter replicaRouter = this.createReplicaRouter(List.of());
+
+        // выполнение
+        Connection actualConnection = replicaRouter.getConnection();
+
+        // проверка
+        assertThat(actualConnection).isNull();
+    }
+
+    /**
+     * Проверка метода {@link ReplicaRouter#getConnection()} с недоступной репликой.
+     */
+    @Test
+    public void getConnectionUnavailableReplica() throws SQLException {
+        // подготовка
+        ReplicaRouter replicaRouter = this.createReplicaRouter(List.of("jdbc:postgresql://localhost:1/postgres"));
+
+        // выполнение
+        Connection actualConnection = replicaRouter.getConnection();
+
+        // проверка
+        assertThat(actualConnection).isNull();
+        replicaRouter.close();
+    }
+
+    /**
+     * Проверка метода {@link ReplicaRouter#getConnection()} с недоступной и доступной репликами.
+     */
+    @Test
+    public void getConnectionEjectsUnavailableReplica() throws SQLException {
+        // подготовка
+        ReplicaRouter replicaRouter = this.createReplicaRouter(
+                List.of("jdbc:postgresql://localhost:1/postgres", this.url)
+        );
+
+        // выполнение
+        for (int i = 0; i < 4; i++) {
+            try (Connection actualConnection = replicaRouter.getConnection()) {
+                // проверка
+                assertThat(actualConnection).isNotNull();
+            }
+        }
+
+        replicaRouter.close();
+    }
+
+    /**
+     * Проверка метода {@link ReplicaRouter#getHealthyCount()}.
+     */
+    @Test
+    public void getHealthyCount() {
+        // подготовка
+        ReplicaRouter replicaRouter = this.createReplicaRouter(
+                List.of("jdbc:postgresql://localhost:1/postgres", this.url)
+        );
+
+        // выполнение
+        int actualHealthyCount = replicaRouter.getHealthyCount();
+
+        // проверка
+        assertThat(actualHealthyCount).isEqualTo(1);
+        replicaRouter.close();
+    }
+
+    /**
+     * Проверка метода {@link ReplicaRouter#isWritten(long)}.
+     */
+    @Test
+    public void isWritten() {
+        // подготовка
+        ReplicaRouter replicaRouter = this.createReplicaRouter(List.of(this.url));
+
+        // выполнение
+        replicaRouter.written(1L);
+
+        // проверка
+        assertThat(replicaRouter.isWritten(1L)).isTrue();
+        assertThat(replicaRouter.isWritten(2L)).isFalse();
+        assertThat(replicaRouter.isWritten()).isTrue();
+        replicaRouter.close();
+    }
+
+    /**
+     * Проверка метода {@link ReplicaRouter#isWritten()} без изменений ссылок.
+     */
+    @Test
+    public void isWrittenWithoutWrites() {
+        // подготовка
+        ReplicaRouter replicaRouter = this.createReplicaRouter(List.of(this.url));
+
+        // выполнение
+        boolean actualWritten = replicaRouter.isWritten();
+
+        // проверка
+        assertThat(actualWritten).isFalse();
+        replicaRouter.close();
+    }
+
+    /**
+     * Возвращает выбор реплики с указанными адресами.
+     *
+     * @param urls адреса реплик.
+     * @return выбор реплики.
+     */
+    @SuppressWarnings("unchecked")
+    private ReplicaRouter createReplicaRouter(final List<String> urls) {
+        return new ReplicaRouter(
+                urls, this.username, this.password, 2, "PT1S", "PT5S", 1000L,
+                Mockito.mock(ObjectProvider.class)
+        );
+    }
+}
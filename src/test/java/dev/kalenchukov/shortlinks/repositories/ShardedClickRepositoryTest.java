@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.entities.ClickBucket;
+import dev.kalenchukov.shortlinks.entities.Granularity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Класс проверки методов классов {@link ShardedClickRepository} и {@link ShardedClickStatisticsRepository}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class ShardedClickRepositoryTest {
+    /**
+     * Идентификатор ссылки второй базы данных.
+     */
+    private static final long SECOND_SHARD_LINK_ID = (1L << ShardedLinkRepository.SHARD_SHIFT) + 1L;
+
+    /**
+     * Идентификатор ссылки несуществующей базы данных.
+     */
+    private static final long MISSING_SHARD_LINK_ID = (2L << ShardedLinkRepository.SHARD_SHIFT) + 1L;
+
+    /**
+     * Репозитории количества переходов баз данных.
+     */
+    private List<ClickRepositories> shards;
+
+    /**
+     * Подготавливает репозитории количества переходов двух баз данных.
+     */
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.shards = List.of(Mockito.mock(ClickRepositories.class), Mockito.mock(ClickRepositories.class));
+
+        for (ClickRepositories shard : this.shards) {
+            Mockito.when(shard.addAll(Mockito.anyMap())).thenAnswer(invocation -> {
+                return invocation.<Map<Long, Long>>getArgument(0).size();
+            });
+        }
+    }
+
+    /**
+     * Проверка метода {@link ShardedClickRepository#addAll(Map)}.
+     */
+    @Test
+    public void addAll() throws SQLException {
+        // подготовка
+        ShardedClickRepository clickRepository = new ShardedClickRepository(this.shards);
+        Map<Long, Long> clicks = new HashMap<>(Map.of(1L, 2L, SECOND_SHARD_LINK_ID, 3L, MISSING_SHARD_LINK_ID, 4L));
+
+        // выполнение
+        int actualCount = clickRepository.addAll(clicks);
+
+        // проверка
+        assertThat(actualCount).isEqualTo(2);
+        Mockito.verify(this.shards.get(0)).addAll(Map.of(1L, 2L));
+        Mockito.verify(this.shards.get(1)).addAll(Map.of(SECOND_SHARD_LINK_ID, 3L));
+    }
+
+    /**
+     * Проверка метода {@link ShardedClickRepository#addAll(Map)} с ошибкой в базе данных.
+     */
+    @Test
+    public void addAllWithError() throws SQLException {
+        // подготовка
+        ShardedClickRepository clickRepository = new ShardedClickRepository(this.shards);
+        Mockito.when(this.shards.get(1).addAll(Mockito.anyMap())).thenThrow(new SQLException());
+        Map<Long, Long> clicks = new HashMap<>(Map.of(1L, 2L, SECOND_SHARD_LINK_ID, 3L));
+
+        // выполнение
+        Throwable throwable = catchThrowable(() -> clickRepository.addAll(clicks));
+
+        // проверка
+        assertThat(throwable).isInstanceOf(SQLException.class);
+        assertThat(clicks).containsExactlyEntriesOf(Map.of(SECOND_SHARD_LINK_ID, 3L));
+    }
+
+    /**
+     * Проверка метода {@link ShardedClickRepository#getById(long)}.
+     */
+    @Test
+    public void getById() throws SQLException {
+        // подготовка
+        ShardedClickRepository clickRepository = new ShardedClickRepository(this.shards);
+        Mockito.when(this.shards.get(1).getById(SECOND_SHARD_LINK_ID)).thenReturn(5L);
+
+        // выполнение
+        long actualClicks = clickRepository.getById(SECOND_SHARD_LINK_ID);
+        long actualMissingClicks = clickRepository.getById(MISSING_SHARD_LINK_ID);
+
+        // проверка
+        assertThat(actualClicks).isEqualTo(5L);
+        assertThat(actualMissingClicks).isZero();
+        Mockito.verify(this.shards.get(0), Mockito.never()).getById(Mockito.anyLong());
+    }
+
+    /**
+     * Проверка метода {@link ShardedClickStatisticsRepository#getBuckets(long, Granularity, Timestamp, Timestamp)}.
+     */
+    @Test
+    public void getBuckets() throws SQLException {
+        // подготовка
+        ClickStatisticsRepositories first = Mockito.mock(ClickStatisticsRepositories.class);
+        ClickStatisticsRepositories second = Mockito.mock(ClickStatisticsRepositories.class);
+        ShardedClickStatisticsRepository statisticsRepository = new ShardedClickStatisticsRepository(List.of(first, second));
+        Timestamp from = Timestamp.valueOf("2023-01-01 00:00:00");
+        Timestamp to = Timestamp.valueOf("2023-01-02 00:00:00");
+        List<ClickBucket> buckets = List.of(new ClickBucket(from, 3L));
+        Mockito.when(second.getBuckets(SECOND_SHARD_LINK_ID, Granularity.DAY, from, to)).thenReturn(buckets);
+
+        // выполнение
+        List<ClickBucket> actualBuckets = statisticsRepository.getBuckets(SECOND_SHARD_LINK_ID, Granularity.DAY, from, to);
+        List<ClickBucket> actualMissingBuckets = statisticsRepository.getBuckets(MISSING_SHARD_LINK_ID, Granularity.DAY, from, to);
+
+        // проверка
+        assertThat(actualBuckets).isEqualTo(buckets);
+        assertThat(actualMissingBuckets).isEmpty();
+    }
+
+    /**
+     * Проверка метода {@link ShardedClickStatisticsRepository#rollupShards()}.
+     */
+    @Test
+    public void rollupShards() throws SQLException {
+        // подготовка
+        ClickStatisticsRepositories first = Mockito.mock(ClickStatisticsRepositories.class);
+        ClickStatisticsRepositories second = Mockito.mock(ClickStatisticsRepositories.class);
+        ShardedClickStatisticsRepository statisticsRepository = new ShardedClickStatisticsRepository(List.of(first, second));
+
+        // выполнение
+        statisticsRepository.rollupShards();
+
+        // проверка
+        Mockito.verify(first, Mockito.never()).rollup();
+        Mockito.verify(second).rollup();
+    }
+}
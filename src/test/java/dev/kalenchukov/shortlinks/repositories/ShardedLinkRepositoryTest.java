@@ -0,0 +1,283 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.codecs.LinkCodec;
+import dev.kalenchukov.shortlinks.codecs.UrlHash;
+import dev.kalenchukov.shortlinks.entities.Link;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс проверки методов класса {@link ShardedLinkRepository}.
+ * <p>
+ * Базами данных служат три репозитория ссылок в памяти процесса,
+ * выдающие идентификаторы из диапазонов своих номеров.
+ *
+ * @author Алексей Каленчуков
+ */
+public class ShardedLinkRepositoryTest {
+    /**
+     * Каталог журналов и снимков.
+     */
+    @TempDir
+    public Path directory;
+
+    /**
+     * Репозитории ссылок баз данных.
+     */
+    private List<MemoryLinkRepository> shards;
+
+    /**
+     * Репозиторий для ссылок.
+     */
+    private ShardedLinkRepository linkRepository;
+
+    /**
+     * Подготавливает репозиторий из трёх баз данных.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.shards = new ArrayList<>();
+
+        for (int shard = 0; shard < 3; shard++) {
+            AtomicLong sequence = new AtomicLong((long) shard << ShardedLinkRepository.SHARD_SHIFT);
+
+            this.shards.add(new MemoryLinkRepository(
+                    new LinkCodec(""), () -> OptionalLong.of(sequence.incrementAndGet()), new UrlHash(), false,
+                    this.directory.resolve("shard-" + shard).toString(), false, 1_000_000L
+            ));
+        }
+
+        this.linkRepository = new ShardedLinkRepository(new ArrayList<>(this.shards), new RoundRobinLinkShardPolicy());
+    }
+
+    /**
+     * Закрывает репозитории.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        this.linkRepository.close();
+
+        for (MemoryLinkRepository shard : this.shards) {
+            shard.close();
+        }
+    }
+
+    /**
+     * Проверка метода {@link ShardedLinkRepository#save(Link)}.
+     */
+    @Test
+    public void save() throws SQLException {
+        // выполнение
+        List<Link> actualLinks = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            actualLinks.add(this.linkRepository.save(new Link(null, "https://kalenchukov.dev/shortlinks/" + i, null)));
+        }
+
+        // проверка
+        assertThat(actualLinks).extracting(link -> ShardedLinkRepository.getShard(link.getLinkId()))
+                .containsExactly(0, 1, 2);
+
+        for (int shard = 0; shard < 3; shard++) {
+            assertThat(this.shards.get(shard).size()).isEqualTo(1L);
+        }
+    }
+
+    /**
+     * Проверка метода {@link ShardedLinkRepository#saveAll(List)}.
+     */
+    @Test
+    public void saveAll() throws SQLException {
+        // подготовка
+        List<Link> links = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            links.add(new Link(null, "https://kalenchukov.dev/shortlinks/" + i, null));
+        }
+
+        // выполнение
+        List<Link> actualLinks = this.linkRepository.saveAll(links);
+
+        // проверка
+        assertThat(actualLinks).extracting(Link::getUrl).containsExactly(
+                "https://kalenchukov.dev/shortlinks/0",
+                "https://kalenchukov.dev/shortlinks/1",
+                "https://kalenchukov.dev/shortlinks/2",
+                "https://kalenchukov.dev/shortlinks/3",
+                "https://kalenchukov.dev/shortlinks/4"
+        );
+        assertThat(actualLinks).extracting(link -> ShardedLinkRepository.getShard(link.getLinkId()))
+                .containsExactly(0, 1, 2, 0, 1);
+    }
+
+    /**
+     * Проверка метода {@link ShardedLinkRepository#getById(long)}.
+     */
+    @Test
+    public void getById() throws SQLException {
+        // подготовка
+        List<Link> links = this.saveLinks(3);
+
+        // выполнение и проверка
+        for (Link link : links) {
+            Optional<Link> actualLink = this.linkRepository.getById(link.getLinkId());
+
+            assertThat(actualLink).isPresent().get().isEqualTo(link);
+            assertThat(actualLink.get().getUrl()).isEqualTo(link.getUrl());
+        }
+    }
+
+    /**
+     * Проверка метода {@link ShardedLinkRepository#getById(long)} с номером несуществующей базы данных.
+     */
+    @Test
+    public void getByIdNotExistShard() throws SQLException {
+        // выполнение
+        Optional<Link> actualLink = this.linkRepository.getById((5L << ShardedLinkRepository.SHARD_SHIFT) + 1L);
+
+        // проверка
+        assertThat(actualLink).isEmpty();
+    }
+
+    /**
+     * Проверка метода {@link ShardedLinkRepository#size()}.
+     */
+    @Test
+    public void size() throws SQLException {
+        // подготовка
+        this.saveLinks(5);
+
+        // выполнение
+        long actualSize = this.linkRepository.size();
+
+        // проверка
+        assertThat(actualSize).isEqualTo(5L);
+    }
+
+    /**
+     * Проверка метода {@link ShardedLinkRepository#deleteById(long)}.
+     */
+    @Test
+    public void deleteById() throws SQLException {
+        // подготовка
+        List<Link> links = this.saveLinks(3);
+
+        // выполнение
+        boolean actual = this.linkRepository.deleteById(links.get(2).getLinkId());
+
+        // проверка
+        assertThat(actual).isTrue();
+        assertThat(this.shards.get(2).size()).isZero();
+        assertThat(this.linkRepository.size()).isEqualTo(2L);
+    }
+
+    /**
+     * Проверка метода {@link ShardedLinkRepository#deleteAllById(java.util.Collection)}.
+     */
+    @Test
+    public void deleteAllById() throws SQLException {
+        // подготовка
+        List<Link> links = this.saveLinks(4);
+        long notExistLinkId = (5L << ShardedLinkRepository.SHARD_SHIFT) + 1L;
+
+        // выполнение
+        Set<Long> actualLinkIds = this.linkRepository.deleteAllById(List.of(
+                links.get(0).getLinkId(), links.get(1).getLinkId(), links.get(2).getLinkId(), notExistLinkId
+        ));
+
+        // проверка
+        assertThat(actualLinkIds).containsExactlyInAnyOrder(
+                links.get(0).getLinkId(), links.get(1).getLinkId(), links.get(2).getLinkId()
+        );
+        assertThat(this.linkRepository.size()).isEqualTo(1L);
+    }
+
+    /**
+     * Проверка метода {@link ShardedLinkRepository#forEachId(java.util.function.LongConsumer)}.
+     */
+    @Test
+    public void forEachId() throws SQLException {
+        // подготовка
+        List<Link> links = this.saveLinks(5);
+        List<Long> actualLinkIds = new ArrayList<>();
+
+        // выполнение
+        this.linkRepository.forEachId(actualLinkIds::add);
+
+        // проверка
+        assertThat(actualLinkIds).containsExactlyInAnyOrderElementsOf(links.stream().map(Link::getLinkId).toList());
+    }
+
+    /**
+     * Проверка метода {@link ShardedLinkRepository#forEach(Timestamp, Timestamp, java.util.function.Consumer)}.
+     */
+    @Test
+    public void forEach() throws SQLException {
+        // подготовка
+        List<Link> links = this.saveLinks(2_000);
+        List<Link> actualLinks = new ArrayList<>();
+
+        // выполнение
+        this.linkRepository.forEach(null, null, actualLinks::add);
+
+        // проверка
+        assertThat(actualLinks).extracting(Link::getLinkId)
+                .isSorted()
+                .containsExactlyInAnyOrderElementsOf(links.stream().map(Link::getLinkId).toList());
+    }
+
+    /**
+     * Сохраняет ссылки.
+     *
+     * @param count количество ссылок.
+     * @return ссылки.
+     * @throws SQLException при возникновении проблем с базой данных.
+     */
+    private List<Link> saveLinks(final int count) throws SQLException {
+        List<Link> links = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            links.add(new Link(null, "https://kalenchukov.dev/shortlinks/" + i, null));
+        }
+
+        return this.linkRepository.saveAll(links);
+    }
+}
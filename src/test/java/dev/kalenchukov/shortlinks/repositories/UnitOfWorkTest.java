@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.repositories;
+
+import dev.kalenchukov.shortlinks.AppConfigTest;
+import dev.kalenchukov.shortlinks.entities.Link;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Класс проверки методов класса {@link UnitOfWork}.
+ *
+ * @author Алексей Каленчуков
+ */
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = AppConfigTest.class)
+@Sql(value = "/database/create-tables.sql")
+@Sql(value = "/database/insert-table-links.sql")
+@Sql(value = "/database/drop-tables.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+public class UnitOfWorkTest {
+    /**
+     * Единица работы с базой данных.
+     */
+    @Autowired
+    public UnitOfWork unitOfWork;
+
+    /**
+     * Репозиторий для ссылок.
+     */
+    @Autowired
+    public LinkRepository linkRepository;
+
+    /**
+     * Проверка метода {@link UnitOfWork#execute(UnitOfWork.Work)}.
+     */
+    @Test
+    public void execute() throws SQLException {
+        // подготовка
+        Link link = new Link(null, "https://kalenchukov.dev/shortlinks/help", null);
+        long expectedSize = 5L;
+
+        // выполнение
+        this.unitOfWork.execute(() -> {
+            this.linkRepository.save(link);
+            this.linkRepository.save(link);
+
+            return null;
+        });
+        long actualSize = this.linkRepository.size();
+
+        // проверка
+        assertThat(actualSize).isEqualTo(expectedSize);
+    }
+
+    /**
+     * Проверка метода {@link UnitOfWork#execute(UnitOfWork.Work)} с ошибкой внутри работы.
+     */
+    @Test
+    public void executeRollback() throws SQLException {
+        // подготовка
+        Link link = new Link(null, "https://kalenchukov.dev/shortlinks/help", null);
+        long expectedSize = 3L;
+
+        // выполнение
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> {
+            this.unitOfWork.execute(() -> {
+                this.linkRepository.save(link);
+                this.linkRepository.deleteById(1L);
+
+                throw new IllegalStateException();
+            });
+        });
+        long actualSize = this.linkRepository.size();
+
+        // проверка
+        assertThat(actualSize).isEqualTo(expectedSize);
+        assertThat(this.linkRepository.getById(1L)).isPresent();
+    }
+
+    /**
+     * Проверка метода {@link UnitOfWork#execute(UnitOfWork.Work)} с вложенной работой.
+     */
+    @Test
+    public void executeNested() throws SQLException {
+        // подготовка
+        Link link = new Link(null, "https://kalenchukov.dev/shortlinks/help", null);
+        long expectedSize = 3L;
+
+        // выполнение
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> {
+            this.unitOfWork.execute(() -> {
+                this.unitOfWork.execute(() -> this.linkRepository.save(link));
+
+                throw new IllegalStateException();
+            });
+        });
+        long actualSize = this.linkRepository.size();
+
+        // проверка
+        assertThat(actualSize).isEqualTo(expectedSize);
+    }
+
+    /**
+     * Проверка метода {@link UnitOfWork#getConnection()} внутри единицы работы.
+     */
+    @Test
+    public void getConnection() throws SQLException {
+        // подготовка
+        // выполнение
+        boolean actualShared = this.unitOfWork.execute(() -> {
+            try (Connection connection1 = this.unitOfWork.getConnection();
+                 Connection connection2 = this.unitOfWork.getConnection()) {
+                return connection1.unwrap(Connection.class) == connection2.unwrap(Connection.class)
+                        && !connection1.getAutoCommit();
+            }
+        });
+
+        // проверка
+        assertThat(actualShared).isTrue();
+        assertThat(this.unitOfWork.isActive()).isFalse();
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.services;
+
+import dev.kalenchukov.shortlinks.caches.LinkCaches;
+import dev.kalenchukov.shortlinks.caches.LinkFilters;
+import dev.kalenchukov.shortlinks.entities.BatchResult;
+import dev.kalenchukov.shortlinks.entities.DeletionResult;
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.exceptions.ServerErrorException;
+import dev.kalenchukov.shortlinks.repositories.LinkRepositories;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Класс проверки методов класса {@link BatchService}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class BatchServiceTest {
+    /**
+     * Валидатор.
+     */
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    /**
+     * Репозиторий для ссылок.
+     */
+    private LinkRepositories linkRepository;
+
+    /**
+     * Кэш ссылок.
+     */
+    private LinkCaches linkCache;
+
+    /**
+     * Фильтр существующих ссылок.
+     */
+    private LinkFilters linkFilter;
+
+    /**
+     * Сервис пакетной обработки ссылок.
+     */
+    private BatchService batchService;
+
+    /**
+     * Подготавливает сервис с обработкой по две ссылки за запрос.
+     */
+    @BeforeEach
+    public void setUp() {
+        this.linkRepository = Mockito.mock(LinkRepositories.class);
+        this.linkCache = Mockito.mock(LinkCaches.class);
+        this.linkFilter = Mockito.mock(LinkFilters.class);
+        this.batchService = new BatchService(this.linkRepository, this.linkCache, this.linkFilter, VALIDATOR, 2);
+    }
+
+    /**
+     * Проверка метода {@link BatchService#addAll(java.util.Iterator, java.util.function.Consumer)}.
+     */
+    @Test
+    public void addAll() throws SQLException {
+        // подготовка
+        Mockito.when(this.linkRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> {
+            List<Link> links = invocation.getArgument(0);
+            List<Link> savedLinks = new ArrayList<>();
+
+            for (Link link : links) {
+                savedLinks.add(new Link((long) link.getUrl().length(), link.getUrl(), Timestamp.from(Instant.now())));
+            }
+
+            return savedLinks;
+        });
+        List<Link> links = List.of(
+                new Link(null, "https://kalenchukov.dev/1", null),
+                new Link(null, "not url", null),
+                new Link(null, "https://kalenchukov.dev/333", null),
+                new Link(null, null, null),
+                new Link(null, "https://kalenchukov.dev/55555", null)
+        );
+        List<BatchResult> actualResults = new ArrayList<>();
+
+        // выполнение
+        this.batchService.addAll(links.iterator(), actualResults::add);
+
+        // проверка
+        assertThat(actualResults).extracting(BatchResult::getIndex).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(actualResults.get(0).getLink().getLinkId()).isEqualTo(25L);
+        assertThat(actualResults.get(1).getViolations()).extracting("param").containsExactly("url");
+        assertThat(actualResults.get(2).getLink().getLinkId()).isEqualTo(27L);
+        assertThat(actualResults.get(3).getViolations()).extracting("param").containsExactly("url");
+        assertThat(actualResults.get(4).getLink().getLinkId()).isEqualTo(29L);
+        Mockito.verify(this.linkRepository, Mockito.times(3)).saveAll(Mockito.anyList());
+        Mockito.verify(this.linkFilter).add(25L);
+        Mockito.verify(this.linkFilter).add(27L);
+        Mockito.verify(this.linkFilter).add(29L);
+    }
+
+    /**
+     * Проверка метода {@link BatchService#addAll(java.util.Iterator, java.util.function.Consumer)}
+     * со сроком действия, который репозиторий не сохраняет.
+     */
+    @Test
+    public void addAllWithUnsupportedExpiresAt() throws SQLException {
+        // подготовка
+        Mockito.when(this.linkRepository.isExpirySupported()).thenReturn(false);
+        List<Link> links = List.of(new Link(
+                null, null, "https://kalenchukov.dev/1", null, Timestamp.from(Instant.now().plusSeconds(60))
+        ));
+        List<BatchResult> actualResults = new ArrayList<>();
+
+        // выполнение
+        this.batchService.addAll(links.iterator(), actualResults::add);
+
+        // проверка
+        assertThat(actualResults).hasSize(1);
+        assertThat(actualResults.get(0).getViolations()).extracting("param").containsExactly("expiresAt");
+    }
+
+    /**
+     * Проверка метода {@link BatchService#addAll(java.util.Iterator, java.util.function.Consumer)} без ссылок.
+     */
+    @Test
+    public void addAllIsEmpty() {
+        // подготовка
+        List<BatchResult> actualResults = new ArrayList<>();
+
+        // выполнение
+        this.batchService.addAll(List.<Link>of().iterator(), actualResults::add);
+
+        // проверка
+        assertThat(actualResults).isEmpty();
+        Mockito.verifyNoInteractions(this.linkRepository);
+    }
+
+    /**
+     * Проверка метода {@link BatchService#addAll(java.util.Iterator, java.util.function.Consumer)}
+     * при неработоспособной базе данных.
+     */
+    @Test
+    public void addAllErrorDatabase() throws SQLException {
+        // подготовка
+        Mockito.when(this.linkRepository.saveAll(Mockito.anyList())).thenThrow(SQLException.class);
+        List<Link> links = List.of(new Link(null, "https://kalenchukov.dev/1", null));
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(ServerErrorException.class).isThrownBy(() -> {
+            this.batchService.addAll(links.iterator(), result -> {
+            });
+        });
+    }
+
+    /**
+     * Проверка метода {@link BatchService#deleteAll(java.util.Iterator, java.util.function.Consumer)}.
+     */
+    @Test
+    public void deleteAll() throws SQLException {
+        // подготовка
+        Mockito.when(this.linkFilter.isAbsent(Mockito.anyLong())).thenReturn(false);
+        Mockito.when(this.linkFilter.isAbsent(7L)).thenReturn(true);
+        Mockito.when(this.linkRepository.deleteAllById(Set.of(1L, 2L))).thenReturn(Set.of(1L));
+        Mockito.when(this.linkRepository.deleteAllById(Set.of(3L))).thenReturn(Set.of(3L));
+        List<Long> linkIds = Arrays.asList(1L, 2L, 3L, null, 7L);
+        List<DeletionResult> actualResults = new ArrayList<>();
+
+        // выполнение
+        this.batchService.deleteAll(linkIds.iterator(), actualResults::add);
+
+        // проверка
+        assertThat(actualResults).extracting(DeletionResult::getIndex).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(actualResults).extracting(DeletionResult::getLinkId).containsExactly(1L, 2L, 3L, null, 7L);
+        assertThat(actualResults).extracting(DeletionResult::getDeleted)
+                .containsExactly(true, false, true, false, false);
+        Mockito.verify(this.linkRepository).deleteAllById(Set.of());
+        Mockito.verify(this.linkCache).invalidate(1L);
+        Mockito.verify(this.linkCache).invalidate(2L);
+        Mockito.verify(this.linkCache).invalidate(3L);
+        Mockito.verify(this.linkCache, Mockito.never()).invalidate(7L);
+    }
+
+    /**
+     * Проверка метода {@link BatchService#deleteAll(java.util.Iterator, java.util.function.Consumer)}
+     * при неработоспособной базе данных.
+     */
+    @Test
+    public void deleteAllErrorDatabase() throws SQLException {
+        // подготовка
+        Mockito.when(this.linkRepository.deleteAllById(Mockito.anyCollection())).thenThrow(SQLException.class);
+        List<Long> linkIds = List.of(1L);
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(ServerErrorException.class).isThrownBy(() -> {
+            this.batchService.deleteAll(linkIds.iterator(), result -> {
+            });
+        });
+        Mockito.verifyNoInteractions(this.linkCache);
+    }
+}
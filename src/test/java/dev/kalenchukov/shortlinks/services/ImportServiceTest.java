@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2023 Алексей Каленчуков
+ * GitHub: https://github.com/kalenchukov
+ * E-mail: mailto:aleksey.kalenchukov@yandex.ru
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.kalenchukov.shortlinks.services;
+
+import dev.kalenchukov.shortlinks.caches.LinkFilters;
+import dev.kalenchukov.shortlinks.entities.ImportProgress;
+import dev.kalenchukov.shortlinks.entities.ImportStatus;
+import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.exceptions.ServerErrorException;
+import dev.kalenchukov.shortlinks.repositories.ImportRepositories;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Класс проверки методов класса {@link ImportService}.
+ *
+ * @author Алексей Каленчуков
+ */
+public class ImportServiceTest {
+    /**
+     * Валидатор.
+     */
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    /**
+     * Репозиторий для загрузки ссылок.
+     */
+    private ImportRepositories importRepository;
+
+    /**
+     * Фильтр существующих ссылок.
+     */
+    private LinkFilters linkFilter;
+
+    /**
+     * Сервис загрузки ссылок.
+     */
+    private ImportService importService;
+
+    /**
+     * Подготавливает сервис с копированием по две ссылки за запрос.
+     */
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.importRepository = Mockito.mock(ImportRepositories.class);
+        this.linkFilter = Mockito.mock(LinkFilters.class);
+        this.importService = new ImportService(this.importRepository, this.linkFilter, VALIDATOR, 2);
+        Mockito.when(this.importRepository.createStaging()).thenReturn("links_import_test");
+    }
+
+    /**
+     * Проверка метода {@link ImportService#importAll(java.util.Iterator, boolean)}.
+     */
+    @Test
+    public void importAll() throws SQLException {
+        // подготовка
+        Mockito.when(this.importRepository.merge("links_import_test", true)).thenReturn(2L);
+        List<Link> links = List.of(
+                new Link(1L, "https://kalenchukov.dev/1", null),
+                new Link(2L, "not url", null),
+                new Link(3L, "https://kalenchukov.dev/3", null)
+        );
+
+        // выполнение
+        ImportProgress actualProgress = this.importService.importAll(links.iterator(), true);
+
+        // проверка
+        assertThat(actualProgress.getStatus()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(actualProgress.getPreserveIds()).isTrue();
+        assertThat(actualProgress.getReceived()).isEqualTo(3L);
+        assertThat(actualProgress.getRejected()).isEqualTo(1L);
+        assertThat(actualProgress.getCopied()).isEqualTo(2L);
+        assertThat(actualProgress.getImported()).isEqualTo(2L);
+        assertThat(actualProgress.getViolations()).hasSize(1);
+        assertThat(actualProgress.getViolations().get(0).getIndex()).isEqualTo(1L);
+        Mockito.verify(this.importRepository).copy("links_import_test", List.of(links.get(0)));
+        Mockito.verify(this.importRepository).copy("links_import_test", List.of(links.get(2)));
+        Mockito.verify(this.importRepository).dropStaging("links_import_test");
+        Mockito.verify(this.linkFilter).rebuild();
+    }
+
+    /**
+     * Проверка метода {@link ImportService#importAll(java.util.Iterator, boolean)}
+     * при неработоспособной базе данных.
+     */
+    @Test
+    public void importAllErrorDatabase() throws SQLException {
+        // подготовка
+        Mockito.doThrow(SQLException.class).when(this.importRepository).merge(Mockito.anyString(), Mockito.anyBoolean());
+        List<Link> links = List.of(new Link(null, "https://kalenchukov.dev/1", null));
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(ServerErrorException.class).isThrownBy(() -> {
+            this.importService.importAll(links.iterator(), false);
+        });
+        assertThat(this.importService.getImports()).extracting(ImportProgress::getStatus)
+                .containsExactly(ImportStatus.FAILED);
+        Mockito.verify(this.importRepository).dropStaging("links_import_test");
+        Mockito.verifyNoInteractions(this.linkFilter);
+    }
+
+    /**
+     * Проверка метода {@link ImportService#getImports()}.
+     */
+    @Test
+    public void getImports() {
+        // подготовка
+        // выполнение
+        for (int index = 0; index < 12; index++) {
+            this.importService.importAll(List.<Link>of().iterator(), false);
+        }
+
+        List<ImportProgress> actualImports = this.importService.getImports();
+
+        // проверка
+        assertThat(actualImports).extracting(ImportProgress::getImportId)
+                .containsExactly(3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L);
+    }
+}
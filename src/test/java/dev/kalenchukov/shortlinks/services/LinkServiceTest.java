@@ -24,20 +24,46 @@
 
 package dev.kalenchukov.shortlinks.services;
 
+import dev.kalenchukov.shortlinks.caches.LinkCache;
+import dev.kalenchukov.shortlinks.caches.LinkCaches;
+import dev.kalenchukov.shortlinks.caches.LinkFilters;
+import dev.kalenchukov.shortlinks.caches.UrlCache;
+import dev.kalenchukov.shortlinks.caches.UrlCaches;
+import dev.kalenchukov.shortlinks.codecs.UrlHash;
+import dev.kalenchukov.shortlinks.codecs.UrlHashes;
+import dev.kalenchukov.shortlinks.entities.ClickBucket;
+import dev.kalenchukov.shortlinks.entities.ClickStatistics;
+import dev.kalenchukov.shortlinks.entities.Clicks;
 import dev.kalenchukov.shortlinks.entities.Count;
+import dev.kalenchukov.shortlinks.entities.CountMode;
+import dev.kalenchukov.shortlinks.entities.Granularity;
 import dev.kalenchukov.shortlinks.entities.Link;
+import dev.kalenchukov.shortlinks.exceptions.BadRequestException;
+import dev.kalenchukov.shortlinks.exceptions.LinkExpiredException;
 import dev.kalenchukov.shortlinks.exceptions.LinkNotFoundException;
 import dev.kalenchukov.shortlinks.exceptions.ServerErrorException;
+import dev.kalenchukov.shortlinks.repositories.ClickCounters;
+import dev.kalenchukov.shortlinks.repositories.ClickStatisticsRepositories;
 import dev.kalenchukov.shortlinks.repositories.LinkRepositories;
+import dev.kalenchukov.shortlinks.repositories.LinkWriters;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -54,12 +80,64 @@ public class LinkServiceTest {
     @Mock
     private LinkRepositories linkRepository;
 
+    /**
+     * Кэш ссылок.
+     */
+    @Spy
+    private LinkCaches linkCache = new LinkCache(true, 100L, 0L);
+
+    /**
+     * Фильтр существующих ссылок.
+     */
+    @Mock
+    private LinkFilters linkFilter;
+
+    /**
+     * Добавление ссылок.
+     */
+    @Mock
+    private LinkWriters linkWriter;
+
+    /**
+     * Кэш идентификаторов ссылок по хэшу URL-адреса.
+     */
+    @Spy
+    private UrlCaches urlCache = new UrlCache(false, 100L);
+
+    /**
+     * Хэширование URL-адресов ссылок.
+     */
+    @Spy
+    private UrlHashes urlHash = new UrlHash();
+
+    /**
+     * Счётчик переходов по ссылкам.
+     */
+    @Mock
+    private ClickCounters clickCounter;
+
+    /**
+     * Репозиторий статистики переходов по ссылкам.
+     */
+    @Mock
+    private ClickStatisticsRepositories clickStatisticsRepository;
+
     /**
      * Сервис для ссылок.
      */
-    @InjectMocks
     private LinkService linkService;
 
+    /**
+     * Создаёт сервис для ссылок.
+     */
+    @BeforeEach
+    public void setUp() {
+        this.linkService = new LinkService(
+                this.linkRepository, this.linkCache, this.linkFilter, this.linkWriter, this.urlCache, this.urlHash,
+                this.clickCounter, this.clickStatisticsRepository, 10_000L
+        );
+    }
+
     /**
      * Проверка метода {@link LinkService#get(long)} .
      */
@@ -77,6 +155,24 @@ public class LinkServiceTest {
         Mockito.verify(this.linkRepository, Mockito.only()).getById(1L);
     }
 
+    /**
+     * Проверка метода {@link LinkService#get(long)} с повторным обращением к ссылке.
+     */
+    @Test
+    public void getFromCache() throws SQLException {
+        // подготовка
+        Link expectedLink = Mockito.mock(Link.class);
+        Mockito.when(this.linkRepository.getById(1L)).thenReturn(Optional.of(expectedLink));
+
+        // выполнение
+        this.linkService.get(1L);
+        Link actualLink = this.linkService.get(1L);
+
+        // проверка
+        assertThat(actualLink).isEqualTo(expectedLink);
+        Mockito.verify(this.linkRepository, Mockito.only()).getById(1L);
+    }
+
     /**
      * Проверка метода {@link LinkService#get(long)} с несуществующим ID ссылки.
      */
@@ -93,6 +189,22 @@ public class LinkServiceTest {
         Mockito.verify(this.linkRepository, Mockito.only()).getById(Mockito.anyLong());
     }
 
+    /**
+     * Проверка метода {@link LinkService#get(long)} с ID ссылки, отсутствующим в фильтре.
+     */
+    @Test
+    public void getAbsentInFilter() {
+        // подготовка
+        Mockito.when(this.linkFilter.isAbsent(1L)).thenReturn(true);
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(LinkNotFoundException.class).isThrownBy(() -> {
+            this.linkService.get(1L);
+        });
+        Mockito.verifyNoInteractions(this.linkRepository);
+    }
+
     /**
      * Проверка метода {@link LinkService#get(long)} при неработоспособной базе данных.
      */
@@ -125,8 +237,30 @@ public class LinkServiceTest {
 
         // проверка
         assertThat(actualUrl).isEqualTo(expectedUrl);
-        Mockito.verify(link, Mockito.only()).getUrl();
+        Mockito.verify(link).isExpired(Mockito.any());
+        Mockito.verify(link).getUrl();
         Mockito.verify(this.linkRepository, Mockito.only()).getById(1L);
+        Mockito.verify(this.clickCounter, Mockito.only()).increment(1L);
+    }
+
+    /**
+     * Проверка метода {@link LinkService#getUrl(long)} со ссылкой с истёкшим сроком действия.
+     */
+    @Test
+    public void getUrlExpired() throws SQLException {
+        // подготовка
+        Link link = new Link(
+                1L, "1", "https://kalenchukov.dev/shortlinks",
+                Timestamp.from(Instant.now().minusSeconds(120)), Timestamp.from(Instant.now().minusSeconds(60))
+        );
+        Mockito.when(this.linkRepository.getById(1L)).thenReturn(Optional.of(link));
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(LinkExpiredException.class).isThrownBy(() -> {
+            this.linkService.getUrl(1L);
+        });
+        Mockito.verifyNoInteractions(this.clickCounter);
     }
 
     /**
@@ -143,6 +277,7 @@ public class LinkServiceTest {
             this.linkService.getUrl(1L);
         });
         Mockito.verify(this.linkRepository, Mockito.only()).getById(Mockito.anyLong());
+        Mockito.verifyNoInteractions(this.clickCounter);
     }
 
     /**
@@ -161,6 +296,118 @@ public class LinkServiceTest {
         Mockito.verify(this.linkRepository, Mockito.only()).getById(Mockito.anyLong());
     }
 
+    /**
+     * Проверка метода {@link LinkService#getClicks(long)}.
+     */
+    @Test
+    public void getClicks() throws SQLException {
+        // подготовка
+        Link link = new Link(1L, "1", "https://kalenchukov.dev/shortlinks", Timestamp.from(Instant.now()));
+        Mockito.when(this.linkRepository.getById(1L)).thenReturn(Optional.of(link));
+        Mockito.when(this.clickCounter.get(1L)).thenReturn(13L);
+
+        // выполнение
+        Clicks actualClicks = this.linkService.getClicks(1L);
+
+        // проверка
+        assertThat(actualClicks).isEqualTo(new Clicks(1L, "1", 13L));
+        Mockito.verify(this.clickCounter, Mockito.only()).get(1L);
+    }
+
+    /**
+     * Проверка метода {@link LinkService#getClicks(long)} с несуществующим ID ссылки.
+     */
+    @Test
+    public void getClicksNotExistLinkId() throws SQLException {
+        // подготовка
+        Mockito.when(this.linkRepository.getById(Mockito.anyLong())).thenReturn(Optional.empty());
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(LinkNotFoundException.class).isThrownBy(() -> {
+            this.linkService.getClicks(1L);
+        });
+        Mockito.verifyNoInteractions(this.clickCounter);
+    }
+
+    /**
+     * Проверка метода {@link LinkService#getClicks(long)} при неработоспособной базе данных.
+     */
+    @Test
+    public void getClicksErrorDatabase() throws SQLException {
+        // подготовка
+        Link link = new Link(1L, "1", "https://kalenchukov.dev/shortlinks", Timestamp.from(Instant.now()));
+        Mockito.when(this.linkRepository.getById(1L)).thenReturn(Optional.of(link));
+        Mockito.when(this.clickCounter.get(1L)).thenThrow(SQLException.class);
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(ServerErrorException.class).isThrownBy(() -> {
+            this.linkService.getClicks(1L);
+        });
+    }
+
+    /**
+     * Проверка метода {@link LinkService#getStatistics(long, Instant, Instant, Granularity)}.
+     */
+    @Test
+    public void getStatistics() throws SQLException {
+        // подготовка
+        Link link = new Link(1L, "1", "https://kalenchukov.dev/shortlinks", Timestamp.from(Instant.now()));
+        ZonedDateTime hour = ZonedDateTime.now(ZoneId.systemDefault()).truncatedTo(ChronoUnit.HOURS);
+        Timestamp expectedFrom = Timestamp.from(hour.toInstant());
+        Timestamp expectedTo = Timestamp.from(hour.plusHours(2L).toInstant());
+        List<ClickBucket> expectedBuckets = List.of(new ClickBucket(expectedFrom, 13L));
+        Mockito.when(this.linkRepository.getById(1L)).thenReturn(Optional.of(link));
+        Mockito.when(this.clickStatisticsRepository.getBuckets(1L, Granularity.HOUR, expectedFrom, expectedTo))
+                .thenReturn(expectedBuckets);
+
+        // выполнение
+        ClickStatistics actualStatistics = this.linkService.getStatistics(
+                1L,
+                hour.plusMinutes(15L).toInstant(),
+                hour.plusHours(1L).plusMinutes(1L).toInstant(),
+                Granularity.HOUR
+        );
+
+        // проверка
+        assertThat(actualStatistics).isEqualTo(
+                new ClickStatistics(1L, "1", Granularity.HOUR, expectedFrom, expectedTo, expectedBuckets)
+        );
+    }
+
+    /**
+     * Проверка метода {@link LinkService#getStatistics(long, Instant, Instant, Granularity)} с пустым периодом.
+     */
+    @Test
+    public void getStatisticsEmptyPeriod() {
+        // подготовка
+        Instant now = Instant.now();
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(BadRequestException.class).isThrownBy(() -> {
+            this.linkService.getStatistics(1L, now, now, Granularity.HOUR);
+        });
+        Mockito.verifyNoInteractions(this.linkRepository, this.clickStatisticsRepository);
+    }
+
+    /**
+     * Проверка метода {@link LinkService#getStatistics(long, Instant, Instant, Granularity)} с большим периодом.
+     */
+    @Test
+    public void getStatisticsTooManyBuckets() {
+        // подготовка
+        Instant now = Instant.now();
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(BadRequestException.class).isThrownBy(() -> {
+            this.linkService.getStatistics(1L, now.minus(10_001L, ChronoUnit.MINUTES), now, Granularity.MINUTE);
+        });
+        Mockito.verifyNoInteractions(this.linkRepository, this.clickStatisticsRepository);
+    }
+
     /**
      * Проверка метода {@link LinkService#add(Link)}.
      */
@@ -169,14 +416,108 @@ public class LinkServiceTest {
         // подготовка
         Link link = Mockito.mock(Link.class);
         Link expectedLink = Mockito.mock(Link.class);
-        Mockito.when(this.linkRepository.save(link)).thenReturn(expectedLink);
+        Mockito.when(expectedLink.getLinkId()).thenReturn(1L);
+        Mockito.when(this.linkWriter.write(link)).thenReturn(expectedLink);
 
         // выполнение
         Link actualLink = this.linkService.add(link);
 
         // проверка
         assertThat(actualLink).isEqualTo(expectedLink);
-        Mockito.verify(this.linkRepository, Mockito.only()).save(link);
+        Mockito.verify(this.linkWriter, Mockito.only()).write(link);
+        Mockito.verify(this.linkFilter, Mockito.only()).add(1L);
+    }
+
+    /**
+     * Проверка метода {@link LinkService#add(Link)} со сроком действия,
+     * который репозиторий не сохраняет.
+     */
+    @Test
+    public void addWithUnsupportedExpiresAt() {
+        // подготовка
+        Mockito.when(this.linkRepository.isExpirySupported()).thenReturn(false);
+        Link link = new Link(
+                null, null, "https://kalenchukov.dev/shortlinks", null, Timestamp.from(Instant.now().plusSeconds(60))
+        );
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(BadRequestException.class).isThrownBy(() -> {
+            this.linkService.add(link);
+        });
+        Mockito.verifyNoInteractions(this.linkWriter);
+    }
+
+    /**
+     * Проверка метода {@link LinkService#add(Link)} с повторяющимся URL-адресом.
+     */
+    @Test
+    public void addDuplicateUrl() throws SQLException {
+        // подготовка
+        LinkService linkService = new LinkService(
+                this.linkRepository, this.linkCache, this.linkFilter, this.linkWriter, new UrlCache(true, 100L), this.urlHash,
+                this.clickCounter, this.clickStatisticsRepository, 10_000L
+        );
+        Link link = new Link(null, "https://kalenchukov.dev/shortlinks", null);
+        Link duplicateLink = new Link(null, "HTTPS://KALENCHUKOV.DEV:443/shortlinks", null);
+        Link expectedLink = new Link(1L, "https://kalenchukov.dev/shortlinks", Timestamp.from(Instant.now()));
+        Mockito.when(this.linkWriter.write(link)).thenReturn(expectedLink);
+
+        // выполнение
+        linkService.add(link);
+        Link actualLink = linkService.add(duplicateLink);
+
+        // проверка
+        assertThat(actualLink).isEqualTo(expectedLink);
+        Mockito.verify(this.linkWriter, Mockito.only()).write(link);
+        Mockito.verifyNoInteractions(this.linkRepository);
+    }
+
+    /**
+     * Проверка метода {@link LinkService#add(Link)} с URL-адресом удалённой ссылки.
+     */
+    @Test
+    public void addDuplicateUrlOfDeletedLink() throws SQLException {
+        // подготовка
+        LinkService linkService = new LinkService(
+                this.linkRepository, this.linkCache, this.linkFilter, this.linkWriter, new UrlCache(true, 100L), this.urlHash,
+                this.clickCounter, this.clickStatisticsRepository, 10_000L
+        );
+        Link link = new Link(null, "https://kalenchukov.dev/shortlinks", null);
+        Link deletedLink = new Link(1L, "https://kalenchukov.dev/shortlinks", Timestamp.from(Instant.now()));
+        Link expectedLink = new Link(2L, "https://kalenchukov.dev/shortlinks", Timestamp.from(Instant.now()));
+        Mockito.when(this.linkWriter.write(link)).thenReturn(deletedLink, expectedLink);
+        Mockito.when(this.linkRepository.deleteById(1L)).thenReturn(true);
+        Mockito.when(this.linkRepository.getById(1L)).thenReturn(Optional.empty());
+
+        // выполнение
+        linkService.add(link);
+        linkService.delete(1L);
+        Link actualLink = linkService.add(link);
+
+        // проверка
+        assertThat(actualLink).isEqualTo(expectedLink);
+        Mockito.verify(this.linkWriter, Mockito.times(2)).write(link);
+    }
+
+    /**
+     * Проверка метода {@link LinkService#add(Link)} с последующим получением добавленной ссылки.
+     */
+    @Test
+    public void addThenGet() throws SQLException {
+        // подготовка
+        Link link = Mockito.mock(Link.class);
+        Link expectedLink = new Link(1L, "https://kalenchukov.dev/shortlinks", Timestamp.from(Instant.now()));
+        Mockito.when(this.linkWriter.write(link)).thenReturn(expectedLink);
+
+        // выполнение
+        this.linkService.add(link);
+        Link actualLink = this.linkService.get(1L);
+
+        // проверка
+        assertThat(actualLink).isEqualTo(expectedLink);
+        Mockito.verify(this.linkWriter, Mockito.only()).write(link);
+        Mockito.verifyNoInteractions(this.linkRepository);
     }
 
     /**
@@ -187,28 +528,29 @@ public class LinkServiceTest {
         // подготовка
         Link link = Mockito.mock(Link.class);
 //		Mockito.when(link.getUrl()).thenReturn("https://kalenchukov.dev/shortlinks");
-        Mockito.when(this.linkRepository.save(link)).thenThrow(SQLException.class);
+        Mockito.when(this.linkWriter.write(link)).thenThrow(SQLException.class);
 
         // выполнение
         // проверка
         assertThatExceptionOfType(ServerErrorException.class).isThrownBy(() -> {
             this.linkService.add(link);
         });
-        Mockito.verify(this.linkRepository, Mockito.only()).save(link);
+        Mockito.verify(this.linkWriter, Mockito.only()).write(link);
     }
 
     /**
-     * Проверка метода {@link LinkService#count()}.
+     * Проверка метода {@link LinkService#count(CountMode)}.
      */
     @Test
     public void count() throws SQLException {
         // подготовка
         Count expectedCount = Mockito.mock(Count.class);
         Mockito.when(expectedCount.getCount()).thenReturn(13L);
+        Mockito.when(expectedCount.getMode()).thenReturn(CountMode.EXACT);
         Mockito.when(this.linkRepository.size()).thenReturn(13L);
 
         // выполнение
-        Count actualCount = this.linkService.count();
+        Count actualCount = this.linkService.count(CountMode.EXACT);
 
         // проверка
         assertThat(actualCount).isEqualTo(expectedCount);
@@ -216,7 +558,24 @@ public class LinkServiceTest {
     }
 
     /**
-     * Проверка метода {@link LinkService#count()} при неработоспособной базе данных.
+     * Проверка метода {@link LinkService#count(CountMode)} с приблизительным подсчётом.
+     */
+    @Test
+    public void countEstimate() throws SQLException {
+        // подготовка
+        Count expectedCount = new Count(13L, CountMode.ESTIMATE);
+        Mockito.when(this.linkRepository.estimateSize()).thenReturn(13L);
+
+        // выполнение
+        Count actualCount = this.linkService.count(CountMode.ESTIMATE);
+
+        // проверка
+        assertThat(actualCount).isEqualTo(expectedCount);
+        Mockito.verify(this.linkRepository, Mockito.only()).estimateSize();
+    }
+
+    /**
+     * Проверка метода {@link LinkService#count(CountMode)} при неработоспособной базе данных.
      */
     @Test
     public void countErrorDatabase() throws SQLException {
@@ -226,7 +585,7 @@ public class LinkServiceTest {
         // выполнение
         // проверка
         assertThatExceptionOfType(ServerErrorException.class).isThrownBy(() -> {
-            this.linkService.count();
+            this.linkService.count(CountMode.EXACT);
         });
         Mockito.verify(this.linkRepository, Mockito.only()).size();
     }
@@ -246,6 +605,27 @@ public class LinkServiceTest {
         Mockito.verify(this.linkRepository, Mockito.only()).deleteById(1L);
     }
 
+    /**
+     * Проверка метода {@link LinkService#delete(long)} с последующим получением удалённой ссылки.
+     */
+    @Test
+    public void deleteThenGet() throws SQLException {
+        // подготовка
+        Link link = Mockito.mock(Link.class);
+        Mockito.when(this.linkRepository.getById(1L)).thenReturn(Optional.of(link), Optional.empty());
+        Mockito.when(this.linkRepository.deleteById(1L)).thenReturn(true);
+
+        // выполнение
+        this.linkService.get(1L);
+        this.linkService.delete(1L);
+
+        // проверка
+        assertThatExceptionOfType(LinkNotFoundException.class).isThrownBy(() -> {
+            this.linkService.get(1L);
+        });
+        Mockito.verify(this.linkRepository, Mockito.times(2)).getById(1L);
+    }
+
     /**
      * Проверка метода {@link LinkService#delete(long)} с несуществующим ID ссылки.
      */
@@ -262,6 +642,22 @@ public class LinkServiceTest {
         Mockito.verify(this.linkRepository, Mockito.only()).deleteById(Mockito.anyLong());
     }
 
+    /**
+     * Проверка метода {@link LinkService#delete(long)} с ID ссылки, отсутствующим в фильтре.
+     */
+    @Test
+    public void deleteAbsentInFilter() {
+        // подготовка
+        Mockito.when(this.linkFilter.isAbsent(1L)).thenReturn(true);
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(LinkNotFoundException.class).isThrownBy(() -> {
+            this.linkService.delete(1L);
+        });
+        Mockito.verifyNoInteractions(this.linkRepository);
+    }
+
     /**
      * Проверка метода {@link LinkService#delete(long)} при неработоспособной базе данных.
      */
@@ -277,4 +673,44 @@ public class LinkServiceTest {
         });
         Mockito.verify(this.linkRepository, Mockito.only()).deleteById(Mockito.anyLong());
     }
-}
\ No newline at end of file
+
+    /**
+     * Проверка метода {@link LinkService#export(Timestamp, Timestamp, java.util.function.Consumer)}.
+     */
+    @Test
+    public void export() throws SQLException {
+        // подготовка
+        Timestamp from = Timestamp.from(Instant.now());
+        Link expectedLink = Mockito.mock(Link.class);
+        Mockito.doAnswer(invocation -> {
+            Consumer<Link> consumer = invocation.getArgument(2);
+            consumer.accept(expectedLink);
+
+            return null;
+        }).when(this.linkRepository).forEach(Mockito.eq(from), Mockito.isNull(), Mockito.any());
+        List<Link> actualLinks = new ArrayList<>();
+
+        // выполнение
+        this.linkService.export(from, null, actualLinks::add);
+
+        // проверка
+        assertThat(actualLinks).containsExactly(expectedLink);
+    }
+
+    /**
+     * Проверка метода {@link LinkService#export(Timestamp, Timestamp, java.util.function.Consumer)}
+     * при неработоспособной базе данных.
+     */
+    @Test
+    public void exportErrorDatabase() throws SQLException {
+        // подготовка
+        Mockito.doThrow(SQLException.class).when(this.linkRepository).forEach(Mockito.any(), Mockito.any(), Mockito.any());
+
+        // выполнение
+        // проверка
+        assertThatExceptionOfType(ServerErrorException.class).isThrownBy(() -> {
+            this.linkService.export(null, null, link -> {
+            });
+        });
+    }
+}
@@ -1,7 +1,198 @@
 -- Создаёт таблицу для ссылок
+CREATE SEQUENCE IF NOT EXISTS links_link_id_seq;
+
 CREATE TABLE IF NOT EXISTS links
 (
-	link_id BIGSERIAL PRIMARY KEY,
+	link_id BIGINT NOT NULL DEFAULT nextval('links_link_id_seq') CONSTRAINT links_link_id_check CHECK (link_id > 0),
 	url VARCHAR(255) NOT NULL,
-	date_create TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+	date_create TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+	expires_at TIMESTAMP,
+	PRIMARY KEY (link_id)
+) PARTITION BY RANGE (link_id);
+
+CREATE INDEX IF NOT EXISTS links_expires_at_idx ON links (expires_at) WHERE expires_at IS NOT NULL;
+
+ALTER SEQUENCE links_link_id_seq OWNED BY links.link_id;
+
+CREATE TABLE IF NOT EXISTS links_partitions
+(
+	name VARCHAR(63) PRIMARY KEY,
+	lower_bound BIGINT,
+	upper_bound BIGINT NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS links_p0 PARTITION OF links FOR VALUES FROM (MINVALUE) TO (1000);
+CREATE TABLE IF NOT EXISTS links_p1000 PARTITION OF links FOR VALUES FROM (1000) TO (2000);
+
+INSERT INTO links_partitions (name, lower_bound, upper_bound)
+VALUES ('links_p0', NULL, 1000), ('links_p1000', 1000, 2000);
+
+-- Секция для идентификаторов от генератора приложения, не учитывается в таблице секций
+CREATE TABLE IF NOT EXISTS links_generated PARTITION OF links FOR VALUES FROM (1000000000) TO (MAXVALUE);
+
+CREATE TABLE IF NOT EXISTS links_url_hashes
+(
+	url_hash UUID PRIMARY KEY,
+	link_id BIGINT NOT NULL REFERENCES links (link_id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS links_url_hashes_link_id_idx ON links_url_hashes (link_id);
+
+-- Создаёт таблицу счётчиков количества ссылок
+CREATE TABLE IF NOT EXISTS links_counters
+(
+	slot SMALLINT PRIMARY KEY,
+	count BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO links_counters (slot, count)
+SELECT slot, 0 FROM generate_series(0, 15) AS slot
+ON CONFLICT (slot) DO NOTHING;
+
+-- Тела функций в одинарных кавычках, так как скрипты тестов не поддерживают $$
+CREATE OR REPLACE FUNCTION links_counters_insert() RETURNS TRIGGER AS '
+BEGIN
+	UPDATE links_counters
+	SET count = count + (SELECT COUNT(*) FROM inserted_links)
+	WHERE slot = pg_backend_pid() % 16;
+
+	RETURN NULL;
+END;
+' LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION links_counters_delete() RETURNS TRIGGER AS '
+BEGIN
+	UPDATE links_counters
+	SET count = count - (SELECT COUNT(*) FROM deleted_links)
+	WHERE slot = pg_backend_pid() % 16;
+
+	RETURN NULL;
+END;
+' LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION links_counters_truncate() RETURNS TRIGGER AS '
+BEGIN
+	UPDATE links_counters SET count = 0;
+
+	RETURN NULL;
+END;
+' LANGUAGE plpgsql;
+
+CREATE TRIGGER links_counters_insert
+	AFTER INSERT ON links
+	REFERENCING NEW TABLE AS inserted_links
+	FOR EACH STATEMENT EXECUTE FUNCTION links_counters_insert();
+
+CREATE TRIGGER links_counters_delete
+	AFTER DELETE ON links
+	REFERENCING OLD TABLE AS deleted_links
+	FOR EACH STATEMENT EXECUTE FUNCTION links_counters_delete();
+
+CREATE TRIGGER links_counters_truncate
+	AFTER TRUNCATE ON links
+	FOR EACH STATEMENT EXECUTE FUNCTION links_counters_truncate();
+
+CREATE OR REPLACE FUNCTION links_create_partitions(up_to BIGINT, width BIGINT DEFAULT NULL) RETURNS INTEGER AS '
+DECLARE
+	last_lower BIGINT;
+	last_upper BIGINT;
+	next_upper BIGINT;
+	step BIGINT;
+	created INTEGER := 0;
+BEGIN
+	PERFORM pg_advisory_xact_lock(hashtext(''links_partitions''));
+
+	SELECT lower_bound, upper_bound INTO last_lower, last_upper
+	FROM links_partitions ORDER BY upper_bound DESC LIMIT 1;
+
+	step := COALESCE(width, last_upper - last_lower);
+
+	IF step IS NULL OR step <= 0 THEN
+		RAISE EXCEPTION ''Не задана ширина секций ссылок.'';
+	END IF;
+
+	WHILE last_upper <= up_to LOOP
+		next_upper := CASE
+			WHEN up_to - last_upper >= step * 100 THEN up_to - (up_to - last_upper) % step
+			ELSE last_upper + step
+		END;
+
+		EXECUTE format(
+			''CREATE TABLE %I PARTITION OF links FOR VALUES FROM (%s) TO (%s)'',
+			''links_p'' || last_upper, last_upper, next_upper
+		);
+
+		INSERT INTO links_partitions (name, lower_bound, upper_bound)
+		VALUES (''links_p'' || last_upper, last_upper, next_upper);
+
+		last_upper := next_upper;
+		created := created + 1;
+	END LOOP;
+
+	RETURN created;
+END;
+' LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION links_drop_partitions(created_before TIMESTAMP) RETURNS INTEGER AS '
+DECLARE
+	part RECORD;
+	next_date TIMESTAMP;
+	partition_size BIGINT;
+	dropped INTEGER := 0;
+BEGIN
+	PERFORM pg_advisory_xact_lock(hashtext(''links_partitions''));
+
+	FOR part IN SELECT name, lower_bound, upper_bound FROM links_partitions ORDER BY upper_bound LOOP
+		SELECT date_create INTO next_date
+		FROM links WHERE link_id >= part.upper_bound ORDER BY link_id LIMIT 1;
+
+		EXIT WHEN next_date IS NULL OR next_date >= created_before;
+
+		DELETE FROM link_clicks
+		WHERE link_id >= COALESCE(part.lower_bound, 0) AND link_id < part.upper_bound;
+		DELETE FROM link_clicks_buckets
+		WHERE link_id >= COALESCE(part.lower_bound, 0) AND link_id < part.upper_bound;
+		DELETE FROM links_url_hashes
+		WHERE link_id >= COALESCE(part.lower_bound, 0) AND link_id < part.upper_bound;
+
+		EXECUTE format(''SELECT COUNT(*) FROM %I'', part.name) INTO partition_size;
+		UPDATE links_counters SET count = count - partition_size WHERE slot = 0;
+
+		EXECUTE format(''ALTER TABLE links DETACH PARTITION %I'', part.name);
+		EXECUTE format(''DROP TABLE %I'', part.name);
+		DELETE FROM links_partitions WHERE name = part.name;
+
+		dropped := dropped + 1;
+	END LOOP;
+
+	RETURN dropped;
+END;
+' LANGUAGE plpgsql;
+
+CREATE TABLE IF NOT EXISTS link_clicks
+(
+	link_id BIGINT PRIMARY KEY REFERENCES links (link_id) ON DELETE CASCADE,
+	clicks BIGINT NOT NULL DEFAULT 0,
+	date_update TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS link_clicks_buckets
+(
+	link_id BIGINT NOT NULL REFERENCES links (link_id) ON DELETE CASCADE,
+	granularity VARCHAR(6) NOT NULL CHECK (granularity IN ('minute', 'hour', 'day')),
+	bucket TIMESTAMP NOT NULL,
+	clicks BIGINT NOT NULL,
+	PRIMARY KEY (link_id, granularity, bucket)
+);
+
+CREATE INDEX IF NOT EXISTS link_clicks_buckets_granularity_bucket_idx ON link_clicks_buckets (granularity, bucket);
+
+CREATE TABLE IF NOT EXISTS link_clicks_rollups
+(
+	granularity VARCHAR(6) PRIMARY KEY CHECK (granularity IN ('hour', 'day')),
+	rolled_to TIMESTAMP NOT NULL
 );
+
+INSERT INTO link_clicks_rollups (granularity, rolled_to)
+VALUES ('hour', date_trunc('hour', LOCALTIMESTAMP)), ('day', date_trunc('day', LOCALTIMESTAMP))
+ON CONFLICT (granularity) DO NOTHING;
@@ -1,2 +1,14 @@
+-- Удаляет таблицы количества переходов по ссылкам
+DROP TABLE IF EXISTS link_clicks;
+DROP TABLE IF EXISTS link_clicks_buckets;
+DROP TABLE IF EXISTS link_clicks_rollups;
+
 -- Удаляет таблицу для ссылок
+DROP TABLE IF EXISTS links_url_hashes;
 DROP TABLE IF EXISTS links;
+DROP TABLE IF EXISTS links_partitions;
+DROP FUNCTION IF EXISTS links_create_partitions, links_drop_partitions;
+
+-- Удаляет таблицу счётчиков количества ссылок
+DROP TABLE IF EXISTS links_counters;
+DROP FUNCTION IF EXISTS links_counters_insert, links_counters_delete, links_counters_truncate;
@@ -1,2 +1,2 @@
 -- Удаляет все данные из таблицы ссылок
-TRUNCATE TABLE links;
\ No newline at end of file
+TRUNCATE TABLE links CASCADE;
\ No newline at end of file